@@ -5,8 +5,10 @@ import de.rwth.swc.coffee4j.engine.constraint.ConstraintChecker;
 import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
 import de.rwth.swc.coffee4j.engine.report.Reporter;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Class containing all information needed to perform fault characterization for combinatorial tests.
@@ -16,6 +18,8 @@ public class FaultCharacterizationConfiguration {
     private final TestModel testModel;
     private final ConstraintChecker checker;
     private final Reporter reporter;
+    private final SharedTestResultStore sharedTestResults;
+    private final RandomSource randomSource;
     
     /**
      * Creates a new configuration out of an IPM and a reporter. As no {@link ConstraintChecker} is given,
@@ -30,7 +34,8 @@ public class FaultCharacterizationConfiguration {
     
     /**
      * Creates a new configuration out of an IPM, reporter and constraints checker. It is not guaranteed that the
-     * constraints checker will be respected by an algorithm.
+     * constraints checker will be respected by an algorithm. Algorithms using randomness get a source with a random
+     * seed.
      *
      * @param testModel    containing all parameters of the combinatorial test
      * @param checker  to define which combinations are not allowed
@@ -39,9 +44,41 @@ public class FaultCharacterizationConfiguration {
     public FaultCharacterizationConfiguration(TestModel testModel,
                                               ConstraintChecker checker,
                                               Reporter reporter) {
+        this(testModel, checker, reporter, null, RandomSource.withRandomSeed());
+    }
+    
+    private FaultCharacterizationConfiguration(TestModel testModel,
+                                               ConstraintChecker checker,
+                                               Reporter reporter,
+                                               SharedTestResultStore sharedTestResults,
+                                               RandomSource randomSource) {
         this.testModel = Preconditions.notNull(testModel);
         this.checker = Preconditions.notNull(checker);
         this.reporter = Preconditions.notNull(reporter);
+        this.sharedTestResults = sharedTestResults;
+        this.randomSource = Preconditions.notNull(randomSource);
+    }
+    
+    /**
+     * Creates a copy of this configuration which additionally gives access to the test results of all test input
+     * groups of the same combinatorial test.
+     *
+     * @param sharedTestResults the store containing the results of all groups. Must not be {@code null}
+     * @return a new configuration with the same model, checker, reporter and random source
+     */
+    public FaultCharacterizationConfiguration withSharedTestResults(SharedTestResultStore sharedTestResults) {
+        return new FaultCharacterizationConfiguration(testModel, checker, reporter, Preconditions.notNull(sharedTestResults), randomSource);
+    }
+    
+    /**
+     * Creates a copy of this configuration in which algorithms draw all random numbers from the given source. With a
+     * seeded source, the fault characterization is reproducible.
+     *
+     * @param randomSource the source of random numbers. Must not be {@code null}
+     * @return a new configuration with the same model, checker, reporter and shared test results
+     */
+    public FaultCharacterizationConfiguration withRandomSource(RandomSource randomSource) {
+        return new FaultCharacterizationConfiguration(testModel, checker, reporter, sharedTestResults, Preconditions.notNull(randomSource));
     }
     
     public TestModel getTestModel() {
@@ -56,6 +93,28 @@ public class FaultCharacterizationConfiguration {
         return reporter;
     }
     
+    /**
+     * The shared test results are not part of {@link #equals(Object)} and {@link #hashCode()}, as they are state
+     * collected during a combinatorial test and not configuration.
+     *
+     * @return the results of all test input groups if they are shared. Algorithms may use successful test inputs in
+     * there to rule out combinations without requesting new test inputs
+     */
+    public Optional<SharedTestResultStore> getSharedTestResults() {
+        return Optional.ofNullable(sharedTestResults);
+    }
+    
+    /**
+     * Like the shared test results, the random source is not part of {@link #equals(Object)} and {@link #hashCode()}.
+     * Algorithms should {@link RandomSource#split() split} their own source from it, since the configuration can be
+     * shared by algorithms of different test input groups.
+     *
+     * @return the source of all random numbers used by algorithms
+     */
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+    
     @Override
     public boolean equals(Object object) {
         if (this == object) {
@@ -0,0 +1,228 @@
+package de.rwth.swc.coffee4j.engine.characterization;
+
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrap;
+
+/**
+ * A store of all test results of a combinatorial test which is shared between the fault characterization algorithms
+ * of all test input groups. For example, a test input which passed in the positive group can be used by the
+ * characterization of a negative group to rule out every combination it contains, without executing another test.
+ * <p>
+ * For each value of each parameter, the store keeps a {@link BitSet} of all successful test inputs containing this
+ * value. Whether any successful test input contains a given combination is therefore answered by intersecting one
+ * {@link BitSet} per value of the combination. Failed test inputs are only stored for lookups by their exact test
+ * input, as their cause can differ between groups.
+ * <p>
+ * Every time a successful result is added, the revision of the store is incremented. An algorithm which already
+ * removed all combinations contained in successful test inputs up to some revision can therefore continue with
+ * {@link #getSuccessfulTestInputsSince(int)} instead of checking all of its combinations again.
+ * <p>
+ * This class is thread-safe, since characterization rounds of different groups can run concurrently.
+ */
+public final class SharedTestResultStore {
+    
+    private final int[] parameterSizes;
+    
+    private final Object2IntMap<IntArrayWrapper> testInputIds = new Object2IntOpenHashMap<>();
+    private final List<int[]> testInputs = new ArrayList<>();
+    private final List<TestResult> testResults = new ArrayList<>();
+    private final IntList successfulTestInputIds = new IntArrayList();
+    private final BitSet[][] successfulTestInputsByValue;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /**
+     * Creates a new empty store for test inputs of a model with the given parameters.
+     *
+     * @param parameterSizes the sizes of all parameters of the model. Must not be {@code null}
+     */
+    public SharedTestResultStore(int[] parameterSizes) {
+        this.parameterSizes = Preconditions.notNull(parameterSizes).clone();
+        
+        successfulTestInputsByValue = new BitSet[parameterSizes.length][];
+        for (int parameter = 0; parameter < parameterSizes.length; parameter++) {
+            successfulTestInputsByValue[parameter] = new BitSet[parameterSizes[parameter]];
+            for (int value = 0; value < parameterSizes[parameter]; value++) {
+                successfulTestInputsByValue[parameter][value] = new BitSet();
+            }
+        }
+        testInputIds.defaultReturnValue(-1);
+    }
+    
+    /**
+     * Adds the result of a test input. If a result for the same test input was already stored, it is replaced.
+     *
+     * @param testInput a complete test input of the model. Must not be {@code null}
+     * @param result    the result of the test input. Must not be {@code null}
+     */
+    public void addResult(int[] testInput, TestResult result) {
+        checkCombination(testInput);
+        Preconditions.notNull(result);
+        
+        lock.writeLock().lock();
+        try {
+            final IntArrayWrapper wrappedTestInput = wrap(testInput.clone());
+            int id = testInputIds.getInt(wrappedTestInput);
+            if (id < 0) {
+                id = testResults.size();
+                testInputIds.put(wrappedTestInput, id);
+                testInputs.add(wrappedTestInput.getArray());
+                testResults.add(result);
+            } else {
+                testResults.set(id, result);
+            }
+            
+            for (int parameter = 0; parameter < testInput.length; parameter++) {
+                if (testInput[parameter] != NO_VALUE) {
+                    successfulTestInputsByValue[parameter][testInput[parameter]].set(id, result.isSuccessful());
+                }
+            }
+            if (result.isSuccessful()) {
+                successfulTestInputIds.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * @param testInput a complete test input of the model. Must not be {@code null}
+     * @return the result of exactly this test input if it is known
+     */
+    public Optional<TestResult> getResult(int[] testInput) {
+        checkCombination(testInput);
+        
+        lock.readLock().lock();
+        try {
+            final int id = testInputIds.getInt(wrap(testInput));
+            return id < 0 ? Optional.empty() : Optional.of(testResults.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * @param testInput a complete test input of the model. Must not be {@code null}
+     * @return whether exactly this test input is known to be successful
+     */
+    public boolean isSuccessful(int[] testInput) {
+        return getResult(testInput).map(TestResult::isSuccessful).orElse(false);
+    }
+    
+    /**
+     * Checks whether any stored successful test input contains the given combination. If it does, the combination
+     * cannot be failure-inducing in any group (assuming deterministic test results).
+     *
+     * @param combination a combination of the model. Must not be {@code null}. The empty combination is contained in
+     *                    every successful test input
+     * @return whether a successful test input containing the combination is known
+     */
+    public boolean containsSuccessfulTestInputWith(int[] combination) {
+        checkCombination(combination);
+        
+        lock.readLock().lock();
+        try {
+            BitSet candidates = null;
+            for (int parameter = 0; parameter < combination.length; parameter++) {
+                if (combination[parameter] == NO_VALUE) {
+                    continue;
+                }
+                
+                final BitSet successfulTestInputs = successfulTestInputsByValue[parameter][combination[parameter]];
+                if (candidates == null) {
+                    candidates = (BitSet) successfulTestInputs.clone();
+                } else {
+                    candidates.and(successfulTestInputs);
+                }
+                if (candidates.isEmpty()) {
+                    return false;
+                }
+            }
+            
+            return candidates != null || testResults.stream().anyMatch(TestResult::isSuccessful);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * @return the current revision of the store. It starts at zero and is incremented with every added successful
+     * result
+     */
+    public int getRevision() {
+        lock.readLock().lock();
+        try {
+            return successfulTestInputIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns all test inputs which were added as successful after the given revision and are still successful.
+     * A test input can be returned more than once if its result was added more than once. Since results can be added
+     * concurrently, the revision should be queried before this method so that no test input is missed by the next
+     * call.
+     *
+     * @param revision a revision previously returned by {@link #getRevision()}, or zero for all successful test inputs.
+     *                 Must not be negative
+     * @return the successful test inputs added since the revision
+     */
+    public List<int[]> getSuccessfulTestInputsSince(int revision) {
+        Preconditions.check(revision >= 0, "the revision must not be negative");
+        
+        lock.readLock().lock();
+        try {
+            final List<int[]> successfulTestInputs = new ArrayList<>();
+            for (int index = revision; index < successfulTestInputIds.size(); index++) {
+                final int id = successfulTestInputIds.getInt(index);
+                if (testResults.get(id).isSuccessful()) {
+                    successfulTestInputs.add(testInputs.get(id).clone());
+                }
+            }
+            
+            return successfulTestInputs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * @return the number of distinct test inputs with a stored result
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return testResults.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void checkCombination(int[] combination) {
+        Preconditions.notNull(combination);
+        Preconditions.check(combination.length == parameterSizes.length, "combination does not match the model");
+        
+        for (int parameter = 0; parameter < combination.length; parameter++) {
+            Preconditions.check(combination[parameter] == NO_VALUE
+                    || (combination[parameter] >= 0 && combination[parameter] < parameterSizes[parameter]),
+                    "combination does not match the model");
+        }
+    }
+    
+}
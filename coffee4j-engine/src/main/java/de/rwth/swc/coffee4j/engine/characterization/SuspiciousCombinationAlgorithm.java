@@ -7,9 +7,9 @@ import de.rwth.swc.coffee4j.engine.report.Reporter;
 import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -26,8 +26,9 @@ import static de.rwth.swc.coffee4j.engine.util.PredicateUtil.not;
  * bits.
  * <p>
  * The class keeps two sets of suspicious combinations in memory: the current one, and one from last iteration. This
- * is needed to calculate differences. Additionally, the {@link FaultCharacterizationConfiguration} and all test results
- * are stored.
+ * is needed to calculate differences. Both are {@link SuspiciousCombinationStore}s, so the set of the last iteration
+ * is a copy-on-write snapshot instead of a complete copy. Additionally, the {@link FaultCharacterizationConfiguration}
+ * and all test results are stored.
  */
 public abstract class SuspiciousCombinationAlgorithm implements FaultCharacterizationAlgorithm {
     
@@ -35,11 +36,16 @@ public abstract class SuspiciousCombinationAlgorithm implements FaultCharacteriz
     
     protected final Map<IntArrayWrapper, TestResult> testResults = new HashMap<>();
     
-    protected Set<IntArrayWrapper> previousSuspiciousCombinations = new HashSet<>();
-    protected Set<IntArrayWrapper> suspiciousCombinations = new HashSet<>();
+    protected SuspiciousCombinationStore previousSuspiciousCombinations;
+    protected SuspiciousCombinationStore suspiciousCombinations;
+    
+    private int sharedTestResultsRevision = 0;
     
     protected SuspiciousCombinationAlgorithm(FaultCharacterizationConfiguration configuration) {
         this.configuration = Preconditions.notNull(configuration);
+        
+        suspiciousCombinations = new SuspiciousCombinationStore(getModel().getParameterSizes());
+        previousSuspiciousCombinations = suspiciousCombinations.snapshot();
     }
     
     protected TestModel getModel() {
@@ -58,7 +64,10 @@ public abstract class SuspiciousCombinationAlgorithm implements FaultCharacteriz
      * In the first iteration all relevant sub combinations of failed test inputs are calculated via the
      * {@link #getRelevantSubCombinations(int[])} method. In every iteration the relevant sub combinations of all
      * successful test inputs are then subtracted from the suspicious combinations. Earlier, the suspicious set of last
-     * iteration was saved to {@link #previousSuspiciousCombinations}.
+     * iteration was saved to {@link #previousSuspiciousCombinations}. If the configuration gives access to
+     * {@link SharedTestResultStore shared test results}, all combinations contained in a successful test input of any
+     * test input group are subtracted as well. Since the suspicious set only shrinks after the first iteration, only
+     * the successful test inputs added to the shared store since the last iteration are considered.
      * <p>
      * If the concrete algorithm now decides more test inputs should be generated
      * ({@link #shouldGenerateFurtherTestInputs()}), this is done via {@link #generateNextTestInputs}. Otherwise, an empty
@@ -86,12 +95,13 @@ public abstract class SuspiciousCombinationAlgorithm implements FaultCharacteriz
     
     private void adjustSuspiciousSet(Map<int[], TestResult> nextTestResults) {
         previousSuspiciousCombinations = suspiciousCombinations;
-        suspiciousCombinations = new HashSet<>(previousSuspiciousCombinations);
+        suspiciousCombinations = previousSuspiciousCombinations.snapshot();
         
         if (testResults.isEmpty()) {
             initializeSuspiciousSet(nextTestResults);
         }
         removeSuccessfulCombinationsFromSuspiciousSet(nextTestResults);
+        configuration.getSharedTestResults().ifPresent(this::removeSharedSuccessfulCombinationsFromSuspiciousSet);
     }
     
     private void initializeSuspiciousSet(Map<int[], TestResult> nextTestResults) {
@@ -103,11 +113,20 @@ public abstract class SuspiciousCombinationAlgorithm implements FaultCharacteriz
     }
     
     private void removeSuccessfulCombinationsFromSuspiciousSet(Map<int[], TestResult> nextTestResults) {
+        final List<int[]> successfulTestInputs = new ArrayList<>();
         for (Map.Entry<int[], TestResult> entry : nextTestResults.entrySet()) {
             if (entry.getValue().isSuccessful()) {
-                suspiciousCombinations.removeAll(getRelevantSubCombinations(entry.getKey()));
+                successfulTestInputs.add(entry.getKey());
             }
         }
+        
+        suspiciousCombinations.removeSubCombinationsOf(successfulTestInputs);
+    }
+    
+    private void removeSharedSuccessfulCombinationsFromSuspiciousSet(SharedTestResultStore sharedTestResults) {
+        final int revision = sharedTestResults.getRevision();
+        suspiciousCombinations.removeSubCombinationsOf(sharedTestResults.getSuccessfulTestInputsSince(sharedTestResultsRevision));
+        sharedTestResultsRevision = revision;
     }
     
     private void addToTestResults(Map<int[], TestResult> nextTestResults) {
@@ -123,6 +142,9 @@ public abstract class SuspiciousCombinationAlgorithm implements FaultCharacteriz
     /**
      * Defined which sub-combinations of any given combination can be part of the suspicious set. For example, BEN
      * only works on all t-value-combinations while AIFL considers all possible sub-combinations.
+     * <p>
+     * Successful test inputs remove every suspicious combination they contain, regardless of this method. Therefore,
+     * whether a sub-combination is relevant should only depend on the parameters it sets, and not on its values.
      *
      * @param combination for which the relevant sub-combinations are needed
      * @return all sub-combination the concrete algorithm considers
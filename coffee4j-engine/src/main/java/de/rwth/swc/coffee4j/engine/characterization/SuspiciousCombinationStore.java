@@ -0,0 +1,527 @@
+package de.rwth.swc.coffee4j.engine.characterization;
+
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrap;
+
+/**
+ * A set of combinations used by the {@link SuspiciousCombinationAlgorithm}. Combinations are grouped by the
+ * parameters they set. Inside such a group, each combination is encoded as a mixed-radix index of its values, and
+ * stored in a {@link BitSet} if the number of possible combinations is small enough, or as an index-free set of
+ * values otherwise.
+ * <p>
+ * This makes {@link #removeSubCombinationsOf(Collection)} cheap: for each group, the indices of the projections of all
+ * given test inputs are collected into one bitmap which is then removed via {@link BitSet#andNot(BitSet)}.
+ * Additionally, {@link #snapshot()} does not copy any group. Groups are only copied once they are modified by either
+ * the original store or the snapshot.
+ * <p>
+ * The iteration order is deterministic. Groups are iterated in the order in which they were created, and combinations
+ * inside a group by their index. Like {@link HashSet}, this class is not thread-safe.
+ */
+public final class SuspiciousCombinationStore extends AbstractSet<IntArrayWrapper> {
+    
+    private static final long MAXIMUM_DENSE_GROUP_SIZE = 1 << 12;
+    
+    private final int[] parameterSizes;
+    
+    private final Map<IntArrayWrapper, Group> groups;
+    
+    private final Set<Group> ownedGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+    
+    private int size;
+    
+    /**
+     * Creates a new empty store for combinations of a model with the given parameter sizes.
+     *
+     * @param parameterSizes the number of values of each parameter. Must not be {@code null}
+     */
+    public SuspiciousCombinationStore(int[] parameterSizes) {
+        this.parameterSizes = Preconditions.notNull(parameterSizes).clone();
+        groups = new LinkedHashMap<>();
+        size = 0;
+    }
+    
+    private SuspiciousCombinationStore(SuspiciousCombinationStore original) {
+        parameterSizes = original.parameterSizes;
+        groups = new LinkedHashMap<>(original.groups);
+        size = original.size;
+    }
+    
+    /**
+     * Creates a copy of this store. No combinations are copied until either this store or the snapshot is modified,
+     * and then only the modified groups of combinations.
+     *
+     * @return a store containing the same combinations as this one
+     */
+    public SuspiciousCombinationStore snapshot() {
+        ownedGroups.clear();
+        
+        return new SuspiciousCombinationStore(this);
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof IntArrayWrapper)) {
+            return false;
+        }
+        
+        final int[] combination = ((IntArrayWrapper) object).getArray();
+        if (combination.length != parameterSizes.length) {
+            return false;
+        }
+        
+        final Group group = groups.get(wrap(computeParameters(combination)));
+        
+        return group != null && group.contains(combination);
+    }
+    
+    @Override
+    public boolean add(IntArrayWrapper combination) {
+        Preconditions.notNull(combination);
+        final int[] combinationArray = combination.getArray();
+        Preconditions.check(combinationArray.length == parameterSizes.length);
+        
+        final int[] parameters = computeParameters(combinationArray);
+        final IntArrayWrapper key = wrap(parameters);
+        Group group = groups.get(key);
+        if (group == null) {
+            group = createGroup(parameters);
+            groups.put(key, group);
+            ownedGroups.add(group);
+        } else {
+            group = ownGroup(key, group);
+        }
+        
+        if (group.add(combinationArray)) {
+            size++;
+            return true;
+        }
+        
+        return false;
+    }
+    
+    @Override
+    public boolean remove(Object object) {
+        if (!contains(object)) {
+            return false;
+        }
+        
+        final int[] combination = ((IntArrayWrapper) object).getArray();
+        final IntArrayWrapper key = wrap(computeParameters(combination));
+        ownGroup(key, groups.get(key)).remove(combination);
+        size--;
+        
+        return true;
+    }
+    
+    @Override
+    public boolean removeAll(Collection<?> combinations) {
+        Preconditions.notNull(combinations);
+        
+        boolean changed = false;
+        for (Object combination : combinations) {
+            changed |= remove(combination);
+        }
+        
+        return changed;
+    }
+    
+    @Override
+    public void clear() {
+        groups.clear();
+        ownedGroups.clear();
+        size = 0;
+    }
+    
+    /**
+     * Removes every combination which is contained in at least one of the given test inputs.
+     *
+     * @param testInputs complete test inputs of the model. Must not be {@code null}
+     */
+    public void removeSubCombinationsOf(Collection<int[]> testInputs) {
+        Preconditions.notNull(testInputs);
+        if (testInputs.isEmpty()) {
+            return;
+        }
+        
+        for (Map.Entry<IntArrayWrapper, Group> entry : new ArrayList<>(groups.entrySet())) {
+            final Group group = entry.getValue();
+            final int previousSize = group.size();
+            if (previousSize == 0 || !group.containsProjectionOfAny(testInputs)) {
+                continue;
+            }
+            
+            final Group ownedGroup = ownGroup(entry.getKey(), group);
+            ownedGroup.removeProjectionsOf(testInputs);
+            size -= previousSize - ownedGroup.size();
+        }
+    }
+    
+    @Override
+    public Iterator<IntArrayWrapper> iterator() {
+        return new StoreIterator();
+    }
+    
+    private static int[] computeParameters(int[] combination) {
+        int numberOfParameters = 0;
+        for (int value : combination) {
+            if (value != NO_VALUE) {
+                numberOfParameters++;
+            }
+        }
+        
+        final int[] parameters = new int[numberOfParameters];
+        int index = 0;
+        for (int parameter = 0; parameter < combination.length; parameter++) {
+            if (combination[parameter] != NO_VALUE) {
+                parameters[index++] = parameter;
+            }
+        }
+        
+        return parameters;
+    }
+    
+    private Group createGroup(int[] parameters) {
+        long numberOfCombinations = 1;
+        for (int parameter : parameters) {
+            numberOfCombinations *= parameterSizes[parameter];
+            if (numberOfCombinations > MAXIMUM_DENSE_GROUP_SIZE) {
+                return new SparseGroup(parameters, parameterSizes.length);
+            }
+        }
+        
+        return new DenseGroup(parameters, parameterSizes);
+    }
+    
+    /**
+     * Returns a group which may be modified by this store. If the given group is shared with a snapshot, it is
+     * replaced by a copy.
+     */
+    private Group ownGroup(IntArrayWrapper key, Group group) {
+        if (ownedGroups.contains(group)) {
+            return group;
+        }
+        
+        final Group copy = group.copy();
+        groups.put(key, copy);
+        ownedGroups.add(copy);
+        
+        return copy;
+    }
+    
+    private final class StoreIterator implements Iterator<IntArrayWrapper> {
+        
+        private final Iterator<Group> groupIterator = new ArrayList<>(groups.values()).iterator();
+        
+        private Iterator<int[]> combinationIterator = Collections.emptyIterator();
+        
+        private IntArrayWrapper lastCombination;
+        
+        @Override
+        public boolean hasNext() {
+            while (!combinationIterator.hasNext() && groupIterator.hasNext()) {
+                combinationIterator = groupIterator.next().combinations().iterator();
+            }
+            
+            return combinationIterator.hasNext();
+        }
+        
+        @Override
+        public IntArrayWrapper next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            
+            lastCombination = wrap(combinationIterator.next());
+            
+            return lastCombination;
+        }
+        
+        @Override
+        public void remove() {
+            if (lastCombination == null) {
+                throw new IllegalStateException();
+            }
+            
+            SuspiciousCombinationStore.this.remove(lastCombination);
+            lastCombination = null;
+        }
+        
+    }
+    
+    /**
+     * All stored combinations which set exactly the same parameters.
+     */
+    private abstract static class Group {
+        
+        final int[] parameters;
+        
+        final int numberOfParameters;
+        
+        Group(int[] parameters, int numberOfParameters) {
+            this.parameters = parameters;
+            this.numberOfParameters = numberOfParameters;
+        }
+        
+        abstract int size();
+        
+        abstract boolean contains(int[] combination);
+        
+        abstract boolean add(int[] combination);
+        
+        abstract void remove(int[] combination);
+        
+        abstract boolean containsProjectionOfAny(Collection<int[]> testInputs);
+        
+        abstract void removeProjectionsOf(Collection<int[]> testInputs);
+        
+        /**
+         * @return a list of all combinations at the time of calling, so that the group may be modified afterwards
+         */
+        abstract List<int[]> combinations();
+        
+        abstract Group copy();
+        
+    }
+    
+    /**
+     * Encodes each combination as a mixed-radix index of its values and stores the indices in a {@link BitSet}.
+     */
+    private static final class DenseGroup extends Group {
+        
+        private final int[] parameterSizes;
+        
+        private final int[] radices;
+        
+        private final BitSet indices;
+        
+        private DenseGroup(int[] parameters, int[] parameterSizes) {
+            super(parameters, parameterSizes.length);
+            
+            this.parameterSizes = parameterSizes;
+            radices = new int[parameters.length];
+            int radix = 1;
+            for (int i = 0; i < parameters.length; i++) {
+                radices[i] = radix;
+                radix *= parameterSizes[parameters[i]];
+            }
+            indices = new BitSet();
+        }
+        
+        private DenseGroup(DenseGroup original) {
+            super(original.parameters, original.numberOfParameters);
+            
+            parameterSizes = original.parameterSizes;
+            radices = original.radices;
+            indices = (BitSet) original.indices.clone();
+        }
+        
+        private int encode(int[] combination) {
+            int index = 0;
+            for (int i = 0; i < parameters.length; i++) {
+                final int value = combination[parameters[i]];
+                if (value < 0 || value >= parameterSizes[parameters[i]]) {
+                    return -1;
+                }
+                index += value * radices[i];
+            }
+            
+            return index;
+        }
+        
+        private int[] decode(int index) {
+            final int[] combination = new int[numberOfParameters];
+            Arrays.fill(combination, NO_VALUE);
+            
+            for (int i = 0; i < parameters.length; i++) {
+                combination[parameters[i]] = (index / radices[i]) % parameterSizes[parameters[i]];
+            }
+            
+            return combination;
+        }
+        
+        @Override
+        int size() {
+            return indices.cardinality();
+        }
+        
+        @Override
+        boolean contains(int[] combination) {
+            final int index = encode(combination);
+            
+            return index >= 0 && indices.get(index);
+        }
+        
+        @Override
+        boolean add(int[] combination) {
+            final int index = encode(combination);
+            Preconditions.check(index >= 0, "combination contains values outside of the parameter sizes");
+            if (indices.get(index)) {
+                return false;
+            }
+            
+            indices.set(index);
+            
+            return true;
+        }
+        
+        @Override
+        void remove(int[] combination) {
+            indices.clear(encode(combination));
+        }
+        
+        @Override
+        boolean containsProjectionOfAny(Collection<int[]> testInputs) {
+            for (int[] testInput : testInputs) {
+                final int index = encode(testInput);
+                if (index >= 0 && indices.get(index)) {
+                    return true;
+                }
+            }
+            
+            return false;
+        }
+        
+        @Override
+        void removeProjectionsOf(Collection<int[]> testInputs) {
+            final BitSet projections = new BitSet();
+            for (int[] testInput : testInputs) {
+                final int index = encode(testInput);
+                if (index >= 0) {
+                    projections.set(index);
+                }
+            }
+            
+            indices.andNot(projections);
+        }
+        
+        @Override
+        List<int[]> combinations() {
+            final List<int[]> combinations = new ArrayList<>(indices.cardinality());
+            for (int index = indices.nextSetBit(0); index >= 0; index = indices.nextSetBit(index + 1)) {
+                combinations.add(decode(index));
+            }
+            
+            return combinations;
+        }
+        
+        @Override
+        Group copy() {
+            return new DenseGroup(this);
+        }
+        
+    }
+    
+    /**
+     * Stores the projections of combinations onto the parameters of the group if there are too many possible
+     * combinations for a {@link BitSet}.
+     */
+    private static final class SparseGroup extends Group {
+        
+        private final Set<IntArrayWrapper> projections;
+        
+        private SparseGroup(int[] parameters, int numberOfParameters) {
+            super(parameters, numberOfParameters);
+            
+            projections = new LinkedHashSet<>();
+        }
+        
+        private SparseGroup(SparseGroup original) {
+            super(original.parameters, original.numberOfParameters);
+            
+            projections = new LinkedHashSet<>(original.projections);
+        }
+        
+        private IntArrayWrapper project(int[] combination) {
+            final int[] projection = new int[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                projection[i] = combination[parameters[i]];
+            }
+            
+            return wrap(projection);
+        }
+        
+        @Override
+        int size() {
+            return projections.size();
+        }
+        
+        @Override
+        boolean contains(int[] combination) {
+            return projections.contains(project(combination));
+        }
+        
+        @Override
+        boolean add(int[] combination) {
+            return projections.add(project(combination));
+        }
+        
+        @Override
+        void remove(int[] combination) {
+            projections.remove(project(combination));
+        }
+        
+        @Override
+        boolean containsProjectionOfAny(Collection<int[]> testInputs) {
+            for (int[] testInput : testInputs) {
+                if (projections.contains(project(testInput))) {
+                    return true;
+                }
+            }
+            
+            return false;
+        }
+        
+        @Override
+        void removeProjectionsOf(Collection<int[]> testInputs) {
+            for (int[] testInput : testInputs) {
+                projections.remove(project(testInput));
+            }
+        }
+        
+        @Override
+        List<int[]> combinations() {
+            final List<int[]> combinations = new ArrayList<>(projections.size());
+            for (IntArrayWrapper projection : projections) {
+                final int[] combination = new int[numberOfParameters];
+                Arrays.fill(combination, NO_VALUE);
+                for (int i = 0; i < parameters.length; i++) {
+                    combination[parameters[i]] = projection.getArray()[i];
+                }
+                combinations.add(combination);
+            }
+            
+            return combinations;
+        }
+        
+        @Override
+        Group copy() {
+            return new SparseGroup(this);
+        }
+        
+    }
+    
+}
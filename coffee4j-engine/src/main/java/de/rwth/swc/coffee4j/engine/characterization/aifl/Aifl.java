@@ -5,12 +5,14 @@ import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorit
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmFactory;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
 import de.rwth.swc.coffee4j.engine.characterization.SuspiciousCombinationAlgorithm;
-import de.rwth.swc.coffee4j.engine.util.Combinator;
 import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrap;
 import static de.rwth.swc.coffee4j.engine.util.PredicateUtil.not;
 
 /**
@@ -24,26 +26,57 @@ import static de.rwth.swc.coffee4j.engine.util.PredicateUtil.not;
  * 5 new test inputs would be generated: (-, 1, 2, 0, 1), (0, -, 1, 2, 0, 1), (0, 1, -, 0, 1), (0, 1, 2, -, 1),
  * (0, 1, 2, 0, -). "-" stands for an arbitrary different other value.
  * <p>
+ * The sub-combinations of failed test inputs are enumerated level by level, and only up to a maximum interaction order
+ * (by default the number of parameters). Sub-combinations which are already contained in a successful test input of
+ * the initial test suite are never materialized, and no extension of a sub-combination is enumerated if a successful
+ * test input contains all of them. An extension of a sub-combination contained in a successful test input may itself
+ * not be contained in any, so all other extensions are still enumerated. Without a maximum order, the results are
+ * therefore the same as those of the original algorithm, and a failed test input with n parameters can still lead to
+ * 2^n - 1 suspicious combinations.
+ * <p>
  * Important Information:
  * <ul>
  *     <li>Generates many additional test inputs if there are many parameters
  *     <li>Generates many additional test inputs if there are many failing test inputs
  *     <li>Does not order failure-inducing combinations by probability and can return quite a few of them
  *     <li>Does not consider constraints
+ *     <li>Should be used with a maximum order if there are many parameters
  * </ul>
  */
 public class Aifl extends SuspiciousCombinationAlgorithm {
     
+    private final int maximumOrder;
+    
+    private final List<int[]> initialSuccessfulTestInputs = new ArrayList<>();
+    
     /**
      * Builds a new instance of the algorithm for a given configuration. The constraints checker in this configuration
-     * will be ignored.
+     * will be ignored. All sub-combinations of failed test inputs are considered, so the number of suspicious
+     * combinations is unbounded as in the original algorithm.
      *
      * @param configuration for knowing which combinations can be failure-inducing/which test inputs can be generated.
      *                      Must not be {@code null}
      * @throws NullPointerException if configuration is {@code null}
      */
     public Aifl(FaultCharacterizationConfiguration configuration) {
+        this(configuration, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Builds a new instance of the algorithm for a given configuration which only considers sub-combinations of
+     * failed test inputs up to the given size. The constraints checker in this configuration will be ignored.
+     *
+     * @param configuration for knowing which combinations can be failure-inducing/which test inputs can be generated.
+     *                      Must not be {@code null}
+     * @param maximumOrder  the maximum size of a suspicious combination. Must be positive
+     * @throws NullPointerException     if configuration is {@code null}
+     * @throws IllegalArgumentException if maximumOrder is not positive
+     */
+    public Aifl(FaultCharacterizationConfiguration configuration, int maximumOrder) {
         super(configuration);
+        Preconditions.check(maximumOrder > 0, "maximumOrder must be positive");
+        
+        this.maximumOrder = Math.min(maximumOrder, getModel().getNumberOfParameters());
     }
     
     /**
@@ -57,9 +90,133 @@ public class Aifl extends SuspiciousCombinationAlgorithm {
         return Aifl::new;
     }
     
+    /**
+     * Can be used as a convenience method to describe that AIFL with a maximum order should be used as a
+     * {@link FaultCharacterizationAlgorithmFactory}.
+     *
+     * @param maximumOrder the maximum size of a suspicious combination. Must be positive
+     * @return a factory using the constructor ({@link Aifl#Aifl(FaultCharacterizationConfiguration, int)}) to create
+     * new {@link FaultCharacterizationAlgorithm} instances
+     */
+    public static FaultCharacterizationAlgorithmFactory aifl(int maximumOrder) {
+        return configuration -> new Aifl(configuration, maximumOrder);
+    }
+    
+    /**
+     * @return the maximum size of a suspicious combination
+     */
+    public int getMaximumOrder() {
+        return maximumOrder;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * The successful test inputs of the initial test suite are remembered so that sub-combinations contained in them
+     * are not even enumerated when the suspicious set is initialized.
+     */
+    @Override
+    public List<int[]> computeNextTestInputs(Map<int[], TestResult> nextTestResults) {
+        Preconditions.notNull(nextTestResults);
+        
+        if (testResults.isEmpty()) {
+            for (Map.Entry<int[], TestResult> entry : nextTestResults.entrySet()) {
+                if (entry.getValue().isSuccessful()) {
+                    initialSuccessfulTestInputs.add(entry.getKey());
+                }
+            }
+        }
+        
+        final List<int[]> nextTestInputs = super.computeNextTestInputs(nextTestResults);
+        initialSuccessfulTestInputs.clear();
+        
+        return nextTestInputs;
+    }
+    
+    /**
+     * Enumerates all sub-combinations of the given combination up to the maximum order, one level at a time. Each
+     * level is built by extending the sub-combinations of the previous level with one parameter after their last one.
+     * For each sub-combination, the successful test inputs which contain it are tracked. Sub-combinations contained in
+     * any of them are skipped, as they would be removed from the suspicious set anyway. Their extensions are only
+     * enumerated if no successful test input contains all of them.
+     *
+     * @param combination for which the relevant sub-combinations are needed
+     * @return all sub-combinations up to the maximum order which are not contained in a known successful test input
+     */
     @Override
     public Set<IntArrayWrapper> getRelevantSubCombinations(int[] combination) {
-        return Combinator.computeSubCombinations(combination).stream().map(IntArrayWrapper::new).collect(Collectors.toSet());
+        final BitSet[] containingTestInputs = computeContainingTestInputs(combination);
+        final BitSet[] containingAllFollowingParameters = computeContainingAllFollowingParameters(combination, containingTestInputs);
+        final Set<IntArrayWrapper> subCombinations = new LinkedHashSet<>();
+        
+        final BitSet allTestInputs = new BitSet(initialSuccessfulTestInputs.size());
+        allTestInputs.set(0, initialSuccessfulTestInputs.size());
+        List<SubCombination> level = Collections.singletonList(new SubCombination(new int[0], -1, allTestInputs));
+        
+        for (int order = 1; order <= maximumOrder && !level.isEmpty(); order++) {
+            final List<SubCombination> nextLevel = new ArrayList<>();
+            
+            for (SubCombination subCombination : level) {
+                for (int parameter = subCombination.lastParameter + 1; parameter < combination.length; parameter++) {
+                    if (combination[parameter] == NO_VALUE) {
+                        continue;
+                    }
+                    
+                    final SubCombination extension = subCombination.extend(parameter, containingTestInputs[parameter]);
+                    if (extension.testInputs.isEmpty()) {
+                        subCombinations.add(wrap(project(combination, extension.parameters)));
+                    }
+                    if (order < maximumOrder && !extension.testInputs.intersects(containingAllFollowingParameters[parameter + 1])) {
+                        nextLevel.add(extension);
+                    }
+                }
+            }
+            
+            level = nextLevel;
+        }
+        
+        return subCombinations;
+    }
+    
+    private BitSet[] computeContainingTestInputs(int[] combination) {
+        final BitSet[] containingTestInputs = new BitSet[combination.length];
+        
+        for (int parameter = 0; parameter < combination.length; parameter++) {
+            containingTestInputs[parameter] = new BitSet(initialSuccessfulTestInputs.size());
+            for (int i = 0; i < initialSuccessfulTestInputs.size(); i++) {
+                if (initialSuccessfulTestInputs.get(i)[parameter] == combination[parameter]) {
+                    containingTestInputs[parameter].set(i);
+                }
+            }
+        }
+        
+        return containingTestInputs;
+    }
+    
+    /* a successful test input in the i-th set contains the values of the combination for all parameters from i on */
+    private BitSet[] computeContainingAllFollowingParameters(int[] combination, BitSet[] containingTestInputs) {
+        final BitSet[] containingAllFollowingParameters = new BitSet[combination.length + 1];
+        containingAllFollowingParameters[combination.length] = new BitSet(initialSuccessfulTestInputs.size());
+        containingAllFollowingParameters[combination.length].set(0, initialSuccessfulTestInputs.size());
+        
+        for (int parameter = combination.length - 1; parameter >= 0; parameter--) {
+            containingAllFollowingParameters[parameter] = (BitSet) containingAllFollowingParameters[parameter + 1].clone();
+            if (combination[parameter] != NO_VALUE) {
+                containingAllFollowingParameters[parameter].and(containingTestInputs[parameter]);
+            }
+        }
+        
+        return containingAllFollowingParameters;
+    }
+    
+    private static int[] project(int[] combination, int[] parameters) {
+        final int[] subCombination = new int[combination.length];
+        Arrays.fill(subCombination, NO_VALUE);
+        
+        for (int parameter : parameters) {
+            subCombination[parameter] = combination[parameter];
+        }
+        
+        return subCombination;
     }
     
     @Override
@@ -98,4 +255,36 @@ public class Aifl extends SuspiciousCombinationAlgorithm {
         return suspiciousCombinations.stream().map(IntArrayWrapper::getArray).collect(Collectors.toList());
     }
     
+    /**
+     * A sub-combination given by its parameters, together with the successful test inputs containing it.
+     */
+    private static final class SubCombination {
+        
+        private final int[] parameters;
+        private final int lastParameter;
+        private final BitSet testInputs;
+        
+        private SubCombination(int[] parameters, int lastParameter, BitSet testInputs) {
+            this.parameters = parameters;
+            this.lastParameter = lastParameter;
+            this.testInputs = testInputs;
+        }
+        
+        private SubCombination extend(int parameter, BitSet containingTestInputs) {
+            final int[] extendedParameters = Arrays.copyOf(parameters, parameters.length + 1);
+            extendedParameters[parameters.length] = parameter;
+            
+            if (testInputs.isEmpty()) {
+                /* no successful test input contains any extension, so the empty set can be shared */
+                return new SubCombination(extendedParameters, parameter, testInputs);
+            }
+            
+            final BitSet extendedTestInputs = (BitSet) testInputs.clone();
+            extendedTestInputs.and(containingTestInputs);
+            
+            return new SubCombination(extendedParameters, parameter, extendedTestInputs);
+        }
+        
+    }
+    
 }
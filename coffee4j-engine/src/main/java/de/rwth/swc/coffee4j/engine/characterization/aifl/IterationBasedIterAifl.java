@@ -50,7 +50,20 @@ public class IterationBasedIterAifl extends Aifl {
      * @param suspiciousCombinationsThreshold the threshold for algorithm termination
      */
     public IterationBasedIterAifl(FaultCharacterizationConfiguration configuration, int suspiciousCombinationsThreshold) {
-        super(configuration);
+        this(configuration, suspiciousCombinationsThreshold, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Creates a new IterAIFL algorithm based on the given configuration. The ConstraintsChecker is ignored.
+     * The threshold is used as a stopping conditions as described in {@link IterationBasedIterAifl}, and only
+     * sub-combinations up to the maximum order are considered as described in {@link Aifl}.
+     *
+     * @param configuration                   the configuration for the algorithm
+     * @param suspiciousCombinationsThreshold the threshold for algorithm termination
+     * @param maximumOrder                    the maximum size of a suspicious combination. Must be positive
+     */
+    public IterationBasedIterAifl(FaultCharacterizationConfiguration configuration, int suspiciousCombinationsThreshold, int maximumOrder) {
+        super(configuration, maximumOrder);
         this.suspiciousCombinationsThreshold = suspiciousCombinationsThreshold;
     }
     
@@ -71,6 +84,17 @@ public class IterationBasedIterAifl extends Aifl {
         return configuration -> new IterationBasedIterAifl(configuration, suspiciousCombinationsThreshold);
     }
     
+    /**
+     * Creates a factory which uses the given threshold and maximum order to configuration the IterAIFL algorithm.
+     *
+     * @param suspiciousCombinationsThreshold the threshold as described in {@link IterationBasedIterAifl}
+     * @param maximumOrder                    the maximum size of a suspicious combination. Must be positive
+     * @return a factory always returning new instances of the IterAIFL algorithm with the given threshold and order
+     */
+    public static FaultCharacterizationAlgorithmFactory iterAifl(int suspiciousCombinationsThreshold, int maximumOrder) {
+        return configuration -> new IterationBasedIterAifl(configuration, suspiciousCombinationsThreshold, maximumOrder);
+    }
+    
     @Override
     public boolean shouldGenerateFurtherTestInputs() {
         return iteration < getModel().getNumberOfParameters() && suspiciousCombinations.size() > suspiciousCombinationsThreshold && previousSuspiciousCombinations.size() != suspiciousCombinations.size();
@@ -9,12 +9,11 @@ import de.rwth.swc.coffee4j.engine.util.CombinationUtil;
 import de.rwth.swc.coffee4j.engine.util.Combinator;
 import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntComparator;
 import it.unimi.dsi.fastutil.ints.IntList;
-import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
-import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -54,6 +53,7 @@ import static de.rwth.swc.coffee4j.engine.util.PredicateUtil.not;
  *     <li>Orders failure-inducing combinations by probability
  *     <li>Considers constraints as an addition to the original algorithm
  *     <li>Not very efficient if failure-inducing combination is smaller than t values
+ *     <li>Is reproducible if the configuration contains a seeded random source
  * </ul>
  */
 public class Ben extends SuspiciousCombinationAlgorithm {
@@ -63,9 +63,15 @@ public class Ben extends SuspiciousCombinationAlgorithm {
 
     private final int numberOfCombinationsPerStep;
     private final int maxGenerationAttempts;
+    private final RandomSource randomSource;
 
     private boolean endInNextIteration = false;
 
+    private int[] valueOffsets;
+    private int[] numberOfTestAppearances;
+    private int[] numberOfFailedTestAppearances;
+    private int numberOfFailedTestInputs = 0;
+
     /**
      * Builds a new instance of the algorithm for a given configuration. 10 test inputs will be generated per step, and
      * no further test inputs are generated in the next iteration if no test input can be found for a failure inducing
@@ -98,6 +104,7 @@ public class Ben extends SuspiciousCombinationAlgorithm {
 
         this.numberOfCombinationsPerStep = numberOfCombinationsPerStep;
         this.maxGenerationAttempts = maxGenerationAttempts;
+        this.randomSource = configuration.getRandomSource().split();
     }
 
     /**
@@ -139,15 +146,70 @@ public class Ben extends SuspiciousCombinationAlgorithm {
         return previousSuspiciousCombinations.size() != suspiciousCombinations.size() && !endInNextIteration && getModel().getStrength() < getModel().getNumberOfParameters();
     }
 
+    /**
+     * {@inheritDoc}
+     * Additionally, the per-component test appearance counters are updated with the new test results.
+     */
+    @Override
+    public List<int[]> computeNextTestInputs(Map<int[], TestResult> nextTestResults) {
+        Preconditions.notNull(nextTestResults);
+
+        updateComponentCounters(nextTestResults);
+
+        return super.computeNextTestInputs(nextTestResults);
+    }
+
+    private void updateComponentCounters(Map<int[], TestResult> nextTestResults) {
+        if (valueOffsets == null) {
+            initializeComponentCounters();
+        }
+
+        final Map<IntArrayWrapper, TestResult> countedResults = new HashMap<>();
+        for (Map.Entry<int[], TestResult> entry : nextTestResults.entrySet()) {
+            final IntArrayWrapper testInput = wrap(entry.getKey());
+            final TestResult previousResult = countedResults.containsKey(testInput) ? countedResults.get(testInput) : testResults.get(testInput);
+            if (previousResult != null) {
+                count(testInput.getArray(), previousResult, -1);
+            }
+            count(testInput.getArray(), entry.getValue(), 1);
+            countedResults.put(testInput, entry.getValue());
+        }
+    }
+
+    private void initializeComponentCounters() {
+        final int numberOfParameters = getModel().getNumberOfParameters();
+        valueOffsets = new int[numberOfParameters + 1];
+        for (int parameter = 0; parameter < numberOfParameters; parameter++) {
+            valueOffsets[parameter + 1] = valueOffsets[parameter] + getModel().getSizeOfParameter(parameter);
+        }
+
+        numberOfTestAppearances = new int[valueOffsets[numberOfParameters]];
+        numberOfFailedTestAppearances = new int[valueOffsets[numberOfParameters]];
+    }
+
+    private void count(int[] testInput, TestResult result, int increment) {
+        for (int parameter = 0; parameter < testInput.length; parameter++) {
+            final int component = valueOffsets[parameter] + testInput[parameter];
+            numberOfTestAppearances[component] += increment;
+            if (result.isUnsuccessful()) {
+                numberOfFailedTestAppearances[component] += increment;
+            }
+        }
+        if (result.isUnsuccessful()) {
+            numberOfFailedTestInputs += increment;
+        }
+    }
+
     @Override
     public List<IntArrayWrapper> generateNextTestInputs(Map<int[], TestResult> newTestResults) {
-        final Object2DoubleMap<Component> componentSuspiciousnessMap = computeComponentSuspiciousness(suspiciousCombinations);
-        final List<IntArrayWrapper> suspiciousCombinationsRanking = computeSuspiciousCombinationsRanking(componentSuspiciousnessMap, suspiciousCombinations);
+        final double[] componentSuspiciousness = computeComponentSuspiciousness(suspiciousCombinations);
+        final List<IntArrayWrapper> suspiciousCombinationsRanking = computeSuspiciousCombinationsRanking(componentSuspiciousness, suspiciousCombinations);
         final int numberOfNewTestInputs = Math.min(suspiciousCombinationsRanking.size(), numberOfCombinationsPerStep);
+        final IntList[] parameterValueRanking = computeParameterValueRanking(componentSuspiciousness);
         final List<IntArrayWrapper> newTestInputs = new ArrayList<>(numberOfNewTestInputs);
         for (int i = 0; i < numberOfNewTestInputs; i++) {
             final int[] currentCombination = suspiciousCombinationsRanking.get(i).getArray();
-            final IntArrayWrapper newTestInput = computeNewTestInputFor(currentCombination, componentSuspiciousnessMap);
+            final IntArrayWrapper newTestInput = computeNewTestInputFor(currentCombination, parameterValueRanking);
             if (newTestInput != null) {
                 newTestInputs.add(newTestInput);
             } else {
@@ -158,108 +220,114 @@ public class Ben extends SuspiciousCombinationAlgorithm {
         return newTestInputs;
     }
 
-    private Object2DoubleMap<Component> computeComponentSuspiciousness(Set<IntArrayWrapper> relevantSuspiciousCombinations) {
-        final Object2IntMap<Component> numberOfFailedTestAppearances = new Object2IntOpenHashMap<>();
-        final Object2IntMap<Component> numberOfTestAppearances = new Object2IntOpenHashMap<>();
-        final Object2IntMap<Component> numberOfCombinationsAppearances = new Object2IntOpenHashMap<>();
+    /**
+     * Computes the suspiciousness of each component (1-value-combination). The result is indexed by the position of
+     * the component in the flat component table, which is the value offset of the parameter plus the value.
+     */
+    private double[] computeComponentSuspiciousness(Set<IntArrayWrapper> relevantSuspiciousCombinations) {
+        final int[] numberOfCombinationsAppearances = new int[numberOfTestAppearances.length];
         final int numberOfSuspiciousCombinations = relevantSuspiciousCombinations.size();
-        int numberOfFailedTestInputs = 0;
-
-        for (Map.Entry<IntArrayWrapper, TestResult> entry : testResults.entrySet()) {
-            final int[] currentCombination = entry.getKey().getArray();
-            for (int parameter = 0; parameter < currentCombination.length; parameter++) {
-                final Component component = new Component(parameter, currentCombination[parameter]);
-                numberOfTestAppearances.put(component, numberOfTestAppearances.getOrDefault(component, 0) + 1);
-                if (entry.getValue().isUnsuccessful()) {
-                    numberOfFailedTestAppearances.put(component, numberOfFailedTestAppearances.getOrDefault(component, 0) + 1);
-                }
-            }
-            if (entry.getValue().isUnsuccessful()) {
-                numberOfFailedTestInputs++;
-            }
-        }
+
         for (IntArrayWrapper suspiciousCombination : relevantSuspiciousCombinations) {
             final int[] suspiciousCombinationArray = suspiciousCombination.getArray();
             for (int parameter = 0; parameter < suspiciousCombinationArray.length; parameter++) {
-                final Component component = new Component(parameter, suspiciousCombinationArray[parameter]);
-                numberOfCombinationsAppearances.put(component, numberOfCombinationsAppearances.getOrDefault(component, 0) + 1);
+                if (suspiciousCombinationArray[parameter] != NO_VALUE) {
+                    numberOfCombinationsAppearances[valueOffsets[parameter] + suspiciousCombinationArray[parameter]]++;
+                }
             }
         }
 
-        final Object2DoubleMap<Component> componentSuspiciousnessMap = new Object2DoubleOpenHashMap<>();
-        for (int parameter = 0; parameter < getModel().getNumberOfParameters(); parameter++) {
-            for (int value = 0; value < getModel().getSizeOfParameter(parameter); value++) {
-                final Component component = new Component(parameter, value);
-                final int failedTestAppearances = numberOfFailedTestAppearances.getOrDefault(component, 0);
-                final int testAppearances = numberOfTestAppearances.getOrDefault(component, 0);
-                final int combinationAppearances = numberOfCombinationsAppearances.getOrDefault(component, 0);
-                final double suspiciousness = (zeroSafeDivision(failedTestAppearances, numberOfFailedTestInputs) + failedTestAppearances / (double) testAppearances + combinationAppearances / (double) numberOfSuspiciousCombinations) / 3.0;
-                componentSuspiciousnessMap.put(component, suspiciousness);
-            }
+        final double[] componentSuspiciousness = new double[numberOfTestAppearances.length];
+        for (int component = 0; component < componentSuspiciousness.length; component++) {
+            final int failedTestAppearances = numberOfFailedTestAppearances[component];
+            final int testAppearances = numberOfTestAppearances[component];
+            final int combinationAppearances = numberOfCombinationsAppearances[component];
+            componentSuspiciousness[component] = (zeroSafeDivision(failedTestAppearances, numberOfFailedTestInputs) + failedTestAppearances / (double) testAppearances + combinationAppearances / (double) numberOfSuspiciousCombinations) / 3.0;
         }
 
-        return componentSuspiciousnessMap;
+        return componentSuspiciousness;
     }
 
     private double zeroSafeDivision(double value, double divisor) {
         return divisor == 0 ? 0 : value / divisor;
     }
 
-    private List<IntArrayWrapper> computeSuspiciousCombinationsRanking(Object2DoubleMap<Component> componentSuspiciousnessMap, Set<IntArrayWrapper> relevantSuspiciousCombinations) {
-        final List<IntArrayWrapper> suspiciousnessOfCombinationRanking = computeSuspiciousnessOfCombinationRanking(componentSuspiciousnessMap, relevantSuspiciousCombinations);
-        final List<IntArrayWrapper> suspiciousnessOfEnvironmentRanking = computeSuspiciousnessOfEnvironmentRanking(componentSuspiciousnessMap, relevantSuspiciousCombinations);
+    /**
+     * Ranks the combinations by the sum of their rank according to their own suspiciousness (descending) and their
+     * rank according to the suspiciousness of their environment (ascending). Ties are broken by the iteration order of
+     * the given set.
+     */
+    private List<IntArrayWrapper> computeSuspiciousCombinationsRanking(double[] componentSuspiciousness, Set<IntArrayWrapper> relevantSuspiciousCombinations) {
+        final List<IntArrayWrapper> combinations = new ArrayList<>(relevantSuspiciousCombinations);
+        final double[] suspiciousnessOfCombinations = new double[combinations.size()];
+        final double[] suspiciousnessOfEnvironments = new double[combinations.size()];
+        final List<int[]> testInputs = testResults.keySet().stream().map(IntArrayWrapper::getArray).collect(Collectors.toList());
+
+        for (int i = 0; i < combinations.size(); i++) {
+            final int[] combination = combinations.get(i).getArray();
+            suspiciousnessOfCombinations[i] = computeSuspiciousnessOfCombination(combination, componentSuspiciousness);
+            suspiciousnessOfEnvironments[i] = computeMinimumAverage(combination, testInputs, componentSuspiciousness);
+        }
+
+        final int[] combinationRanks = computeRanks(suspiciousnessOfCombinations.length, (first, second) -> Double.compare(suspiciousnessOfCombinations[second], suspiciousnessOfCombinations[first]));
+        final int[] environmentRanks = computeRanks(suspiciousnessOfEnvironments.length, (first, second) -> Double.compare(suspiciousnessOfEnvironments[first], suspiciousnessOfEnvironments[second]));
+        final int[] ranking = sortedIndices(combinations.size(), (first, second) -> Integer.compare(combinationRanks[first] + environmentRanks[first], combinationRanks[second] + environmentRanks[second]));
 
-        return relevantSuspiciousCombinations.stream().sorted(Comparator.comparingInt(combination -> suspiciousnessOfCombinationRanking.indexOf(combination) + suspiciousnessOfEnvironmentRanking.indexOf(combination))).collect(Collectors.toList());
+        final List<IntArrayWrapper> suspiciousCombinationsRanking = new ArrayList<>(ranking.length);
+        for (int index : ranking) {
+            suspiciousCombinationsRanking.add(combinations.get(index));
+        }
+
+        return suspiciousCombinationsRanking;
     }
 
-    private List<IntArrayWrapper> computeSuspiciousnessOfCombinationRanking(Object2DoubleMap<Component> componentSuspiciousnessMap, Set<IntArrayWrapper> relevantSuspiciousCombinations) {
-        final Object2DoubleMap<IntArrayWrapper> suspiciousnessOfCombinations = new Object2DoubleOpenHashMap<>();
-        for (IntArrayWrapper combination : relevantSuspiciousCombinations) {
-            final int[] combinationArray = combination.getArray();
-            double sum = 0;
-            double numberOfParameters = 0;
-
-            for (int parameter = 0; parameter < combinationArray.length; parameter++) {
-                if (combinationArray[parameter] != NO_VALUE) {
-                    final Component component = new Component(parameter, combinationArray[parameter]);
-                    sum += componentSuspiciousnessMap.getDouble(component);
-                    numberOfParameters++;
-                }
-            }
+    /**
+     * Computes the position of each index after a stable sort with the given comparator. This is the same as calling
+     * {@link List#indexOf(Object)} on the sorted list for each element, but without the quadratic runtime.
+     */
+    private static int[] computeRanks(int size, IntComparator comparator) {
+        final int[] sortedIndices = sortedIndices(size, comparator);
+        final int[] ranks = new int[size];
 
-            suspiciousnessOfCombinations.put(combination, zeroSafeDivision(sum, numberOfParameters));
+        for (int position = 0; position < size; position++) {
+            ranks[sortedIndices[position]] = position;
         }
-        List<IntArrayWrapper> suspiciousnessOfCombinationRanking = new ArrayList<>(relevantSuspiciousCombinations);
-        suspiciousnessOfCombinationRanking.sort(Comparator.comparing(suspiciousnessOfCombinations::getDouble).reversed());
 
-        return suspiciousnessOfCombinationRanking;
+        return ranks;
+    }
+
+    private static int[] sortedIndices(int size, IntComparator comparator) {
+        final int[] indices = IntStream.range(0, size).toArray();
+        IntArrays.mergeSort(indices, comparator);
+
+        return indices;
     }
 
-    private List<IntArrayWrapper> computeSuspiciousnessOfEnvironmentRanking(Object2DoubleMap<Component> componentSuspiciousnessMap, Set<IntArrayWrapper> relevantSuspiciousCombinations) {
-        final Object2DoubleMap<IntArrayWrapper> suspiciousnessOfEnvironment = new Object2DoubleOpenHashMap<>();
-        for (IntArrayWrapper combination : relevantSuspiciousCombinations) {
-            final double minimumAverage = computeMinimumAverage(combination.getArray(), componentSuspiciousnessMap);
-            suspiciousnessOfEnvironment.put(combination, minimumAverage);
+    private double computeSuspiciousnessOfCombination(int[] combination, double[] componentSuspiciousness) {
+        double sum = 0;
+        double numberOfParameters = 0;
+
+        for (int parameter = 0; parameter < combination.length; parameter++) {
+            if (combination[parameter] != NO_VALUE) {
+                sum += componentSuspiciousness[valueOffsets[parameter] + combination[parameter]];
+                numberOfParameters++;
+            }
         }
-        List<IntArrayWrapper> suspiciousnessOfEnvironmentRanking = new ArrayList<>(relevantSuspiciousCombinations);
-        suspiciousnessOfEnvironmentRanking.sort(Comparator.comparing(suspiciousnessOfEnvironment::getDouble));
 
-        return suspiciousnessOfEnvironmentRanking;
+        return zeroSafeDivision(sum, numberOfParameters);
     }
 
-    private double computeMinimumAverage(int[] combinationArray, Object2DoubleMap<Component> componentSuspiciousnessMap) {
+    private double computeMinimumAverage(int[] combinationArray, List<int[]> testInputs, double[] componentSuspiciousness) {
         double minimumAverage = Double.MAX_VALUE;
 
-        for (IntArrayWrapper testInput : testResults.keySet()) {
-            final int[] testInputArray = testInput.getArray();
+        for (int[] testInputArray : testInputs) {
             if (CombinationUtil.contains(testInputArray, combinationArray)) {
                 double sum = 0;
                 int numberOfParameters = 0;
 
                 for (int parameter = 0; parameter < testInputArray.length; parameter++) {
                     if (combinationArray[parameter] == NO_VALUE) {
-                        final Component component = new Component(parameter, testInputArray[parameter]);
-                        sum += componentSuspiciousnessMap.getDouble(component);
+                        sum += componentSuspiciousness[valueOffsets[parameter] + testInputArray[parameter]];
                         numberOfParameters++;
                     }
                 }
@@ -273,15 +341,13 @@ public class Ben extends SuspiciousCombinationAlgorithm {
         return minimumAverage;
     }
 
-    private IntArrayWrapper computeNewTestInputFor(int[] subCombination, Object2DoubleMap<Component> componentSuspiciousnessMap) {
-        final IntList[] parameterValueRanking = computeParameterValueRanking(componentSuspiciousnessMap);
+    private IntArrayWrapper computeNewTestInputFor(int[] subCombination, IntList[] parameterValueRanking) {
         final IntList environmentParameters = computeEnvironmentParameters(subCombination);
         final int[] newTestInputArray = computeLowestEnvironmentSuspicionTestInput(subCombination, parameterValueRanking);
         final IntArrayWrapper newTestInput = wrap(newTestInputArray);
-        final Random random = new Random();
 
         for (int i = 0; i < maxGenerationAttempts && testResults.containsKey(newTestInput) && getChecker().isValid(newTestInputArray); i++) {
-            final int changingParameter = environmentParameters.getInt(random.nextInt(environmentParameters.size()));
+            final int changingParameter = environmentParameters.getInt(randomSource.nextInt(environmentParameters.size()));
             final IntList valueRanking = parameterValueRanking[changingParameter];
             final int currentValue = newTestInputArray[changingParameter];
             final int nextValueIndex = (valueRanking.indexOf(currentValue) + 1) % valueRanking.size();
@@ -292,15 +358,14 @@ public class Ben extends SuspiciousCombinationAlgorithm {
         return testResults.containsKey(newTestInput) ? null : newTestInput;
     }
 
-    private IntList[] computeParameterValueRanking(Object2DoubleMap<Component> componentSuspiciousnessMap) {
+    private IntList[] computeParameterValueRanking(double[] componentSuspiciousness) {
         final int numberOfParameter = getModel().getNumberOfParameters();
         final IntList[] parameterValueRanking = new IntList[numberOfParameter];
 
         for (int parameter = 0; parameter < numberOfParameter; parameter++) {
-            final int finalParameter = parameter;
-            parameterValueRanking[parameter] = new IntArrayList(IntStream.range(0, getModel().getSizeOfParameter(parameter))
-                    .boxed().sorted(Comparator.comparingDouble(value -> componentSuspiciousnessMap.getDouble(new Component(finalParameter, value))))
-                    .mapToInt(Integer::intValue).toArray());
+            final int offset = valueOffsets[parameter];
+            parameterValueRanking[parameter] = new IntArrayList(sortedIndices(getModel().getSizeOfParameter(parameter),
+                    (first, second) -> Double.compare(componentSuspiciousness[offset + first], componentSuspiciousness[offset + second])));
         }
 
         return parameterValueRanking;
@@ -344,41 +409,4 @@ public class Ben extends SuspiciousCombinationAlgorithm {
     private List<IntArrayWrapper> computeSuspiciousCombinationsRanking(Set<IntArrayWrapper> suspiciousCombinations) {
         return computeSuspiciousCombinationsRanking(computeComponentSuspiciousness(suspiciousCombinations), suspiciousCombinations);
     }
-
-    private static final class Component {
-
-        private final int parameter;
-        private final int value;
-
-        private Component(int parameter, int value) {
-            this.parameter = parameter;
-            this.value = value;
-        }
-
-        @Override
-        public int hashCode() {
-            int result = parameter;
-            result = 31 * result + value;
-
-            return result;
-        }
-
-        @Override
-        public boolean equals(Object object) {
-            if (object == null || getClass() != object.getClass()) {
-                return false;
-            }
-
-            Component other = (Component) object;
-
-            return parameter == other.parameter && value == other.value;
-        }
-
-        @Override
-        public String toString() {
-            return "Component{" + "parameter=" + parameter + ", value=" + value + '}';
-        }
-
-    }
-
 }
@@ -1,21 +1,33 @@
 package de.rwth.swc.coffee4j.engine.characterization.ben;
 
-import de.rwth.swc.coffee4j.engine.util.Combinator;
 import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
-import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.contains;
 import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.numberOfSetParameters;
 import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrap;
 
+/**
+ * Reduces a set of suspicious combinations of size k to all combinations of size k - 1 for which every possible
+ * containing combination of size k is suspicious.
+ * <p>
+ * Instead of considering every (k - 1)-combination of the model, only those which can be derived from a suspicious
+ * combination by removing one value are considered. For each of these parent combinations, the number of distinct
+ * suspicious combinations containing it is counted. Time and memory are therefore proportional to the number of
+ * suspicious combinations times k.
+ * <p>
+ * Combinations of size one are not reduced, since the only combination of size zero is the empty combination, which
+ * is not a meaningful failure-inducing combination.
+ */
 final class SuspiciousCombinationReducer {
     
     private SuspiciousCombinationReducer() {
@@ -27,12 +39,11 @@ final class SuspiciousCombinationReducer {
         Preconditions.check(parameterSizes.length > 0);
         final int sizeOfCombinations = getSizeOfAllCombinations(suspiciousCombinations);
         
-        if (suspiciousCombinations.isEmpty()) {
+        if (sizeOfCombinations <= 1) {
             return Collections.emptySet();
         } else {
-            final Set<Bucket> buckets = createBuckets(parameterSizes, sizeOfCombinations - 1);
-            fillBuckets(buckets, suspiciousCombinations);
-            return getReducedSuspiciousCombinations(buckets, parameterSizes);
+            final Object2IntMap<IntArrayWrapper> numberOfContainingCombinations = countContainingCombinations(parameterSizes, distinct(suspiciousCombinations));
+            return getReducedSuspiciousCombinations(numberOfContainingCombinations, parameterSizes);
         }
     }
     
@@ -48,66 +59,49 @@ final class SuspiciousCombinationReducer {
         return 0;
     }
     
-    private static Set<Bucket> createBuckets(int[] parameters, int size) {
-        return Combinator.computeCombinations(parameters, size).stream().map(Bucket::new).collect(Collectors.toSet());
+    private static Collection<IntArrayWrapper> distinct(Collection<IntArrayWrapper> combinations) {
+        return combinations instanceof Set ? combinations : new HashSet<>(combinations);
     }
     
-    private static void fillBuckets(Set<Bucket> buckets, Collection<IntArrayWrapper> suspiciousCombinations) {
+    private static Object2IntMap<IntArrayWrapper> countContainingCombinations(int[] parameterSizes, Collection<IntArrayWrapper> suspiciousCombinations) {
+        final Object2IntOpenHashMap<IntArrayWrapper> numberOfContainingCombinations = new Object2IntOpenHashMap<>(suspiciousCombinations.size());
+        
         for (IntArrayWrapper suspiciousCombination : suspiciousCombinations) {
-            for (Bucket bucket : buckets) {
-                bucket.addIfContains(suspiciousCombination);
+            final int[] combination = suspiciousCombination.getArray();
+            Preconditions.check(combination.length == parameterSizes.length);
+            
+            for (int parameter = 0; parameter < combination.length; parameter++) {
+                if (combination[parameter] != NO_VALUE) {
+                    final int[] parentCombination = Arrays.copyOf(combination, combination.length);
+                    parentCombination[parameter] = NO_VALUE;
+                    numberOfContainingCombinations.addTo(wrap(parentCombination), 1);
+                }
             }
         }
+        
+        return numberOfContainingCombinations;
     }
     
-    private static Set<IntArrayWrapper> getReducedSuspiciousCombinations(Set<Bucket> buckets, int[] parameterSizes) {
+    private static Set<IntArrayWrapper> getReducedSuspiciousCombinations(Object2IntMap<IntArrayWrapper> numberOfContainingCombinations, int[] parameterSizes) {
         final Set<IntArrayWrapper> reducedSuspiciousCombinations = new HashSet<>();
-        for (Bucket bucket : buckets) {
-            if (bucket.containsAllPossibleContainingCombinations(parameterSizes)) {
-                reducedSuspiciousCombinations.add(wrap(bucket.getCombination()));
+        for (Object2IntMap.Entry<IntArrayWrapper> entry : numberOfContainingCombinations.object2IntEntrySet()) {
+            if (entry.getIntValue() == computeNumberOfPossibleContainingCombinations(entry.getKey().getArray(), parameterSizes)) {
+                reducedSuspiciousCombinations.add(entry.getKey());
             }
         }
         
         return reducedSuspiciousCombinations;
     }
     
-    private static class Bucket {
-        
-        private final int[] combination;
-        
-        private final Set<IntArrayWrapper> containingCombinations = new HashSet<>();
-        
-        private Bucket(int[] combination) {
-            Preconditions.notNull(combination);
-            
-            this.combination = combination;
-        }
-        
-        private void addIfContains(IntArrayWrapper possibleContainingCombination) {
-            Preconditions.notNull(possibleContainingCombination);
-            
-            if (contains(possibleContainingCombination.getArray(), combination)) {
-                containingCombinations.add(possibleContainingCombination);
+    private static int computeNumberOfPossibleContainingCombinations(int[] combination, int[] parameterSizes) {
+        int numberOfPossibleContainingCombinations = 0;
+        for (int parameter = 0; parameter < parameterSizes.length; parameter++) {
+            if (combination[parameter] == NO_VALUE) {
+                numberOfPossibleContainingCombinations += parameterSizes[parameter];
             }
         }
         
-        private boolean containsAllPossibleContainingCombinations(int[] parameterSizes) {
-            Preconditions.notNull(parameterSizes);
-            Preconditions.check(parameterSizes.length >= combination.length);
-            
-            int numberOfPossibleContainingCombinations = 0;
-            for (int parameter = 0; parameter < parameterSizes.length; parameter++) {
-                if (combination[parameter] == NO_VALUE) {
-                    numberOfPossibleContainingCombinations += parameterSizes[parameter];
-                }
-            }
-            return numberOfPossibleContainingCombinations == containingCombinations.size();
-        }
-        
-        private int[] getCombination() {
-            return combination;
-        }
-        
+        return numberOfPossibleContainingCombinations;
     }
     
 }
@@ -2,17 +2,29 @@ package de.rwth.swc.coffee4j.engine.characterization.csp;
 
 import de.rwth.swc.coffee4j.engine.TestResult;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmFactory;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.Solver;
-import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.variables.BoolVar;
 import org.chocosolver.solver.variables.IntVar;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrap;
 
 /**
  * Csp is a static fault characterization algorithm that transforms the initial test suite into a pseudo-boolean
@@ -28,43 +40,85 @@ import java.util.Map;
  * lowest number of faults. To also reach the goal of returning the smallest faults, the problem is transformed into an
  * optimization problem. The objective function maximizes the number of -1 in each fault.
  * <p>
+ * Instead of trying one number of faults after another, all numbers up to the maximum are solved as a portfolio with
+ * the configured parallelism. Since a model with n faults is satisfiable if one with fewer faults is, and
+ * unsatisfiable if one with more faults is, the bounds learned by one model stop all models which can no longer
+ * contribute to the result. Each model encodes every distinct test result exactly once, using one reified
+ * {@code xi = -1 || xi = v} variable per fault, parameter and value. Once the time limit is reached, the best
+ * solution found so far for the smallest satisfiable number of faults is returned.
+ * <p>
  * Important Information:
  * <ul>
  *     <li>Can only use data present in the initial covering array
  *     <li>Larger number of faults can quickly lead to long run times because the solving of the constraints can take a long time
+ *     <li>Returns possibly non-minimal faults if the time limit is reached
  *     <li>Has no need for constraint handling because it does not generate new test cases
  * </ul>
  */
 public class Csp implements FaultCharacterizationAlgorithm {
 
     private static final int MAX_NUMBER_OF_FICs = 5;
-    private final List<IntVar[]> variables;
-    private final List<IntVar> countVariables;
-    private Model model;
+    private static final Duration DEFAULT_TIME_LIMIT = Duration.ofSeconds(30);
+
     private final FaultCharacterizationConfiguration configuration;
+    private final int maximumNumberOfFics;
+    private final Duration timeLimit;
+    private final int parallelism;
     private Map<int[], TestResult> testResults;
 
     /**
      * Constructor.
      * <p>
-     * The constraint checker is ignored.
+     * The constraint checker is ignored. At most five faults are considered, solving is stopped after thirty seconds,
+     * and one thread per available processor is used.
      *
      * @param configuration the fault characterization configuration. This may not be {@code null}.
      */
     public Csp(FaultCharacterizationConfiguration configuration) {
+        this(configuration, MAX_NUMBER_OF_FICs, DEFAULT_TIME_LIMIT, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * The constraint checker is ignored.
+     *
+     * @param configuration       the fault characterization configuration. This may not be {@code null}.
+     * @param maximumNumberOfFics the maximum number of faults which are used to explain the test results. Must be
+     *                            positive
+     * @param timeLimit           the time after which the best solution found so far is returned. Must be positive
+     * @param parallelism         the maximum number of models solved at the same time. Must be positive
+     */
+    public Csp(FaultCharacterizationConfiguration configuration, int maximumNumberOfFics, Duration timeLimit, int parallelism) {
+        Preconditions.check(maximumNumberOfFics > 0, "maximumNumberOfFics must be positive");
+        Preconditions.notNull(timeLimit);
+        Preconditions.check(!timeLimit.isNegative() && !timeLimit.isZero(), "timeLimit must be positive");
+        Preconditions.check(parallelism > 0, "parallelism must be positive");
+
         this.configuration = Preconditions.notNull(configuration);
-        variables = new ArrayList<>();
-        countVariables = new ArrayList<>();
+        this.maximumNumberOfFics = maximumNumberOfFics;
+        this.timeLimit = timeLimit;
+        this.parallelism = parallelism;
     }
 
-    private void buildVariables(int[] parameterSizes, int ficIndex) {
-        variables.add(new IntVar[parameterSizes.length]);
-        for (int i = 0; i < parameterSizes.length; i++) {
-            variables.get(ficIndex)[i] = model.intVar(ficIndex + "-" + i, -1, parameterSizes[i] - 1);
-        }
-        IntVar count = model.intVar(0, variables.get(ficIndex).length);
-        countVariables.add(count);
-        model.count(-1, variables.get(ficIndex), count).post();
+    /**
+     * @return a factory using the constructor ({@link Csp#Csp(FaultCharacterizationConfiguration)}) to create new
+     * {@link FaultCharacterizationAlgorithm} instances
+     */
+    public static FaultCharacterizationAlgorithmFactory csp() {
+        return Csp::new;
+    }
+
+    /**
+     * @param maximumNumberOfFics the maximum number of faults which are used to explain the test results. Must be
+     *                            positive
+     * @param timeLimit           the time after which the best solution found so far is returned. Must be positive
+     * @param parallelism         the maximum number of models solved at the same time. Must be positive
+     * @return a factory using the constructor ({@link Csp#Csp(FaultCharacterizationConfiguration, int, Duration, int)})
+     * to create new {@link FaultCharacterizationAlgorithm} instances
+     */
+    public static FaultCharacterizationAlgorithmFactory csp(int maximumNumberOfFics, Duration timeLimit, int parallelism) {
+        return configuration -> new Csp(configuration, maximumNumberOfFics, timeLimit, parallelism);
     }
 
     @Override
@@ -73,77 +127,197 @@ public class Csp implements FaultCharacterizationAlgorithm {
         return Collections.emptyList();
     }
 
-    private Constraint buildUnsuccessfulTest(int[] testCase, int numberOfFics) {
-        Constraint[] ficConstraints = new Constraint[numberOfFics];
-        for (int ficIndex = 0; ficIndex < numberOfFics; ficIndex++) {
-            Constraint[] parameterConstraints = new Constraint[testCase.length];
-            for (int parameter = 0; parameter < testCase.length; parameter++) {
-                parameterConstraints[parameter] = model.or(
-                        model.arithm(variables.get(ficIndex)[parameter], "=", -1),
-                        model.arithm(variables.get(ficIndex)[parameter], "=", testCase[parameter]));
+    @Override
+    public List<int[]> computeFailureInducingCombinations() {
+        final Set<IntArrayWrapper> successfulTestInputs = new LinkedHashSet<>();
+        final Set<IntArrayWrapper> failedTestInputs = new LinkedHashSet<>();
+        for (Map.Entry<int[], TestResult> entry : testResults.entrySet()) {
+            if (entry.getValue().isSuccessful()) {
+                successfulTestInputs.add(wrap(entry.getKey()));
+            } else {
+                failedTestInputs.add(wrap(entry.getKey()));
             }
-            ficConstraints[ficIndex] = model.and(parameterConstraints);
         }
-        return model.or(ficConstraints);
-    }
+        if (failedTestInputs.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Bounds bounds = new Bounds(maximumNumberOfFics, System.nanoTime() + timeLimit.toNanos());
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, maximumNumberOfFics));
+        try {
+            final List<Future<int[][]>> solutions = new ArrayList<>(maximumNumberOfFics);
+            for (int numberOfFics = 1; numberOfFics <= maximumNumberOfFics; numberOfFics++) {
+                final FicModel ficModel = new FicModel(numberOfFics, successfulTestInputs, failedTestInputs, bounds);
+                solutions.add(executor.submit(ficModel::solve));
+            }
 
-    private Constraint buildSuccessfulTest(int[] testCase, int numberOfFics) {
-        Constraint[] ficConstraints = new Constraint[numberOfFics];
-        for (int ficIndex = 0; ficIndex < numberOfFics; ficIndex++) {
-            Constraint[] parameterConstraints = new Constraint[testCase.length];
-            for (int parameter = 0; parameter < testCase.length; parameter++) {
-                parameterConstraints[parameter] = model.and(model.arithm(
-                        variables.get(ficIndex)[parameter], "!=", -1),
-                        model.arithm(variables.get(ficIndex)[parameter], "!=", testCase[parameter]));
+            for (Future<int[][]> solution : solutions) {
+                final int[][] fics = solution.get();
+                if (fics != null) {
+                    return toList(fics);
+                }
             }
-            ficConstraints[ficIndex] = model.or(parameterConstraints);
+
+            return Collections.emptyList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving fault characterization model", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not solve fault characterization model", e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
-        return model.and(ficConstraints);
     }
 
-    private void buildModel(int numberOfFics) {
-        this.variables.clear();
-        this.countVariables.clear();
-        this.model = new Model();
-        for (int i = 0; i < numberOfFics; i++) {
-            buildVariables(configuration.getTestModel().getParameterSizes(), i);
+    private static List<int[]> toList(int[][] fics) {
+        final List<int[]> result = new ArrayList<>(fics.length);
+        Collections.addAll(result, fics);
+        return result;
+    }
+
+    /**
+     * The bounds shared between all models of the portfolio.
+     */
+    private static final class Bounds {
+
+        private final AtomicInteger smallestSatisfiable;
+        private final AtomicInteger largestUnsatisfiable = new AtomicInteger(0);
+        private final long deadline;
+
+        private Bounds(int maximumNumberOfFics, long deadline) {
+            smallestSatisfiable = new AtomicInteger(maximumNumberOfFics + 1);
+            this.deadline = deadline;
+        }
+
+        private void markSatisfiable(int numberOfFics) {
+            smallestSatisfiable.accumulateAndGet(numberOfFics, Math::min);
+        }
+
+        private void markUnsatisfiable(int numberOfFics) {
+            largestUnsatisfiable.accumulateAndGet(numberOfFics, Math::max);
+        }
+
+        private boolean isIrrelevant(int numberOfFics) {
+            return numberOfFics > smallestSatisfiable.get()
+                    || numberOfFics <= largestUnsatisfiable.get()
+                    || System.nanoTime() - deadline >= 0;
         }
-        IntVar sum = model.intVar(0, variables.size() * configuration.getTestModel().getNumberOfParameters());
-        this.model.sum(countVariables.toArray(new IntVar[0]), "=", sum).post();
-        model.setObjective(true, sum);
+
     }
 
-    @Override
-    public List<int[]> computeFailureInducingCombinations() {
-        boolean solutionFound = false;
-        int numberOfFics = 1;
-        while (!solutionFound && numberOfFics <= MAX_NUMBER_OF_FICs) {
-            buildModel(numberOfFics);
-            for (Map.Entry<int[], TestResult> entry : testResults.entrySet()) {
-                if (entry.getValue().isSuccessful()) {
-                    buildSuccessfulTest(entry.getKey(), numberOfFics).post();
-                } else {
-                    buildUnsuccessfulTest(entry.getKey(), numberOfFics).post();
+    /**
+     * The optimization model for one specific number of faults.
+     */
+    private final class FicModel {
+
+        private final int numberOfFics;
+        private final Set<IntArrayWrapper> successfulTestInputs;
+        private final Set<IntArrayWrapper> failedTestInputs;
+        private final Bounds bounds;
+
+        private Model model;
+        private IntVar[][] variables;
+        private BoolVar[][][] covers;
+
+        private FicModel(int numberOfFics, Set<IntArrayWrapper> successfulTestInputs, Set<IntArrayWrapper> failedTestInputs, Bounds bounds) {
+            this.numberOfFics = numberOfFics;
+            this.successfulTestInputs = successfulTestInputs;
+            this.failedTestInputs = failedTestInputs;
+            this.bounds = bounds;
+        }
+
+        private int[][] solve() {
+            if (bounds.isIrrelevant(numberOfFics)) {
+                return null;
+            }
+
+            buildModel();
+            final Solver solver = model.getSolver();
+            solver.addStopCriterion(() -> bounds.isIrrelevant(numberOfFics));
+
+            int[][] bestSolution = null;
+            while (solver.solve()) {
+                bestSolution = getSolution();
+                bounds.markSatisfiable(numberOfFics);
+            }
+            if (bestSolution == null && !solver.isStopCriterionMet()) {
+                bounds.markUnsatisfiable(numberOfFics);
+            }
+
+            return bestSolution;
+        }
+
+        private void buildModel() {
+            final int[] parameterSizes = configuration.getTestModel().getParameterSizes();
+            model = new Model(numberOfFics + " FICs");
+            variables = new IntVar[numberOfFics][parameterSizes.length];
+            covers = new BoolVar[numberOfFics][parameterSizes.length][];
+
+            final IntVar[] countVariables = new IntVar[numberOfFics];
+            for (int ficIndex = 0; ficIndex < numberOfFics; ficIndex++) {
+                for (int parameter = 0; parameter < parameterSizes.length; parameter++) {
+                    variables[ficIndex][parameter] = model.intVar(ficIndex + "-" + parameter, -1, parameterSizes[parameter] - 1);
+                    covers[ficIndex][parameter] = new BoolVar[parameterSizes[parameter]];
                 }
+                countVariables[ficIndex] = model.intVar(0, parameterSizes.length);
+                model.count(-1, variables[ficIndex], countVariables[ficIndex]).post();
+                if (ficIndex > 0) {
+                    model.lexLessEq(variables[ficIndex - 1], variables[ficIndex]).post();
+                }
+            }
+            final IntVar sum = model.intVar(0, numberOfFics * parameterSizes.length);
+            model.sum(countVariables, "=", sum).post();
+            model.setObjective(Model.MAXIMIZE, sum);
+
+            for (IntArrayWrapper testInput : successfulTestInputs) {
+                buildSuccessfulTest(testInput.getArray());
+            }
+            for (IntArrayWrapper testInput : failedTestInputs) {
+                buildUnsuccessfulTest(testInput.getArray());
             }
-            Solver solver = model.getSolver();
-            solver.reset();
-            solutionFound = solver.solve();
-            numberOfFics++;
         }
 
-        return getResults();
-    }
+        private BoolVar covers(int ficIndex, int parameter, int value) {
+            if (covers[ficIndex][parameter][value] == null) {
+                covers[ficIndex][parameter][value] = model.member(variables[ficIndex][parameter], new int[]{-1, value}).reify();
+            }
+
+            return covers[ficIndex][parameter][value];
+        }
 
-    private List<int[]> getResults() {
-        List<int[]> result = new ArrayList<>(variables.size());
-        for (IntVar[] variable : variables) {
-            int[] fic = new int[variable.length];
-            for (int i = 0; i < fic.length; i++) {
-                fic[i] = variable[i].getValue();
+        private void buildUnsuccessfulTest(int[] testCase) {
+            final BoolVar[] containedFics = new BoolVar[numberOfFics];
+            for (int ficIndex = 0; ficIndex < numberOfFics; ficIndex++) {
+                final BoolVar[] parameterConstraints = new BoolVar[testCase.length];
+                for (int parameter = 0; parameter < testCase.length; parameter++) {
+                    parameterConstraints[parameter] = covers(ficIndex, parameter, testCase[parameter]);
+                }
+                containedFics[ficIndex] = model.and(parameterConstraints).reify();
             }
-            result.add(fic);
+            model.or(containedFics).post();
         }
-        return result;
+
+        private void buildSuccessfulTest(int[] testCase) {
+            for (int ficIndex = 0; ficIndex < numberOfFics; ficIndex++) {
+                final BoolVar[] parameterConstraints = new BoolVar[testCase.length];
+                for (int parameter = 0; parameter < testCase.length; parameter++) {
+                    parameterConstraints[parameter] = covers(ficIndex, parameter, testCase[parameter]).not();
+                }
+                model.or(parameterConstraints).post();
+            }
+        }
+
+        private int[][] getSolution() {
+            final int[][] solution = new int[numberOfFics][];
+            for (int ficIndex = 0; ficIndex < numberOfFics; ficIndex++) {
+                solution[ficIndex] = new int[variables[ficIndex].length];
+                for (int parameter = 0; parameter < variables[ficIndex].length; parameter++) {
+                    solution[ficIndex][parameter] = variables[ficIndex][parameter].getValue();
+                }
+            }
+
+            return solution;
+        }
+
     }
 }
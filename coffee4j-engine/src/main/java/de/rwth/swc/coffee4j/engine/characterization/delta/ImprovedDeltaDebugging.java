@@ -5,6 +5,7 @@ import de.rwth.swc.coffee4j.engine.TestResult;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmFactory;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.characterization.SharedTestResultStore;
 import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
@@ -13,6 +14,7 @@ import it.unimi.dsi.fastutil.objects.Object2BooleanMap;
 import it.unimi.dsi.fastutil.objects.Object2BooleanOpenHashMap;
 
 import java.util.*;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.*;
@@ -37,6 +39,16 @@ import static de.rwth.swc.coffee4j.engine.util.PredicateUtil.not;
  *     <li>Does not work well if two failure-inducing combinations are present in one failed test input or if failure-inducing combinations overlap each other.
  *     <li>Does not consider constraints
  * </ul>
+ * <p>
+ * Since each iteration only generates one test input, the algorithm cannot profit from executing test inputs in
+ * parallel. Therefore, a speculation depth can be configured. For each pending test input, the algorithm then also
+ * returns the test inputs it would need next for both possible results, up to the given depth. Once the results
+ * arrive, only the results of test inputs the algorithm actually requires are used, so the computed failure-inducing
+ * combinations are the same as without speculation. Results of test inputs in the wrong branches are discarded.
+ * This trades additional test executions (up to {@code 2^(depth + 1) - 2} per iteration) for fewer iterations.
+ * <p>
+ * If the configuration gives access to shared test results, test inputs which already passed in any test input group
+ * are not requested again.
  */
 public class ImprovedDeltaDebugging implements FaultCharacterizationAlgorithm {
     
@@ -44,9 +56,17 @@ public class ImprovedDeltaDebugging implements FaultCharacterizationAlgorithm {
     
     private final TestModel testModel;
     
-    private final Object2BooleanMap<IntArrayWrapper> coveringArray = new Object2BooleanOpenHashMap<>();
+    private final int speculationDepth;
+    
+    private final SharedTestResultStore sharedTestResults;
+    
+    private Object2BooleanMap<IntArrayWrapper> coveringArray = new Object2BooleanOpenHashMap<>();
+    
+    private List<int[]> failureInducingCombinations = new ArrayList<>();
+    
+    private final Set<IntArrayWrapper> speculativeTestInputs = new HashSet<>();
     
-    private final List<int[]> failureInducingCombinations = new ArrayList<>();
+    private final Object2BooleanMap<IntArrayWrapper> speculativeResults = new Object2BooleanOpenHashMap<>();
     
     private int[] currentFailedTestInput = null;
     private int[] nextExpectedTestInput = null;
@@ -63,9 +83,24 @@ public class ImprovedDeltaDebugging implements FaultCharacterizationAlgorithm {
      * @param configuration the configuration for the algorithm
      */
     public ImprovedDeltaDebugging(FaultCharacterizationConfiguration configuration) {
+        this(configuration, 0);
+    }
+    
+    /**
+     * Creates a new Improved Delta Debugging algorithm for the given configuration which speculatively generates the
+     * test inputs needed for the next {@code speculationDepth} iterations. The ConstraintsChecker is ignored.
+     *
+     * @param configuration    the configuration for the algorithm
+     * @param speculationDepth the number of future iterations for which test inputs are generated speculatively.
+     *                         Zero disables speculation. Must not be negative
+     */
+    public ImprovedDeltaDebugging(FaultCharacterizationConfiguration configuration, int speculationDepth) {
         Preconditions.notNull(configuration);
+        Preconditions.check(speculationDepth >= 0, "speculationDepth must not be negative");
         
         this.testModel = configuration.getTestModel();
+        this.speculationDepth = speculationDepth;
+        this.sharedTestResults = configuration.getSharedTestResults().orElse(null);
     }
     
     /**
@@ -75,6 +110,17 @@ public class ImprovedDeltaDebugging implements FaultCharacterizationAlgorithm {
         return ImprovedDeltaDebugging::new;
     }
     
+    /**
+     * @param speculationDepth the number of future iterations for which test inputs are generated speculatively.
+     *                         Must not be negative
+     * @return a factory always returning new instances of the Improved Delta Debugging algorithm with speculation
+     */
+    public static FaultCharacterizationAlgorithmFactory improvedDeltaDebugging(int speculationDepth) {
+        Preconditions.check(speculationDepth >= 0, "speculationDepth must not be negative");
+        
+        return configuration -> new ImprovedDeltaDebugging(configuration, speculationDepth);
+    }
+    
     @Override
     public List<int[]> computeNextTestInputs(Map<int[], TestResult> testResults) {
         assertAlgorithmInitialized();
@@ -82,12 +128,66 @@ public class ImprovedDeltaDebugging implements FaultCharacterizationAlgorithm {
         Preconditions.check(state == State.INITIALIZATION || containsExpectedTestInput(testResults));
         
         addToCoveringArray(testResults);
+        computeNextUnknownTestInput();
+        
+        if (nextExpectedTestInput == null) {
+            return Collections.emptyList();
+        } else if (speculationDepth == 0) {
+            return Collections.singletonList(nextExpectedTestInput);
+        }
         
+        final List<int[]> nextTestInputs = new ArrayList<>();
+        nextTestInputs.add(nextExpectedTestInput);
+        nextTestInputs.addAll(computeSpeculativeTestInputs());
+        
+        return nextTestInputs;
+    }
+    
+    private void computeNextUnknownTestInput() {
         do {
             computeNextTestInput();
-        } while (nextExpectedTestInput != null && coveringArray.containsKey(wrap(nextExpectedTestInput)));
+        } while (nextExpectedTestInput != null && isResultKnown(wrap(nextExpectedTestInput)));
+    }
+    
+    private boolean isResultKnown(IntArrayWrapper testInput) {
+        if (coveringArray.containsKey(testInput)) {
+            return true;
+        } else if (speculativeResults.containsKey(testInput)) {
+            coveringArray.put(testInput, speculativeResults.getBoolean(testInput));
+            return true;
+        } else if (sharedTestResults != null && sharedTestResults.isSuccessful(testInput.getArray())) {
+            coveringArray.put(testInput, true);
+            return true;
+        }
         
-        return nextExpectedTestInput == null ? Collections.emptyList() : Collections.singletonList(nextExpectedTestInput);
+        return false;
+    }
+    
+    private List<int[]> computeSpeculativeTestInputs() {
+        final Set<IntArrayWrapper> speculatedTestInputs = new LinkedHashSet<>();
+        speculate(speculationDepth, speculatedTestInputs);
+        speculatedTestInputs.remove(wrap(nextExpectedTestInput));
+        speculativeTestInputs.addAll(speculatedTestInputs);
+        
+        return speculatedTestInputs.stream().map(IntArrayWrapper::getArray).collect(Collectors.toList());
+    }
+    
+    private void speculate(int remainingDepth, Set<IntArrayWrapper> speculatedTestInputs) {
+        final IntArrayWrapper pendingTestInput = wrap(nextExpectedTestInput);
+        
+        for (boolean successful : new boolean[]{true, false}) {
+            final Snapshot snapshot = new Snapshot();
+            coveringArray.put(pendingTestInput, successful);
+            computeNextUnknownTestInput();
+            
+            if (nextExpectedTestInput != null) {
+                speculatedTestInputs.add(wrap(nextExpectedTestInput));
+                if (remainingDepth > 1) {
+                    speculate(remainingDepth - 1, speculatedTestInputs);
+                }
+            }
+            snapshot.restore();
+        }
     }
     
     private void assertAlgorithmInitialized() {
@@ -108,7 +208,13 @@ public class ImprovedDeltaDebugging implements FaultCharacterizationAlgorithm {
     
     private void addToCoveringArray(Map<int[], TestResult> testResults) {
         for (Map.Entry<int[], TestResult> testResult : testResults.entrySet()) {
-            coveringArray.put(wrap(testResult.getKey()), testResult.getValue().isSuccessful());
+            final IntArrayWrapper testInput = wrap(testResult.getKey());
+            
+            if (speculativeTestInputs.remove(testInput)) {
+                speculativeResults.put(testInput, testResult.getValue().isSuccessful());
+            } else {
+                coveringArray.put(testInput, testResult.getValue().isSuccessful());
+            }
         }
     }
     
@@ -293,4 +399,51 @@ public class ImprovedDeltaDebugging implements FaultCharacterizationAlgorithm {
         
     }
     
+    /**
+     * Saves the complete search state and replaces it with copies, so that the algorithm can be advanced with
+     * hypothetical test results and {@link #restore() restored} afterwards. The copies are clones so that their
+     * iteration order, and thereby the decisions of the algorithm, stay the same.
+     */
+    private final class Snapshot {
+        
+        private final State state = ImprovedDeltaDebugging.this.state;
+        private final Object2BooleanMap<IntArrayWrapper> coveringArray = ImprovedDeltaDebugging.this.coveringArray;
+        private final List<int[]> failureInducingCombinations = ImprovedDeltaDebugging.this.failureInducingCombinations;
+        private final int[] currentFailedTestInput = ImprovedDeltaDebugging.this.currentFailedTestInput;
+        private final int[] nextExpectedTestInput = ImprovedDeltaDebugging.this.nextExpectedTestInput;
+        private final IntSet relatedParameters = ImprovedDeltaDebugging.this.relatedParameters;
+        private final IntSet unrelatedParameters = ImprovedDeltaDebugging.this.unrelatedParameters;
+        private final IntSet suspiciousParameters = ImprovedDeltaDebugging.this.suspiciousParameters;
+        private final IntSet subParametersOne = ImprovedDeltaDebugging.this.subParametersOne;
+        private final IntSet subParametersTwo = ImprovedDeltaDebugging.this.subParametersTwo;
+        
+        private Snapshot() {
+            ImprovedDeltaDebugging.this.coveringArray = ((Object2BooleanOpenHashMap<IntArrayWrapper>) coveringArray).clone();
+            ImprovedDeltaDebugging.this.failureInducingCombinations = new ArrayList<>(failureInducingCombinations);
+            ImprovedDeltaDebugging.this.relatedParameters = copy(relatedParameters);
+            ImprovedDeltaDebugging.this.unrelatedParameters = copy(unrelatedParameters);
+            ImprovedDeltaDebugging.this.suspiciousParameters = copy(suspiciousParameters);
+            ImprovedDeltaDebugging.this.subParametersOne = copy(subParametersOne);
+            ImprovedDeltaDebugging.this.subParametersTwo = copy(subParametersTwo);
+        }
+        
+        private IntSet copy(IntSet parameters) {
+            return parameters == null ? null : ((IntOpenHashSet) parameters).clone();
+        }
+        
+        private void restore() {
+            ImprovedDeltaDebugging.this.state = state;
+            ImprovedDeltaDebugging.this.coveringArray = coveringArray;
+            ImprovedDeltaDebugging.this.failureInducingCombinations = failureInducingCombinations;
+            ImprovedDeltaDebugging.this.currentFailedTestInput = currentFailedTestInput;
+            ImprovedDeltaDebugging.this.nextExpectedTestInput = nextExpectedTestInput;
+            ImprovedDeltaDebugging.this.relatedParameters = relatedParameters;
+            ImprovedDeltaDebugging.this.unrelatedParameters = unrelatedParameters;
+            ImprovedDeltaDebugging.this.suspiciousParameters = suspiciousParameters;
+            ImprovedDeltaDebugging.this.subParametersOne = subParametersOne;
+            ImprovedDeltaDebugging.this.subParametersTwo = subParametersTwo;
+        }
+        
+    }
+    
 }
@@ -1,46 +1,68 @@
 package de.rwth.swc.coffee4j.engine.characterization.fic;
 
-import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.TestResult;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * Searches the parameters of the seed test case with a binary search. As every test case depends on the result of the
+ * previous one, at most one test case is returned per iteration even in batch mode. If a test case cannot satisfy the
+ * constraints, it is treated as successful, so the parameters it should have modified are kept in the interaction.
+ */
 class BinarySearchFixedVariableFinder implements FixedVariableFinder {
 
     private final IntSet interaction = new IntArraySet();
     private final IntSet free;
     private final int[] seedTestCase;
-    private final TestModel model;
+    private final TestCaseModifier modifier;
     private final IntSet low = new IntArraySet();
     private final IntSet high = new IntArraySet();
     private IntSet candidates = new IntArraySet();
     private Mode mode = Mode.INIT;
 
-    BinarySearchFixedVariableFinder(IntSet tabu, int[] seedTestCase, TestModel model) {
+    BinarySearchFixedVariableFinder(IntSet tabu, int[] seedTestCase, TestCaseModifier modifier) {
         free = new IntArraySet(tabu);
         this.seedTestCase = seedTestCase;
-        this.model = model;
+        this.modifier = modifier;
 
-        for (int i = 0; i < model.getNumberOfParameters(); i++) {
+        for (int i = 0; i < modifier.getModel().getNumberOfParameters(); i++) {
             if (!free.contains(i)) {
                 candidates.add(i);
             }
         }
     }
 
-    public Optional<int[]> runIteration(TestResult result) {
+    @Override
+    public List<int[]> runIteration(List<TestResult> results) {
+        Optional<IntSet> modifiedParameters = nextModifiedParameters(results.isEmpty() ? null : results.get(0));
+        while (modifiedParameters.isPresent()) {
+            final IntSet parameters = new IntArraySet(modifiedParameters.get());
+            parameters.addAll(free);
+            final Optional<int[]> testCase = modifier.modify(seedTestCase, parameters);
+            if (testCase.isPresent()) {
+                return Collections.singletonList(testCase.get());
+            }
+            modifiedParameters = nextModifiedParameters(TestResult.success());
+        }
+
+        return Collections.emptyList();
+    }
+
+    private Optional<IntSet> nextModifiedParameters(TestResult result) {
         if (mode == Mode.INIT) {
             mode = Mode.FULL_CHECK;
-            return Optional.of(getModifiedTestCase(candidates));
+            return Optional.of(candidates);
         } else if (mode == Mode.FULL_CHECK) {
-            if (result.isUnsuccessful()) {
+            if (result.isUnsuccessful() || candidates.isEmpty()) {
                 return Optional.empty();
             }
             mode = Mode.LOW_CHECK;
             partition(candidates, low, high);
-            return Optional.of(getModifiedTestCase(low));
+            return Optional.of(low);
         } else {
             if (result.isSuccessful()) {
                 candidates = new IntArraySet(low);
@@ -48,28 +70,25 @@ class BinarySearchFixedVariableFinder implements FixedVariableFinder {
                 candidates = new IntArraySet(high);
                 free.addAll(low);
             }
-            if (candidates.size() == 1) {
+            if (candidates.isEmpty()) {
+                return Optional.empty();
+            } else if (candidates.size() == 1) {
                 interaction.add(candidates.stream().findAny().get().intValue());
                 mode = Mode.FULL_CHECK;
                 candidates = new IntArraySet();
-                for (int i = 0; i < model.getNumberOfParameters(); i++) {
+                for (int i = 0; i < modifier.getModel().getNumberOfParameters(); i++) {
                     if (!free.contains(i) && !interaction.contains(i)) {
                         candidates.add(i);
                     }
                 }
-                return Optional.of(getModifiedTestCase(candidates));
+                return Optional.of(candidates);
             }
             partition(candidates, low, high);
-            return Optional.of(getModifiedTestCase(low));
+            return Optional.of(low);
         }
 
     }
 
-    @Override
-    public TestModel getModel() {
-        return model;
-    }
-
     @Override
     public int[] getSeedTestCase() {
         return seedTestCase;
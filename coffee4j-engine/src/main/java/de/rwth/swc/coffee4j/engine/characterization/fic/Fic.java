@@ -1,10 +1,10 @@
 package de.rwth.swc.coffee4j.engine.characterization.fic;
 
-import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.TestResult;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmFactory;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.characterization.SharedTestResultStore;
 import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 
@@ -22,34 +22,67 @@ import java.util.stream.Collectors;
  * combination. The algorithm then checks if the original test case contains another fault by removing the previously
  * found one. This is repeated for each failed test case.
  * <p>
+ * If the configuration gives access to shared test results, test cases which already passed in any test input group
+ * are not requested again. Instead, their result is directly given to the search. In batch mode, the test cases of an
+ * iteration after the first one which already passed are not requested either, as the search discards them.
+ * <p>
+ * All modified test cases are checked against the {@link de.rwth.swc.coffee4j.engine.constraint.ConstraintChecker}
+ * of the configuration. A modified parameter gets the next value for which the test case satisfies all constraints.
+ * If there is no such value, the parameter is kept in the failure inducing combination.
+ * <p>
+ * In batch mode, the failed test cases are not inspected one after another. Instead, the searches of all failed test
+ * cases run at the same time and each iteration contains the next test cases of all of them. Additionally, the linear
+ * search speculatively requests the test cases for all remaining parameters at once (see
+ * {@link SimpleFixedVariableFinder}). The found combinations are the same as in the sequential mode, but the number
+ * of iterations only depends on the depth of the longest search. This allows an executor to run many test cases of
+ * one iteration in parallel.
+ * <p>
  * Important Information:
  * <ul>
  *     <li>Linearly searches the failed test cases for fixed parameters
  *     <li>Relies on the framework for test case caching, i.e. may generate duplicate test cases.
  *     <li>Assumes that no new test cases are uncovered during the localization of fixed parameters
  *     <li>Assumes that faults are non-overlapping
- *     <li>Does not support for constraints
+ *     <li>Only generates test cases which satisfy the constraints
  * </ul>
  */
 public class Fic implements FaultCharacterizationAlgorithm {
 
-    private final TestModel model;
-    private final Set<Map.Entry<int[], TestResult>> remainingTestCases = new HashSet<>();
+    private final TestCaseModifier modifier;
+    private final boolean batch;
+    private final SharedTestResultStore sharedTestResults;
+    private final Set<Map.Entry<int[], TestResult>> remainingTestCases = new LinkedHashSet<>();
+    private final Map<NonOverlappingCombinationFinder, List<int[]>> activeFinders = new LinkedHashMap<>();
     private final Set<IntArrayWrapper> failureInducingCombinations = new HashSet<>();
     private Mode mode = Mode.INIT;
-    private NonOverlappingCombinationFinder currentFinder;
 
     /**
-     * Constructor.
+     * Constructor for the sequential mode.
      *
      * @param configuration the configuration. May not be {@code null}.
      */
     public Fic(FaultCharacterizationConfiguration configuration) {
-        this.model = Preconditions.notNull(configuration).getTestModel();
+        this(configuration, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param configuration the configuration. May not be {@code null}.
+     * @param batch         whether all test cases of independent searches should be requested in one iteration
+     */
+    public Fic(FaultCharacterizationConfiguration configuration, boolean batch) {
+        Preconditions.notNull(configuration);
+
+        this.modifier = new TestCaseModifier(configuration.getTestModel(), configuration.getChecker());
+        this.batch = batch;
+        this.sharedTestResults = configuration.getSharedTestResults().orElse(null);
     }
 
     @Override
     public List<int[]> computeNextTestInputs(Map<int[], TestResult> testResults) {
+        Preconditions.notNull(testResults);
+
         if (mode == Mode.INIT) {
             for (Map.Entry<int[], TestResult> entry : testResults.entrySet()) {
                 if (entry.getValue().isUnsuccessful()) {
@@ -59,32 +92,93 @@ public class Fic implements FaultCharacterizationAlgorithm {
             mode = Mode.RUN;
         }
 
-        Map.Entry<int[], TestResult> oldTestResult = testResults.entrySet().stream().findFirst().orElseThrow();
-        Optional<int[]> newTestCase = currentFinder != null ? currentFinder.runIteration(oldTestResult.getValue())
-                : Optional.empty();
-        while (newTestCase.isEmpty()) {
-            if (currentFinder != null) {
-                failureInducingCombinations.addAll(currentFinder.getInteractions().stream()
-                        .map(IntArrayWrapper::wrap).collect(Collectors.toList()));
-            }
-            if (remainingTestCases.isEmpty()) {
-                break;
+        final Map<IntArrayWrapper, TestResult> wrappedTestResults = new HashMap<>();
+        for (Map.Entry<int[], TestResult> entry : testResults.entrySet()) {
+            wrappedTestResults.put(IntArrayWrapper.wrap(entry.getKey()), entry.getValue());
+        }
+        final Iterator<Map.Entry<NonOverlappingCombinationFinder, List<int[]>>> iterator = activeFinders.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<NonOverlappingCombinationFinder, List<int[]>> entry = iterator.next();
+            final List<int[]> newTestCases = runIteration(entry.getKey(), getResults(entry.getValue(), wrappedTestResults));
+            if (newTestCases.isEmpty()) {
+                finish(entry.getKey());
+                iterator.remove();
+            } else {
+                entry.setValue(newTestCases);
             }
-            Map.Entry<int[], TestResult> seedTestCase = remainingTestCases.stream().findAny().get();
+        }
+
+        while ((batch || activeFinders.isEmpty()) && !remainingTestCases.isEmpty()) {
+            final Map.Entry<int[], TestResult> seedTestCase = remainingTestCases.iterator().next();
             remainingTestCases.remove(seedTestCase);
-            currentFinder = new NonOverlappingCombinationFinder(seedTestCase.getKey(),
-                    model, provideFixedVariableFinder());
-            newTestCase = currentFinder.runIteration(seedTestCase.getValue());
+            final NonOverlappingCombinationFinder finder = new NonOverlappingCombinationFinder(seedTestCase.getKey(),
+                    modifier, provideFixedVariableFinder(), batch);
+            final List<int[]> newTestCases = runIteration(finder, Collections.singletonList(seedTestCase.getValue()));
+            if (newTestCases.isEmpty()) {
+                finish(finder);
+            } else {
+                activeFinders.put(finder, newTestCases);
+            }
         }
 
-        return newTestCase.map(Collections::singletonList).orElse(Collections.emptyList());
+        return activeFinders.values().stream()
+                .flatMap(List::stream)
+                .filter(testCase -> !isKnownSuccessful(testCase))
+                .map(IntArrayWrapper::wrap)
+                .distinct()
+                .map(IntArrayWrapper::getArray)
+                .collect(Collectors.toList());
+    }
 
+    private List<TestResult> getResults(List<int[]> testCases, Map<IntArrayWrapper, TestResult> testResults) {
+        final List<TestResult> results = new ArrayList<>(testCases.size());
+        for (int[] testCase : testCases) {
+            TestResult result = testResults.get(IntArrayWrapper.wrap(testCase));
+            if (result == null && isKnownSuccessful(testCase)) {
+                result = TestResult.success();
+            }
+            Preconditions.check(result != null, "the result of a requested test input is missing");
+            results.add(result);
+        }
+
+        return results;
+    }
+
+    private List<int[]> runIteration(NonOverlappingCombinationFinder finder, List<TestResult> results) {
+        List<int[]> newTestCases = finder.runIteration(results);
+        while (!newTestCases.isEmpty() && isKnownSuccessful(newTestCases.get(0))) {
+            newTestCases = finder.runIteration(Collections.singletonList(TestResult.success()));
+        }
+
+        for (int i = 1; i < newTestCases.size(); i++) {
+            if (isKnownSuccessful(newTestCases.get(i))) {
+                return new ArrayList<>(newTestCases.subList(0, i + 1));
+            }
+        }
+
+        return newTestCases;
+    }
+
+    private boolean isKnownSuccessful(int[] testCase) {
+        return sharedTestResults != null && sharedTestResults.isSuccessful(testCase);
+    }
+
+    private void finish(NonOverlappingCombinationFinder finder) {
+        failureInducingCombinations.addAll(finder.getInteractions().stream()
+                .map(IntArrayWrapper::wrap).collect(Collectors.toList()));
     }
 
     public FaultCharacterizationAlgorithmFactory fic() {
         return Fic::new;
     }
 
+    /**
+     * @return a factory for FIC in batch mode
+     */
+    public static FaultCharacterizationAlgorithmFactory batchFic() {
+        return configuration -> new Fic(configuration, true);
+    }
+
     @Override
     public List<int[]> computeFailureInducingCombinations() {
         return failureInducingCombinations.stream().map(IntArrayWrapper::getArray).collect(Collectors.toList());
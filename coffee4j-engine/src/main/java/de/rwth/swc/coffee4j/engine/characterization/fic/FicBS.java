@@ -1,12 +1,14 @@
 package de.rwth.swc.coffee4j.engine.characterization.fic;
 
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmFactory;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
 
 /**
  * The implementation of the FIC_BS fault characterization algorithm as described in "Characterizing Failure-Causing
  * Parameter Interactions by Adaptive Testing".
  * It uses binary search instead of a simple linear search to find fixed parameters of faulty interactions.
- * Otherwise functions exactly the same as {@link Fic}.
+ * Otherwise functions exactly the same as {@link Fic}. As each binary search step depends on the previous one, the
+ * batch mode only runs the searches of all failed test cases at the same time.
  * <p>
  * Important Information:
  * <ul>
@@ -14,13 +16,13 @@ import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfigu
  *     <li>Relies on the framework for test case caching, i.e. may generate duplicate test cases.
  *     <li>Assumes that no new test cases are uncovered during the localization of fixed parameters
  *     <li>Assumes that faults are non-overlapping
- *     <li>Does not support for constraints
+ *     <li>Only generates test cases which satisfy the constraints
  * </ul>
  */
 public class FicBS extends Fic {
 
     /**
-     * Constructor.
+     * Constructor for the sequential mode.
      *
      * @param configuration the configuration. May not be {@code null}.
      */
@@ -28,8 +30,25 @@ public class FicBS extends Fic {
         super(configuration);
     }
 
+    /**
+     * Constructor.
+     *
+     * @param configuration the configuration. May not be {@code null}.
+     * @param batch         whether all test cases of independent searches should be requested in one iteration
+     */
+    public FicBS(FaultCharacterizationConfiguration configuration, boolean batch) {
+        super(configuration, batch);
+    }
+
+    /**
+     * @return a factory for FIC_BS in batch mode
+     */
+    public static FaultCharacterizationAlgorithmFactory batchFicBS() {
+        return configuration -> new FicBS(configuration, true);
+    }
+
     @Override
     protected FixedVariableFinderFactory provideFixedVariableFinder() {
-        return BinarySearchFixedVariableFinder::new;
+        return (tabu, seedTestCase, modifier, batch) -> new BinarySearchFixedVariableFinder(tabu, seedTestCase, modifier);
     }
 }
@@ -1,18 +1,18 @@
 package de.rwth.swc.coffee4j.engine.characterization.fic;
 
-import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.TestResult;
-import it.unimi.dsi.fastutil.ints.IntArraySet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
-import java.util.Arrays;
-import java.util.Optional;
+import java.util.List;
 
 interface FixedVariableFinder {
 
-    Optional<int[]> runIteration(TestResult result);
-
-    TestModel getModel();
+    /**
+     * @param results the results of the test cases returned by the previous iteration in the same order. Empty in the
+     *                first iteration. May only contain the results of a prefix of these test cases
+     * @return the test cases for which the results are needed next, or an empty list if the search is finished
+     */
+    List<int[]> runIteration(List<TestResult> results);
 
     int[] getSeedTestCase();
 
@@ -20,14 +20,4 @@ interface FixedVariableFinder {
 
     IntSet getFreeVariables();
 
-    default int[] getModifiedTestCase(IntSet testParameters) {
-        IntSet modifiedParameters = new IntArraySet(testParameters);
-        modifiedParameters.addAll(getFreeVariables());
-        int[] result = Arrays.copyOf(getSeedTestCase(), getSeedTestCase().length);
-        for (int i : modifiedParameters) {
-            result[i] = (result[i] + 1) % getModel().getSizeOfParameter(i);
-        }
-        return result;
-    }
-
 }
@@ -1,15 +1,13 @@
 package de.rwth.swc.coffee4j.engine.characterization.fic;
 
-import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.TestResult;
 import de.rwth.swc.coffee4j.engine.util.CombinationUtil;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 
@@ -17,50 +15,61 @@ import java.util.stream.Collectors;
  * Reeification of the FINOVLOP method.
  * Run iterations until no new test cases are returned, then all faulty interactions can be retrieved.
  * May return subinteractions if there are overlapping faulty interactions in the seed test case.
+ * If no test case without all found interactions satisfies the constraints, the search stops.
  */
 class NonOverlappingCombinationFinder {
 
     private final List<IntSet> interactions = new ArrayList<>();
     private final IntSet tabu = new IntArraySet();
     private final int[] seedTestCase;
-    private final TestModel model;
+    private final TestCaseModifier modifier;
     private final FixedVariableFinderFactory finderFactory;
+    private final boolean batch;
 
     private Mode mode = Mode.FINOVLOP;
     private FixedVariableFinder finder;
 
 
     NonOverlappingCombinationFinder(int[] seedTestCase,
-                                    TestModel model,
-                                    FixedVariableFinderFactory fixedVariableFinderFactory) {
+                                    TestCaseModifier modifier,
+                                    FixedVariableFinderFactory fixedVariableFinderFactory,
+                                    boolean batch) {
         this.seedTestCase = seedTestCase;
-        this.model = model;
+        this.modifier = modifier;
         this.finderFactory = fixedVariableFinderFactory;
+        this.batch = batch;
     }
 
-    Optional<int[]> runIteration(TestResult result) {
+    /**
+     * @param results the results of the test cases returned by the previous iteration in the same order, or the
+     *                result of the seed test case in the first iteration. May only contain the results of a prefix
+     * @return the test cases for which the results are needed next, or an empty list if all interactions were found
+     */
+    List<int[]> runIteration(List<TestResult> results) {
+        List<TestResult> finderResults = results;
         if (mode == Mode.FINOVLOP) {
-            if (result.isSuccessful()) {
-                return Optional.empty();
+            if (results.get(0).isSuccessful()) {
+                return Collections.emptyList();
             }
 
-            finder = finderFactory.createFixedVariableFinder(tabu, seedTestCase, model);
+            finder = finderFactory.createFixedVariableFinder(tabu, seedTestCase, modifier, batch);
+            finderResults = Collections.emptyList();
             mode = Mode.FIC;
 
         }
 
-        Optional<int[]> newTestCase = finder.runIteration(result);
-        if (newTestCase.isEmpty()) {
+        List<int[]> newTestCases = finder.runIteration(finderResults);
+        if (newTestCases.isEmpty()) {
             IntSet interaction = finder.getInteraction();
             interactions.add(interaction);
             tabu.addAll(interaction);
             if (interaction.isEmpty()) {
-                return Optional.empty();
+                return Collections.emptyList();
             }
             mode = Mode.FINOVLOP;
-            return Optional.of(getNewTestCase());
+            return modifier.modify(seedTestCase, tabu).map(Collections::singletonList).orElse(Collections.emptyList());
         } else {
-            return newTestCase;
+            return newTestCases;
         }
 
     }
@@ -77,14 +86,6 @@ class NonOverlappingCombinationFinder {
         return result;
     }
 
-    private int[] getNewTestCase() {
-        int[] result = Arrays.copyOf(seedTestCase, seedTestCase.length);
-        for (int i : tabu) {
-            result[i] = (result[i] + 1) % model.getSizeOfParameter(i);
-        }
-        return result;
-    }
-
     private enum Mode {
         FINOVLOP, FIC
     }
@@ -1,29 +1,45 @@
 package de.rwth.swc.coffee4j.engine.characterization.fic;
 
-import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.TestResult;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * Linearly searches the parameters of the seed test case. Each test case modifies all free parameters and the next
+ * candidate parameter. If it still fails, the candidate becomes free, otherwise it belongs to the interaction.
+ * <p>
+ * In batch mode, the finder speculates that all candidates are free and returns the test cases of all remaining
+ * candidates at once, each one modifying all candidates before it as well. The results are processed in order up to the
+ * first successful test case, and all later test cases are discarded. Therefore, the search finds the same interaction
+ * as in the sequential mode, but only needs one iteration per parameter of the interaction.
+ * <p>
+ * A candidate for which no test case satisfies the constraints is kept in the interaction.
+ */
 class SimpleFixedVariableFinder implements FixedVariableFinder {
 
 
     private final IntSet interaction = new IntArraySet();
     private final IntSet free;
     private final IntSet candidates = new IntArraySet();
+    private final IntList testedCandidates = new IntArrayList();
     private final int[] seedTestCase;
-    private final TestModel model;
+    private final TestCaseModifier modifier;
+    private final boolean batch;
 
-    private int currentParam = -1;
-
-    SimpleFixedVariableFinder(IntSet tabu, int[] seedTestCase, TestModel model) {
+    SimpleFixedVariableFinder(IntSet tabu, int[] seedTestCase, TestCaseModifier modifier, boolean batch) {
         free = new IntArraySet(tabu);
         this.seedTestCase = seedTestCase;
-        this.model = model;
+        this.modifier = modifier;
+        this.batch = batch;
 
-        for (int i = 0; i < model.getNumberOfParameters(); i++) {
+        for (int i = 0; i < modifier.getModel().getNumberOfParameters(); i++) {
             if (!free.contains(i)) {
                 candidates.add(i);
             }
@@ -31,30 +47,44 @@ class SimpleFixedVariableFinder implements FixedVariableFinder {
     }
 
     @Override
-    public Optional<int[]> runIteration(TestResult result) {
-        if (result.isSuccessful()) {
-            interaction.add(currentParam);
-        } else {
-            if (currentParam != -1) {
-                free.add(currentParam);
+    public List<int[]> runIteration(List<TestResult> results) {
+        for (int i = 0; i < results.size(); i++) {
+            final int candidate = testedCandidates.getInt(i);
+            candidates.remove(candidate);
+            if (results.get(i).isSuccessful()) {
+                interaction.add(candidate);
+                break;
+            } else {
+                free.add(candidate);
             }
         }
-        candidates.remove(currentParam);
-        if (candidates.isEmpty()) {
-            return Optional.empty();
-        }
-        currentParam = candidates.stream().findAny().get();
-        IntSet modifiedParameters = new IntArraySet();
-        if (currentParam != -1) {
-            modifiedParameters.add(currentParam);
-        }
-        return Optional.of(getModifiedTestCase(modifiedParameters));
+        testedCandidates.clear();
 
+        return nextTestCases();
     }
 
-    @Override
-    public TestModel getModel() {
-        return model;
+    private List<int[]> nextTestCases() {
+        final List<int[]> testCases = new ArrayList<>();
+        final IntSet modifiedParameters = new IntArraySet(free);
+        final IntIterator iterator = candidates.iterator();
+
+        while (iterator.hasNext() && (batch || testCases.isEmpty())) {
+            final int candidate = iterator.nextInt();
+            modifiedParameters.add(candidate);
+            final Optional<int[]> testCase = modifier.modify(seedTestCase, modifiedParameters);
+            if (testCase.isPresent()) {
+                testedCandidates.add(candidate);
+                testCases.add(testCase.get());
+            } else if (testCases.isEmpty()) {
+                iterator.remove();
+                interaction.add(candidate);
+                modifiedParameters.remove(candidate);
+            } else {
+                break;
+            }
+        }
+
+        return testCases;
     }
 
     @Override
@@ -0,0 +1,71 @@
+package de.rwth.swc.coffee4j.engine.characterization.fic;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.constraint.ConstraintChecker;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+
+/**
+ * Creates test cases which differ from a seed test case in a given set of parameters. Each modified parameter gets the
+ * first value after its value in the seed test case (in cyclic order) for which the test case still satisfies all
+ * constraints. The values are chosen by a depth-first search over the modified parameters, which checks every partial
+ * assignment against the {@link ConstraintChecker}. Without constraints, every modified parameter therefore just gets
+ * the next value.
+ * <p>
+ * Parameters with only one value cannot be modified and keep their value.
+ */
+final class TestCaseModifier {
+
+    private final TestModel model;
+    private final ConstraintChecker checker;
+
+    TestCaseModifier(TestModel model, ConstraintChecker checker) {
+        this.model = Preconditions.notNull(model);
+        this.checker = Preconditions.notNull(checker);
+    }
+
+    TestModel getModel() {
+        return model;
+    }
+
+    /**
+     * @param seedTestCase the test case to modify. Must not be {@code null}
+     * @param parameters   the parameters which should have a different value than in the seed test case
+     * @return the modified test case, or nothing if there is no modification satisfying all constraints
+     */
+    Optional<int[]> modify(int[] seedTestCase, IntSet parameters) {
+        final int[] modifiedParameters = parameters.toIntArray();
+        Arrays.sort(modifiedParameters);
+        final int[] testCase = Arrays.copyOf(seedTestCase, seedTestCase.length);
+        for (int parameter : modifiedParameters) {
+            testCase[parameter] = NO_VALUE;
+        }
+
+        return assign(seedTestCase, testCase, modifiedParameters, 0) ? Optional.of(testCase) : Optional.empty();
+    }
+
+    private boolean assign(int[] seedTestCase, int[] testCase, int[] modifiedParameters, int index) {
+        if (index == modifiedParameters.length) {
+            return checker.isValid(testCase);
+        }
+
+        final int parameter = modifiedParameters[index];
+        final int size = model.getSizeOfParameter(parameter);
+        for (int offset = 1; offset <= Math.max(1, size - 1); offset++) {
+            testCase[parameter] = (seedTestCase[parameter] + offset) % size;
+            if ((index + 1 == modifiedParameters.length || checker.isValid(testCase))
+                    && assign(seedTestCase, testCase, modifiedParameters, index + 1)) {
+                return true;
+            }
+        }
+        testCase[parameter] = NO_VALUE;
+
+        return false;
+    }
+
+}
@@ -8,9 +8,10 @@ import de.rwth.swc.coffee4j.engine.generator.aetg.AetgSatAlgorithm;
 import de.rwth.swc.coffee4j.engine.generator.aetg.AetgSatConfiguration;
 import de.rwth.swc.coffee4j.engine.util.CombinationUtil;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -37,21 +38,34 @@ import java.util.stream.Collectors;
  *     <li>Assumes that the first step of fixed parameter localization does not uncover any new faults.
  *     <li>Feedback checking as safety net against assumption violations.
  * </ul>
+ * <p>
+ * Feedback checking normally generates one test case per iteration, since the next check only needs to be done if the
+ * previous one failed. With a speculation depth, up to that many further feedback test cases are generated together
+ * with the pending one, assuming the likely outcome that all of them fail. The results are then evaluated in the
+ * original order, and the results of all test cases after the first successful one are discarded. As the feedback test
+ * cases do not depend on the results of previous failed feedback checks, the outcome is the same as without
+ * speculation. For this, each feedback checking phase draws its random values from its own split of the random source,
+ * so discarded test cases do not change the random values of later phases, generation, or mutation. Generation and
+ * mutation are not speculated on, as their next test cases depend on coverage updates which cannot be undone.
  */
 public class Ict implements FaultCharacterizationAlgorithm {
 
     private static final int DEFAULT_NUMBER_OF_FEEDBACK_CHECKS = 5;
 
     private final AetgSatAlgorithm aetg;
+    private final RandomSource feedbackRandomSource;
     private final List<int[]> foundFailureInducingCombinations = new ArrayList<>();
     private final int numberOfFeedbackChecks;
+    private final int speculationDepth;
     private final List<int[]> lastFeedback = new ArrayList<>();
     private final List<int[]> lastMutations = new ArrayList<>();
+    private final List<int[]> pendingFeedback = new ArrayList<>();
 
     private State state = State.GENERATION;
     private int[] currentFailure;
     private int[] currentFailureInducingCombination;
     private int feedbackCheckingRound;
+    private RandomSource feedbackCheckingRandomSource;
 
     /**
      * Constructor.
@@ -73,11 +87,30 @@ public class Ict implements FaultCharacterizationAlgorithm {
      *                               found. Must be positive.
      */
     public Ict(FaultCharacterizationConfiguration configuration, int numberOfFeedbackChecks) {
+        this(configuration, numberOfFeedbackChecks, 0);
+    }
+
+    /**
+     * Constructor with a given number of feedback iterations and speculation depth for feedback checking.
+     *
+     * @param configuration          the configuration. It may not be {@code null}.
+     * @param numberOfFeedbackChecks a number describing how many feedback checks should be done when a fault has been
+     *                               found. Must be positive.
+     * @param speculationDepth       the number of further feedback test cases which are generated together with the
+     *                               pending one. Zero disables speculation. Must not be negative.
+     */
+    public Ict(FaultCharacterizationConfiguration configuration, int numberOfFeedbackChecks, int speculationDepth) {
         Preconditions.notNull(configuration);
         Preconditions.check(numberOfFeedbackChecks >= 0);
+        Preconditions.check(speculationDepth >= 0);
         TestModel model = configuration.getTestModel();
-        this.aetg = new AetgSatAlgorithm(AetgSatConfiguration.aetgSatConfiguration().model(model).build());
+        this.aetg = new AetgSatAlgorithm(AetgSatConfiguration.aetgSatConfiguration()
+                .model(model)
+                .randomSource(configuration.getRandomSource().split())
+                .build());
+        this.feedbackRandomSource = configuration.getRandomSource().split();
         this.numberOfFeedbackChecks = numberOfFeedbackChecks;
+        this.speculationDepth = speculationDepth;
     }
 
     @Override
@@ -101,30 +134,40 @@ public class Ict implements FaultCharacterizationAlgorithm {
             currentFailureInducingCombination = identifyFailureInducingCombination(currentFailure, testResults);
             state = State.FEEDBACK_CHECKING;
             feedbackCheckingRound = 1;
+            feedbackCheckingRandomSource = feedbackRandomSource.split();
             lastFeedback.clear();
-            return getFeedbackTestCase(currentFailure, currentFailureInducingCombination);
+            return getFeedbackTestCases(currentFailure, currentFailureInducingCombination);
 
         } else {
-            Map.Entry<int[], TestResult> testResult = testResults.entrySet().stream().findFirst().get();
-            if (testResult.getValue().isUnsuccessful()) {
+            for (int[] feedbackTestCase : pendingFeedback) {
+                if (findResult(feedbackTestCase, testResults).isUnsuccessful()) {
+
+                    if (feedbackCheckingRound > numberOfFeedbackChecks) {
+                        addFailureInducingCombination(currentFailureInducingCombination);
+                        state = State.GENERATION;
+                        return generateTestCase();
+                    } else {
+                        feedbackCheckingRound++;
+                    }
 
-                if (feedbackCheckingRound > numberOfFeedbackChecks) {
-                    addFailureInducingCombination(currentFailureInducingCombination);
-                    state = State.GENERATION;
-                    return generateTestCase();
                 } else {
-                    feedbackCheckingRound++;
-                    return getFeedbackTestCase(currentFailure, currentFailureInducingCombination);
+                    aetg.updateCoverage(feedbackTestCase);
+                    state = State.CHARACTERIZATION;
+                    return mutateTestCase(currentFailure);
                 }
-
-            } else {
-                aetg.updateCoverage(testResult.getKey());
-                state = State.CHARACTERIZATION;
-                return mutateTestCase(currentFailure);
             }
+            return getFeedbackTestCases(currentFailure, currentFailureInducingCombination);
         }
     }
 
+    private static TestResult findResult(int[] testCase, Map<int[], TestResult> testResults) {
+        return testResults.entrySet().stream()
+                .filter(entry -> Arrays.equals(entry.getKey(), testCase))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No result for feedback test case " + Arrays.toString(testCase)));
+    }
+
     private void addFailureInducingCombination(int[] failureInducingCombination) {
         lastMutations.clear();
         foundFailureInducingCombinations.add(failureInducingCombination);
@@ -147,10 +190,16 @@ public class Ict implements FaultCharacterizationAlgorithm {
         return result;
     }
 
-    private List<int[]> getFeedbackTestCase(int[] failure, int[] failureInducingCombination) {
-        int[] testCase = aetg.selectDissimilar(failureInducingCombination, failure, lastFeedback);
-        lastFeedback.add(testCase);
-        return Collections.singletonList(testCase);
+    private List<int[]> getFeedbackTestCases(int[] failure, int[] failureInducingCombination) {
+        int remainingFeedbackChecks = numberOfFeedbackChecks + 2 - feedbackCheckingRound;
+        pendingFeedback.clear();
+        for (int i = 0; i < Math.min(speculationDepth + 1, remainingFeedbackChecks); i++) {
+            int[] testCase = aetg.selectDissimilar(failureInducingCombination, failure, lastFeedback,
+                    feedbackCheckingRandomSource);
+            lastFeedback.add(testCase);
+            pendingFeedback.add(testCase);
+        }
+        return new ArrayList<>(pendingFeedback);
     }
 
     private List<int[]> mutateTestCase(int[] testCase) {
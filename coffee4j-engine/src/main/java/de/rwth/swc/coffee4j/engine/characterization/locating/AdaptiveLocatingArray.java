@@ -9,6 +9,8 @@ import de.rwth.swc.coffee4j.engine.util.CombinationUtil;
 import de.rwth.swc.coffee4j.engine.util.Combinator;
 import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 
 import java.util.*;
 
@@ -20,6 +22,9 @@ import java.util.*;
  * equivalent when they occur in exactly the same testcases. During characterization the algorithm iteratively generates
  * new test cases to split these equivalence classes until all combinations can be uniquely identified.
  * <p>
+ * The equivalence classes are kept in an {@link InteractionPartition}, so each test case only touches the
+ * combinations it contains instead of rescanning every class.
+ * <p>
  * Important Information:
  * <ul>
  *     <li>Does only support systems with exactly one fault
@@ -32,7 +37,7 @@ public class AdaptiveLocatingArray implements FaultCharacterizationAlgorithm {
     private final TestModel model;
     private final ConstraintChecker checker;
     private final Map<int[], TestResult> allTestResults = new HashMap<>();
-    private final List<Set<IntArrayWrapper>> equivalenceClasses = new ArrayList<>();
+    private InteractionPartition equivalenceClasses;
 
     /**
      * Constructor.
@@ -50,16 +55,16 @@ public class AdaptiveLocatingArray implements FaultCharacterizationAlgorithm {
 
     @Override
     public List<int[]> computeNextTestInputs(Map<int[], TestResult> testResults) {
-        if (equivalenceClasses.isEmpty()) {
+        if (equivalenceClasses == null) {
             buildEquivalenceClasses(testResults);
         }
 
         for (int[] testCase : testResults.keySet()) {
-            splitEquivalenceClasses(testCase);
+            equivalenceClasses.refine(testCase);
         }
 
         allTestResults.putAll(testResults);
-        if (equivalenceClasses.stream().allMatch(c -> c.size() <= 1)) {
+        if (equivalenceClasses.isDiscrete()) {
             return Collections.emptyList();
         }
 
@@ -68,23 +73,23 @@ public class AdaptiveLocatingArray implements FaultCharacterizationAlgorithm {
     }
 
     private void buildEquivalenceClasses(Map<int[], TestResult> testResults) {
-        Set<IntArrayWrapper> eq = new HashSet<>();
+        Set<IntArrayWrapper> interactions = new LinkedHashSet<>();
         for (Map.Entry<int[], TestResult> entry : testResults.entrySet()) {
             if (entry.getValue().isUnsuccessful()) {
-                eq.addAll(IntArrayWrapper.wrapToSet(Combinator.computeSubCombinations(entry.getKey(), 2)));
+                interactions.addAll(IntArrayWrapper.wrapToSet(Combinator.computeSubCombinations(entry.getKey(), 2)));
             }
         }
-        equivalenceClasses.add(eq);
+        List<int[]> interactionArrays = new ArrayList<>(interactions.size());
+        for (IntArrayWrapper interaction : interactions) {
+            interactionArrays.add(interaction.getArray());
+        }
+        equivalenceClasses = new InteractionPartition(model.getParameterSizes(), interactionArrays);
     }
 
     private int[] findSplittingTestCase() {
         int[] newTestCase = CombinationUtil.emptyCombination(model.getNumberOfParameters());
-        Set<Set<IntArrayWrapper>> checked = new HashSet<>();
-        while (checked.size() < equivalenceClasses.size()) {
-            for (Set<IntArrayWrapper> equivalenceClass : equivalenceClasses) {
-                findEquivalenceClassSplitter(newTestCase, equivalenceClass);
-                checked.add(equivalenceClass);
-            }
+        for (int equivalenceClass = 0; equivalenceClass < equivalenceClasses.getNumberOfClasses(); equivalenceClass++) {
+            findEquivalenceClassSplitter(newTestCase, equivalenceClass);
         }
         for (int i = 0; i < newTestCase.length; i++) {
             if (newTestCase[i] == CombinationUtil.NO_VALUE) {
@@ -94,72 +99,54 @@ public class AdaptiveLocatingArray implements FaultCharacterizationAlgorithm {
         return newTestCase;
     }
 
-    private void findEquivalenceClassSplitter(int[] newTestCase, Set<IntArrayWrapper> equivalenceClass) {
-        for (IntArrayWrapper interaction1 : equivalenceClass) {
-            for (IntArrayWrapper interaction2 : equivalenceClass) {
-                if (interaction1 != interaction2) {
-                    if (CombinationUtil.canBeAdded(newTestCase, interaction1.getArray(), checker) &&
-                            CombinationUtil.canBeAdded(newTestCase, interaction2.getArray(), checker)) {
-                        CombinationUtil.add(newTestCase, interaction1.getArray());
-                        CombinationUtil.add(newTestCase, interaction2.getArray());
-                        for (int i = 0; i < interaction1.getArray().length; i++) {
-                            if (interaction1.getArray()[i] != CombinationUtil.NO_VALUE &&
-                                    interaction1.getArray()[i] != interaction2.getArray()[i]) {
-                                newTestCase[i] = (newTestCase[i] + 1) % model.getSizeOfParameter(i);
-                            }
-                        }
-                        return;
-                    }
+    private void findEquivalenceClassSplitter(int[] newTestCase, int equivalenceClass) {
+        int[] interaction1 = null;
+        for (int i = 0; i < equivalenceClasses.getClassSize(equivalenceClass); i++) {
+            int[] interaction = equivalenceClasses.getInteraction(equivalenceClasses.getInteractionId(equivalenceClass, i));
+            if (CombinationUtil.canBeAdded(newTestCase, interaction, checker)) {
+                if (interaction1 == null) {
+                    interaction1 = interaction;
+                } else {
+                    addSplittingValues(newTestCase, interaction1, interaction);
+                    return;
                 }
             }
         }
     }
 
-    private void splitEquivalenceClasses(int[] testCase) {
-        List<Set<IntArrayWrapper>> newEquivalenceClasses = new ArrayList<>();
-        for (Set<IntArrayWrapper> equivalenceClass : equivalenceClasses) {
-            if (equivalenceClass.size() > 1) {
-                Set<IntArrayWrapper> newEquivalenceClass = new HashSet<>();
-                for (IntArrayWrapper interaction : equivalenceClass) {
-                    if (CombinationUtil.contains(testCase, interaction.getArray())) {
-                        newEquivalenceClass.add(interaction);
-                    }
-                }
-                if (newEquivalenceClass.size() > 0) {
-                    equivalenceClass.removeAll(newEquivalenceClass);
-                    newEquivalenceClasses.add(newEquivalenceClass);
-                }
+    private void addSplittingValues(int[] newTestCase, int[] interaction1, int[] interaction2) {
+        CombinationUtil.add(newTestCase, interaction1);
+        CombinationUtil.add(newTestCase, interaction2);
+        for (int i = 0; i < interaction1.length; i++) {
+            if (interaction1[i] != CombinationUtil.NO_VALUE && interaction1[i] != interaction2[i]) {
+                newTestCase[i] = (newTestCase[i] + 1) % model.getSizeOfParameter(i);
             }
         }
-        equivalenceClasses.addAll(newEquivalenceClasses);
     }
 
     @Override
     public List<int[]> computeFailureInducingCombinations() {
-        Set<int[]> suspiciousInteractions = new HashSet<>();
+        if (equivalenceClasses == null) {
+            return Collections.emptyList();
+        }
+
+        IntSet suspiciousInteractions = new IntLinkedOpenHashSet();
         for (Map.Entry<int[], TestResult> entry : allTestResults.entrySet()) {
             if (entry.getValue().isUnsuccessful()) {
-                for (Set<IntArrayWrapper> equivalenceClass : equivalenceClasses) {
-                    for (IntArrayWrapper interaction : equivalenceClass) {
-                        if (CombinationUtil.contains(entry.getKey(), interaction.getArray())) {
-                            suspiciousInteractions.add(interaction.getArray());
-                        }
-                    }
-                }
+                suspiciousInteractions.addAll(equivalenceClasses.getContainedInteractions(entry.getKey()));
             }
         }
         for (Map.Entry<int[], TestResult> entry : allTestResults.entrySet()) {
-            Set<int[]> cleanInteractions = new HashSet<>();
             if (entry.getValue().isSuccessful()) {
-                for (int[] interaction : suspiciousInteractions) {
-                    if (CombinationUtil.contains(entry.getKey(), interaction)) {
-                        cleanInteractions.add(interaction);
-                    }
-                }
-                suspiciousInteractions.removeAll(cleanInteractions);
+                suspiciousInteractions.removeAll(equivalenceClasses.getContainedInteractions(entry.getKey()));
             }
         }
-        return new ArrayList<>(suspiciousInteractions);
+
+        List<int[]> failureInducingCombinations = new ArrayList<>(suspiciousInteractions.size());
+        for (int interaction : suspiciousInteractions) {
+            failureInducingCombinations.add(equivalenceClasses.getInteraction(interaction).clone());
+        }
+        return failureInducingCombinations;
     }
 
 }
@@ -0,0 +1,219 @@
+package de.rwth.swc.coffee4j.engine.characterization.locating;
+
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+
+/**
+ * A partition of interactions into equivalence classes which can be refined by test inputs. Two interactions are in
+ * the same class if they have been contained in exactly the same refining test inputs.
+ * <p>
+ * Interactions are identified by their index in the list given to the constructor. All interaction ids are stored in
+ * one array in which each class occupies a contiguous range. A class is split in place by moving the ids contained in
+ * a test input to the front of its range and making them a new class. Additionally, each interaction is registered in
+ * an inverted index under the value of its first parameter. Therefore, finding and splitting off all interactions
+ * contained in a test input only looks at interactions sharing at least the first value with it.
+ */
+final class InteractionPartition {
+
+    private final int[][] interactions;
+    private final IntList[][] interactionsByFirstValue;
+
+    private final int[] elements;
+    private final int[] positions;
+    private final int[] classes;
+
+    private final IntList classStarts = new IntArrayList();
+    private final IntList classEnds = new IntArrayList();
+
+    private int[] numberOfMarkedElements;
+
+    /**
+     * Creates a new partition with one class containing all given interactions.
+     *
+     * @param parameterSizes the sizes of all parameters. Must not be {@code null}
+     * @param interactions   distinct interactions which each set at least one parameter. Must not be {@code null}
+     */
+    InteractionPartition(int[] parameterSizes, List<int[]> interactions) {
+        Preconditions.notNull(parameterSizes);
+        Preconditions.notNull(interactions);
+
+        this.interactions = interactions.toArray(new int[0][]);
+        interactionsByFirstValue = new IntList[parameterSizes.length][];
+        for (int parameter = 0; parameter < parameterSizes.length; parameter++) {
+            interactionsByFirstValue[parameter] = new IntList[parameterSizes[parameter]];
+        }
+        for (int id = 0; id < this.interactions.length; id++) {
+            final int firstParameter = firstSetParameter(this.interactions[id]);
+            Preconditions.check(firstParameter != NO_VALUE, "interactions must set at least one parameter");
+
+            final int value = this.interactions[id][firstParameter];
+            if (interactionsByFirstValue[firstParameter][value] == null) {
+                interactionsByFirstValue[firstParameter][value] = new IntArrayList();
+            }
+            interactionsByFirstValue[firstParameter][value].add(id);
+        }
+
+        elements = new int[this.interactions.length];
+        positions = new int[this.interactions.length];
+        classes = new int[this.interactions.length];
+        for (int id = 0; id < elements.length; id++) {
+            elements[id] = id;
+            positions[id] = id;
+        }
+        if (elements.length > 0) {
+            classStarts.add(0);
+            classEnds.add(elements.length);
+        }
+        numberOfMarkedElements = new int[classStarts.size()];
+    }
+
+    private static int firstSetParameter(int[] interaction) {
+        for (int parameter = 0; parameter < interaction.length; parameter++) {
+            if (interaction[parameter] != NO_VALUE) {
+                return parameter;
+            }
+        }
+
+        return NO_VALUE;
+    }
+
+    /**
+     * @param testInput a complete test input. Must not be {@code null}
+     * @return the ids of all interactions contained in the test input
+     */
+    IntList getContainedInteractions(int[] testInput) {
+        Preconditions.notNull(testInput);
+        Preconditions.check(testInput.length == interactionsByFirstValue.length);
+
+        final IntList containedInteractions = new IntArrayList();
+        for (int parameter = 0; parameter < testInput.length; parameter++) {
+            final int value = testInput[parameter];
+            if (value == NO_VALUE || value >= interactionsByFirstValue[parameter].length
+                    || interactionsByFirstValue[parameter][value] == null) {
+                continue;
+            }
+
+            for (int id : interactionsByFirstValue[parameter][value]) {
+                if (isContained(interactions[id], parameter, testInput)) {
+                    containedInteractions.add(id);
+                }
+            }
+        }
+
+        return containedInteractions;
+    }
+
+    private static boolean isContained(int[] interaction, int firstParameter, int[] testInput) {
+        for (int parameter = firstParameter + 1; parameter < interaction.length; parameter++) {
+            if (interaction[parameter] != NO_VALUE && interaction[parameter] != testInput[parameter]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Splits every class into the interactions contained in the given test input and those which are not. If all or
+     * none of the interactions of a class are contained, the class stays unchanged. Newly created classes get the
+     * next free class indices.
+     *
+     * @param testInput a complete test input. Must not be {@code null}
+     */
+    void refine(int[] testInput) {
+        final IntList touchedClasses = new IntArrayList();
+
+        for (int id : getContainedInteractions(testInput)) {
+            final int clazz = classes[id];
+            if (numberOfMarkedElements[clazz] == 0) {
+                touchedClasses.add(clazz);
+            }
+            swap(positions[id], classStarts.getInt(clazz) + numberOfMarkedElements[clazz]);
+            numberOfMarkedElements[clazz]++;
+        }
+
+        for (int clazz : touchedClasses) {
+            final int start = classStarts.getInt(clazz);
+            final int splitPosition = start + numberOfMarkedElements[clazz];
+            numberOfMarkedElements[clazz] = 0;
+
+            if (splitPosition < classEnds.getInt(clazz)) {
+                final int newClass = classStarts.size();
+                classStarts.add(start);
+                classEnds.add(splitPosition);
+                classStarts.set(clazz, splitPosition);
+                for (int position = start; position < splitPosition; position++) {
+                    classes[elements[position]] = newClass;
+                }
+            }
+        }
+
+        if (numberOfMarkedElements.length < classStarts.size()) {
+            numberOfMarkedElements = Arrays.copyOf(numberOfMarkedElements, Math.max(classStarts.size(), 2 * numberOfMarkedElements.length));
+        }
+    }
+
+    private void swap(int firstPosition, int secondPosition) {
+        final int firstId = elements[firstPosition];
+        final int secondId = elements[secondPosition];
+
+        elements[firstPosition] = secondId;
+        positions[secondId] = firstPosition;
+        elements[secondPosition] = firstId;
+        positions[firstId] = secondPosition;
+    }
+
+    /**
+     * @return the number of non-empty classes
+     */
+    int getNumberOfClasses() {
+        return classStarts.size();
+    }
+
+    /**
+     * @return whether every class contains exactly one interaction
+     */
+    boolean isDiscrete() {
+        return classStarts.size() == interactions.length;
+    }
+
+    /**
+     * @param clazz the index of a class
+     * @return the number of interactions in the class
+     */
+    int getClassSize(int clazz) {
+        return classEnds.getInt(clazz) - classStarts.getInt(clazz);
+    }
+
+    /**
+     * @param clazz the index of a class
+     * @param index the index of an interaction inside the class
+     * @return the id of the interaction
+     */
+    int getInteractionId(int clazz, int index) {
+        return elements[classStarts.getInt(clazz) + index];
+    }
+
+    /**
+     * @param id the id of an interaction
+     * @return the interaction. It must not be modified
+     */
+    int[] getInteraction(int id) {
+        return interactions[id];
+    }
+
+    /**
+     * @param id the id of an interaction
+     * @return the index of the class containing the interaction
+     */
+    int getClassOf(int id) {
+        return classes[id];
+    }
+
+}
@@ -22,6 +22,9 @@ public class ConflictDetectionConfiguration {
     private final Class<? extends ConflictExplainer> conflictExplainerClass;
     private final boolean conflictDiagnosisEnabled;
     private final Class<? extends ConflictDiagnostician> conflictDiagnosticianClass;
+    private final ConflictSearchBudget searchBudget;
+    private final int maximumHittingSetSize;
+    private final int maximumDiagnosisSize;
 
     private boolean implies(boolean a, boolean b) {
         return !a || b;
@@ -33,6 +36,75 @@ public class ConflictDetectionConfiguration {
                                           Class<? extends ConflictExplainer> conflictExplainerClass,
                                           boolean conflictDiagnosisEnabled,
                                           Class<? extends ConflictDiagnostician> conflictDiagnosticianClass) {
+        this(conflictDetectionEnabled, shouldAbort,
+                conflictExplanationEnabled, conflictExplainerClass,
+                conflictDiagnosisEnabled, conflictDiagnosticianClass,
+                ConflictSearchBudget.unlimited());
+    }
+
+    /**
+     * @param searchBudget the budget of each conflict explanation and of each diagnosis, and of all of them together.
+     *                     If it is exhausted, the results found until then are reported as not complete. Must not be
+     *                     {@code null}
+     */
+    public ConflictDetectionConfiguration(boolean conflictDetectionEnabled,
+                                          boolean shouldAbort,
+                                          boolean conflictExplanationEnabled,
+                                          Class<? extends ConflictExplainer> conflictExplainerClass,
+                                          boolean conflictDiagnosisEnabled,
+                                          Class<? extends ConflictDiagnostician> conflictDiagnosticianClass,
+                                          ConflictSearchBudget searchBudget) {
+        this(conflictDetectionEnabled, shouldAbort,
+                conflictExplanationEnabled, conflictExplainerClass,
+                conflictDiagnosisEnabled, conflictDiagnosticianClass,
+                searchBudget, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param searchBudget          the budget of each conflict explanation and of each diagnosis, and of all of them
+     *                              together. If it is exhausted, the results found until then are reported as not
+     *                              complete. Must not be {@code null}
+     * @param maximumHittingSetSize the maximum number of diagnosis elements of a minimal diagnosis hitting set. Larger
+     *                              hitting sets are not computed. Must be positive, {@link Integer#MAX_VALUE} means
+     *                              no limit
+     */
+    public ConflictDetectionConfiguration(boolean conflictDetectionEnabled,
+                                          boolean shouldAbort,
+                                          boolean conflictExplanationEnabled,
+                                          Class<? extends ConflictExplainer> conflictExplainerClass,
+                                          boolean conflictDiagnosisEnabled,
+                                          Class<? extends ConflictDiagnostician> conflictDiagnosticianClass,
+                                          ConflictSearchBudget searchBudget,
+                                          int maximumHittingSetSize) {
+        this(conflictDetectionEnabled, shouldAbort,
+                conflictExplanationEnabled, conflictExplainerClass,
+                conflictDiagnosisEnabled, conflictDiagnosticianClass,
+                searchBudget, maximumHittingSetSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param searchBudget          the budget of each conflict explanation and of each diagnosis, and of all of them
+     *                              together. If it is exhausted, the results found until then are reported as not
+     *                              complete. Must not be {@code null}
+     * @param maximumHittingSetSize the maximum number of diagnosis elements of a minimal diagnosis hitting set. Larger
+     *                              hitting sets are not computed. Must be positive, {@link Integer#MAX_VALUE} means
+     *                              no limit
+     * @param maximumDiagnosisSize  the maximum number of constraints relaxed by a diagnosis. Larger diagnoses are not
+     *                              searched. If limited, the diagnostician class needs a constructor accepting the
+     *                              limit as an {@code int}. Must be positive, {@link Integer#MAX_VALUE} means no limit
+     */
+    public ConflictDetectionConfiguration(boolean conflictDetectionEnabled,
+                                          boolean shouldAbort,
+                                          boolean conflictExplanationEnabled,
+                                          Class<? extends ConflictExplainer> conflictExplainerClass,
+                                          boolean conflictDiagnosisEnabled,
+                                          Class<? extends ConflictDiagnostician> conflictDiagnosticianClass,
+                                          ConflictSearchBudget searchBudget,
+                                          int maximumHittingSetSize,
+                                          int maximumDiagnosisSize) {
+        Preconditions.notNull(searchBudget);
+        Preconditions.check(maximumHittingSetSize > 0, "the maximum hitting set size must be positive");
+        Preconditions.check(maximumDiagnosisSize > 0, "the maximum diagnosis size must be positive");
         Preconditions.check(implies(conflictExplanationEnabled, conflictDetectionEnabled));
         Preconditions.check(implies(conflictExplanationEnabled, conflictExplainerClass != null));
         Preconditions.check(implies(conflictDiagnosisEnabled, conflictExplanationEnabled));
@@ -55,6 +127,10 @@ public class ConflictDetectionConfiguration {
         } else {
             this.conflictDiagnosticianClass = conflictDiagnosticianClass;
         }
+
+        this.searchBudget = searchBudget;
+        this.maximumHittingSetSize = maximumHittingSetSize;
+        this.maximumDiagnosisSize = maximumDiagnosisSize;
     }
 
     public boolean isConflictDetectionEnabled() {
@@ -81,6 +157,18 @@ public class ConflictDetectionConfiguration {
         return conflictDiagnosticianClass;
     }
 
+    public ConflictSearchBudget getSearchBudget() {
+        return searchBudget;
+    }
+
+    public int getMaximumHittingSetSize() {
+        return maximumHittingSetSize;
+    }
+
+    public int getMaximumDiagnosisSize() {
+        return maximumDiagnosisSize;
+    }
+
     public ConflictExplainer createConflictExplainer() {
         try {
             return conflictExplainerClass.getConstructor().newInstance();
@@ -91,6 +179,10 @@ public class ConflictDetectionConfiguration {
 
     public ConflictDiagnostician createConflictDiagnostician() {
         try {
+            if(conflictDiagnosisEnabled && maximumDiagnosisSize != Integer.MAX_VALUE) {
+                return conflictDiagnosticianClass.getConstructor(int.class).newInstance(maximumDiagnosisSize);
+            }
+
             return conflictDiagnosticianClass.getConstructor().newInstance();
         } catch (InstantiationException | NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
             throw new RuntimeException(e);
@@ -111,12 +203,15 @@ public class ConflictDetectionConfiguration {
                 conflictExplanationEnabled == that.conflictExplanationEnabled &&
                 conflictDiagnosisEnabled == that.conflictDiagnosisEnabled &&
                 Objects.equals(conflictExplainerClass, that.conflictExplainerClass) &&
-                Objects.equals(conflictDiagnosticianClass, that.conflictDiagnosticianClass);
+                Objects.equals(conflictDiagnosticianClass, that.conflictDiagnosticianClass) &&
+                searchBudget.equals(that.searchBudget) &&
+                maximumHittingSetSize == that.maximumHittingSetSize &&
+                maximumDiagnosisSize == that.maximumDiagnosisSize;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(conflictDetectionEnabled, shouldAbort, conflictExplanationEnabled, conflictExplainerClass, conflictDiagnosisEnabled, conflictDiagnosticianClass);
+        return Objects.hash(conflictDetectionEnabled, shouldAbort, conflictExplanationEnabled, conflictExplainerClass, conflictDiagnosisEnabled, conflictDiagnosticianClass, searchBudget, maximumHittingSetSize, maximumDiagnosisSize);
     }
 
     @Override
@@ -128,6 +223,9 @@ public class ConflictDetectionConfiguration {
                 ", conflictExplainerClass=" + conflictExplainerClass +
                 ", conflictDiagnosisEnabled=" + conflictDiagnosisEnabled +
                 ", conflictDiagnosticianClass=" + conflictDiagnosticianClass +
+                ", searchBudget=" + searchBudget +
+                ", maximumHittingSetSize=" + maximumHittingSetSize +
+                ", maximumDiagnosisSize=" + maximumDiagnosisSize +
                 '}';
     }
 }
@@ -0,0 +1,114 @@
+package de.rwth.swc.coffee4j.engine.conflict;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TupleList;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Computes a fingerprint of everything the results of conflict detection depend on. These are the parameter sizes
+ * and the tuple lists of a {@link TestModel} in their order, and the parts of a
+ * {@link ConflictDetectionConfiguration} which select the algorithms. The testing strength and whether to abort on
+ * conflicts do not influence the results and are therefore ignored.
+ * <p>
+ * The fingerprint is the hexadecimal SHA-256 hash of an unambiguous binary encoding. It does not depend on the JVM,
+ * so it can be used to store results on disk.
+ */
+public final class ConflictDetectionFingerprint {
+
+    /* change whenever results for the same input change, so that stored results are not used anymore */
+    private static final int VERSION = 1;
+
+    private ConflictDetectionFingerprint() {
+    }
+
+    /**
+     * @param testModel     the model in which conflicts are detected. Must not be {@code null}
+     * @param configuration the configuration of the conflict detection. Must not be {@code null}
+     * @return the fingerprint consisting of 64 hexadecimal digits
+     */
+    public static String compute(TestModel testModel, ConflictDetectionConfiguration configuration) {
+        Preconditions.notNull(testModel);
+        Preconditions.notNull(configuration);
+
+        final MessageDigest digest = createDigest();
+
+        update(digest, VERSION);
+        update(digest, testModel.getParameterSizes());
+        update(digest, testModel.getForbiddenTupleLists());
+        update(digest, testModel.getErrorTupleLists());
+
+        update(digest, configuration.isConflictDetectionEnabled() ? 1 : 0);
+        update(digest, configuration.isConflictExplanationEnabled() ? 1 : 0);
+        update(digest, configuration.getConflictExplainerClass());
+        update(digest, configuration.isConflictDiagnosisEnabled() ? 1 : 0);
+        update(digest, configuration.getConflictDiagnosticianClass());
+        update(digest, configuration.getMaximumHittingSetSize());
+        update(digest, configuration.getMaximumDiagnosisSize());
+
+        return toHexadecimal(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("every Java platform has to support SHA-256", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, List<TupleList> tupleLists) {
+        update(digest, tupleLists.size());
+
+        for(TupleList tupleList : tupleLists) {
+            update(digest, tupleList.getId());
+            update(digest, tupleList.isMarkedAsCorrect() ? 1 : 0);
+            update(digest, tupleList.getInvolvedParameters());
+            update(digest, tupleList.getTuples().size());
+
+            for(int[] tuple : tupleList.getTuples()) {
+                update(digest, tuple);
+            }
+        }
+    }
+
+    private static void update(MessageDigest digest, Class<?> algorithmClass) {
+        final byte[] name = algorithmClass == null
+                ? new byte[0]
+                : algorithmClass.getName().getBytes(StandardCharsets.UTF_8);
+
+        update(digest, name.length);
+        digest.update(name);
+    }
+
+    private static void update(MessageDigest digest, int[] values) {
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * (values.length + 1));
+        buffer.putInt(values.length);
+
+        for(int value : values) {
+            buffer.putInt(value);
+        }
+
+        digest.update(buffer.array());
+    }
+
+    private static void update(MessageDigest digest, int value) {
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+
+    private static String toHexadecimal(byte[] bytes) {
+        final StringBuilder builder = new StringBuilder(2 * bytes.length);
+
+        for(byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+            builder.append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return builder.toString();
+    }
+}
@@ -6,50 +6,88 @@ import de.rwth.swc.coffee4j.engine.conflict.choco.ChocoModel;
 import de.rwth.swc.coffee4j.engine.conflict.diagnosis.ConflictDiagnostician;
 import de.rwth.swc.coffee4j.engine.conflict.explanation.ConflictExplainer;
 import de.rwth.swc.coffee4j.engine.constraint.InternalConstraint;
+import de.rwth.swc.coffee4j.engine.constraint.InternalConstraintConverter;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
-import static java.util.stream.Collectors.groupingBy;
-
+/**
+ * Detects missing invalid tuples by negating each error constraint and checking each of its tuples against all other
+ * constraints.
+ * <p>
+ * The error constraints are independent of each other, so they can be checked in parallel by giving an
+ * {@link Executor}. As a Choco model cannot be used by multiple threads, each task borrows a worker consisting of its
+ * own {@link ChocoModel}, {@link ConflictExplainer} and {@link ConflictDiagnostician}. Workers are created on demand
+ * and reused afterwards, so there are at most as many as tasks run at the same time. The results are merged in the
+ * order of the error constraints in the test model, independent of the order in which the tasks finish.
+ * <p>
+ * Each explanation and each diagnosis gets the {@link ConflictSearchBudget} of the configuration. All searches of one
+ * detection share a {@link ConflictSearchBudget.Pool}, so the total limits of the budget bound the whole detection
+ * including repeated explanations of lazily expanded tuple lists. Results of searches which exhausted their budget are
+ * marked as not complete.
+ */
 public class ConflictDetectionManager {
 
     private final ConflictDetectionConfiguration configuration;
-    private final ConflictExplainer explainer;
-    private final ConflictDiagnostician diagnostician;
     private final TestModelExpander expander;
+    private final Executor executor;
 
+    private final TestModel originalTestModel;
     private final TestModel testModel;
-    private final Map<Boolean, List<InternalConstraint>> partitionedConstraints;
+    private final List<InternalConstraint> constraints;
 
-    private final ChocoModel chocoModel;
+    private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
 
+    /**
+     * Creates a new manager which checks all error constraints sequentially in the calling thread.
+     *
+     * @param configuration     the configuration. Must not be {@code null}
+     * @param originalTestModel the test model containing the constraints. Must not be {@code null}
+     */
     public ConflictDetectionManager(ConflictDetectionConfiguration configuration,
                                     TestModel originalTestModel) {
+        this(configuration, originalTestModel, Runnable::run);
+    }
+
+    /**
+     * Creates a new manager which checks the error constraints as independent tasks on the given executor.
+     *
+     * @param configuration     the configuration. Must not be {@code null}
+     * @param originalTestModel the test model containing the constraints. Must not be {@code null}
+     * @param executor          the executor running the check of each error constraint. Must not be {@code null}
+     */
+    public ConflictDetectionManager(ConflictDetectionConfiguration configuration,
+                                    TestModel originalTestModel,
+                                    Executor executor) {
         Preconditions.notNull(configuration);
         Preconditions.notNull(originalTestModel);
+        Preconditions.notNull(executor);
 
         this.configuration = configuration;
-        this.explainer = configuration.createConflictExplainer();
-        this.diagnostician = configuration.createConflictDiagnostician();
         this.expander = configuration.createTestModelExpander(originalTestModel);
+        this.executor = executor;
 
-        this.testModel = expander.createExpandedTestModel();
+        this.originalTestModel = originalTestModel;
+        this.testModel = expander.createUnexpandedTestModel();
 
         final List<InternalConstraint> constraints = new ArrayList<>();
         constraints.addAll(this.testModel.getExclusionConstraints());
         constraints.addAll(this.testModel.getErrorConstraints());
 
-        this.partitionedConstraints = constraints.stream().collect(groupingBy(InternalConstraint::isMarkedAsCorrect));
-
-        if(!partitionedConstraints.containsKey(true)) {
-            partitionedConstraints.put(true, Collections.emptyList());
-        }
+        this.constraints = Collections.unmodifiableList(constraints);
 
-        this.chocoModel = new ChocoModel(this.testModel.getParameterSizes(), constraints);
+        idleWorkers.add(new Worker());
     }
 
     public List<MissingInvalidTuple> detectMissingInvalidTuples() {
@@ -57,95 +95,283 @@ public class ConflictDetectionManager {
             return Collections.emptyList();
         }
 
-        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(testModel, expander);
+        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(originalTestModel, expander);
+        final ConflictSearchBudget.Pool pool = configuration.getSearchBudget().startPool();
 
-        return testModel.getErrorTupleLists().stream()
-                .map(this::checkForNegatedErrorConstraint)
-                .flatMap(mits -> mits.stream().map(converter::convertMissingInvalidTuple))
+        final List<CompletableFuture<List<InternalMissingInvalidTuple>>> results = testModel.getErrorTupleLists().stream()
+                .map(toBeNegated -> CompletableFuture.supplyAsync(() -> checkWithIdleWorker(toBeNegated, pool), executor))
                 .collect(Collectors.toList());
+
+        try {
+            return results.stream()
+                    .map(CompletableFuture::join)
+                    .flatMap(mits -> mits.stream().map(converter::convertMissingInvalidTuple))
+                    .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Sums up the consistency checks of all workers in previous detections. Workers currently checking an error
+     * constraint are not included.
+     *
+     * @return the number of consistency checks which went through the memorizing consistency oracles
+     */
+    public long getNumberOfConsistencyChecks() {
+        return idleWorkers.stream()
+                .mapToLong(worker -> worker.chocoModel.getConsistencyOracle().getNumberOfQueries())
+                .sum();
+    }
+
+    /**
+     * Sums up the consistency checks of all workers in previous detections which were answered from memorized
+     * results. Workers currently checking an error constraint are not included.
+     *
+     * @return the number of consistency checks answered without solving a model
+     */
+    public long getNumberOfMemorizedConsistencyChecks() {
+        return idleWorkers.stream()
+                .mapToLong(worker -> worker.chocoModel.getConsistencyOracle().getNumberOfHits())
+                .sum();
+    }
+
+    private List<InternalMissingInvalidTuple> checkWithIdleWorker(TupleList toBeNegated, ConflictSearchBudget.Pool pool) {
+        Worker worker = idleWorkers.poll();
+        if (worker == null) {
+            worker = new Worker();
+        }
+
+        try {
+            return worker.checkForNegatedErrorConstraint(toBeNegated, pool);
+        } finally {
+            idleWorkers.add(worker);
+        }
     }
 
-    private List<InternalMissingInvalidTuple> checkForNegatedErrorConstraint(TupleList toBeNegated) {
-        final List<InternalMissingInvalidTuple> missingInvalidTuples = new ArrayList<>();
+    /**
+     * A worker initially contains one constraint per tuple list. A tuple list is only expanded into one constraint per
+     * tuple if it is negated, or if it is part of an explanation. In the latter case, the explanation is computed again
+     * until it only contains expanded constraints, and the tuple list stays expanded for later checks. This gives the
+     * same explanations as for the fully expanded test model, since a conflict or diagnosis containing a whole tuple list
+     * would otherwise be found with one of its tuples.
+     */
+    private final class Worker {
 
-        chocoModel.reset();
-        chocoModel.setNegationOfConstraint(toBeNegated.getId());
+        private final ConflictExplainer explainer = configuration.createConflictExplainer();
+        private final ConflictDiagnostician diagnostician = configuration.createConflictDiagnostician();
+        private final ChocoModel chocoModel = new ChocoModel(testModel.getParameterSizes(), constraints);
+        private final InternalConstraintConverter converter = new InternalConstraintConverter();
 
-        for(int[] tuple : toBeNegated.getTuples()) {
-            final IntSet background = new IntArraySet();
-            background.add(toBeNegated.getId());
-            background.addAll(partitionedConstraints.get(true).stream()
-                    .map(InternalConstraint::getId)
-                    .collect(Collectors.toList()));
+        private final IntSortedSet correctConstraintIds = new IntRBTreeSet(comparingPositions());
+        private final IntSortedSet relaxableConstraintIds = new IntRBTreeSet(comparingPositions());
 
-            final IntSet relaxable = new IntArraySet();
-            relaxable.addAll(partitionedConstraints.get(false).stream()
-                    .filter(constraint -> constraint.getId() != toBeNegated.getId())
-                    .map(InternalConstraint::getId)
-                    .collect(Collectors.toList()));
+        private ConflictSearchBudget.Pool pool;
 
-            final Optional<InternalExplanation> optional = checkForInvalidTuple(toBeNegated, tuple, background, relaxable);
-            optional.ifPresent(explanation ->
-                    missingInvalidTuples.add(new InternalMissingInvalidTuple(
-                            toBeNegated.getId(),
-                            toBeNegated.getInvolvedParameters(),
-                            tuple,
-                            explanation)));
+        private Worker() {
+            for(InternalConstraint constraint : constraints) {
+                getConstraintIds(constraint.isMarkedAsCorrect()).add(constraint.getId());
+            }
         }
 
-        chocoModel.resetNegationOfConstraint();
+        /* a tuple list and its first tuple have the same position, but they are never part of the model together */
+        private IntComparator comparingPositions() {
+            return (first, second) -> {
+                final int comparison = Integer.compare(expander.computePosition(first), expander.computePosition(second));
 
-        return missingInvalidTuples;
-    }
+                return comparison != 0 ? comparison : Integer.compare(first, second);
+            };
+        }
 
-    private Optional<InternalExplanation> checkForInvalidTuple(TupleList tupleList, int[] tuple, IntSet background, IntSet relaxable) {
-        chocoModel.reset();
+        private IntSortedSet getConstraintIds(boolean markedAsCorrect) {
+            return markedAsCorrect ? correctConstraintIds : relaxableConstraintIds;
+        }
 
-        final int assignmentId = chocoModel.setAssignmentConstraint(tupleList.getInvolvedParameters(), tuple);
+        private List<InternalMissingInvalidTuple> checkForNegatedErrorConstraint(TupleList errorTupleList, ConflictSearchBudget.Pool pool) {
+            this.pool = pool;
 
-        background.add(assignmentId);
+            final List<InternalMissingInvalidTuple> missingInvalidTuples = new ArrayList<>();
+            final List<TupleList> expandedTupleLists = expander.expandTupleList(errorTupleList.getId());
+            final boolean expandedBefore = !getConstraintIds(errorTupleList.isMarkedAsCorrect()).contains(errorTupleList.getId());
 
-        try {
-            final Optional<InternalExplanation> optional = createExplanation(background.toIntArray(), relaxable.toIntArray());
+            if(!expandedBefore) {
+                expand(errorTupleList.getId());
+            }
 
-            return optional.map(explanation -> {
-                if(configuration.isConflictDiagnosisEnabled() && explanation instanceof InternalConflictSet) {
-                    return new InternalDiagnosisSets((InternalConflictSet) explanation, diagnostician.getMinimalDiagnoses((InternalConflictSet) explanation));
-                } if(explanation instanceof InternalInconsistentBackground) {
-                    return removeAssignmentConstraintFromBackground(assignmentId, (InternalInconsistentBackground) explanation);
-                } else {
-                    return explanation;
+            for(TupleList toBeNegated : expandedTupleLists) {
+                chocoModel.reset();
+                chocoModel.setNegationOfConstraint(toBeNegated.getId());
+
+                final int[] tuple = toBeNegated.getTuples().get(0);
+                final Optional<InternalExplanation> optional = checkForInvalidTuple(toBeNegated, tuple);
+                optional.ifPresent(explanation ->
+                        missingInvalidTuples.add(new InternalMissingInvalidTuple(
+                                toBeNegated.getId(),
+                                toBeNegated.getInvolvedParameters(),
+                                tuple,
+                                explanation)));
+
+                chocoModel.resetNegationOfConstraint();
+            }
+
+            if(!expandedBefore) {
+                collapse(errorTupleList, expandedTupleLists);
+            }
+
+            return missingInvalidTuples;
+        }
+
+        private Optional<InternalExplanation> checkForInvalidTuple(TupleList toBeNegated, int[] tuple) {
+            while(true) {
+                final IntSet background = new IntArraySet();
+                background.add(toBeNegated.getId());
+                background.addAll(correctConstraintIds);
+
+                final IntSet relaxable = new IntArraySet(relaxableConstraintIds);
+                relaxable.remove(toBeNegated.getId());
+
+                final Optional<InternalExplanation> optional = checkForInvalidTuple(toBeNegated, tuple, background, relaxable);
+                final IntSet unexpandedIds = collectUnexpandedIds(optional);
+
+                if(unexpandedIds.isEmpty()) {
+                    return optional;
+                }
+
+                for(int id : unexpandedIds) {
+                    expand(id);
+                }
+            }
+        }
+
+        private IntSet collectUnexpandedIds(Optional<InternalExplanation> optional) {
+            final IntSet ids = new IntOpenHashSet();
+
+            optional.ifPresent(explanation -> {
+                if(explanation instanceof InternalConflictSet) {
+                    addUnexpandedIds(ids, ((InternalConflictSet) explanation).getConflictSet());
+                } else if(explanation instanceof InternalInconsistentBackground) {
+                    addUnexpandedIds(ids, ((InternalInconsistentBackground) explanation).getBackground());
+                } else if(explanation instanceof InternalDiagnosisSets) {
+                    final InternalDiagnosisSets diagnosisSets = (InternalDiagnosisSets) explanation;
+
+                    addUnexpandedIds(ids, diagnosisSets.getRootConflictSet().getConflictSet());
+                    for(int[] diagnosisSet : diagnosisSets.getDiagnosisSets()) {
+                        addUnexpandedIds(ids, diagnosisSet);
+                    }
                 }
             });
 
-        } finally {
-            chocoModel.clearAssignmentConstraint();
+            return ids;
+        }
 
-            background.remove(assignmentId);
+        private void addUnexpandedIds(IntSet unexpandedIds, int[] ids) {
+            for(int id : ids) {
+                if(expander.isUnexpandedId(id)
+                        && (correctConstraintIds.contains(id) || relaxableConstraintIds.contains(id))) {
+                    unexpandedIds.add(id);
+                }
+            }
         }
-    }
 
-    private InternalExplanation removeAssignmentConstraintFromBackground(int assignmentId, InternalInconsistentBackground explanation) {
-        final int[] cleanedBackground = Arrays.stream(explanation.getBackground())
-                .filter(c -> c != assignmentId)
-                .toArray();
+        private void expand(int id) {
+            final List<TupleList> expandedTupleLists = expander.expandTupleList(id);
+            final IntSortedSet constraintIds = getConstraintIds(expandedTupleLists.get(0).isMarkedAsCorrect());
 
-        return new InternalInconsistentBackground(cleanedBackground, explanation.getRelaxable());
-    }
+            chocoModel.removeConstraint(id);
+            constraintIds.remove(id);
 
-    private Optional<InternalExplanation> createExplanation(int[] background, int[] relaxable) {
-        if(!configuration.isConflictExplanationEnabled()) {
+            for(TupleList expandedTupleList : expandedTupleLists) {
+                for(InternalConstraint constraint : converter.convert(expandedTupleList)) {
+                    chocoModel.addConstraint(constraint);
+                    constraintIds.add(constraint.getId());
+                }
+            }
+        }
+
+        private void collapse(TupleList tupleList, List<TupleList> expandedTupleLists) {
+            final IntSortedSet constraintIds = getConstraintIds(tupleList.isMarkedAsCorrect());
+
+            for(TupleList expandedTupleList : expandedTupleLists) {
+                chocoModel.removeConstraint(expandedTupleList.getId());
+                constraintIds.remove(expandedTupleList.getId());
+            }
+
+            for(InternalConstraint constraint : converter.convert(tupleList)) {
+                chocoModel.addConstraint(constraint);
+                constraintIds.add(constraint.getId());
+            }
+        }
+
+        private Optional<InternalExplanation> checkForInvalidTuple(TupleList tupleList, int[] tuple, IntSet background, IntSet relaxable) {
             chocoModel.reset();
 
-            if(chocoModel.isSatisfiable()) {
-                return Optional.empty();
+            final int assignmentId = chocoModel.setAssignmentConstraint(tupleList.getInvolvedParameters(), tuple);
+
+            background.add(assignmentId);
+
+            try {
+                final Optional<InternalExplanation> optional = createExplanation(background.toIntArray(), relaxable.toIntArray());
+
+                return optional.map(explanation -> {
+                    if(configuration.isConflictDiagnosisEnabled() && explanation instanceof InternalConflictSet) {
+                        return diagnose((InternalConflictSet) explanation);
+                    } if(explanation instanceof InternalInconsistentBackground) {
+                        return removeAssignmentConstraintFromBackground(assignmentId, (InternalInconsistentBackground) explanation);
+                    } else {
+                        return explanation;
+                    }
+                });
+
+            } finally {
+                chocoModel.clearAssignmentConstraint();
+
+                background.remove(assignmentId);
+            }
+        }
+
+        private InternalExplanation diagnose(InternalConflictSet conflict) {
+            if(!conflict.isComplete()) {
+                /* diagnoses of a conflict which is not minimal would not be minimal either */
+                return conflict;
+            }
+
+            final ConflictSearchBudget.Tracker tracker = pool.start();
+            final int[][] diagnoses = diagnostician.getMinimalDiagnoses(conflict, tracker);
+
+            if(diagnoses.length == 0) {
+                /* no diagnosis was found within the budget or the maximum diagnosis size */
+                return new InternalConflictSet(conflict.getChocoModel(), conflict.getBackground(), conflict.getRelaxable(), conflict.getConflictSet(), !tracker.isExhausted());
+            }
+
+            return new InternalDiagnosisSets(conflict, diagnoses, !tracker.isExhausted());
+        }
+
+        private InternalExplanation removeAssignmentConstraintFromBackground(int assignmentId, InternalInconsistentBackground explanation) {
+            final int[] cleanedBackground = Arrays.stream(explanation.getBackground())
+                    .filter(c -> c != assignmentId)
+                    .toArray();
+
+            return new InternalInconsistentBackground(cleanedBackground, explanation.getRelaxable());
+        }
+
+        private Optional<InternalExplanation> createExplanation(int[] background, int[] relaxable) {
+            if(!configuration.isConflictExplanationEnabled()) {
+                chocoModel.reset();
+
+                if(chocoModel.isSatisfiable()) {
+                    return Optional.empty();
+                } else {
+                    return Optional.of(
+                            new InternalUnknownExplanation()
+                    );
+                }
             } else {
-                return Optional.of(
-                        new InternalUnknownExplanation()
-                );
+                return explainer.getMinimalConflict(chocoModel, background, relaxable, pool.start());
             }
-        } else {
-            return explainer.getMinimalConflict(chocoModel, background, relaxable);
         }
     }
 }
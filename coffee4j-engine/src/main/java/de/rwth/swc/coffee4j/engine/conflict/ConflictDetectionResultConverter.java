@@ -51,16 +51,16 @@ class ConflictDetectionResultConverter {
                 .mapToObj(this::convertConflictElement)
                 .collect(Collectors.toList());
 
-        return new ConflictSet(elements);
+        return new ConflictSet(elements, conflict.isComplete());
     }
 
     ConflictElement convertConflictElement(int constraintId) {
-        final TupleList expandedTupleList = getExpandedTupleList(constraintId);
+        final TupleList originalTupleList = getOriginalTupleList(constraintId);
 
         return new ConflictElement(
-                expander.computeOriginalId(constraintId),
-                expandedTupleList.getInvolvedParameters(),
-                expandedTupleList.getTuples().get(0));
+                originalTupleList.getId(),
+                originalTupleList.getInvolvedParameters(),
+                getOriginalTuple(originalTupleList, constraintId));
     }
 
     InconsistentBackground convertInconsistentBackground(InternalInconsistentBackground inconsistentBackground) {
@@ -82,7 +82,7 @@ class ConflictDetectionResultConverter {
                 .map(this::convertDiagnosisSet)
                 .collect(Collectors.toList());
 
-        return new DiagnosisSets(conflictSet, elements);
+        return new DiagnosisSets(conflictSet, elements, diagnosis.isComplete());
     }
 
     DiagnosisSet convertDiagnosisSet(int[] diagnosisSet) {
@@ -94,15 +94,16 @@ class ConflictDetectionResultConverter {
     }
 
     DiagnosisElement convertDiagnosisElement(int constraintId) {
-        final TupleList expandedTupleList = getExpandedTupleList(constraintId);
+        final TupleList originalTupleList = getOriginalTupleList(constraintId);
 
         return new DiagnosisElement(
-                expander.computeOriginalId(constraintId),
-                expandedTupleList.getInvolvedParameters(),
-                expandedTupleList.getTuples().get(0));
+                originalTupleList.getId(),
+                originalTupleList.getInvolvedParameters(),
+                getOriginalTuple(originalTupleList, constraintId));
     }
 
-    private TupleList getExpandedTupleList(int id) {
+    private TupleList getOriginalTupleList(int expandedId) {
+        final int id = expander.computeOriginalId(expandedId);
         final Optional<TupleList> original = testModel.getForbiddenTupleLists().stream()
                 .filter(tupleList -> tupleList.getId() == id)
                 .findFirst();
@@ -114,6 +115,10 @@ class ConflictDetectionResultConverter {
         ).orElseThrow();
     }
 
+    private int[] getOriginalTuple(TupleList originalTupleList, int expandedId) {
+        return originalTupleList.getTuples().get(expander.computeOriginalIndexInTupleList(expandedId));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,236 @@
+package de.rwth.swc.coffee4j.engine.conflict;
+
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes the results of conflict detection as text files with one result per line.
+ * <p>
+ * A line of a {@link MissingInvalidTuple} contains the id of the negated error constraint, the involved parameters,
+ * the missing values and the kind of explanation ({@code UNKNOWN}, {@code CONFLICT}, {@code BACKGROUND} or
+ * {@code DIAGNOSES}, with the prefix {@code PARTIAL_} if the search was stopped by its budget), separated by tabs.
+ * Conflicts and inconsistent backgrounds are followed by their elements, and diagnoses by the elements of the root
+ * conflict and of each diagnosis, again separated by tabs. A line of a {@link DiagnosisHittingSet} only contains its
+ * elements. Elements are separated by semicolons, and each element consists of the constraint id, the involved
+ * parameters and the values separated by colons. Parameters and values are separated by commas.
+ */
+public final class ConflictDetectionResultFile {
+
+    private static final String SEPARATOR = "\t";
+    private static final String ELEMENT_SEPARATOR = ";";
+    private static final String PART_SEPARATOR = ":";
+    private static final String VALUE_SEPARATOR = ",";
+
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final String CONFLICT = "CONFLICT";
+    private static final String BACKGROUND = "BACKGROUND";
+    private static final String DIAGNOSES = "DIAGNOSES";
+    private static final String PARTIAL = "PARTIAL_";
+
+    private ConflictDetectionResultFile() {
+    }
+
+    /**
+     * Writes the given missing invalid tuples. Existing content is replaced.
+     *
+     * @param file                 the file. Must not be {@code null}
+     * @param missingInvalidTuples the missing invalid tuples. Must not be, nor contain {@code null}
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeMissingInvalidTuples(Path file, List<MissingInvalidTuple> missingInvalidTuples) throws IOException {
+        Preconditions.notNull(file);
+        Preconditions.notNull(missingInvalidTuples);
+        Preconditions.doesNotContainNull(missingInvalidTuples);
+
+        final List<String> lines = new ArrayList<>(missingInvalidTuples.size());
+        for(MissingInvalidTuple missingInvalidTuple : missingInvalidTuples) {
+            lines.add(missingInvalidTuple.getNegatedErrorConstraintId()
+                    + SEPARATOR + toString(missingInvalidTuple.getInvolvedParameters())
+                    + SEPARATOR + toString(missingInvalidTuple.getMissingValues())
+                    + SEPARATOR + toString(missingInvalidTuple.getExplanation()));
+        }
+
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param file the file. Must not be {@code null}
+     * @return the missing invalid tuples in the order in which they were written
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static List<MissingInvalidTuple> readMissingInvalidTuples(Path file) throws IOException {
+        Preconditions.notNull(file);
+
+        return readLines(file, ConflictDetectionResultFile::parseMissingInvalidTuple);
+    }
+
+    /**
+     * Writes the given diagnosis hitting sets. Existing content is replaced.
+     *
+     * @param file        the file. Must not be {@code null}
+     * @param hittingSets the diagnosis hitting sets. Must not be, nor contain {@code null}
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeDiagnosisHittingSets(Path file, List<DiagnosisHittingSet> hittingSets) throws IOException {
+        Preconditions.notNull(file);
+        Preconditions.notNull(hittingSets);
+        Preconditions.doesNotContainNull(hittingSets);
+
+        final List<String> lines = hittingSets.stream()
+                .map(hittingSet -> toString(hittingSet.getDiagnosisElements(), ConflictDetectionResultFile::toString))
+                .collect(Collectors.toList());
+
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param file the file. Must not be {@code null}
+     * @return the diagnosis hitting sets in the order in which they were written
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static List<DiagnosisHittingSet> readDiagnosisHittingSets(Path file) throws IOException {
+        Preconditions.notNull(file);
+
+        return readLines(file, line -> new DiagnosisHittingSet(parseDiagnosisElements(line)));
+    }
+
+    private static String toString(ConflictExplanation explanation) {
+        if(explanation instanceof ConflictSet) {
+            return kind(CONFLICT, explanation) + SEPARATOR + toString(((ConflictSet) explanation).getConflictElements(), ConflictDetectionResultFile::toString);
+        } else if(explanation instanceof InconsistentBackground) {
+            return BACKGROUND + SEPARATOR + toString(((InconsistentBackground) explanation).getConflictElements(), ConflictDetectionResultFile::toString);
+        } else if(explanation instanceof DiagnosisSets) {
+            final DiagnosisSets diagnosisSets = (DiagnosisSets) explanation;
+            final StringBuilder builder = new StringBuilder(kind(DIAGNOSES, explanation))
+                    .append(SEPARATOR)
+                    .append(toString(diagnosisSets.getRootConflictSet().getConflictElements(), ConflictDetectionResultFile::toString));
+
+            for(DiagnosisSet diagnosisSet : diagnosisSets.getDiagnosisSets()) {
+                builder.append(SEPARATOR).append(toString(diagnosisSet.getDiagnosisElements(), ConflictDetectionResultFile::toString));
+            }
+
+            return builder.toString();
+        } else if(explanation instanceof UnknownConflictExplanation) {
+            return UNKNOWN;
+        } else {
+            throw new IllegalStateException("unhandled ConflictExplanation subtype");
+        }
+    }
+
+    private static String kind(String kind, ConflictExplanation explanation) {
+        return explanation.isComplete() ? kind : PARTIAL + kind;
+    }
+
+    private static <T> String toString(List<T> elements, Function<T, String> converter) {
+        return elements.stream().map(converter).collect(Collectors.joining(ELEMENT_SEPARATOR));
+    }
+
+    private static String toString(ConflictElement element) {
+        return element.getConflictingConstraintId()
+                + PART_SEPARATOR + toString(element.getInvolvedParameters())
+                + PART_SEPARATOR + toString(element.getConflictingValues());
+    }
+
+    private static String toString(DiagnosisElement element) {
+        return element.getDiagnosedConstraintId()
+                + PART_SEPARATOR + toString(element.getInvolvedParameters())
+                + PART_SEPARATOR + toString(element.getConflictingValues());
+    }
+
+    private static String toString(int[] values) {
+        return Arrays.stream(values).mapToObj(Integer::toString).collect(Collectors.joining(VALUE_SEPARATOR));
+    }
+
+    private static <T> List<T> readLines(Path file, Function<String, T> parser) throws IOException {
+        final List<T> results = new ArrayList<>();
+
+        for(String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if(!line.isEmpty()) {
+                try {
+                    results.add(parser.apply(line));
+                } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                    throw new IOException("Malformed conflict detection result line: " + line, e);
+                }
+            }
+        }
+
+        return results;
+    }
+
+    private static MissingInvalidTuple parseMissingInvalidTuple(String line) {
+        final String[] parts = line.split(SEPARATOR, -1);
+        Preconditions.check(parts.length >= 4);
+
+        return new MissingInvalidTuple(
+                Integer.parseInt(parts[0]),
+                parseValues(parts[1]),
+                parseValues(parts[2]),
+                parseExplanation(Arrays.copyOfRange(parts, 3, parts.length)));
+    }
+
+    private static ConflictExplanation parseExplanation(String[] parts) {
+        final boolean complete = !parts[0].startsWith(PARTIAL);
+        final String kind = complete ? parts[0] : parts[0].substring(PARTIAL.length());
+
+        Preconditions.check(complete || kind.equals(CONFLICT) || kind.equals(DIAGNOSES));
+
+        switch (kind) {
+            case UNKNOWN:
+                Preconditions.check(parts.length == 1);
+                return new UnknownConflictExplanation();
+            case CONFLICT:
+                Preconditions.check(parts.length == 2);
+                return new ConflictSet(parseConflictElements(parts[1]), complete);
+            case BACKGROUND:
+                Preconditions.check(parts.length == 2);
+                return new InconsistentBackground(parseConflictElements(parts[1]));
+            case DIAGNOSES:
+                Preconditions.check(parts.length >= 3);
+                return new DiagnosisSets(
+                        new ConflictSet(parseConflictElements(parts[1])),
+                        Arrays.stream(parts, 2, parts.length)
+                                .map(part -> new DiagnosisSet(parseDiagnosisElements(part)))
+                                .collect(Collectors.toList()),
+                        complete);
+            default:
+                throw new IllegalArgumentException("unknown explanation " + parts[0]);
+        }
+    }
+
+    private static List<ConflictElement> parseConflictElements(String text) {
+        return Arrays.stream(text.split(ELEMENT_SEPARATOR))
+                .map(element -> element.split(PART_SEPARATOR, -1))
+                .map(parts -> {
+                    Preconditions.check(parts.length == 3);
+
+                    return new ConflictElement(Integer.parseInt(parts[0]), parseValues(parts[1]), parseValues(parts[2]));
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static List<DiagnosisElement> parseDiagnosisElements(String text) {
+        return Arrays.stream(text.split(ELEMENT_SEPARATOR))
+                .map(element -> element.split(PART_SEPARATOR, -1))
+                .map(parts -> {
+                    Preconditions.check(parts.length == 3);
+
+                    return new DiagnosisElement(Integer.parseInt(parts[0]), parseValues(parts[1]), parseValues(parts[2]));
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static int[] parseValues(String text) {
+        return text.isEmpty()
+                ? new int[0]
+                : Arrays.stream(text.split(VALUE_SEPARATOR)).mapToInt(Integer::parseInt).toArray();
+    }
+}
@@ -1,4 +1,12 @@
 package de.rwth.swc.coffee4j.engine.conflict;
 
 public interface ConflictExplanation {
+
+    /**
+     * @return whether the search for the explanation finished. Otherwise it was stopped by its
+     * {@link ConflictSearchBudget}, so a conflict may not be minimal and further diagnoses may exist
+     */
+    default boolean isComplete() {
+        return true;
+    }
 }
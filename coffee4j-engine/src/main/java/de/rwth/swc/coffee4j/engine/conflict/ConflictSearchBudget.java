@@ -0,0 +1,233 @@
+package de.rwth.swc.coffee4j.engine.conflict;
+
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how long a single conflict explanation or diagnosis may search. A budget consists of a time limit and a
+ * limit on the number of search nodes, which are the consistency checks of an explainer and the nodes of the hitting
+ * set tree of a diagnostician. Each search starts its own {@link Tracker}, and stops as soon as the tracker refuses
+ * another node. The search then returns what it found so far and marks its result as not complete.
+ * <p>
+ * Additionally, a budget can limit the time and the number of nodes of all searches of one conflict detection
+ * together. The detection starts a {@link Pool}, and each search starts its tracker from the pool, so it stops once
+ * either its own or the total limit is reached.
+ */
+public final class ConflictSearchBudget {
+
+    private static final ConflictSearchBudget UNLIMITED = new ConflictSearchBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long timeLimitInMillis;
+    private final long nodeLimit;
+    private final long totalTimeLimitInMillis;
+    private final long totalNodeLimit;
+
+    /**
+     * @param timeLimitInMillis the maximum duration of a search in milliseconds. Must be positive.
+     *                          {@link Long#MAX_VALUE} means no time limit
+     * @param nodeLimit         the maximum number of nodes of a search. Must be positive.
+     *                          {@link Long#MAX_VALUE} means no node limit
+     */
+    public ConflictSearchBudget(long timeLimitInMillis, long nodeLimit) {
+        this(timeLimitInMillis, nodeLimit, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param timeLimitInMillis      the maximum duration of a search in milliseconds. Must be positive.
+     *                               {@link Long#MAX_VALUE} means no time limit
+     * @param nodeLimit              the maximum number of nodes of a search. Must be positive.
+     *                               {@link Long#MAX_VALUE} means no node limit
+     * @param totalTimeLimitInMillis the maximum duration of all searches of a {@link Pool} in milliseconds, measured
+     *                               from the start of the pool. Must be positive. {@link Long#MAX_VALUE} means no
+     *                               time limit
+     * @param totalNodeLimit         the maximum number of nodes of all searches of a {@link Pool}. Must be positive.
+     *                               {@link Long#MAX_VALUE} means no node limit
+     */
+    public ConflictSearchBudget(long timeLimitInMillis, long nodeLimit, long totalTimeLimitInMillis, long totalNodeLimit) {
+        Preconditions.check(timeLimitInMillis > 0, "the time limit must be positive");
+        Preconditions.check(nodeLimit > 0, "the node limit must be positive");
+        Preconditions.check(totalTimeLimitInMillis > 0, "the total time limit must be positive");
+        Preconditions.check(totalNodeLimit > 0, "the total node limit must be positive");
+
+        this.timeLimitInMillis = timeLimitInMillis;
+        this.nodeLimit = nodeLimit;
+        this.totalTimeLimitInMillis = totalTimeLimitInMillis;
+        this.totalNodeLimit = totalNodeLimit;
+    }
+
+    /**
+     * @return a budget which never stops a search
+     */
+    public static ConflictSearchBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    public long getTimeLimitInMillis() {
+        return timeLimitInMillis;
+    }
+
+    public long getNodeLimit() {
+        return nodeLimit;
+    }
+
+    public long getTotalTimeLimitInMillis() {
+        return totalTimeLimitInMillis;
+    }
+
+    public long getTotalNodeLimit() {
+        return totalNodeLimit;
+    }
+
+    public boolean isUnlimited() {
+        return timeLimitInMillis == Long.MAX_VALUE && nodeLimit == Long.MAX_VALUE
+                && totalTimeLimitInMillis == Long.MAX_VALUE && totalNodeLimit == Long.MAX_VALUE;
+    }
+
+    /**
+     * @return a new tracker whose time limit starts now. It is not limited by the total limits
+     */
+    public Tracker start() {
+        return new Tracker(this, null);
+    }
+
+    /**
+     * @return a new pool whose total time limit starts now
+     */
+    public Pool startPool() {
+        return new Pool(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ConflictSearchBudget that = (ConflictSearchBudget) o;
+        return timeLimitInMillis == that.timeLimitInMillis &&
+                nodeLimit == that.nodeLimit &&
+                totalTimeLimitInMillis == that.totalTimeLimitInMillis &&
+                totalNodeLimit == that.totalNodeLimit;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timeLimitInMillis, nodeLimit, totalTimeLimitInMillis, totalNodeLimit);
+    }
+
+    @Override
+    public String toString() {
+        return "ConflictSearchBudget{" +
+                "timeLimitInMillis=" + timeLimitInMillis +
+                ", nodeLimit=" + nodeLimit +
+                ", totalTimeLimitInMillis=" + totalTimeLimitInMillis +
+                ", totalNodeLimit=" + totalNodeLimit +
+                '}';
+    }
+
+    /**
+     * Counts the nodes and the time of all searches started from it. It may be shared by searches running in
+     * different threads. Once a node is refused, all further nodes of all searches are refused as well.
+     */
+    public static final class Pool {
+
+        private final ConflictSearchBudget budget;
+        private final long deadline;
+        private final boolean timeLimited;
+
+        private final AtomicLong numberOfNodes = new AtomicLong();
+        private volatile boolean exhausted;
+
+        private Pool(ConflictSearchBudget budget) {
+            this.budget = budget;
+            this.timeLimited = budget.totalTimeLimitInMillis != Long.MAX_VALUE;
+            this.deadline = timeLimited ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget.totalTimeLimitInMillis) : 0;
+        }
+
+        /**
+         * @return a new tracker whose time limit starts now, and which is additionally limited by this pool
+         */
+        public Tracker start() {
+            return new Tracker(budget, this);
+        }
+
+        private boolean tryConsume() {
+            if(!exhausted && timeLimited && System.nanoTime() - deadline >= 0) {
+                exhausted = true;
+            }
+
+            if(!exhausted) {
+                final long previous = numberOfNodes.getAndUpdate(nodes -> nodes < budget.totalNodeLimit ? nodes + 1 : nodes);
+
+                if(previous >= budget.totalNodeLimit) {
+                    exhausted = true;
+                }
+            }
+
+            return !exhausted;
+        }
+
+        /**
+         * @return whether a node has been refused, so later searches are stopped immediately
+         */
+        public boolean isExhausted() {
+            return exhausted;
+        }
+
+        public long getNumberOfNodes() {
+            return numberOfNodes.get();
+        }
+    }
+
+    /**
+     * Counts the nodes and the time of one search. Once a node is refused, all further nodes are refused as well.
+     * If the tracker was started from a {@link Pool}, each node is also counted by the pool.
+     */
+    public static final class Tracker {
+
+        private final long nodeLimit;
+        private final long deadline;
+        private final boolean timeLimited;
+        private final Pool pool;
+
+        private long numberOfNodes;
+        private boolean exhausted;
+
+        private Tracker(ConflictSearchBudget budget, Pool pool) {
+            this.pool = pool;
+            this.nodeLimit = budget.nodeLimit;
+            this.timeLimited = budget.timeLimitInMillis != Long.MAX_VALUE;
+            this.deadline = timeLimited ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget.timeLimitInMillis) : 0;
+        }
+
+        /**
+         * Asks for one more node of the search.
+         *
+         * @return whether the node may be searched. If not, the search has to stop
+         */
+        public boolean tryConsume() {
+            if(!exhausted) {
+                exhausted = numberOfNodes >= nodeLimit || (timeLimited && System.nanoTime() - deadline >= 0)
+                        || (pool != null && !pool.tryConsume());
+            }
+
+            if(!exhausted) {
+                numberOfNodes++;
+            }
+
+            return !exhausted;
+        }
+
+        /**
+         * @return whether a node has been refused, so the search could not finish
+         */
+        public boolean isExhausted() {
+            return exhausted;
+        }
+
+        public long getNumberOfNodes() {
+            return numberOfNodes;
+        }
+    }
+}
@@ -8,35 +8,52 @@ import java.util.Objects;
 public class ConflictSet implements ConflictExplanation {
 
     private final List<ConflictElement> conflictElements;
+    private final boolean complete;
 
     public ConflictSet(List<ConflictElement> conflictElements) {
+        this(conflictElements, true);
+    }
+
+    /**
+     * @param conflictElements the elements of the conflict. Must not be {@code null} or empty
+     * @param complete         whether the conflict is minimal. It is not if the search was stopped by its budget
+     */
+    public ConflictSet(List<ConflictElement> conflictElements, boolean complete) {
         Preconditions.notNull(conflictElements);
         Preconditions.check(conflictElements.size() > 0);
 
         this.conflictElements = conflictElements;
+        this.complete = complete;
     }
 
     public List<ConflictElement> getConflictElements() {
         return conflictElements;
     }
 
+    @Override
+    public boolean isComplete() {
+        return complete;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ConflictSet that = (ConflictSet) o;
-        return conflictElements.equals(that.conflictElements);
+        return complete == that.complete &&
+                conflictElements.equals(that.conflictElements);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(conflictElements);
+        return Objects.hash(conflictElements, complete);
     }
 
     @Override
     public String toString() {
         return "ConflictSet{" +
                 "conflictElements=" + conflictElements +
+                ", complete=" + complete +
                 '}';
     }
 }
@@ -9,15 +9,23 @@ public class DiagnosisSets implements ConflictExplanation {
 
     private final ConflictSet rootConflictSet;
     private final List<DiagnosisSet> diagnosisSets;
+    private final boolean complete;
 
     DiagnosisSets(ConflictSet rootConflictSet,
                   List<DiagnosisSet> diagnosisSets) {
+        this(rootConflictSet, diagnosisSets, true);
+    }
+
+    DiagnosisSets(ConflictSet rootConflictSet,
+                  List<DiagnosisSet> diagnosisSets,
+                  boolean complete) {
         Preconditions.notNull(rootConflictSet);
         Preconditions.notNull(diagnosisSets);
         Preconditions.check(diagnosisSets.size() > 0);
 
         this.rootConflictSet = rootConflictSet;
         this.diagnosisSets = diagnosisSets;
+        this.complete = complete;
     }
 
     public ConflictSet getRootConflictSet() {
@@ -28,18 +36,28 @@ public class DiagnosisSets implements ConflictExplanation {
         return diagnosisSets;
     }
 
+    /**
+     * @return whether all diagnoses of the root conflict were found. Otherwise the search was stopped by its budget,
+     * and the diagnoses are the ones found until then
+     */
+    @Override
+    public boolean isComplete() {
+        return complete;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DiagnosisSets that = (DiagnosisSets) o;
-        return rootConflictSet.equals(that.rootConflictSet) &&
+        return complete == that.complete &&
+                rootConflictSet.equals(that.rootConflictSet) &&
                 diagnosisSets.equals(that.diagnosisSets);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(rootConflictSet, diagnosisSets);
+        return Objects.hash(rootConflictSet, diagnosisSets, complete);
     }
 
     @Override
@@ -47,6 +65,7 @@ public class DiagnosisSets implements ConflictExplanation {
         return "DiagnosisSets{" +
                 "rootConflictSet=" + rootConflictSet +
                 ", diagnosisSets=" + diagnosisSets +
+                ", complete=" + complete +
                 '}';
     }
 }
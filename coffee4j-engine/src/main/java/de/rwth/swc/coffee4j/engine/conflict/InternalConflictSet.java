@@ -12,11 +12,27 @@ public class InternalConflictSet implements InternalExplanation {
     private final int[] background;
     private final int[] relaxable;
     private final int[] conflictSet;
+    private final boolean complete;
 
     public InternalConflictSet(ChocoModel chocoModel,
                                int[] background,
                                int[] relaxable,
                                int[] conflictSet) {
+        this(chocoModel, background, relaxable, conflictSet, true);
+    }
+
+    /**
+     * @param chocoModel  the model in which the conflict was found. Must not be {@code null}
+     * @param background  the constraints which could not be relaxed. Must not be {@code null}
+     * @param relaxable   the constraints which could be relaxed. Must not be {@code null}
+     * @param conflictSet the conflicting subset of the relaxable constraints. Must not be {@code null}
+     * @param complete    whether the conflict is minimal. It is not if the search was stopped by its budget
+     */
+    public InternalConflictSet(ChocoModel chocoModel,
+                               int[] background,
+                               int[] relaxable,
+                               int[] conflictSet,
+                               boolean complete) {
         Preconditions.notNull(chocoModel);
         Preconditions.notNull(background);
         Preconditions.notNull(relaxable);
@@ -26,6 +42,7 @@ public class InternalConflictSet implements InternalExplanation {
         this.background = background;
         this.relaxable = relaxable;
         this.conflictSet = conflictSet;
+        this.complete = complete;
     }
 
     public ChocoModel getChocoModel() {
@@ -44,12 +61,18 @@ public class InternalConflictSet implements InternalExplanation {
         return conflictSet;
     }
 
+    @Override
+    public boolean isComplete() {
+        return complete;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         InternalConflictSet that = (InternalConflictSet) o;
-        return chocoModel.equals(that.chocoModel) &&
+        return complete == that.complete &&
+                chocoModel.equals(that.chocoModel) &&
                 Arrays.equals(background, that.background) &&
                 Arrays.equals(relaxable, that.relaxable) &&
                 Arrays.equals(conflictSet, that.conflictSet);
@@ -57,7 +80,7 @@ public class InternalConflictSet implements InternalExplanation {
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(chocoModel);
+        int result = Objects.hash(chocoModel, complete);
         result = 31 * result + Arrays.hashCode(background);
         result = 31 * result + Arrays.hashCode(relaxable);
         result = 31 * result + Arrays.hashCode(conflictSet);
@@ -71,6 +94,7 @@ public class InternalConflictSet implements InternalExplanation {
                 ", background=" + Arrays.toString(background) +
                 ", relaxable=" + Arrays.toString(relaxable) +
                 ", conflictSet=" + Arrays.toString(conflictSet) +
+                ", complete=" + complete +
                 '}';
     }
 }
@@ -8,13 +8,19 @@ import java.util.Objects;
 class InternalDiagnosisSets implements InternalExplanation {
     private final InternalConflictSet rootConflictSet;
     private final int[][] diagnosisSets;
+    private final boolean complete;
 
     InternalDiagnosisSets(InternalConflictSet rootConflictSet, int[][] diagnosisSets) {
+        this(rootConflictSet, diagnosisSets, true);
+    }
+
+    InternalDiagnosisSets(InternalConflictSet rootConflictSet, int[][] diagnosisSets, boolean complete) {
         Preconditions.notNull(rootConflictSet);
         Preconditions.notNull(diagnosisSets);
 
         this.rootConflictSet = rootConflictSet;
         this.diagnosisSets = diagnosisSets;
+        this.complete = complete;
     }
 
     InternalConflictSet getRootConflictSet() {
@@ -25,18 +31,24 @@ class InternalDiagnosisSets implements InternalExplanation {
         return diagnosisSets;
     }
 
+    @Override
+    public boolean isComplete() {
+        return complete;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         InternalDiagnosisSets that = (InternalDiagnosisSets) o;
-        return rootConflictSet.equals(that.rootConflictSet) &&
+        return complete == that.complete &&
+                rootConflictSet.equals(that.rootConflictSet) &&
                 Arrays.equals(diagnosisSets, that.diagnosisSets);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(rootConflictSet);
+        int result = Objects.hash(rootConflictSet, complete);
         result = 31 * result + Arrays.hashCode(diagnosisSets);
         return result;
     }
@@ -45,7 +57,8 @@ class InternalDiagnosisSets implements InternalExplanation {
     public String toString() {
         return "InternalDiagnosisSets{" +
                 "rootConflictSet=" + rootConflictSet +
-                ", diagnosisSets=" + Arrays.toString(diagnosisSets) +
+                ", diagnosisSets=" + Arrays.deepToString(diagnosisSets) +
+                ", complete=" + complete +
                 '}';
     }
 }
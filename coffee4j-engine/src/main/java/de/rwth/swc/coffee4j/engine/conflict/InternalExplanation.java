@@ -1,4 +1,11 @@
 package de.rwth.swc.coffee4j.engine.conflict;
 
 public interface InternalExplanation {
+
+    /**
+     * @return whether the search for the explanation finished before its {@link ConflictSearchBudget} was exhausted
+     */
+    default boolean isComplete() {
+        return true;
+    }
 }
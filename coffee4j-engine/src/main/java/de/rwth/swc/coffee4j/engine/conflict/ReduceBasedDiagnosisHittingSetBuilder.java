@@ -3,18 +3,42 @@ package de.rwth.swc.coffee4j.engine.conflict;
 import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.TupleList;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * Computes the minimal diagnosis hitting sets of a list of missing invalid tuples. A diagnosis hitting set combines one
+ * diagnosis of each missing invalid tuple, and it is minimal if no other combination is a proper subset of it.
+ * <p>
+ * Diagnosis elements are numbered, so each diagnosis and each combination is a {@link BitSet}. The diagnoses of one
+ * missing invalid tuple after another are combined with all minimal combinations found so far. A combination which
+ * already contains one of the new diagnoses is kept as it is, since combining it with any other diagnosis could only
+ * result in a superset. After each step, only the minimal combinations are kept. Optionally, combinations with more
+ * than a given number of elements are discarded. As combinations only grow, this does not lose any smaller one. The
+ * number is taken from {@link ConflictDetectionConfiguration#getMaximumHittingSetSize()} by the managers.
+ */
 public class ReduceBasedDiagnosisHittingSetBuilder {
 
     private final TestModel testModel;
+    private final int maximumHittingSetSize;
 
     public ReduceBasedDiagnosisHittingSetBuilder(TestModel testModel) {
+        this(testModel, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param testModel             the test model containing the constraints. Must not be {@code null}
+     * @param maximumHittingSetSize the maximum number of diagnosis elements of a returned hitting set. Must be positive
+     */
+    public ReduceBasedDiagnosisHittingSetBuilder(TestModel testModel, int maximumHittingSetSize) {
         Preconditions.notNull(testModel);
+        Preconditions.check(maximumHittingSetSize > 0, "the maximum hitting set size must be positive");
 
         this.testModel = testModel;
+        this.maximumHittingSetSize = maximumHittingSetSize;
     }
 
     public List<DiagnosisHittingSet> computeMinimalDiagnosisHittingSets(List<MissingInvalidTuple> mits) {
@@ -24,96 +48,100 @@ public class ReduceBasedDiagnosisHittingSetBuilder {
 
         final List<MissingInvalidTuple> extendedMits = extendWithDiagnosisSetsforNegatedErrorConstraints(mits);
 
-        final List<Set<Set<DiagnosisElement>>> sets = extendedMits.stream()
-                .map(mit -> new HashSet<Set<DiagnosisElement>>(
-                        ((DiagnosisSets) mit.getExplanation()).getDiagnosisSets().stream()
-                                .map(ds -> new HashSet<>(ds.getDiagnosisElements()))
-                        .collect(Collectors.toSet())))
-                .collect(Collectors.toList());
+        final List<DiagnosisElement> elements = new ArrayList<>();
+        final Object2IntMap<DiagnosisElement> elementIds = new Object2IntOpenHashMap<>();
+        elementIds.defaultReturnValue(-1);
 
-        final Set<Set<DiagnosisElement>> selections = sets.stream()
-                .reduce(Collections.emptySet(), this::reduceToDiagnosisHittingSets);
+        List<BitSet> selections = null;
 
-        return selections.stream()
-                .map(selection -> new DiagnosisHittingSet(new ArrayList<>(selection)))
-                .collect(Collectors.toList());
-    }
+        for(MissingInvalidTuple mit : extendedMits) {
+            final List<BitSet> diagnoses = ((DiagnosisSets) mit.getExplanation()).getDiagnosisSets().stream()
+                    .map(diagnosisSet -> encode(diagnosisSet.getDiagnosisElements(), elements, elementIds))
+                    .collect(Collectors.toList());
 
-    private Set<Set<DiagnosisElement>> reduceToDiagnosisHittingSets(Set<Set<DiagnosisElement>> a, Set<Set<DiagnosisElement>> b) {
-        if(a.isEmpty()) {
-            return b;
+            if(diagnoses.isEmpty()) {
+                continue;
+            }
+
+            selections = selections == null
+                    ? filterMinimalSelections(diagnoses)
+                    : combineSelections(selections, diagnoses);
         }
 
-        if(b.isEmpty()) {
-            return a;
+        if(selections == null) {
+            return Collections.emptyList();
         }
 
-        final Set<Set<DiagnosisElement>> sets = new LinkedHashSet<>(a.size() * b.size());
+        return selections.stream()
+                .map(selection -> new DiagnosisHittingSet(selection.stream()
+                        .mapToObj(elements::get)
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList());
+    }
 
-        for(Set<DiagnosisElement> aSet : a) {
-            for(Set<DiagnosisElement> bSet : b) {
+    private BitSet encode(List<DiagnosisElement> diagnosis, List<DiagnosisElement> elements, Object2IntMap<DiagnosisElement> elementIds) {
+        final BitSet encoded = new BitSet();
 
-                final Set<DiagnosisElement> combined = new LinkedHashSet<>(aSet.size() + bSet.size());
-                combined.addAll(aSet);
-                combined.addAll(bSet);
+        for(DiagnosisElement element : diagnosis) {
+            int id = elementIds.getInt(element);
 
-                sets.add(combined);
+            if(id < 0) {
+                id = elements.size();
+                elements.add(element);
+                elementIds.put(element, id);
             }
+
+            encoded.set(id);
         }
 
-        return filterMinimalDiagnosisHittingSets(sets);
+        return encoded;
     }
 
-    Set<Set<DiagnosisElement>> filterMinimalDiagnosisHittingSets(Set<Set<DiagnosisElement>> selections) {
-        final Set<Set<DiagnosisElement>> filtered = new LinkedHashSet<>();
+    private List<BitSet> combineSelections(List<BitSet> selections, List<BitSet> diagnoses) {
+        final List<BitSet> combined = new ArrayList<>();
 
-        for(Set<DiagnosisElement> selection : selections) {
-            if(isMinimalDiagnosisHittingSet(selection, selections)) {
-                filtered.add(selection);
-            }
-        }
+        for(BitSet selection : selections) {
+            if(diagnoses.stream().anyMatch(diagnosis -> isSubset(diagnosis, selection))) {
+                combined.add(selection);
 
-        return filtered;
-    }
+                continue;
+            }
 
-    boolean isMinimalDiagnosisHittingSet(Set<DiagnosisElement> candidate, Set<Set<DiagnosisElement>> diagnosisHittingSets) {
-        if(candidate.size() == 1) {
-            return true;
-        }
+            for(BitSet diagnosis : diagnoses) {
+                final BitSet union = (BitSet) selection.clone();
+                union.or(diagnosis);
 
-        for(Set<DiagnosisElement> other : diagnosisHittingSets) {
-            if(candidate != other) {
-                if (coversAnotherDiagnosisHittingSet(candidate, other)) {
-                    return false;
-                }
+                combined.add(union);
             }
         }
 
-        return true;
+        return filterMinimalSelections(combined);
     }
 
-    private boolean coversAnotherDiagnosisHittingSet(Set<DiagnosisElement> candidate, Set<DiagnosisElement> other) {
-        if(other.size() > candidate.size()) {
-            return false;
-        }
+    List<BitSet> filterMinimalSelections(List<BitSet> selections) {
+        final List<BitSet> sortedSelections = new ArrayList<>(new LinkedHashSet<>(selections));
+        sortedSelections.sort(Comparator.comparingInt(BitSet::cardinality));
 
-        for(DiagnosisElement otherElement : other) {
-            if(!containsElement(otherElement, candidate)) {
-                return false;
+        final List<BitSet> minimalSelections = new ArrayList<>();
+
+        for(BitSet selection : sortedSelections) {
+            if(selection.cardinality() > maximumHittingSetSize) {
+                break;
+            }
+
+            if(minimalSelections.stream().noneMatch(minimalSelection -> isSubset(minimalSelection, selection))) {
+                minimalSelections.add(selection);
             }
         }
 
-        return true;
+        return minimalSelections;
     }
 
-    private boolean containsElement(DiagnosisElement element, Set<DiagnosisElement> otherElements) {
-        for(DiagnosisElement otherElement : otherElements) {
-            if (element.equals(otherElement)) {
-                return true;
-            }
-        }
+    private boolean isSubset(BitSet subset, BitSet superset) {
+        final BitSet difference = (BitSet) subset.clone();
+        difference.andNot(superset);
 
-        return false;
+        return difference.isEmpty();
     }
 
     private boolean isDiagnosisSetsOrInconsistentBackground(ConflictExplanation explanation) {
@@ -4,96 +4,141 @@ import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.TupleList;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+/**
+ * Maps the tuple lists of a test model to compact ids, so that each tuple can be used as a constraint of its own.
+ * <p>
+ * The tuple lists are ordered as forbidden tuple lists followed by error tuple lists. The tuples are numbered
+ * consecutively in this order starting at one, and each tuple gets its number as expanded id. The tuple lists
+ * themselves get the following ids, so a tuple list which is not expanded can be used as one constraint. As all ids
+ * are small, they can be mapped back with an array lookup or a binary search instead of storing a map.
+ */
 class TestModelExpander {
 
-    private final int factor;
     private final TestModel testModel;
+    private final List<TupleList> tupleLists;
+    private final int[] offsets;
 
     TestModelExpander(TestModel testModel) {
         Preconditions.notNull(testModel);
 
         this.testModel = testModel;
-        this.factor = computeFactor(testModel);
+        this.tupleLists = new ArrayList<>(testModel.getForbiddenTupleLists());
+        this.tupleLists.addAll(testModel.getErrorTupleLists());
+        this.offsets = new int[tupleLists.size() + 1];
+
+        for(int i = 0; i < tupleLists.size(); i++) {
+            offsets[i + 1] = offsets[i] + tupleLists.get(i).getTuples().size();
+        }
     }
 
-    int getFactor() {
-        return factor;
+    int getNumberOfTuples() {
+        return offsets[tupleLists.size()];
     }
 
-    TestModel createExpandedTestModel() {
-        final List<TupleList> forbiddenTuples = expandTupleLists(testModel.getForbiddenTupleLists());
-        final List<TupleList> errorTuples = expandTupleLists(testModel.getErrorTupleLists());
+    /**
+     * @return the test model in which each tuple list got its own id. No tuple list is expanded
+     */
+    TestModel createUnexpandedTestModel() {
+        final int numberOfForbiddenTupleLists = testModel.getForbiddenTupleLists().size();
+        final List<TupleList> forbiddenTuples = IntStream.range(0, numberOfForbiddenTupleLists)
+                .mapToObj(this::createUnexpandedTupleList)
+                .collect(Collectors.toList());
+        final List<TupleList> errorTuples = IntStream.range(numberOfForbiddenTupleLists, tupleLists.size())
+                .mapToObj(this::createUnexpandedTupleList)
+                .collect(Collectors.toList());
 
         return new TestModel(testModel.getStrength(), testModel.getParameterSizes(), forbiddenTuples, errorTuples);
     }
 
+    /**
+     * @param id the id of an unexpanded tuple list
+     * @return one tuple list per tuple with the expanded ids, in the order of the tuples
+     */
+    List<TupleList> expandTupleList(int id) {
+        Preconditions.check(isUnexpandedId(id), "no unexpanded tuple list with id " + id);
+
+        return expandTupleListAt(id - getNumberOfTuples() - 1);
+    }
+
+    boolean isUnexpandedId(int id) {
+        return id > getNumberOfTuples() && id <= getNumberOfTuples() + tupleLists.size();
+    }
+
+    /**
+     * Gives the position at which the constraint with the given id appears in the expanded test model. For an
+     * unexpanded tuple list, it is the position of its first tuple. Sorting the ids of the constraints of a
+     * partially expanded test model by their positions therefore keeps the order of the expanded test model.
+     *
+     * @param id an expanded or unexpanded id
+     * @return the position of the constraint
+     */
+    int computePosition(int id) {
+        return isUnexpandedId(id) ? offsets[id - getNumberOfTuples() - 1] + 1 : id;
+    }
+
     int computeOriginalId(TupleList tupleList) {
         Preconditions.notNull(tupleList);
 
-        return tupleList.getId() / factor;
+        return computeOriginalId(tupleList.getId());
     }
 
     int computeOriginalId(int id) {
-        Preconditions.check(id > 0);
-
-        return id / factor;
+        return tupleLists.get(computeIndexOfTupleList(id)).getId();
     }
 
     int computeOriginalIndexInTupleList(TupleList tupleList) {
         Preconditions.notNull(tupleList);
 
-        return tupleList.getId() % factor;
+        return computeOriginalIndexInTupleList(tupleList.getId());
     }
 
-    private List<TupleList> expandTupleLists(List<TupleList> tupleLists) {
-        return tupleLists
-                .stream()
-                .flatMap(tupleList -> IntStream
-                        .range(0, tupleList.getTuples().size())
-                        .mapToObj(i -> new TupleList(
-                                computeExpandedId(tupleList, i),
-                                tupleList.getInvolvedParameters(),
-                                Collections.singletonList(tupleList.getTuples().get(i)),
-                                tupleList.isMarkedAsCorrect())))
-                .collect(Collectors.toList());
-    }
+    int computeOriginalIndexInTupleList(int id) {
+        Preconditions.check(!isUnexpandedId(id), "tuple list with id " + id + " is not expanded");
 
-    private int computeExpandedId(TupleList tupleList, int tupleIndex) {
-        return tupleList.getId() * factor + tupleIndex;
+        return id - 1 - offsets[computeIndexOfTupleList(id)];
     }
 
-    private int computeFactor(TestModel testModel) {
-        final int tupleLists = testModel.getForbiddenTupleLists().size() + testModel.getErrorTupleLists().size();
-        final int maxTuples = Math.max(
-                testModel.getForbiddenTupleLists().stream().mapToInt(tupelList -> tupelList.getTuples().size()).max().orElse(0),
-                testModel.getErrorTupleLists().stream().mapToInt(tupelList -> tupelList.getTuples().size()).max().orElse(0)
-        );
+    private int computeIndexOfTupleList(int id) {
+        Preconditions.check(id > 0 && id <= getNumberOfTuples() + tupleLists.size(), "unknown id " + id);
+
+        if(isUnexpandedId(id)) {
+            return id - getNumberOfTuples() - 1;
+        }
+
+        /* the offsets are strictly increasing since tuple lists are never empty */
+        final int index = Arrays.binarySearch(offsets, id - 1);
 
-        return computeFactor(tupleLists, maxTuples);
+        return index >= 0 ? index : -index - 2;
     }
 
-    private int computeFactor(int tupleLists, int maxTuples) {
-        int power = 1;
+    private TupleList createUnexpandedTupleList(int index) {
+        final TupleList tupleList = tupleLists.get(index);
 
-        if(tupleLists > 0) {
-            while(tupleLists / ((int) Math.pow(10, power)) != 0) {
-                power += 1;
-            }
-        }
+        return new TupleList(
+                getNumberOfTuples() + index + 1,
+                tupleList.getInvolvedParameters(),
+                tupleList.getTuples(),
+                tupleList.isMarkedAsCorrect());
+    }
 
-        if(maxTuples > 0) {
-            while(maxTuples / ((int) Math.pow(10, power)) != 0) {
-                power += 1;
-            }
-        }
+    private List<TupleList> expandTupleListAt(int index) {
+        final TupleList tupleList = tupleLists.get(index);
 
-        return (int) Math.pow(10, power);
+        return IntStream.range(0, tupleList.getTuples().size())
+                .mapToObj(i -> new TupleList(
+                        offsets[index] + i + 1,
+                        tupleList.getInvolvedParameters(),
+                        Collections.singletonList(tupleList.getTuples().get(i)),
+                        tupleList.isMarkedAsCorrect()))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -101,20 +146,18 @@ class TestModelExpander {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         TestModelExpander expander = (TestModelExpander) o;
-        return factor == expander.factor &&
-                testModel.equals(expander.testModel);
+        return testModel.equals(expander.testModel);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(factor, testModel);
+        return Objects.hash(testModel);
     }
 
     @Override
     public String toString() {
         return "TestModelExpander{" +
-                "factor=" + factor +
-                ", testModel=" + testModel +
+                "testModel=" + testModel +
                 '}';
     }
 }
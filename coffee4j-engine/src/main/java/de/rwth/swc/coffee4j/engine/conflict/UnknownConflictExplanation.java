@@ -1,4 +1,20 @@
 package de.rwth.swc.coffee4j.engine.conflict;
 
 public class UnknownConflictExplanation implements ConflictExplanation {
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return UnknownConflictExplanation.class.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UnknownConflictExplanation{}";
+    }
 }
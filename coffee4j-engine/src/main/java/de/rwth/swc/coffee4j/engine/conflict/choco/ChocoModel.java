@@ -1,7 +1,12 @@
 package de.rwth.swc.coffee4j.engine.conflict.choco;
 
+import de.rwth.swc.coffee4j.engine.TupleList;
 import de.rwth.swc.coffee4j.engine.constraint.InternalConstraint;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import org.chocosolver.solver.Model;
@@ -12,19 +17,40 @@ import org.chocosolver.solver.variables.Variable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * A Choco model of a test model in which single constraints can be enabled and disabled by their ids.
+ * <p>
+ * Constraints are stored in slots. An id is mapped to its slot by a hash map, and whether a slot is occupied or enabled
+ * is stored in two {@link BitSet}s. Therefore, enabling or disabling a single constraint costs constant time, and
+ * {@link #setEnabledConstraints(int...)} only touches the constraints whose state changes. Slots of removed
+ * constraints are reused.
+ * <p>
+ * The model also remembers the {@link TupleList} of each constraint created from one, so that other solvers can
+ * encode the same constraints.
+ */
 public class ChocoModel {
 
     private final Model model;
-    private final List<ChocoConstraint> enabledConstraints;
-    private final List<ChocoConstraint> disabledConstraints;
+    private final int[] parameterSizes;
+    private final List<ChocoConstraint> slots;
+    private final Int2IntMap slotsById;
+    private final BitSet occupiedSlots;
+    private final BitSet enabledSlots;
+    private final Int2ObjectMap<TupleList> tupleListsById;
 
     private ChocoConstraint assignmentConstraint;
+    private int[] assignedParameters;
+    private int[] assignedValues;
     private ChocoConstraint originalNegatedConstraint;
     private ChocoConstraint oppositeNegatedConstraint;
 
+    private int constraintRevision;
+    private final ConsistencyOracle consistencyOracle;
+
     public ChocoModel(int[] parameterSizes,
                       List<InternalConstraint> internalConstraints) {
         Preconditions.notNull(parameterSizes);
@@ -32,19 +58,28 @@ public class ChocoModel {
         checkDuplicateIds(internalConstraints);
 
         this.model = new Model();
-        this.enabledConstraints = new ArrayList<>();
-        this.disabledConstraints = new ArrayList<>();
+        this.parameterSizes = parameterSizes.clone();
+        this.slots = new ArrayList<>();
+        this.slotsById = new Int2IntOpenHashMap(internalConstraints.size());
+        this.slotsById.defaultReturnValue(-1);
+        this.occupiedSlots = new BitSet();
+        this.enabledSlots = new BitSet();
+        this.tupleListsById = new Int2ObjectOpenHashMap<>();
         this.assignmentConstraint = null;
         this.originalNegatedConstraint = null;
         this.oppositeNegatedConstraint = null;
+        this.constraintRevision = 0;
 
         createVariables(parameterSizes);
 
         for(InternalConstraint internalConstraint : internalConstraints) {
             final ChocoConstraint constraint = createAndPostInternalConstraint(internalConstraint);
 
-            this.enabledConstraints.add(constraint);
+            addEnabledConstraint(constraint);
+            rememberTupleList(internalConstraint);
         }
+
+        this.consistencyOracle = new ConsistencyOracle(this);
     }
 
     private void checkDuplicateIds(List<InternalConstraint> internalConstraints) {
@@ -55,6 +90,33 @@ public class ChocoModel {
         }
     }
 
+    /**
+     * @return the oracle memorizing consistency checks of this model. It is shared by everyone using the model
+     */
+    public ConsistencyOracle getConsistencyOracle() {
+        return consistencyOracle;
+    }
+
+    /**
+     * @return a number which only changes when constraints are added or removed, but not when the assignment or the
+     * negated constraint changes
+     */
+    public int getConstraintRevision() {
+        return constraintRevision;
+    }
+
+    public int[] getParameterSizes() {
+        return parameterSizes.clone();
+    }
+
+    /**
+     * @return the tuple lists of all constraints in this model which were created from one, independent of whether they
+     * are enabled or negated
+     */
+    public List<TupleList> getTupleLists() {
+        return new ArrayList<>(tupleListsById.values());
+    }
+
     public boolean isSatisfiable() {
         return model.getSolver().solve();
     }
@@ -89,8 +151,10 @@ public class ChocoModel {
 
         final Constraint[] allConstraints = exclude(model.getCstrs(), tmp);
         assignmentConstraint = new ChocoConstraint(findNextUnusedId(), constraint, allConstraints, ChocoConstraintStatus.POSTED);
+        assignedParameters = parameters.clone();
+        assignedValues = values.clone();
 
-        enabledConstraints.add(assignmentConstraint);
+        addEnabledConstraint(assignmentConstraint);
 
         return assignmentConstraint.getId();
     }
@@ -99,53 +163,117 @@ public class ChocoModel {
         return assignmentConstraint != null;
     }
 
+    public int getAssignmentConstraintId() {
+        Preconditions.check(isAssignmentConstraintSet(), "no assignment constraint set");
+
+        return assignmentConstraint.getId();
+    }
+
+    public int[] getAssignedParameters() {
+        Preconditions.check(isAssignmentConstraintSet(), "no assignment constraint set");
+
+        return assignedParameters.clone();
+    }
+
+    public int[] getAssignedValues() {
+        Preconditions.check(isAssignmentConstraintSet(), "no assignment constraint set");
+
+        return assignedValues.clone();
+    }
+
     public void clearAssignmentConstraint() {
         if(assignmentConstraint != null) {
             model.unpost(assignmentConstraint.getAllConstraints());
 
-            if(!enabledConstraints.removeIf(constraint -> constraint.getId() == assignmentConstraint.getId())) {
-                disabledConstraints.removeIf(constraint -> constraint.getId() == assignmentConstraint.getId());
-            }
+            freeSlot(assignmentConstraint.getId());
 
             assignmentConstraint = null;
+            assignedParameters = null;
+            assignedValues = null;
         }
     }
 
+    /**
+     * Adds and enables a new constraint.
+     *
+     * @param internalConstraint the constraint. Must not be {@code null} and its id must not be used yet
+     */
+    public void addConstraint(InternalConstraint internalConstraint) {
+        Preconditions.notNull(internalConstraint);
+        Preconditions.check(isIdUnused(internalConstraint.getId()), "duplicate id " + internalConstraint.getId());
+
+        addEnabledConstraint(createAndPostInternalConstraint(internalConstraint));
+        rememberTupleList(internalConstraint);
+        constraintRevision++;
+    }
+
+    /**
+     * Removes a constraint given to the constructor or to {@link #addConstraint(InternalConstraint)}. Its slot is
+     * reused by later constraints.
+     *
+     * @param id the id of the constraint. It must be neither negated nor the assignment constraint
+     * @throws IllegalArgumentException if there is no such constraint
+     */
+    public void removeConstraint(int id) {
+        final int slot = slotsById.get(id);
+        if(slot < 0
+                || (assignmentConstraint != null && assignmentConstraint.getId() == id)
+                || (originalNegatedConstraint != null && originalNegatedConstraint.getId() == id)) {
+            throw new IllegalArgumentException(MessageFormat.format("no removable constraint with id {0} found", id));
+        }
+
+        disableSlot(slot);
+        freeSlot(id);
+        consistencyOracle.constraintRemoved(id);
+        constraintRevision++;
+    }
+
     public void setNegationOfConstraint(int id) {
         resetNegationOfConstraint();
 
-        originalNegatedConstraint = findConstraintById(enabledConstraints, id)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        MessageFormat.format("no enabled constraint with id {0} found", id))
-                );
+        final int slot = slotsById.get(id);
+        if(slot < 0 || !enabledSlots.get(slot)) {
+            throw new IllegalArgumentException(MessageFormat.format("no enabled constraint with id {0} found", id));
+        }
+
+        originalNegatedConstraint = slots.get(slot);
         model.unpost(originalNegatedConstraint.getAllConstraints());
-        enabledConstraints.remove(originalNegatedConstraint);
+        originalNegatedConstraint.setStatus(ChocoConstraintStatus.UNPOSTED);
 
         final Constraint[] tmp = model.getCstrs();
 
+        resetBeforeCreatingConstraints();
         final Constraint rootConstraint = originalNegatedConstraint.getRootConstraint().getOpposite();
         model.post(rootConstraint);
 
         final Constraint[] allConstraints = exclude(model.getCstrs(), tmp);
         oppositeNegatedConstraint = new ChocoConstraint(originalNegatedConstraint.getId(), rootConstraint, allConstraints, ChocoConstraintStatus.POSTED);
 
-        enabledConstraints.add(oppositeNegatedConstraint);
+        slots.set(slot, oppositeNegatedConstraint);
     }
 
     public boolean hasNegatedConstraint() {
         return originalNegatedConstraint != null;
     }
 
+    public int getNegatedConstraintId() {
+        Preconditions.check(hasNegatedConstraint(), "no constraint negated");
+
+        return originalNegatedConstraint.getId();
+    }
+
     public void resetNegationOfConstraint() {
         if(originalNegatedConstraint != null) {
-            model.unpost(oppositeNegatedConstraint.getAllConstraints());
-            model.post(originalNegatedConstraint.getAllConstraints());
+            final int slot = slotsById.get(originalNegatedConstraint.getId());
 
-            if(!enabledConstraints.removeIf(constraint -> constraint.getId() == oppositeNegatedConstraint.getId())) {
-                disabledConstraints.removeIf(constraint -> constraint.getId() == oppositeNegatedConstraint.getId());
+            if(oppositeNegatedConstraint.getStatus().equals(ChocoConstraintStatus.POSTED)) {
+                model.unpost(oppositeNegatedConstraint.getAllConstraints());
             }
+            model.post(originalNegatedConstraint.getAllConstraints());
+            originalNegatedConstraint.setStatus(ChocoConstraintStatus.POSTED);
 
-            enabledConstraints.add(originalNegatedConstraint);
+            slots.set(slot, originalNegatedConstraint);
+            enabledSlots.set(slot);
 
             originalNegatedConstraint = null;
             oppositeNegatedConstraint = null;
@@ -153,27 +281,21 @@ public class ChocoModel {
     }
 
     public void enableConstraint(int id) {
-        final ChocoConstraint constraint = findConstraintById(disabledConstraints, id)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        MessageFormat.format("no disabled constraint with id {0} found", id)));
-
-        model.post(constraint.getAllConstraints());
-        constraint.setStatus(ChocoConstraintStatus.POSTED);
+        final int slot = slotsById.get(id);
+        if(slot < 0 || enabledSlots.get(slot)) {
+            throw new IllegalArgumentException(MessageFormat.format("no disabled constraint with id {0} found", id));
+        }
 
-        disabledConstraints.remove(constraint);
-        enabledConstraints.add(constraint);
+        enableSlot(slot);
     }
 
     public void disableConstraint(int id) {
-        final ChocoConstraint constraint = findConstraintById(enabledConstraints, id)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        MessageFormat.format("no enabled constraint with id {0} found", id)));
-
-        model.unpost(constraint.getAllConstraints());
-        constraint.setStatus(ChocoConstraintStatus.UNPOSTED);
+        final int slot = slotsById.get(id);
+        if(slot < 0 || !enabledSlots.get(slot)) {
+            throw new IllegalArgumentException(MessageFormat.format("no enabled constraint with id {0} found", id));
+        }
 
-        enabledConstraints.remove(constraint);
-        disabledConstraints.add(constraint);
+        disableSlot(slot);
     }
 
     public void enableConstraints(int ... ids) {
@@ -188,34 +310,105 @@ public class ChocoModel {
         }
     }
 
-    public void enableAllConstraints() {
-        for(ChocoConstraint constraint : disabledConstraints) {
-            model.post(constraint.getAllConstraints());
-            constraint.setStatus(ChocoConstraintStatus.POSTED);
+    /**
+     * Enables exactly the constraints with the given ids and disables all others. Only constraints whose state changes
+     * are posted or unposted.
+     *
+     * @param ids the ids of all constraints which should be enabled afterwards. Must not be {@code null}
+     * @throws IllegalArgumentException if there is no constraint for one of the ids
+     */
+    public void setEnabledConstraints(int ... ids) {
+        Preconditions.notNull(ids);
+
+        final BitSet targetSlots = new BitSet(slots.size());
+        for(int id : ids) {
+            final int slot = slotsById.get(id);
+            if(slot < 0) {
+                throw new IllegalArgumentException(MessageFormat.format("no constraint with id {0} found", id));
+            }
+
+            targetSlots.set(slot);
         }
 
-        enabledConstraints.addAll(disabledConstraints);
-        disabledConstraints.clear();
-    }
+        final BitSet changedSlots = (BitSet) enabledSlots.clone();
+        changedSlots.xor(targetSlots);
 
-    public void disableAllConstraints() {
-        for(ChocoConstraint constraint : enabledConstraints) {
-            if(constraint.getStatus().equals(ChocoConstraintStatus.POSTED)) {
-                model.unpost(constraint.getAllConstraints());
-                constraint.setStatus(ChocoConstraintStatus.UNPOSTED);
+        for(int slot = changedSlots.nextSetBit(0); slot >= 0; slot = changedSlots.nextSetBit(slot + 1)) {
+            if(targetSlots.get(slot)) {
+                enableSlot(slot);
+            } else {
+                disableSlot(slot);
             }
         }
+    }
+
+    public void enableAllConstraints() {
+        final BitSet disabledSlots = (BitSet) occupiedSlots.clone();
+        disabledSlots.andNot(enabledSlots);
+
+        for(int slot = disabledSlots.nextSetBit(0); slot >= 0; slot = disabledSlots.nextSetBit(slot + 1)) {
+            enableSlot(slot);
+        }
+    }
 
-        disabledConstraints.addAll(enabledConstraints);
-        enabledConstraints.clear();
+    public void disableAllConstraints() {
+        for(int slot = enabledSlots.nextSetBit(0); slot >= 0; slot = enabledSlots.nextSetBit(slot + 1)) {
+            disableSlot(slot);
+        }
     }
 
     public boolean allConstraintsEnabled() {
-        return disabledConstraints.isEmpty();
+        return enabledSlots.equals(occupiedSlots);
+    }
+
+    private void enableSlot(int slot) {
+        final ChocoConstraint constraint = slots.get(slot);
+
+        model.post(constraint.getAllConstraints());
+        constraint.setStatus(ChocoConstraintStatus.POSTED);
+
+        enabledSlots.set(slot);
+    }
+
+    private void disableSlot(int slot) {
+        final ChocoConstraint constraint = slots.get(slot);
+
+        if(constraint.getStatus().equals(ChocoConstraintStatus.POSTED)) {
+            model.unpost(constraint.getAllConstraints());
+            constraint.setStatus(ChocoConstraintStatus.UNPOSTED);
+        }
+
+        enabledSlots.clear(slot);
+    }
+
+    private void addEnabledConstraint(ChocoConstraint constraint) {
+        int slot = occupiedSlots.nextClearBit(0);
+        if(slot == slots.size()) {
+            slots.add(constraint);
+        } else {
+            slots.set(slot, constraint);
+        }
+
+        slotsById.put(constraint.getId(), slot);
+        occupiedSlots.set(slot);
+        enabledSlots.set(slot);
+    }
+
+    private void rememberTupleList(InternalConstraint internalConstraint) {
+        internalConstraint.getTupleList().ifPresent(tupleList -> tupleListsById.put(internalConstraint.getId(), tupleList));
+    }
+
+    private void freeSlot(int id) {
+        final int slot = slotsById.remove(id);
+        tupleListsById.remove(id);
+
+        slots.set(slot, null);
+        occupiedSlots.clear(slot);
+        enabledSlots.clear(slot);
     }
 
     private int findNextUnusedId() {
-        int id = enabledConstraints.size() + disabledConstraints.size();
+        int id = slotsById.size();
 
         while(!isIdUnused(id)) {
             id++;
@@ -225,14 +418,7 @@ public class ChocoModel {
     }
 
     private boolean isIdUnused(int id) {
-        return enabledConstraints.stream().noneMatch(constraint -> constraint.getId() == id)
-                && disabledConstraints.stream().noneMatch(constraint -> constraint.getId() == id);
-    }
-
-    private Optional<ChocoConstraint> findConstraintById(List<ChocoConstraint> constraints, int id) {
-        return constraints.stream()
-                .filter(constraint -> constraint.getId() == id)
-                .findFirst();
+        return !slotsById.containsKey(id);
     }
 
     private void createVariables(int[] parameterSizes) {
@@ -246,6 +432,8 @@ public class ChocoModel {
 
     private ChocoConstraint createAndPostInternalConstraint(InternalConstraint internalConstraint) {
         final Constraint[] tmp = model.getCstrs();
+
+        resetBeforeCreatingConstraints();
         final Constraint constraint = internalConstraint.apply(model);
 
         model.post(constraint);
@@ -255,6 +443,14 @@ public class ChocoModel {
         return new ChocoConstraint(internalConstraint.getId(), constraint, allConstraints, ChocoConstraintStatus.POSTED);
     }
 
+    /*
+     * table constraints take the current domains of their variables as offsets, so the variables must not
+     * still be instantiated to the last solution
+     */
+    private void resetBeforeCreatingConstraints() {
+        model.getSolver().reset();
+    }
+
     private Constraint[] exclude(Constraint[] allConstraints, Constraint[] excludedConstraints) {
         List<Constraint> constraints = new ArrayList<>();
 
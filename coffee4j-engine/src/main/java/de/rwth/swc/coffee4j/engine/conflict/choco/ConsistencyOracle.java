@@ -0,0 +1,223 @@
+package de.rwth.swc.coffee4j.engine.conflict.choco;
+
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+
+/**
+ * Answers whether a set of constraints of a {@link ChocoModel} is consistent, and memorizes the answers.
+ * <p>
+ * Consistency is monotone: every subset of a consistent set is consistent, and every superset of an inconsistent set
+ * is inconsistent. Therefore, the oracle keeps the maximal known consistent sets and the minimal known inconsistent
+ * sets as {@link BitSet}s, and only solves the model if neither answers a query.
+ * <p>
+ * The id of the assignment constraint is reused for every assignment, and the id of the negated constraint stands for
+ * its negation. Therefore, each bit stands for what an id means at the time of the query: a constraint, the negation
+ * of a constraint, or one assignment of values to parameters. This way, the answers stay valid when the model switches
+ * between tuples and between negated error constraints, and answers learned for one of them are reused for the others.
+ * Only when a constraint is removed, the answers involving it are discarded, since its id may be used for a different
+ * constraint later on.
+ * <p>
+ * At most {@value #MAXIMUM_NUMBER_OF_SETS} consistent and inconsistent sets are kept each. Beyond that, the oldest
+ * ones are forgotten.
+ */
+public final class ConsistencyOracle {
+
+    private static final int MAXIMUM_NUMBER_OF_SETS = 512;
+
+    private static final int NO_BIT = -1;
+
+    private final ChocoModel model;
+
+    private final Deque<BitSet> consistentSets = new ArrayDeque<>();
+    private final Deque<BitSet> inconsistentSets = new ArrayDeque<>();
+
+    private final Int2IntMap constraintBits = new Int2IntOpenHashMap();
+    private final Int2IntMap negationBits = new Int2IntOpenHashMap();
+    private final Object2IntMap<IntArrayWrapper> assignmentBits = new Object2IntOpenHashMap<>();
+    private int numberOfBits = 0;
+
+    private long numberOfQueries = 0;
+    private long numberOfHits = 0;
+
+    ConsistencyOracle(ChocoModel model) {
+        this.model = Preconditions.notNull(model);
+
+        constraintBits.defaultReturnValue(NO_BIT);
+        negationBits.defaultReturnValue(NO_BIT);
+        assignmentBits.defaultReturnValue(NO_BIT);
+    }
+
+    /**
+     * Checks whether the constraints with the given ids are consistent. If the answer is not known yet, exactly these
+     * constraints are enabled in the model before it is solved.
+     *
+     * @param constraintIds the ids of the constraints. Must not be {@code null}
+     * @return whether there is an assignment satisfying all given constraints
+     */
+    public boolean isConsistent(int... constraintIds) {
+        Preconditions.notNull(constraintIds);
+
+        numberOfQueries++;
+
+        final BitSet query = new BitSet();
+        for(int id : constraintIds) {
+            query.set(getBit(id));
+        }
+
+        if(containsSuperset(consistentSets, query)) {
+            numberOfHits++;
+
+            return true;
+        }
+        if(containsSubset(inconsistentSets, query)) {
+            numberOfHits++;
+
+            return false;
+        }
+
+        model.reset();
+        model.setEnabledConstraints(constraintIds);
+
+        final boolean consistent = model.isSatisfiable();
+
+        if(consistent) {
+            consistentSets.removeIf(set -> isSubset(set, query));
+            add(consistentSets, query);
+        } else {
+            inconsistentSets.removeIf(set -> isSubset(query, set));
+            add(inconsistentSets, query);
+        }
+
+        return consistent;
+    }
+
+    private int getBit(int id) {
+        if(model.isAssignmentConstraintSet() && model.getAssignmentConstraintId() == id) {
+            final IntArrayWrapper assignment = IntArrayWrapper.wrap(
+                    concat(model.getAssignedParameters(), model.getAssignedValues()));
+
+            return assignmentBits.computeIntIfAbsent(assignment, key -> numberOfBits++);
+        }
+        if(model.hasNegatedConstraint() && model.getNegatedConstraintId() == id) {
+            return negationBits.computeIfAbsent(id, key -> numberOfBits++);
+        }
+
+        return constraintBits.computeIfAbsent(id, key -> numberOfBits++);
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        final int[] array = new int[first.length + second.length];
+        System.arraycopy(first, 0, array, 0, first.length);
+        System.arraycopy(second, 0, array, first.length, second.length);
+
+        return array;
+    }
+
+    private static void add(Deque<BitSet> sets, BitSet set) {
+        if(sets.size() == MAXIMUM_NUMBER_OF_SETS) {
+            sets.removeFirst();
+        }
+
+        sets.addLast(set);
+    }
+
+    private static boolean containsSuperset(Deque<BitSet> sets, BitSet subset) {
+        for(BitSet set : sets) {
+            if(isSubset(subset, set)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean containsSubset(Deque<BitSet> sets, BitSet superset) {
+        for(BitSet set : sets) {
+            if(isSubset(set, superset)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isSubset(BitSet subset, BitSet superset) {
+        for(int bit = subset.nextSetBit(0); bit >= 0; bit = subset.nextSetBit(bit + 1)) {
+            if(!superset.get(bit)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Forgets everything known about the constraint and its negation. Subsets of consistent sets stay consistent, so
+     * only the inconsistent sets involving the constraint are discarded.
+     *
+     * @param id the id of the removed constraint
+     */
+    void constraintRemoved(int id) {
+        forget(constraintBits.remove(id));
+        forget(negationBits.remove(id));
+    }
+
+    private void forget(int bit) {
+        if(bit == NO_BIT) {
+            return;
+        }
+
+        consistentSets.forEach(set -> set.clear(bit));
+        inconsistentSets.removeIf(set -> set.get(bit));
+    }
+
+    /**
+     * Discards all memorized answers. The statistics are kept.
+     */
+    public void clear() {
+        consistentSets.clear();
+        inconsistentSets.clear();
+        constraintBits.clear();
+        negationBits.clear();
+        assignmentBits.clear();
+        numberOfBits = 0;
+    }
+
+    /**
+     * @return the number of calls to {@link #isConsistent(int...)} so far
+     */
+    public long getNumberOfQueries() {
+        return numberOfQueries;
+    }
+
+    /**
+     * @return the number of calls to {@link #isConsistent(int...)} which were answered without solving the model
+     */
+    public long getNumberOfHits() {
+        return numberOfHits;
+    }
+
+    /**
+     * @return the fraction of queries answered without solving the model, or zero if there were no queries
+     */
+    public double getHitRate() {
+        return numberOfQueries == 0 ? 0 : (double) numberOfHits / numberOfQueries;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsistencyOracle{" +
+                "numberOfQueries=" + numberOfQueries +
+                ", numberOfHits=" + numberOfHits +
+                ", hitRate=" + getHitRate() +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package de.rwth.swc.coffee4j.engine.conflict.diagnosis;
 
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSearchBudget;
 import de.rwth.swc.coffee4j.engine.conflict.InternalConflictSet;
 import de.rwth.swc.coffee4j.engine.conflict.InternalExplanation;
 import de.rwth.swc.coffee4j.engine.conflict.explanation.QuickConflictExplainer;
@@ -7,7 +8,6 @@ import de.rwth.swc.coffee4j.engine.util.Preconditions;
 
 import java.util.*;
 
-import static de.rwth.swc.coffee4j.engine.util.ArrayUtil.contains;
 import static de.rwth.swc.coffee4j.engine.util.ArrayUtil.exclude;
 
 /**
@@ -17,35 +17,137 @@ import static de.rwth.swc.coffee4j.engine.util.ArrayUtil.exclude;
  * Reiter, Raymond (1987).
  * A theory of conflict from first principles.
  * Artificial intelligence, 1987, 32. Jg., Nr. 1, S. 57-95.
+ * <p>
+ * The hitting set tree is built as a DAG level by level as proposed by Greiner et al. (1989). Each node is identified by
+ * the set of relaxed constraints on its path, stored as a {@link BitSet}. Nodes with the same set are merged, nodes
+ * whose set contains a known diagnosis are closed, and a node is labelled with an already known conflict disjoint to
+ * its path before a new one is computed. Since all conflicts are minimal, known conflicts never need to be pruned.
+ * Optionally, the number of relaxed constraints per diagnosis can be limited, which
+ * {@link de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionConfiguration#getMaximumDiagnosisSize()} does for
+ * diagnosticians created from a configuration.
+ * <p>
+ * Each visited node consumes one node of the {@link ConflictSearchBudget}, and so does each step of the explanations
+ * computed for the nodes. If the budget is exhausted, the diagnoses found until then are returned. As the tree is
+ * searched breadth-first, they are still minimal, but there may be further ones.
  */
 abstract class AbstractConflictDiagnostician implements ConflictDiagnostician {
 
-    void expandNextNode(InternalConflictSet conflict,
-                        List<int[]> diagnoses,
-                        Queue<int[]> pathsToExpand) {
-        final int[] relaxedConstraintIds = pathsToExpand.remove();
+    private final int maximumDiagnosisSize;
 
-        if(!isCurrentPathAlreadyCoveredByDiagnoses(relaxedConstraintIds, diagnoses)) {
-            /* isCurrentPathAlreadyCoveredByDiagnoses(relaxedConstraintIds, diagnoses) == true: the current node is pruned */
-            final Optional<int[]> optional = computeMinimalConflict(conflict, relaxedConstraintIds);
+    AbstractConflictDiagnostician() {
+        this(Integer.MAX_VALUE);
+    }
 
-            if(optional.isEmpty()) {
-                diagnoses.add(relaxedConstraintIds);
-            } else {
-                final int[] conflictSet = optional.get();
+    AbstractConflictDiagnostician(int maximumDiagnosisSize) {
+        Preconditions.check(maximumDiagnosisSize > 0, "the maximum diagnosis size must be positive");
+
+        this.maximumDiagnosisSize = maximumDiagnosisSize;
+    }
+
+    List<int[]> computeMinimalDiagnoses(InternalConflictSet conflict,
+                                        int maximumNumberOfDiagnoses,
+                                        ConflictSearchBudget.Tracker tracker) {
+        Preconditions.notNull(conflict);
+        Preconditions.notNull(tracker);
+
+        final List<int[]> diagnoses = new ArrayList<>();
+        final List<BitSet> diagnosisSets = new ArrayList<>();
+        final List<int[]> conflictSets = new ArrayList<>();
+        conflictSets.add(conflict.getConflictSet());
+
+        List<int[]> level = expandPaths(new int[0], conflict.getConflictSet());
+
+        while(!level.isEmpty()) {
+            final Map<BitSet, int[]> nextLevel = new LinkedHashMap<>();
+
+            for(int[] path : level) {
+                final BitSet pathSet = toBitSet(path);
+
+                if(isCoveredByDiagnoses(pathSet, diagnosisSets)) {
+                    continue;
+                }
+
+                if(!tracker.tryConsume()) {
+                    return diagnoses;
+                }
+
+                final Optional<int[]> conflictSet = findConflictDisjointTo(pathSet, conflictSets)
+                        .or(() -> computeMinimalConflict(conflict, path, conflictSets, tracker));
+
+                if(conflictSet.isEmpty()) {
+                    diagnoses.add(path);
+                    diagnosisSets.add(pathSet);
+
+                    if(diagnoses.size() >= maximumNumberOfDiagnoses) {
+                        return diagnoses;
+                    }
+                } else if(tracker.isExhausted()) {
+                    /* the conflict may not be minimal, so its paths could lead to diagnoses which are not minimal */
+                    return diagnoses;
+                } else if(path.length < maximumDiagnosisSize) {
+                    for(int[] expandedPath : expandPaths(path, conflictSet.get())) {
+                        nextLevel.putIfAbsent(toBitSet(expandedPath), expandedPath);
+                    }
+                }
+            }
+
+            level = new ArrayList<>(nextLevel.values());
+        }
+
+        return diagnoses;
+    }
+
+    private BitSet toBitSet(int[] constraintIds) {
+        final BitSet set = new BitSet();
+
+        for(int id : constraintIds) {
+            set.set(id);
+        }
+
+        return set;
+    }
+
+    private boolean isCoveredByDiagnoses(BitSet pathSet, List<BitSet> diagnosisSets) {
+        for(BitSet diagnosisSet : diagnosisSets) {
+            final BitSet difference = (BitSet) diagnosisSet.clone();
+            difference.andNot(pathSet);
 
-                pathsToExpand.addAll(expandPaths(relaxedConstraintIds, conflictSet));
+            if(difference.isEmpty()) {
+                return true;
             }
         }
+
+        return false;
     }
 
-    private Optional<int[]> computeMinimalConflict(InternalConflictSet conflict, int[] currentPath) {
+    private Optional<int[]> findConflictDisjointTo(BitSet pathSet, List<int[]> conflictSets) {
+        for(int[] conflictSet : conflictSets) {
+            if(Arrays.stream(conflictSet).noneMatch(pathSet::get)) {
+                return Optional.of(conflictSet);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Optional<int[]> computeMinimalConflict(InternalConflictSet conflict,
+                                                   int[] currentPath,
+                                                   List<int[]> conflictSets,
+                                                   ConflictSearchBudget.Tracker tracker) {
+        final int[] relaxable = exclude(conflict.getRelaxable(), currentPath);
+
+        if(relaxable.length == 0) {
+            /* the background alone is consistent, otherwise there would be no conflict set */
+            return Optional.empty();
+        }
+
         final Optional<InternalExplanation> optional = new QuickConflictExplainer().getMinimalConflict(
                 conflict.getChocoModel(),
                 conflict.getBackground(),
-                exclude(conflict.getRelaxable(), currentPath));
+                relaxable,
+                tracker);
 
-        return optional.flatMap(explanation -> {
+        final Optional<int[]> conflictSet = optional.flatMap(explanation -> {
             if(explanation instanceof InternalConflictSet) {
                 return Optional.of(
                         ((InternalConflictSet) explanation).getConflictSet()
@@ -54,34 +156,11 @@ abstract class AbstractConflictDiagnostician implements ConflictDiagnostician {
                 return Optional.empty();
             }
         });
-    }
-
-    boolean isCurrentPathAlreadyCoveredByDiagnoses(int[] currentPath,
-                                                   List<int[]> diagnoses) {
-        Preconditions.notNull(currentPath);
-        Preconditions.notNull(diagnoses);
-        Preconditions.check(currentPath.length > 0);
-
-        return diagnoses.stream()
-                .anyMatch(diagnosis -> isSubset(diagnosis, currentPath));
-    }
-
-    /* checks if all elements of subset are contained by superset */
-    boolean isSubset(int[] subset, int[] superset) {
-        Preconditions.notNull(subset);
-        Preconditions.notNull(superset);
-
-        if(subset.length > superset.length) {
-            return false;
-        }
-
-        for(int element : subset) {
-            if(!contains(superset, element)) {
-                return false;
-            }
+        if(!tracker.isExhausted()) {
+            conflictSet.ifPresent(conflictSets::add);
         }
 
-        return true;
+        return conflictSet;
     }
 
     List<int[]> expandPaths(int[] path, int[] extensions) {
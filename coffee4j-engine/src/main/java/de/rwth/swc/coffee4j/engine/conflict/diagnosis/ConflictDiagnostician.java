@@ -1,8 +1,22 @@
 package de.rwth.swc.coffee4j.engine.conflict.diagnosis;
 
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSearchBudget;
 import de.rwth.swc.coffee4j.engine.conflict.InternalConflictSet;
 
 public interface ConflictDiagnostician {
 
     int[][] getMinimalDiagnoses(InternalConflictSet conflict);
+
+    /**
+     * Searches minimal diagnoses like {@link #getMinimalDiagnoses(InternalConflictSet)}, but stops as soon as the
+     * tracker refuses a node. The diagnoses found until then are returned, and the tracker tells whether the search
+     * was stopped. By default, the budget is ignored.
+     *
+     * @param conflict the conflict to diagnose. Must not be {@code null}
+     * @param tracker  the budget of this search. Must not be {@code null}
+     * @return the minimal diagnoses found within the budget
+     */
+    default int[][] getMinimalDiagnoses(InternalConflictSet conflict, ConflictSearchBudget.Tracker tracker) {
+        return getMinimalDiagnoses(conflict);
+    }
 }
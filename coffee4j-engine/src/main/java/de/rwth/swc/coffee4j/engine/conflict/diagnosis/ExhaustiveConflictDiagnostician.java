@@ -1,22 +1,28 @@
 package de.rwth.swc.coffee4j.engine.conflict.diagnosis;
 
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSearchBudget;
 import de.rwth.swc.coffee4j.engine.conflict.InternalConflictSet;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
-
 public class ExhaustiveConflictDiagnostician extends AbstractConflictDiagnostician  {
 
-    public int[][] getMinimalDiagnoses(InternalConflictSet conflict) {
-        final List<int[]> diagnoses = new ArrayList<>();
-        final Queue<int[]> pathsToExpand = new LinkedList<>(expandPaths(new int[0], conflict.getConflictSet()));
+    public ExhaustiveConflictDiagnostician() {
+        super();
+    }
 
-        while(!pathsToExpand.isEmpty()) {
-            expandNextNode(conflict, diagnoses, pathsToExpand);
-        }
+    /**
+     * @param maximumDiagnosisSize the maximum number of constraints relaxed by a diagnosis. Larger diagnoses are not
+     *                             searched. Must be positive
+     */
+    public ExhaustiveConflictDiagnostician(int maximumDiagnosisSize) {
+        super(maximumDiagnosisSize);
+    }
+
+    public int[][] getMinimalDiagnoses(InternalConflictSet conflict) {
+        return getMinimalDiagnoses(conflict, ConflictSearchBudget.unlimited().start());
+    }
 
-        return diagnoses.toArray(new int[0][]);
+    @Override
+    public int[][] getMinimalDiagnoses(InternalConflictSet conflict, ConflictSearchBudget.Tracker tracker) {
+        return computeMinimalDiagnoses(conflict, Integer.MAX_VALUE, tracker).toArray(new int[0][]);
     }
 }
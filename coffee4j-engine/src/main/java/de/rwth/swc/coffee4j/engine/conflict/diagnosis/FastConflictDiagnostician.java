@@ -1,23 +1,28 @@
 package de.rwth.swc.coffee4j.engine.conflict.diagnosis;
 
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSearchBudget;
 import de.rwth.swc.coffee4j.engine.conflict.InternalConflictSet;
 
-import java.util.*;
-
 public class FastConflictDiagnostician extends AbstractConflictDiagnostician {
 
-    public int[][] getMinimalDiagnoses(InternalConflictSet conflict) {
-        final List<int[]> diagnoses = new ArrayList<>();
-        final Queue<int[]> pathsToExpand = new LinkedList<>(expandPaths(new int[0], conflict.getConflictSet()));
+    public FastConflictDiagnostician() {
+        super();
+    }
 
-        while(!pathsToExpand.isEmpty()) {
-            expandNextNode(conflict, diagnoses, pathsToExpand);
+    /**
+     * @param maximumDiagnosisSize the maximum number of constraints relaxed by the diagnosis. Larger diagnoses are not
+     *                             searched. Must be positive
+     */
+    public FastConflictDiagnostician(int maximumDiagnosisSize) {
+        super(maximumDiagnosisSize);
+    }
 
-            if(!diagnoses.isEmpty()) {
-                return new int[][] { diagnoses.get(0) };
-            }
-        }
+    public int[][] getMinimalDiagnoses(InternalConflictSet conflict) {
+        return getMinimalDiagnoses(conflict, ConflictSearchBudget.unlimited().start());
+    }
 
-        return new int[0][];
+    @Override
+    public int[][] getMinimalDiagnoses(InternalConflictSet conflict, ConflictSearchBudget.Tracker tracker) {
+        return computeMinimalDiagnoses(conflict, 1, tracker).toArray(new int[0][]);
     }
 }
@@ -1,5 +1,6 @@
 package de.rwth.swc.coffee4j.engine.conflict.explanation;
 
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSearchBudget;
 import de.rwth.swc.coffee4j.engine.conflict.InternalExplanation;
 import de.rwth.swc.coffee4j.engine.conflict.choco.ChocoModel;
 
@@ -10,4 +11,22 @@ public interface ConflictExplainer {
     Optional<InternalExplanation> getMinimalConflict(ChocoModel model,
                                                      int[] background,
                                                      int[] relaxable);
+
+    /**
+     * Searches a minimal conflict like {@link #getMinimalConflict(ChocoModel, int[], int[])}, but stops as soon as the
+     * tracker refuses a node. The conflict found until then is returned and marked as not complete. By default, the
+     * budget is ignored.
+     *
+     * @param model      the model containing the constraints. Must not be {@code null}
+     * @param background the constraints which cannot be relaxed. Must not be {@code null}
+     * @param relaxable  the constraints which can be relaxed. Must not be {@code null}
+     * @param tracker    the budget of this search. Must not be {@code null}
+     * @return the explanation as for {@link #getMinimalConflict(ChocoModel, int[], int[])}
+     */
+    default Optional<InternalExplanation> getMinimalConflict(ChocoModel model,
+                                                             int[] background,
+                                                             int[] relaxable,
+                                                             ConflictSearchBudget.Tracker tracker) {
+        return getMinimalConflict(model, background, relaxable);
+    }
 }
@@ -1,5 +1,6 @@
 package de.rwth.swc.coffee4j.engine.conflict.explanation;
 
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSearchBudget;
 import de.rwth.swc.coffee4j.engine.conflict.InternalConflictSet;
 import de.rwth.swc.coffee4j.engine.conflict.InternalExplanation;
 import de.rwth.swc.coffee4j.engine.conflict.InternalInconsistentBackground;
@@ -18,6 +19,13 @@ import java.util.Optional;
  * Junker, Ulrich. (2004).
  * DefaultConflictExplainer: Preferred explanations and relaxations for over-constrained problems.
  * AAAI. 167 - 172.
+ * <p>
+ * All consistency checks go through the {@link ChocoModel#getConsistencyOracle() consistency oracle} of the model, so
+ * subsets which are checked repeatedly, also by diagnosticians re-explaining the same conflict, are only solved once.
+ * <p>
+ * With a {@link ConflictSearchBudget}, each recursive step consumes one node. Once the budget is exhausted, each
+ * remaining step keeps all of its relaxable constraints instead of splitting them. The result is then still a conflict,
+ * but it may not be minimal.
  */
 public class QuickConflictExplainer implements ConflictExplainer {
 
@@ -35,9 +43,18 @@ public class QuickConflictExplainer implements ConflictExplainer {
     public Optional<InternalExplanation> getMinimalConflict(ChocoModel model,
                                                             int[] background,
                                                             int[] relaxable) {
+        return getMinimalConflict(model, background, relaxable, ConflictSearchBudget.unlimited().start());
+    }
+
+    @Override
+    public Optional<InternalExplanation> getMinimalConflict(ChocoModel model,
+                                                            int[] background,
+                                                            int[] relaxable,
+                                                            ConflictSearchBudget.Tracker tracker) {
         Preconditions.notNull(model);
         Preconditions.notNull(background);
         Preconditions.notNull(relaxable);
+        Preconditions.notNull(tracker);
         Preconditions.check(relaxable.length > 0);
 
         if (isConsistent(model, union(background, relaxable))) {
@@ -54,24 +71,25 @@ public class QuickConflictExplainer implements ConflictExplainer {
             );
         }
 
-        final int[] conflictSet = doExplain(model, background, background, relaxable);
+        final int[] conflictSet = doExplain(model, background, background, relaxable, tracker);
 
         model.enableAllConstraints();
 
         return Optional.of(
-                new InternalConflictSet(model, background, relaxable, conflictSet)
+                new InternalConflictSet(model, background, relaxable, conflictSet, !tracker.isExhausted())
         );
     }
 
     private boolean isConsistent(ChocoModel model, int[] constraints) {
-        model.disableAllConstraints();
-        model.reset();
-        model.enableConstraints(constraints);
-
-        return model.isSatisfiable();
+        return model.getConsistencyOracle().isConsistent(constraints);
     }
 
-    private int[] doExplain(ChocoModel problem, int[] background, int[] delta, int[] relaxable) {
+    private int[] doExplain(ChocoModel problem, int[] background, int[] delta, int[] relaxable, ConflictSearchBudget.Tracker tracker) {
+        if(!tracker.tryConsume()) {
+            /* background and relaxable are inconsistent together, so relaxable is a conflict, although not a minimal one */
+            return relaxable;
+        }
+
         if (delta.length != 0 && !isConsistent(problem, background)) {
             return new int[0];
         }
@@ -84,8 +102,8 @@ public class QuickConflictExplainer implements ConflictExplainer {
         int[] constraints1 = Arrays.copyOfRange(relaxable, 0, k);
         int[] constraints2 = Arrays.copyOfRange(relaxable, k, relaxable.length);
 
-        int[] delta2 = doExplain(problem, union(background, constraints1), constraints1, constraints2);
-        int[] delta1 = doExplain(problem, union(background, delta2), delta2, constraints1);
+        int[] delta2 = doExplain(problem, union(background, constraints1), constraints1, constraints2, tracker);
+        int[] delta1 = doExplain(problem, union(background, delta2), delta2, constraints1, tracker);
 
         return distinctUnion(delta1, delta2);
     }
@@ -0,0 +1,207 @@
+package de.rwth.swc.coffee4j.engine.conflict.sat;
+
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSearchBudget;
+import de.rwth.swc.coffee4j.engine.conflict.InternalConflictSet;
+import de.rwth.swc.coffee4j.engine.conflict.InternalExplanation;
+import de.rwth.swc.coffee4j.engine.conflict.InternalInconsistentBackground;
+import de.rwth.swc.coffee4j.engine.conflict.choco.ChocoModel;
+import de.rwth.swc.coffee4j.engine.conflict.explanation.ConflictExplainer;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Finds a minimal conflict of a {@link SatConflictModel} by using the inconsistent subsets returned by the SAT solver.
+ * <p>
+ * The inconsistent subset of the initial check already restricts the candidates to the relaxable constraints involved
+ * in some conflict. Afterwards, each remaining candidate is removed once. If the rest is still inconsistent, the
+ * candidates shrink to the inconsistent subset of that check. Otherwise, the candidate is part of the conflict. In
+ * contrast to {@link de.rwth.swc.coffee4j.engine.conflict.explanation.QuickConflictExplainer}, the result is therefore
+ * a minimal conflict, but not necessarily the preferred one.
+ * <p>
+ * As a {@link ConflictExplainer}, the explainer encodes the tuple lists, the negated constraint and the assignment
+ * constraint of the given {@link ChocoModel} in a {@link SatConflictModel}. The encoding, and with it the clauses
+ * learned by the solver, is kept until constraints are added to or removed from the Choco model. Changes of the
+ * assignment and of the negated constraint are mirrored as incremental changes of the encoding. Every constraint
+ * involved in an explanation must therefore have been created from a tuple list.
+ * <p>
+ * With a {@link ConflictSearchBudget}, each check while shrinking the candidates consumes one node. Once the budget is
+ * exhausted, the remaining candidates are returned. They are still a conflict, but it may not be minimal.
+ */
+public class SatConflictExplainer implements ConflictExplainer {
+
+    private ChocoModel encodedModel;
+    private int encodedConstraintRevision;
+    private SatConflictModel satModel;
+
+    private int[] assignedParameters;
+    private int[] assignedValues;
+
+    @Override
+    public Optional<InternalExplanation> getMinimalConflict(ChocoModel model,
+                                                            int[] background,
+                                                            int[] relaxable) {
+        return getMinimalConflict(model, background, relaxable, ConflictSearchBudget.unlimited().start());
+    }
+
+    @Override
+    public Optional<InternalExplanation> getMinimalConflict(ChocoModel model,
+                                                            int[] background,
+                                                            int[] relaxable,
+                                                            ConflictSearchBudget.Tracker tracker) {
+        Preconditions.notNull(model);
+
+        final Optional<int[]> conflict = getMinimalConflict(encode(model), background, relaxable, tracker);
+
+        if(conflict.isEmpty()) {
+            return Optional.empty();
+        } else if(conflict.get().length == 0) {
+            return Optional.of(new InternalInconsistentBackground(background, relaxable));
+        } else {
+            return Optional.of(
+                    new InternalConflictSet(model, background, relaxable, conflict.get(), !tracker.isExhausted()));
+        }
+    }
+
+    private SatConflictModel encode(ChocoModel model) {
+        if(model != encodedModel || model.getConstraintRevision() != encodedConstraintRevision) {
+            satModel = new SatConflictModel(model.getParameterSizes(), model.getTupleLists());
+            assignedParameters = null;
+            assignedValues = null;
+
+            encodedModel = model;
+            encodedConstraintRevision = model.getConstraintRevision();
+        }
+
+        mirrorNegation(model);
+        mirrorAssignment(model);
+
+        return satModel;
+    }
+
+    private void mirrorNegation(ChocoModel model) {
+        if(!model.hasNegatedConstraint()) {
+            satModel.resetNegationOfConstraint();
+        } else if(!satModel.hasNegatedConstraint() || satModel.getNegatedConstraintId() != model.getNegatedConstraintId()) {
+            satModel.setNegationOfConstraint(model.getNegatedConstraintId());
+        }
+    }
+
+    private void mirrorAssignment(ChocoModel model) {
+        if(!model.isAssignmentConstraintSet()) {
+            satModel.clearAssignmentConstraint();
+            assignedParameters = null;
+            assignedValues = null;
+
+            return;
+        }
+
+        final int[] parameters = model.getAssignedParameters();
+        final int[] values = model.getAssignedValues();
+
+        if(!satModel.isAssignmentConstraintSet()
+                || satModel.getAssignmentConstraintId() != model.getAssignmentConstraintId()
+                || !Arrays.equals(parameters, assignedParameters)
+                || !Arrays.equals(values, assignedValues)) {
+            satModel.setAssignmentConstraint(model.getAssignmentConstraintId(), parameters, values);
+            assignedParameters = parameters;
+            assignedValues = values;
+        }
+    }
+
+    /**
+     * Finds a minimal conflict for an over-constrained problem.
+     *
+     * @param model      the model containing all constraints. Must not be {@code null}
+     * @param background consistent constraints which cannot be relaxed. Must not be {@code null}
+     * @param relaxable  constraints which can be relaxed. Must not be {@code null} nor empty
+     * @return empty if there is no conflict,
+     *         an empty array if the background is inconsistent,
+     *         otherwise a minimal subset of the relaxable constraints which is inconsistent with the background
+     */
+    public Optional<int[]> getMinimalConflict(SatConflictModel model,
+                                              int[] background,
+                                              int[] relaxable) {
+        return getMinimalConflict(model, background, relaxable, ConflictSearchBudget.unlimited().start());
+    }
+
+    /**
+     * Finds a minimal conflict for an over-constrained problem like
+     * {@link #getMinimalConflict(SatConflictModel, int[], int[])}, but stops shrinking the candidates as soon as the
+     * tracker refuses a node.
+     *
+     * @param model      the model containing all constraints. Must not be {@code null}
+     * @param background consistent constraints which cannot be relaxed. Must not be {@code null}
+     * @param relaxable  constraints which can be relaxed. Must not be {@code null} nor empty
+     * @param tracker    the budget of this search. Must not be {@code null}
+     * @return empty if there is no conflict,
+     *         an empty array if the background is inconsistent,
+     *         otherwise a subset of the relaxable constraints which is inconsistent with the background. It is minimal
+     *         unless the tracker is exhausted
+     */
+    public Optional<int[]> getMinimalConflict(SatConflictModel model,
+                                              int[] background,
+                                              int[] relaxable,
+                                              ConflictSearchBudget.Tracker tracker) {
+        Preconditions.notNull(model);
+        Preconditions.notNull(background);
+        Preconditions.notNull(relaxable);
+        Preconditions.notNull(tracker);
+        Preconditions.check(relaxable.length > 0);
+
+        if(model.isConsistent(union(background, relaxable))) {
+            return Optional.empty();
+        }
+
+        IntList candidates = restrictToInconsistentSubset(relaxable, model.getLastInconsistentSubset());
+
+        if(!model.isConsistent(background)) {
+            return Optional.of(new int[0]);
+        }
+
+        int index = 0;
+        while(index < candidates.size()) {
+            if(!tracker.tryConsume()) {
+                /* the candidates are an inconsistent subset, so they are a conflict, although not a minimal one */
+                break;
+            }
+
+            final IntList remaining = new IntArrayList(candidates);
+            remaining.removeInt(index);
+
+            if(model.isConsistent(union(background, remaining.toIntArray()))) {
+                index++;
+            } else {
+                /* candidates before the index are necessary, so they are part of every inconsistent subset */
+                candidates = restrictToInconsistentSubset(remaining.toIntArray(), model.getLastInconsistentSubset());
+            }
+        }
+
+        return Optional.of(candidates.toIntArray());
+    }
+
+    private IntList restrictToInconsistentSubset(int[] constraints, int[] inconsistentSubset) {
+        final IntSet subset = new IntOpenHashSet(inconsistentSubset);
+        final IntList restricted = new IntArrayList();
+
+        for(int constraint : constraints) {
+            if(subset.contains(constraint)) {
+                restricted.add(constraint);
+            }
+        }
+
+        return restricted;
+    }
+
+    private int[] union(int[] a, int[] b) {
+        final int[] array = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, array, a.length, b.length);
+
+        return array;
+    }
+}
@@ -0,0 +1,283 @@
+package de.rwth.swc.coffee4j.engine.conflict.sat;
+
+import de.rwth.swc.coffee4j.engine.TupleList;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
+import java.text.MessageFormat;
+import java.util.List;
+
+/**
+ * A SAT encoding of a test model offering the operations of a
+ * {@link de.rwth.swc.coffee4j.engine.conflict.choco.ChocoModel} which are needed to explain conflicts.
+ * <p>
+ * Each value of each parameter is a variable, and clauses ensure that each parameter has exactly one value. Every
+ * {@link TupleList} gets a selector variable, and each of its tuples is excluded by a clause which only applies if the
+ * selector is true. Enabling constraints therefore does not change the clauses. Instead, the selectors of the enabled
+ * constraints are passed as assumptions to an incremental {@link SatSolver}. If they are inconsistent, the failed
+ * assumptions directly give the ids of an inconsistent subset of the enabled constraints.
+ * <p>
+ * The negation of a constraint requires one of its tuples, and gets its own selector which is used instead of the
+ * original one while the negation is set. An assignment constraint also gets its own selector. Its clauses are
+ * disabled permanently once it is cleared, since its id is reused for the next assignment.
+ */
+public class SatConflictModel {
+
+    private final SatSolver solver = new SatSolver();
+
+    private final int[][] valueVariables;
+    private final Int2ObjectMap<TupleList> tupleListsById = new Int2ObjectOpenHashMap<>();
+
+    private final Int2IntMap originalSelectorsById = new Int2IntOpenHashMap();
+    private final Int2IntMap selectorsById = new Int2IntOpenHashMap();
+    private final Int2IntMap negationSelectorsById = new Int2IntOpenHashMap();
+    private final Int2IntMap idsBySelector = new Int2IntOpenHashMap();
+
+    private int assignmentId = -1;
+    private int negatedId = -1;
+
+    private int[] lastInconsistentSubset = new int[0];
+
+    public SatConflictModel(int[] parameterSizes, List<TupleList> tupleLists) {
+        Preconditions.notNull(parameterSizes);
+        Preconditions.notNull(tupleLists);
+
+        valueVariables = new int[parameterSizes.length][];
+        for(int parameter = 0; parameter < parameterSizes.length; parameter++) {
+            valueVariables[parameter] = new int[parameterSizes[parameter]];
+
+            for(int value = 0; value < parameterSizes[parameter]; value++) {
+                valueVariables[parameter][value] = solver.newVariable();
+            }
+
+            addExactlyOne(valueVariables[parameter]);
+        }
+
+        for(TupleList tupleList : tupleLists) {
+            Preconditions.check(!tupleListsById.containsKey(tupleList.getId()), "duplicate id " + tupleList.getId());
+            tupleListsById.put(tupleList.getId(), tupleList);
+
+            final int selector = solver.newVariable();
+            for(int[] tuple : tupleList.getTuples()) {
+                addExclusion(selector, tupleList.getInvolvedParameters(), tuple);
+            }
+
+            originalSelectorsById.put(tupleList.getId(), selector);
+            selectorsById.put(tupleList.getId(), selector);
+            idsBySelector.put(selector, tupleList.getId());
+        }
+    }
+
+    private void addExactlyOne(int[] variables) {
+        solver.addClause(variables);
+
+        for(int i = 0; i < variables.length; i++) {
+            for(int j = i + 1; j < variables.length; j++) {
+                solver.addClause(-variables[i], -variables[j]);
+            }
+        }
+    }
+
+    private void addExclusion(int selector, int[] parameters, int[] values) {
+        final int[] clause = new int[parameters.length + 1];
+        clause[0] = -selector;
+
+        for(int i = 0; i < parameters.length; i++) {
+            clause[i + 1] = -valueVariable(parameters[i], values[i]);
+        }
+
+        solver.addClause(clause);
+    }
+
+    private int valueVariable(int parameter, int value) {
+        Preconditions.check(parameter >= 0 && parameter < valueVariables.length, "unknown parameter " + parameter);
+        Preconditions.check(value >= 0 && value < valueVariables[parameter].length, "unknown value " + value);
+
+        return valueVariables[parameter][value];
+    }
+
+    /**
+     * Adds a constraint which assigns the given values to the given parameters. A previous assignment constraint is
+     * replaced.
+     *
+     * @param parameters the assigned parameters. Must not be {@code null}
+     * @param values     the assigned values. Must not be {@code null} and have the same length as parameters
+     * @return the id of the assignment constraint
+     */
+    public int setAssignmentConstraint(int[] parameters, int[] values) {
+        clearAssignmentConstraint();
+
+        return setAssignmentConstraint(findNextUnusedId(), parameters, values);
+    }
+
+    /**
+     * Adds a constraint which assigns the given values to the given parameters under the given id, for example the id
+     * of the corresponding constraint in a {@link de.rwth.swc.coffee4j.engine.conflict.choco.ChocoModel}. A previous
+     * assignment constraint is replaced.
+     *
+     * @param id         the id of the assignment constraint. Must not be used by another constraint
+     * @param parameters the assigned parameters. Must not be {@code null}
+     * @param values     the assigned values. Must not be {@code null} and have the same length as parameters
+     * @return the id of the assignment constraint
+     */
+    public int setAssignmentConstraint(int id, int[] parameters, int[] values) {
+        Preconditions.notNull(parameters);
+        Preconditions.notNull(values);
+        Preconditions.check(parameters.length == values.length);
+
+        clearAssignmentConstraint();
+        Preconditions.check(!tupleListsById.containsKey(id), "duplicate id " + id);
+
+        final int selector = solver.newVariable();
+        for(int i = 0; i < parameters.length; i++) {
+            solver.addClause(-selector, valueVariable(parameters[i], values[i]));
+        }
+
+        assignmentId = id;
+        selectorsById.put(assignmentId, selector);
+        idsBySelector.put(selector, assignmentId);
+
+        return assignmentId;
+    }
+
+    public boolean isAssignmentConstraintSet() {
+        return assignmentId != -1;
+    }
+
+    public int getAssignmentConstraintId() {
+        Preconditions.check(isAssignmentConstraintSet(), "no assignment constraint set");
+
+        return assignmentId;
+    }
+
+    public void clearAssignmentConstraint() {
+        if(assignmentId != -1) {
+            final int selector = selectorsById.remove(assignmentId);
+            idsBySelector.remove(selector);
+            solver.addClause(-selector);
+
+            assignmentId = -1;
+        }
+    }
+
+    private int findNextUnusedId() {
+        int id = tupleListsById.size();
+
+        while(id <= 0 || tupleListsById.containsKey(id)) {
+            id++;
+        }
+
+        return id;
+    }
+
+    /**
+     * Replaces the constraint with the given id by its negation, which requires at least one of its tuples. A previous
+     * negation is reset.
+     *
+     * @param id the id of a constraint given to the constructor
+     */
+    public void setNegationOfConstraint(int id) {
+        resetNegationOfConstraint();
+
+        final TupleList tupleList = tupleListsById.get(id);
+        if(tupleList == null) {
+            throw new IllegalArgumentException(MessageFormat.format("no constraint with id {0} found", id));
+        }
+
+        if(!negationSelectorsById.containsKey(id)) {
+            negationSelectorsById.put(id, createNegation(tupleList));
+        }
+
+        final int selector = negationSelectorsById.get(id);
+        idsBySelector.remove(selectorsById.get(id));
+        selectorsById.put(id, selector);
+        idsBySelector.put(selector, id);
+
+        negatedId = id;
+    }
+
+    private int createNegation(TupleList tupleList) {
+        final int selector = solver.newVariable();
+        final List<int[]> tuples = tupleList.getTuples();
+        final int[] requiredTuple = new int[tuples.size() + 1];
+        requiredTuple[0] = -selector;
+
+        for(int i = 0; i < tuples.size(); i++) {
+            final int tupleVariable = solver.newVariable();
+            requiredTuple[i + 1] = tupleVariable;
+
+            for(int j = 0; j < tupleList.getInvolvedParameters().length; j++) {
+                solver.addClause(-tupleVariable, valueVariable(tupleList.getInvolvedParameters()[j], tuples.get(i)[j]));
+            }
+        }
+
+        solver.addClause(requiredTuple);
+
+        return selector;
+    }
+
+    public boolean hasNegatedConstraint() {
+        return negatedId != -1;
+    }
+
+    public int getNegatedConstraintId() {
+        Preconditions.check(hasNegatedConstraint(), "no constraint negated");
+
+        return negatedId;
+    }
+
+    public void resetNegationOfConstraint() {
+        if(negatedId != -1) {
+            idsBySelector.remove(selectorsById.get(negatedId));
+
+            final int originalSelector = originalSelectorsById.get(negatedId);
+            selectorsById.put(negatedId, originalSelector);
+            idsBySelector.put(originalSelector, negatedId);
+
+            negatedId = -1;
+        }
+    }
+
+    /**
+     * Checks whether the constraints with the given ids are consistent. If they are not,
+     * {@link #getLastInconsistentSubset()} afterwards returns the ids of an inconsistent subset.
+     *
+     * @param ids the ids of the constraints. Must not be {@code null}
+     * @return whether there is a test input satisfying all given constraints
+     */
+    public boolean isConsistent(int... ids) {
+        Preconditions.notNull(ids);
+
+        final int[] assumptions = new int[ids.length];
+        for(int i = 0; i < ids.length; i++) {
+            if(!selectorsById.containsKey(ids[i])) {
+                throw new IllegalArgumentException(MessageFormat.format("no constraint with id {0} found", ids[i]));
+            }
+
+            assumptions[i] = selectorsById.get(ids[i]);
+        }
+
+        final boolean consistent = solver.solve(assumptions);
+
+        final IntList inconsistentSubset = new IntArrayList();
+        for(int selector : solver.getFailedAssumptions()) {
+            inconsistentSubset.add(idsBySelector.get(selector));
+        }
+        lastInconsistentSubset = inconsistentSubset.toIntArray();
+
+        return consistent;
+    }
+
+    /**
+     * @return the ids of an inconsistent subset of the constraints of the last call to {@link #isConsistent(int...)},
+     * or an empty array if they were consistent
+     */
+    public int[] getLastInconsistentSubset() {
+        return lastInconsistentSubset.clone();
+    }
+}
@@ -0,0 +1,405 @@
+package de.rwth.swc.coffee4j.engine.conflict.sat;
+
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A small incremental CDCL SAT solver which can solve under assumptions.
+ * <p>
+ * Variables are numbered starting at one, and literals are given as in the DIMACS format: {@code v} for the variable
+ * {@code v} and {@code -v} for its negation. Clauses can be added between calls to {@link #solve(int...)}, and learned
+ * clauses are kept, as they only depend on the clauses and not on the assumptions. If the clauses are unsatisfiable
+ * under the assumptions, {@link #getFailedAssumptions()} returns a subset of the assumptions which is already
+ * unsatisfiable together with the clauses.
+ * <p>
+ * The solver uses two watched literals per clause, first-UIP clause learning and a simple activity-based decision
+ * heuristic. Assumptions are decided first, one per decision level, as described by Eén and Sörensson (2003) for
+ * MiniSat.
+ */
+final class SatSolver {
+
+    private static final byte UNASSIGNED = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = -1;
+
+    private int numberOfVariables = 0;
+
+    private byte[] values = new byte[0];
+    private int[] levels = new int[0];
+    private int[][] reasons = new int[0][];
+    private double[] activities = new double[0];
+    private boolean[] seen = new boolean[0];
+    private final List<List<int[]>> watches = new ArrayList<>();
+
+    private final IntList trail = new IntArrayList();
+    private final IntList trailLimits = new IntArrayList();
+    private int propagationHead = 0;
+
+    private double activityIncrement = 1;
+    private boolean inconsistent = false;
+
+    private final IntList failedAssumptions = new IntArrayList();
+
+    /**
+     * @return a new variable which can be used in clauses and assumptions
+     */
+    int newVariable() {
+        numberOfVariables++;
+
+        values = Arrays.copyOf(values, numberOfVariables);
+        levels = Arrays.copyOf(levels, numberOfVariables);
+        reasons = Arrays.copyOf(reasons, numberOfVariables);
+        activities = Arrays.copyOf(activities, numberOfVariables);
+        seen = Arrays.copyOf(seen, numberOfVariables);
+        watches.add(new ArrayList<>());
+        watches.add(new ArrayList<>());
+
+        return numberOfVariables;
+    }
+
+    int getNumberOfVariables() {
+        return numberOfVariables;
+    }
+
+    /**
+     * Adds a clause which has to be satisfied by all future solutions.
+     *
+     * @param literals the literals of the clause in DIMACS format. Must not be {@code null}
+     */
+    void addClause(int... literals) {
+        Preconditions.notNull(literals);
+
+        cancelUntil(0);
+        if(inconsistent) {
+            return;
+        }
+
+        final IntList clause = new IntArrayList(literals.length);
+        for(int literal : literals) {
+            final int internalLiteral = toInternalLiteral(literal);
+
+            if(clause.contains(internalLiteral ^ 1) || valueOf(internalLiteral) == TRUE) {
+                return;
+            }
+            if(valueOf(internalLiteral) == UNASSIGNED && !clause.contains(internalLiteral)) {
+                clause.add(internalLiteral);
+            }
+        }
+
+        if(clause.isEmpty()) {
+            inconsistent = true;
+        } else if(clause.size() == 1) {
+            enqueue(clause.getInt(0), null);
+            inconsistent = propagate() != null;
+        } else {
+            attach(clause.toIntArray());
+        }
+    }
+
+    /**
+     * Checks whether all clauses can be satisfied if all given literals are true.
+     *
+     * @param assumptions literals in DIMACS format which have to be true. Must not be {@code null}
+     * @return whether there is a satisfying assignment
+     */
+    boolean solve(int... assumptions) {
+        Preconditions.notNull(assumptions);
+
+        failedAssumptions.clear();
+        cancelUntil(0);
+
+        if(inconsistent) {
+            return false;
+        }
+
+        final int[] assumedLiterals = new int[assumptions.length];
+        for(int i = 0; i < assumptions.length; i++) {
+            assumedLiterals[i] = toInternalLiteral(assumptions[i]);
+        }
+
+        while(true) {
+            final int[] conflict = propagate();
+
+            if(conflict != null) {
+                if(decisionLevel() == 0) {
+                    inconsistent = true;
+
+                    return false;
+                }
+
+                learn(conflict);
+                activityIncrement /= 0.95;
+            } else {
+                int next = -1;
+
+                while(decisionLevel() < assumedLiterals.length) {
+                    final int assumption = assumedLiterals[decisionLevel()];
+
+                    if(valueOf(assumption) == TRUE) {
+                        trailLimits.add(trail.size());
+                    } else if(valueOf(assumption) == FALSE) {
+                        analyzeFinal(assumption ^ 1);
+                        cancelUntil(0);
+
+                        return false;
+                    } else {
+                        next = assumption;
+
+                        break;
+                    }
+                }
+
+                if(next == -1) {
+                    next = pickBranchLiteral();
+
+                    if(next == -1) {
+                        cancelUntil(0);
+
+                        return true;
+                    }
+                }
+
+                trailLimits.add(trail.size());
+                enqueue(next, null);
+            }
+        }
+    }
+
+    /**
+     * @return the assumptions in DIMACS format which made the last call to {@link #solve(int...)} unsatisfiable. Empty
+     * if the call was satisfiable, or if the clauses alone are unsatisfiable
+     */
+    int[] getFailedAssumptions() {
+        return failedAssumptions.toIntArray();
+    }
+
+    private int toInternalLiteral(int literal) {
+        Preconditions.check(literal != 0 && Math.abs(literal) <= numberOfVariables, "unknown variable");
+
+        return literal > 0 ? 2 * (literal - 1) : 2 * (-literal - 1) + 1;
+    }
+
+    private static int toExternalLiteral(int literal) {
+        return (literal & 1) == 0 ? (literal >> 1) + 1 : -((literal >> 1) + 1);
+    }
+
+    private byte valueOf(int literal) {
+        final byte value = values[literal >> 1];
+
+        return (literal & 1) == 0 ? value : (byte) -value;
+    }
+
+    private int decisionLevel() {
+        return trailLimits.size();
+    }
+
+    private void attach(int[] clause) {
+        watches.get(clause[0]).add(clause);
+        watches.get(clause[1]).add(clause);
+    }
+
+    private void enqueue(int literal, int[] reason) {
+        final int variable = literal >> 1;
+
+        values[variable] = (literal & 1) == 0 ? TRUE : FALSE;
+        levels[variable] = decisionLevel();
+        reasons[variable] = reason;
+        trail.add(literal);
+    }
+
+    private void cancelUntil(int level) {
+        if(decisionLevel() > level) {
+            final int limit = trailLimits.getInt(level);
+
+            for(int i = trail.size() - 1; i >= limit; i--) {
+                final int variable = trail.getInt(i) >> 1;
+
+                values[variable] = UNASSIGNED;
+                reasons[variable] = null;
+            }
+
+            trail.size(limit);
+            trailLimits.size(level);
+            propagationHead = limit;
+        }
+    }
+
+    /* the literal implied by a reason clause is always its first literal */
+    private int[] propagate() {
+        while(propagationHead < trail.size()) {
+            final int falseLiteral = trail.getInt(propagationHead++) ^ 1;
+            final List<int[]> watchingClauses = watches.get(falseLiteral);
+
+            int kept = 0;
+            for(int i = 0; i < watchingClauses.size(); i++) {
+                final int[] clause = watchingClauses.get(i);
+
+                if(clause[0] == falseLiteral) {
+                    clause[0] = clause[1];
+                    clause[1] = falseLiteral;
+                }
+
+                if(valueOf(clause[0]) == TRUE) {
+                    watchingClauses.set(kept++, clause);
+
+                    continue;
+                }
+
+                boolean foundNewWatch = false;
+                for(int k = 2; k < clause.length; k++) {
+                    if(valueOf(clause[k]) != FALSE) {
+                        clause[1] = clause[k];
+                        clause[k] = falseLiteral;
+                        watches.get(clause[1]).add(clause);
+                        foundNewWatch = true;
+
+                        break;
+                    }
+                }
+                if(foundNewWatch) {
+                    continue;
+                }
+
+                watchingClauses.set(kept++, clause);
+
+                if(valueOf(clause[0]) == FALSE) {
+                    for(i++; i < watchingClauses.size(); i++) {
+                        watchingClauses.set(kept++, watchingClauses.get(i));
+                    }
+                    watchingClauses.subList(kept, watchingClauses.size()).clear();
+                    propagationHead = trail.size();
+
+                    return clause;
+                }
+
+                enqueue(clause[0], clause);
+            }
+
+            watchingClauses.subList(kept, watchingClauses.size()).clear();
+        }
+
+        return null;
+    }
+
+    private void learn(int[] conflict) {
+        final IntList learned = new IntArrayList();
+        learned.add(-1);
+
+        int[] clause = conflict;
+        int implied = -1;
+        int numberOfOpenLiterals = 0;
+        int index = trail.size() - 1;
+
+        do {
+            for(int k = implied == -1 ? 0 : 1; k < clause.length; k++) {
+                final int variable = clause[k] >> 1;
+
+                if(!seen[variable] && levels[variable] > 0) {
+                    seen[variable] = true;
+                    bumpActivity(variable);
+
+                    if(levels[variable] >= decisionLevel()) {
+                        numberOfOpenLiterals++;
+                    } else {
+                        learned.add(clause[k]);
+                    }
+                }
+            }
+
+            while(!seen[trail.getInt(index) >> 1]) {
+                index--;
+            }
+            implied = trail.getInt(index--);
+            clause = reasons[implied >> 1];
+            seen[implied >> 1] = false;
+            numberOfOpenLiterals--;
+        } while(numberOfOpenLiterals > 0);
+
+        learned.set(0, implied ^ 1);
+
+        int backtrackLevel = 0;
+        int backtrackIndex = 1;
+        for(int k = 1; k < learned.size(); k++) {
+            final int variable = learned.getInt(k) >> 1;
+            seen[variable] = false;
+
+            if(levels[variable] > backtrackLevel) {
+                backtrackLevel = levels[variable];
+                backtrackIndex = k;
+            }
+        }
+
+        final int[] learnedClause = learned.toIntArray();
+        cancelUntil(backtrackLevel);
+
+        if(learnedClause.length == 1) {
+            enqueue(learnedClause[0], null);
+        } else {
+            final int literal = learnedClause[1];
+            learnedClause[1] = learnedClause[backtrackIndex];
+            learnedClause[backtrackIndex] = literal;
+
+            attach(learnedClause);
+            enqueue(learnedClause[0], learnedClause);
+        }
+    }
+
+    /* collects all assumptions which together imply the given true literal */
+    private void analyzeFinal(int literal) {
+        failedAssumptions.add(toExternalLiteral(literal ^ 1));
+
+        if(levels[literal >> 1] == 0) {
+            return;
+        }
+
+        seen[literal >> 1] = true;
+
+        for(int i = trail.size() - 1; i >= trailLimits.getInt(0); i--) {
+            final int variable = trail.getInt(i) >> 1;
+
+            if(seen[variable]) {
+                final int[] reason = reasons[variable];
+
+                if(reason == null) {
+                    failedAssumptions.add(toExternalLiteral(trail.getInt(i)));
+                } else {
+                    for(int k = 1; k < reason.length; k++) {
+                        if(levels[reason[k] >> 1] > 0) {
+                            seen[reason[k] >> 1] = true;
+                        }
+                    }
+                }
+
+                seen[variable] = false;
+            }
+        }
+    }
+
+    private int pickBranchLiteral() {
+        int best = -1;
+
+        for(int variable = 0; variable < numberOfVariables; variable++) {
+            if(values[variable] == UNASSIGNED && (best == -1 || activities[variable] > activities[best])) {
+                best = variable;
+            }
+        }
+
+        return best == -1 ? -1 : 2 * best + 1;
+    }
+
+    private void bumpActivity(int variable) {
+        activities[variable] += activityIncrement;
+
+        if(activities[variable] > 1e100) {
+            for(int i = 0; i < numberOfVariables; i++) {
+                activities[i] *= 1e-100;
+            }
+            activityIncrement *= 1e-100;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package de.rwth.swc.coffee4j.engine.constraint;
 
+import de.rwth.swc.coffee4j.engine.TupleList;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
 
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 
 public class InternalConstraint {
@@ -12,6 +14,7 @@ public class InternalConstraint {
     private final int id;
     private final Function<Model, Constraint> function;
     private final boolean markedAsCorrect;
+    private final TupleList tupleList;
 
     public InternalConstraint(int id, Function<Model, Constraint> function) {
         this(id, function, false);
@@ -24,6 +27,24 @@ public class InternalConstraint {
         this.id = id;
         this.function = function;
         this.markedAsCorrect = markedAsCorrect;
+        this.tupleList = null;
+    }
+
+    /**
+     * Creates a constraint which excludes the tuples of the given list. The id and whether it is marked as correct are
+     * taken from the list.
+     *
+     * @param tupleList the tuples excluded by the constraint. Must not be {@code null}
+     * @param function  the function creating the Choco constraint excluding these tuples. Must not be {@code null}
+     */
+    public InternalConstraint(TupleList tupleList, Function<Model, Constraint> function) {
+        Preconditions.notNull(tupleList);
+        Preconditions.notNull(function);
+
+        this.id = tupleList.getId();
+        this.function = function;
+        this.markedAsCorrect = tupleList.isMarkedAsCorrect();
+        this.tupleList = tupleList;
     }
     
     InternalConstraint(InternalConstraint constraint) {
@@ -32,6 +53,7 @@ public class InternalConstraint {
         this.id = constraint.id;
         this.function = constraint.function;
         this.markedAsCorrect = constraint.markedAsCorrect;
+        this.tupleList = constraint.tupleList;
     }
     
     public int getId() {
@@ -42,6 +64,13 @@ public class InternalConstraint {
         return markedAsCorrect;
     }
 
+    /**
+     * @return the tuples excluded by this constraint if it was created from a {@link TupleList}
+     */
+    public Optional<TupleList> getTupleList() {
+        return Optional.ofNullable(tupleList);
+    }
+
     public Constraint apply(final Model model) {
         return function.apply(model);
     }
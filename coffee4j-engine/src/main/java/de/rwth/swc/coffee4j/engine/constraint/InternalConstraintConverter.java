@@ -3,6 +3,7 @@ package de.rwth.swc.coffee4j.engine.constraint;
 import de.rwth.swc.coffee4j.engine.TupleList;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.solver.variables.Variable;
 
@@ -24,19 +25,46 @@ public class InternalConstraintConverter {
     }
 
     public List<InternalConstraint> convert(TupleList tupleList) {
-        //
-        // For list of tuples { {0, 0}, {1, 1} } of identifiers { 0, 2 };
-        // a constraint equivalent of !( ("0"=0 /\ "2"=0) \/ ("0"=1 /\ "2"=1) ) is created.
-        //
-        final Function<Model, Constraint> constraint =
-                (Model model)
-                        -> or(model, createConstraints(tupleList, model)).getOpposite();
+        final Function<Model, Constraint> constraint = tupleList.getTuples().size() == 1
+                ? (Model model) -> createForbiddenTupleConstraint(tupleList, model)
+                : (Model model) -> createForbiddenTableConstraint(tupleList, model);
 
         return Collections.singletonList(
-                new InternalConstraint(tupleList.getId(), constraint, tupleList.isMarkedAsCorrect())
+                new InternalConstraint(tupleList, constraint)
         );
     }
 
+    //
+    // For list of tuples { {0, 0} } of identifiers { 0, 2 };
+    // a constraint equivalent of !("0"=0 /\ "2"=0) is created.
+    //
+    private Constraint createForbiddenTupleConstraint(TupleList tupleList, Model model) {
+        return or(model, createConstraints(tupleList, model)).getOpposite();
+    }
+
+    //
+    // For list of tuples { {0, 0}, {1, 1} } of identifiers { 0, 2 };
+    // a table constraint forbidding the tuples (0, 0) and (1, 1) for the variables "0" and "2" is created.
+    // A single propagator replaces the disjunction of one conjunction per tuple, which would need
+    // a reified constraint for each value of each tuple.
+    //
+    private Constraint createForbiddenTableConstraint(TupleList tupleList, Model model) {
+        final int[] involvedParameters = tupleList.getInvolvedParameters();
+        final IntVar[] variables = new IntVar[involvedParameters.length];
+
+        for (int i = 0; i < involvedParameters.length; i++) {
+            variables[i] = findIntVariable(involvedParameters[i], model).orElseThrow();
+        }
+
+        if (variables.length == 1) {
+            final int[] values = tupleList.getTuples().stream().mapToInt(tuple -> tuple[0]).toArray();
+
+            return model.notMember(variables[0], values);
+        }
+
+        return model.table(variables, new Tuples(tupleList.getTuples().toArray(new int[0][]), false));
+    }
+
     private Constraint or(Model model, Constraint[] constraints) {
         if (constraints.length == 1) {
             return constraints[0];
@@ -85,14 +113,15 @@ public class InternalConstraintConverter {
     private Optional<Constraint> createProposition(int involvedParameter,
                                                    int excludedValue,
                                                    Model model) {
+        return findIntVariable(involvedParameter, model)
+                .map(variable -> model.arithm(variable, "=", excludedValue));
+    }
+
+    private Optional<IntVar> findIntVariable(int involvedParameter, Model model) {
         final Optional<Variable> candidate = ChocoSolverUtil.findVariable(model, involvedParameter);
 
         if (candidate.isPresent() && candidate.get() instanceof IntVar) {
-            final IntVar variable = (IntVar) candidate.get();
-
-            final Constraint proposition = model.arithm(variable, "=", excludedValue);
-
-            return Optional.of(proposition);
+            return Optional.of((IntVar) candidate.get());
         }
 
         return Optional.empty();
@@ -1,14 +1,25 @@
 package de.rwth.swc.coffee4j.engine.constraint;
 
+import de.rwth.swc.coffee4j.engine.TupleList;
 import org.chocosolver.solver.Model;
 import org.chocosolver.solver.constraints.Constraint;
 
+import java.util.Optional;
+
 public class NegatingInternalConstraint extends InternalConstraint {
     
     public NegatingInternalConstraint(InternalConstraint internalConstraint) {
         super(internalConstraint);
     }
     
+    /**
+     * @return empty, since the negation requires one of the tuples instead of excluding them
+     */
+    @Override
+    public Optional<TupleList> getTupleList() {
+        return Optional.empty();
+    }
+    
     @Override
     public Constraint apply(final Model model) {
         return super.apply(model).getOpposite();
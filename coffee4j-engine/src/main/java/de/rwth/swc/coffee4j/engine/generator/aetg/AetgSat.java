@@ -5,6 +5,8 @@ import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfigu
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroup;
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroupGenerator;
 import de.rwth.swc.coffee4j.engine.report.Reporter;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 
 import java.util.Collections;
 import java.util.List;
@@ -14,20 +16,49 @@ import java.util.function.Supplier;
 /**
  * Generator for one test group containing the test inputs generated with the {@link AetgSatAlgorithm} algorithm with
  * the strength given by the {@link TestModel}.
+ * <p>
+ * Each call of {@link #generate(TestModel, Reporter)} splits a new random source for the generation and the fault
+ * characterization of its group. With a seeded source, the same sequence of calls therefore generates the same test
+ * inputs, regardless of when and on which thread the groups are constructed.
  */
 public class AetgSat implements TestInputGroupGenerator {
 
     private static final String DISPLAY_NAME = "Positive AetgSatAlgorithm Tests";
 
+    private final RandomSource randomSource;
+
+    /**
+     * Creates a new generator which uses a random source with a random seed.
+     */
+    public AetgSat() {
+        this(RandomSource.withRandomSeed());
+    }
+
+    /**
+     * Creates a new generator drawing all random numbers from the given source.
+     *
+     * @param randomSource the random source. Must not be {@code null}
+     */
+    public AetgSat(RandomSource randomSource) {
+        this.randomSource = Preconditions.notNull(randomSource);
+    }
+
     @Override
     public Set<Supplier<TestInputGroup>> generate(TestModel model, Reporter reporter) {
         if (model.getStrength() == 0) {
             return Collections.emptySet();
         }
 
+        final RandomSource generationRandomSource = randomSource.split();
+        final RandomSource faultCharacterizationRandomSource = randomSource.split();
+
         return Collections.singleton(() -> {
-            final List<int[]> testInputs = new AetgSatAlgorithm(AetgSatConfiguration.aetgSatConfiguration().model(model).build()).generate();
-            final FaultCharacterizationConfiguration faultCharacterizationConfiguration = new FaultCharacterizationConfiguration(model, reporter);
+            final List<int[]> testInputs = new AetgSatAlgorithm(AetgSatConfiguration.aetgSatConfiguration()
+                    .model(model)
+                    .randomSource(generationRandomSource)
+                    .build()).generate();
+            final FaultCharacterizationConfiguration faultCharacterizationConfiguration = new FaultCharacterizationConfiguration(model, reporter)
+                    .withRandomSource(faultCharacterizationRandomSource);
             return new TestInputGroup(DISPLAY_NAME, testInputs, faultCharacterizationConfiguration);
         });
     }
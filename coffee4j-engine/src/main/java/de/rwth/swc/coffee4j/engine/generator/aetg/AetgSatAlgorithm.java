@@ -5,13 +5,13 @@ import de.rwth.swc.coffee4j.engine.constraint.ConstraintCheckerFactory;
 import de.rwth.swc.coffee4j.engine.constraint.DynamicHardConstraintChecker;
 import de.rwth.swc.coffee4j.engine.util.CombinationUtil;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Implementation of the AETGSat variant of the AETG algorithm from "Constructing Interaction Test Suites for
@@ -28,6 +28,9 @@ import java.util.concurrent.ThreadLocalRandom;
  * <p>
  * It also supports constraints by excluding invalid combinations from the covering array, as well as checking each test
  * case with a SAT checker before adding it to the covering array.
+ * <p>
+ * All random decisions are drawn from a split of the random source of the configuration. An instance is therefore
+ * reproducible with a seeded source, but it must not be used by multiple threads at once.
  */
 public class AetgSatAlgorithm {
 
@@ -38,7 +41,8 @@ public class AetgSatAlgorithm {
     private final IntList parameterIndices;
 
     private final int totalValues;
-    private final Random random = ThreadLocalRandom.current();
+    private final RandomSource randomSource;
+    private final Random random;
 
     /**
      * Constructor.
@@ -48,6 +52,8 @@ public class AetgSatAlgorithm {
     public AetgSatAlgorithm(AetgSatConfiguration configuration) {
         this.configuration = Preconditions.notNull(configuration);
         this.model = configuration.getModel();
+        this.randomSource = configuration.getRandomSource().split();
+        this.random = randomSource.asRandom();
         this.checker = new ConstraintCheckerFactory(model).createDynamicHardConstraintChecker();
         this.coverageMap = new CoverageMap(model.getParameterSizes(), model.getStrength(), checker);
         this.parameterIndices = new IntArrayList();
@@ -253,6 +259,23 @@ public class AetgSatAlgorithm {
      * @return a dissimilar test case that covers the most uncovered combinations
      */
     public int[] selectDissimilar(int[] failureInducingCombination, int[] failure, List<int[]> lastFeedback) {
+        return selectDissimilar(failureInducingCombination, failure, lastFeedback, randomSource);
+    }
+
+    /**
+     * Same as {@link #selectDissimilar(int[], int[], List)}, but values which cannot be selected by coverage are drawn
+     * from the given source instead of the one of this instance.
+     *
+     * @param failureInducingCombination the combination that should be feedback checked
+     * @param failure                    the failure the FIC belongs to
+     * @param lastFeedback               the last rounds of feedback checking
+     * @param randomSource               the source for random values. Must not be {@code null}
+     * @return a dissimilar test case that covers the most uncovered combinations
+     */
+    public int[] selectDissimilar(int[] failureInducingCombination, int[] failure, List<int[]> lastFeedback,
+            RandomSource randomSource) {
+        Preconditions.notNull(randomSource);
+
         int[] result = Arrays.copyOf(failureInducingCombination, failureInducingCombination.length);
         for (int parameter = 0; parameter < failureInducingCombination.length; parameter++) {
             if (failureInducingCombination[parameter] == CombinationUtil.NO_VALUE) {
@@ -265,7 +288,7 @@ public class AetgSatAlgorithm {
                 if (pv.isPresent()) {
                     result[parameter] = pv.get().value;
                 } else {
-                    result[parameter] = ThreadLocalRandom.current().nextInt(0, model.getSizeOfParameter(parameter));
+                    result[parameter] = randomSource.nextInt(model.getSizeOfParameter(parameter));
                 }
             }
         }
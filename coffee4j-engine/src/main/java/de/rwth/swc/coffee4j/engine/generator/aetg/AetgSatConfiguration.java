@@ -3,6 +3,7 @@ package de.rwth.swc.coffee4j.engine.generator.aetg;
 import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.report.Reporter;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 
 import java.util.Objects;
 
@@ -21,12 +22,14 @@ public class AetgSatConfiguration {
     private final int numberOfTries;
     private final TestModel model;
     private final Reporter reporter;
+    private final RandomSource randomSource;
 
     private AetgSatConfiguration(AetgSatConfigurationBuilder builder) {
         this.numberOfCandidates = builder.numberOfCandidates;
         this.numberOfTries = builder.numberOfTries;
         this.model = Objects.requireNonNull(builder.model);
         this.reporter = Objects.requireNonNull(builder.reporter);
+        this.randomSource = builder.randomSource != null ? builder.randomSource : RandomSource.withRandomSeed();
     }
 
     /**
@@ -54,6 +57,10 @@ public class AetgSatConfiguration {
         return reporter;
     }
 
+    RandomSource getRandomSource() {
+        return randomSource;
+    }
+
     /**
      * Builder for {@link AetgSatConfiguration}.
      */
@@ -63,6 +70,7 @@ public class AetgSatConfiguration {
         private int numberOfTries = DEFAULT_NUMBER_OF_TRIES;
         private TestModel model;
         private Reporter reporter = Reporter.getEmptyReporter();
+        private RandomSource randomSource;
 
         /**
          * Sets the execution reporter.
@@ -88,6 +96,19 @@ public class AetgSatConfiguration {
             return this;
         }
 
+        /**
+         * Sets the source of all random decisions of the algorithm. If no source is set, one with a random seed is
+         * used. With a seeded source, the generated covering array is reproducible.
+         *
+         * @param randomSource the random source. This may not be {@code null}.
+         * @return the builder for method chaining
+         */
+        public AetgSatConfigurationBuilder randomSource(RandomSource randomSource) {
+            Preconditions.notNull(randomSource);
+            this.randomSource = randomSource;
+            return this;
+        }
+
         /**
          * Sets the number of candidates that should be considered for each iteration.
          * <p>
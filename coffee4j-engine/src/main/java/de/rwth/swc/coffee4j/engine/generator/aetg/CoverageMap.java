@@ -8,7 +8,7 @@ import it.unimi.dsi.fastutil.ints.Int2IntArrayMap;
 import it.unimi.dsi.fastutil.ints.Int2IntMap;
 
 import java.util.Comparator;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -17,7 +17,8 @@ import java.util.stream.Collectors;
  * Implementation of a coverage map that tracks how many t-combinations are already covered.
  * <p>
  * It also provides the means for handling constraints and some supporting functions for {@link AetgSat}. Combinations
- * are stored as arrays. A more efficient implementations should make use of a bitset like the coverage map of the
+ * are stored as arrays in a fixed order, so that ties between equally common values are broken deterministically. A
+ * more efficient implementations should make use of a bitset like the coverage map of the
  * {@link de.rwth.swc.coffee4j.engine.generator.ipog.IpogAlgorithm}.
  */
 class CoverageMap {
@@ -36,9 +37,9 @@ class CoverageMap {
         Preconditions.check(combinations.stream().allMatch(s -> s.length == length));
 
         if (checker.getInvolvedParameters().isEmpty()) {
-            this.combinations = new HashSet<>(combinations);
+            this.combinations = new LinkedHashSet<>(combinations);
         } else {
-            this.combinations = combinations.stream().filter(checker::isValid).collect(Collectors.toSet());
+            this.combinations = combinations.stream().filter(checker::isValid).collect(Collectors.toCollection(LinkedHashSet::new));
         }
         this.length = length;
         this.checker = checker;
@@ -6,6 +6,8 @@ import de.rwth.swc.coffee4j.engine.report.Reporter;
 import de.rwth.swc.coffee4j.engine.constraint.ConstraintCheckerFactory;
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroup;
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroupGenerator;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 
 import java.util.Collections;
 import java.util.List;
@@ -16,11 +18,33 @@ import java.util.function.Supplier;
  * Generator for one test group containing the test inputs generated with the
  * {@link IpogAlgorithm} algorithm using no constraints and the normal parameter order
  * with the strength given by the {@link TestModel}.
+ * <p>
+ * The generation itself is deterministic. Each call of {@link #generate(TestModel, Reporter)} splits a new random
+ * source for the fault characterization of its group, so that a seeded source makes fault characterization
+ * reproducible as well.
  */
 public class Ipog implements TestInputGroupGenerator {
     
     private static final String DISPLAY_NAME = "Positive IpogAlgorithm Tests";
     
+    private final RandomSource randomSource;
+    
+    /**
+     * Creates a new generator which uses a random source with a random seed.
+     */
+    public Ipog() {
+        this(RandomSource.withRandomSeed());
+    }
+    
+    /**
+     * Creates a new generator whose fault characterization draws all random numbers from the given source.
+     *
+     * @param randomSource the random source. Must not be {@code null}
+     */
+    public Ipog(RandomSource randomSource) {
+        this.randomSource = Preconditions.notNull(randomSource);
+    }
+    
     /**
      * Constructs a combinatorial test suite for positive testing.
      * This means that each combination of the given strength is guaranteed
@@ -36,11 +60,14 @@ public class Ipog implements TestInputGroupGenerator {
         if(model.getStrength() == 0) {
             return Collections.emptySet();
         }
+        
+        final RandomSource faultCharacterizationRandomSource = randomSource.split();
 
         return Collections.singleton(() -> {
             final ConstraintCheckerFactory factory = new ConstraintCheckerFactory(model);
             final List<int[]> testInputs = new IpogAlgorithm(IpogConfiguration.ipogConfiguration().testModel(model).checker(factory.createHardConstraintsChecker()).build()).generate();
-            final FaultCharacterizationConfiguration faultCharacterizationConfiguration = new FaultCharacterizationConfiguration(model, reporter);
+            final FaultCharacterizationConfiguration faultCharacterizationConfiguration = new FaultCharacterizationConfiguration(model, reporter)
+                    .withRandomSource(faultCharacterizationRandomSource);
             return new TestInputGroup(DISPLAY_NAME, testInputs, faultCharacterizationConfiguration);
         });
     }
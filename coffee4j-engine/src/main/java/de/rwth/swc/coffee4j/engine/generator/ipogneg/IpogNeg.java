@@ -13,14 +13,40 @@ import de.rwth.swc.coffee4j.engine.generator.ipog.ParameterCombinationFactory;
 import de.rwth.swc.coffee4j.engine.generator.ipog.ParameterOrder;
 import de.rwth.swc.coffee4j.engine.report.Reporter;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Generator for one test group per error constraint of the {@link TestModel}. Each group contains test inputs which
+ * violate only this error constraint and cover all its tuples in combination with the other parameters.
+ * <p>
+ * Each call of {@link #generate(TestModel, Reporter)} splits a new random source for the fault characterization of
+ * each group in the order of the error constraints, so that a seeded source makes fault characterization reproducible.
+ */
 public class IpogNeg implements TestInputGroupGenerator {
     
+    private final RandomSource randomSource;
+    
+    /**
+     * Creates a new generator which uses a random source with a random seed.
+     */
+    public IpogNeg() {
+        this(RandomSource.withRandomSeed());
+    }
+    
+    /**
+     * Creates a new generator whose fault characterization draws all random numbers from the given source.
+     *
+     * @param randomSource the random source. Must not be {@code null}
+     */
+    public IpogNeg(RandomSource randomSource) {
+        this.randomSource = Preconditions.notNull(randomSource);
+    }
+    
     @Override
     public Collection<Supplier<TestInputGroup>> generate(TestModel model,
                                                          Reporter reporter) {
@@ -30,30 +56,33 @@ public class IpogNeg implements TestInputGroupGenerator {
         final ConstraintCheckerFactory checkerFactory = new ConstraintCheckerFactory(model);
 
         return model.getErrorTupleLists().stream()
-                .map(errorTuples -> createGroupSupplier(errorTuples, model, checkerFactory, reporter))
+                .map(errorTuples -> createGroupSupplier(errorTuples, model, checkerFactory, reporter, randomSource.split()))
                 .collect(Collectors.toList());
     }
     
     private Supplier<TestInputGroup> createGroupSupplier(TupleList errorTuples,
                                                          TestModel model,
                                                          ConstraintCheckerFactory factory,
-                                                         Reporter reporter) {
+                                                         Reporter reporter,
+                                                         RandomSource faultCharacterizationRandomSource) {
         return () -> {
             final ConstraintChecker checker = factory.createHardConstraintsCheckerWithNegation(errorTuples);
 
-            return createTestInputGroup(checker, errorTuples, model, reporter);
+            return createTestInputGroup(checker, errorTuples, model, reporter, faultCharacterizationRandomSource);
         };
     }
 
     private TestInputGroup createTestInputGroup(ConstraintChecker checker,
                                                 TupleList errorTuples,
                                                 TestModel testModel,
-                                                Reporter reporter) {
+                                                Reporter reporter,
+                                                RandomSource faultCharacterizationRandomSource) {
         final ParameterCombinationFactory factory = new NegativeTWiseParameterCombinationFactory(errorTuples);
         final ParameterOrder order = new NegativityAwareParameterOrder(errorTuples);
 
         final List<int[]> testInputs = new IpogAlgorithm(IpogConfiguration.ipogConfiguration().testModel(testModel).checker(checker).factory(factory).order(order).reporter(reporter).build()).generate();
-        final FaultCharacterizationConfiguration faultCharacterizationConfiguration = new FaultCharacterizationConfiguration(testModel, checker, reporter);
+        final FaultCharacterizationConfiguration faultCharacterizationConfiguration = new FaultCharacterizationConfiguration(testModel, checker, reporter)
+                .withRandomSource(faultCharacterizationRandomSource);
 
         return new TestInputGroup(errorTuples, testInputs, faultCharacterizationConfiguration);
     }
@@ -4,6 +4,7 @@ import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmFactory;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.characterization.SharedTestResultStore;
 import de.rwth.swc.coffee4j.engine.TestResult;
 import de.rwth.swc.coffee4j.engine.conflict.*;
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroup;
@@ -21,6 +22,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -28,8 +35,24 @@ import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrap;
 import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrapToSet;
 
 /**
- * A very basic manager for combinatorial tests. It is basic in the sense that it does not support any form of test
- * result caching and/or parallel generation of test input groups.
+ * A basic manager for combinatorial tests. The initial test input groups are generated one after another on the
+ * calling thread, and test results are not cached by this manager. Caching is left to a delegating manager like
+ * {@link CachingDelegatingCombinatorialTestManager}.
+ * <p>
+ * If an {@link Executor} for fault characterization is given, each fault characterization round of a
+ * {@link TestInputGroup} is computed by that executor instead of the thread delivering the last needed test result.
+ * Every group has at most one round in flight, but rounds of different groups run concurrently. Test inputs of
+ * finished rounds are returned by the next call to {@link #generateAdditionalTestInputsWithResult(int[], TestResult)}
+ * or {@link #awaitAdditionalTestInputs()}. All reporter methods are still called from the calling threads. The same
+ * executor checks the error constraints for conflicts in parallel.
+ * <p>
+ * All test results are collected in a {@link SharedTestResultStore} which is given to every fault characterization
+ * algorithm via its {@link FaultCharacterizationConfiguration}. This way, algorithms can use successful test inputs
+ * of other groups instead of requesting new ones.
+ * <p>
+ * If a {@link TestResultCache} is given, the test inputs of each group are pinned in it from the start of the fault
+ * characterization of the group until the group is finished, so that a cache which evicts results keeps them while
+ * the algorithm may still request them again.
  */
 public class BasicCombinatorialTestManager implements CombinatorialTestManager {
     
@@ -51,19 +74,83 @@ public class BasicCombinatorialTestManager implements CombinatorialTestManager {
     
     private final List<SingleGroupGenerationManager> managers = new ArrayList<>();
     
+    private final SharedTestResultStore sharedTestResults;
+    
+    private final Executor executor;
+    
+    private final CompletionService<FaultCharacterizationRound> faultCharacterizationRounds;
+    
+    private final TestResultCache pinnedTestResults;
+    
+    private int numberOfPendingFaultCharacterizationRounds = 0;
+    
     public BasicCombinatorialTestManager(CombinatorialTestConfiguration configuration,
                                          TestModel model) {
+        this(configuration, model, null, null);
+    }
+    
+    /**
+     * Creates a new manager which computes fault characterization rounds using the given executor.
+     *
+     * @param configuration                 the configuration of the combinatorial test. Must not be {@code null}
+     * @param model                         the model of the combinatorial test. Must not be {@code null}
+     * @param faultCharacterizationExecutor the executor which computes all fault characterization rounds and conflict
+     *                                      checks. It is not shut down by this manager. Must not be {@code null}
+     */
+    public BasicCombinatorialTestManager(CombinatorialTestConfiguration configuration,
+                                         TestModel model,
+                                         Executor faultCharacterizationExecutor) {
+        this(configuration, model, Preconditions.notNull(faultCharacterizationExecutor), null);
+    }
+    
+    /**
+     * Creates a new manager which optionally computes fault characterization rounds using the given executor and
+     * pins the test inputs of groups with an active fault characterization in the given cache.
+     *
+     * @param configuration                 the configuration of the combinatorial test. Must not be {@code null}
+     * @param model                         the model of the combinatorial test. Must not be {@code null}
+     * @param faultCharacterizationExecutor the executor which computes all fault characterization rounds and conflict
+     *                                      checks. It is not shut down by this manager. Can be {@code null}, in which
+     *                                      case all rounds are computed by the calling threads
+     * @param pinnedTestResults             the cache in which the test inputs of active groups are pinned. Can be
+     *                                      {@code null} if no test inputs should be pinned
+     */
+    public BasicCombinatorialTestManager(CombinatorialTestConfiguration configuration,
+                                         TestModel model,
+                                         Executor faultCharacterizationExecutor,
+                                         TestResultCache pinnedTestResults) {
         this.configuration = Preconditions.notNull(configuration);
         this.model = Preconditions.notNull(model);
+        this.sharedTestResults = new SharedTestResultStore(model.getParameterSizes());
+        this.executor = faultCharacterizationExecutor == null ? Runnable::run : faultCharacterizationExecutor;
+        this.faultCharacterizationRounds = faultCharacterizationExecutor == null ? null : new ExecutorCompletionService<>(faultCharacterizationExecutor);
+        this.pinnedTestResults = pinnedTestResults;
     }
 
     @Override
     public List<MissingInvalidTuple> checkConstraintsForConflicts() {
         final ConflictDetectionManager conflictDetectionManager = new ConflictDetectionManager(
                 configuration.getConflictDetectionConfiguration(),
-                model);
+                model,
+                executor);
 
-        return conflictDetectionManager.detectMissingInvalidTuples();
+        final List<MissingInvalidTuple> missingInvalidTuples = conflictDetectionManager.detectMissingInvalidTuples();
+        reportConsistencyChecks(conflictDetectionManager);
+
+        return missingInvalidTuples;
+    }
+
+    private void reportConsistencyChecks(ConflictDetectionManager conflictDetectionManager) {
+        final long numberOfChecks = conflictDetectionManager.getNumberOfConsistencyChecks();
+        if (numberOfChecks == 0) {
+            return;
+        }
+
+        final long numberOfMemorizedChecks = conflictDetectionManager.getNumberOfMemorizedConsistencyChecks();
+        configuration.getGenerationReporter().ifPresent(reporter -> reporter.reportDebug(() -> Report.report(
+                "{0} of {1} consistency checks during conflict detection were answered without solving a model",
+                numberOfMemorizedChecks,
+                numberOfChecks)));
     }
 
     @Override
@@ -71,7 +158,9 @@ public class BasicCombinatorialTestManager implements CombinatorialTestManager {
         Preconditions.notNull(missingInvalidTuples);
         Preconditions.check(configuration.getConflictDetectionConfiguration().isConflictDiagnosisEnabled());
 
-        final ReduceBasedDiagnosisHittingSetBuilder builder = new ReduceBasedDiagnosisHittingSetBuilder(model);
+        final ReduceBasedDiagnosisHittingSetBuilder builder = new ReduceBasedDiagnosisHittingSetBuilder(
+                model,
+                configuration.getConflictDetectionConfiguration().getMaximumHittingSetSize());
 
         return builder.computeMinimalDiagnosisHittingSets(missingInvalidTuples);
     }
@@ -137,11 +226,85 @@ public class BasicCombinatorialTestManager implements CombinatorialTestManager {
     @Override
     public List<int[]> generateAdditionalTestInputsWithResult(int[] testInput, TestResult testResult) {
         final IntArrayWrapper wrappedTestInputs = wrap(testInput);
+        sharedTestResults.addResult(testInput, testResult);
+        
+        final List<int[]> additionalTestInputs = managers.stream().map(manager -> manager.generateAdditionalTestInputsWithResult(wrappedTestInputs, testResult)).flatMap(Collection::stream).collect(Collectors.toList());
+        if (faultCharacterizationRounds != null) {
+            collectFinishedFaultCharacterizationRounds(additionalTestInputs);
+        }
+        
+        return additionalTestInputs;
+    }
+    
+    /**
+     * Waits until at least one fault characterization round computed by the executor given in the constructor
+     * generates new test inputs, or until no round is pending anymore. Without such an executor, an empty list is
+     * returned immediately.
+     *
+     * @return the test inputs generated by all finished rounds. Only empty if no round is pending anymore
+     * @throws IllegalStateException if the thread is interrupted while waiting. The interrupt flag stays set
+     */
+    @Override
+    public List<int[]> awaitAdditionalTestInputs() {
+        final List<int[]> additionalTestInputs = new ArrayList<>();
+        
+        try {
+            while (additionalTestInputs.isEmpty() && numberOfPendingFaultCharacterizationRounds > 0) {
+                additionalTestInputs.addAll(completeFaultCharacterizationRound(faultCharacterizationRounds.take()));
+                collectFinishedFaultCharacterizationRounds(additionalTestInputs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for fault characterization rounds", e);
+        }
+        
+        return additionalTestInputs;
+    }
+    
+    private void submitFaultCharacterizationRound(Callable<FaultCharacterizationRound> round) {
+        faultCharacterizationRounds.submit(round);
+        numberOfPendingFaultCharacterizationRounds++;
+    }
+    
+    private void collectFinishedFaultCharacterizationRounds(List<int[]> additionalTestInputs) {
+        Future<FaultCharacterizationRound> round;
+        while (numberOfPendingFaultCharacterizationRounds > 0 && (round = faultCharacterizationRounds.poll()) != null) {
+            additionalTestInputs.addAll(completeFaultCharacterizationRound(round));
+        }
+    }
+    
+    private List<int[]> completeFaultCharacterizationRound(Future<FaultCharacterizationRound> round) {
+        numberOfPendingFaultCharacterizationRounds--;
+        
+        try {
+            final FaultCharacterizationRound finishedRound = round.get();
+            return finishedRound.manager.completeFaultCharacterizationIteration(finishedRound);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a fault characterization round", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Fault characterization failed", e.getCause());
+        }
+    }
+    
+    private static final class FaultCharacterizationRound {
+        
+        private final SingleGroupGenerationManager manager;
+        private final List<int[]> nextTestInputs;
+        private final List<int[]> failureInducingCombinations;
+        
+        private FaultCharacterizationRound(SingleGroupGenerationManager manager, List<int[]> nextTestInputs, List<int[]> failureInducingCombinations) {
+            this.manager = manager;
+            this.nextTestInputs = nextTestInputs;
+            this.failureInducingCombinations = failureInducingCombinations;
+        }
         
-        return managers.stream().map(manager -> manager.generateAdditionalTestInputsWithResult(wrappedTestInputs, testResult)).flatMap(Collection::stream).collect(Collectors.toList());
     }
     
-    private static final class SingleGroupGenerationManager {
+    private final class SingleGroupGenerationManager {
         
         private final Supplier<TestInputGroup> testInputGroupSupplier;
         private final TestInputGroupGenerator testInputGroupGenerator;
@@ -152,6 +315,7 @@ public class BasicCombinatorialTestManager implements CombinatorialTestManager {
         private FaultCharacterizationAlgorithm faultCharacterizationAlgorithm;
         private Set<IntArrayWrapper> missingTestInputs;
         private Map<int[], TestResult> testResults;
+        private final List<IntArrayWrapper> pinnedTestInputs = new ArrayList<>();
         
         private SingleGroupGenerationManager(Supplier<TestInputGroup> testInputGroupSupplier, TestInputGroupGenerator testInputGroupGenerator, FaultCharacterizationAlgorithmFactory faultCharacterizationAlgorithmFactory, GenerationReporter reporter) {
             this.testInputGroupSupplier = testInputGroupSupplier;
@@ -200,27 +364,65 @@ public class BasicCombinatorialTestManager implements CombinatorialTestManager {
         
         private List<int[]> nextFaultCharacterizationIteration() {
             initializeCharacterizationAlgorithmIfNotInitialized();
-            final List<int[]> nextTestInputs = faultCharacterizationAlgorithm.computeNextTestInputs(new HashMap<>(testResults));
+            final Map<int[], TestResult> roundTestResults = new HashMap<>(testResults);
             testResults.clear();
             
+            if (faultCharacterizationRounds == null) {
+                return completeFaultCharacterizationIteration(computeFaultCharacterizationIteration(roundTestResults));
+            } else {
+                submitFaultCharacterizationRound(() -> computeFaultCharacterizationIteration(roundTestResults));
+                return Collections.emptyList();
+            }
+        }
+        
+        private FaultCharacterizationRound computeFaultCharacterizationIteration(Map<int[], TestResult> roundTestResults) {
+            final List<int[]> nextTestInputs = faultCharacterizationAlgorithm.computeNextTestInputs(roundTestResults);
+            
             if (nextTestInputs.isEmpty()) {
-                final List<int[]> failureInducingCombinations = faultCharacterizationAlgorithm.computeFailureInducingCombinations();
-                reporter.faultCharacterizationFinished(testInputGroup, failureInducingCombinations);
+                return new FaultCharacterizationRound(this, nextTestInputs, faultCharacterizationAlgorithm.computeFailureInducingCombinations());
+            } else {
+                return new FaultCharacterizationRound(this, nextTestInputs, null);
+            }
+        }
+        
+        private List<int[]> completeFaultCharacterizationIteration(FaultCharacterizationRound round) {
+            if (round.nextTestInputs.isEmpty()) {
+                unpinTestInputs();
+                reporter.faultCharacterizationFinished(testInputGroup, round.failureInducingCombinations);
                 reporter.testInputGroupFinished(testInputGroup);
             } else {
-                reporter.faultCharacterizationTestInputsGenerated(testInputGroup, nextTestInputs);
-                missingTestInputs.addAll(wrapToSet(nextTestInputs));
+                pinTestInputs(round.nextTestInputs);
+                reporter.faultCharacterizationTestInputsGenerated(testInputGroup, round.nextTestInputs);
+                missingTestInputs.addAll(wrapToSet(round.nextTestInputs));
             }
             
-            return nextTestInputs;
+            return round.nextTestInputs;
         }
         
         private void initializeCharacterizationAlgorithmIfNotInitialized() {
             if (faultCharacterizationAlgorithm == null) {
                 final FaultCharacterizationConfiguration configuration = testInputGroup.getFaultCharacterizationConfiguration().orElseThrow(() -> new IllegalArgumentException("Algorithm cannot be initialized without " + " a configuration"));
-                faultCharacterizationAlgorithm = faultCharacterizationAlgorithmFactory.create(configuration);
+                faultCharacterizationAlgorithm = faultCharacterizationAlgorithmFactory.create(configuration.withSharedTestResults(sharedTestResults));
+                pinTestInputs(testInputGroup.getTestInputs());
                 reporter.faultCharacterizationStarted(testInputGroup, faultCharacterizationAlgorithm);
             }
         }
+        
+        private void pinTestInputs(List<int[]> testInputs) {
+            if (pinnedTestResults != null) {
+                for (int[] testInput : testInputs) {
+                    final IntArrayWrapper wrappedTestInput = wrap(testInput);
+                    pinnedTestResults.pin(wrappedTestInput);
+                    pinnedTestInputs.add(wrappedTestInput);
+                }
+            }
+        }
+        
+        private void unpinTestInputs() {
+            if (pinnedTestResults != null) {
+                pinnedTestInputs.forEach(pinnedTestResults::unpin);
+                pinnedTestInputs.clear();
+            }
+        }
     }
 }
@@ -0,0 +1,285 @@
+package de.rwth.swc.coffee4j.engine.manager;
+
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import java.util.BitSet;
+
+/**
+ * A compact {@link TestResultCache} with a fixed maximum number of entries. In contrast to the
+ * {@link HashMapTestResultCache} no {@link IntArrayWrapper} is retained. Instead, each test input is hashed into a
+ * 64-bit key and only the key, a success/failure bit, and (depending on the {@link CauseRetention}) the cause for
+ * failure are stored. Since two different test inputs could theoretically share the same key, this cache should only
+ * be used where such an (extremely unlikely) collision is acceptable.
+ * <p>
+ * Once the capacity is reached, entries are evicted using the CLOCK algorithm, an approximation of least recently used
+ * eviction. Test inputs can be pinned via {@link #pin(IntArrayWrapper)} so that their result is never evicted, e.g.
+ * while a fault characterization algorithm still needs it. If all entries are pinned, new results are not cached.
+ * <p>
+ * Like {@link HashMapTestResultCache}, this class is not thread-safe.
+ */
+public class BoundedTestResultCache implements TestResultCache {
+    
+    private static final int NO_SLOT = -1;
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private static final Throwable UNRETAINED_CAUSE = new CachedCauseForFailure("cause for failure was not retained");
+    
+    private final int capacity;
+    private final CauseRetention causeRetention;
+    
+    private final Long2IntMap slots;
+    private final Long2IntMap pinCounts = new Long2IntOpenHashMap();
+    
+    private final long[] keys;
+    private final Throwable[] causes;
+    private final BitSet failed;
+    private final BitSet referenced;
+    
+    private int size = 0;
+    private int clockHand = 0;
+    
+    /**
+     * Creates a new cache which keeps trimmed causes for failure (see {@link CauseRetention#TRIMMED}).
+     *
+     * @param capacity the maximum number of test results stored at the same time. Must be positive
+     */
+    public BoundedTestResultCache(int capacity) {
+        this(capacity, CauseRetention.TRIMMED);
+    }
+    
+    /**
+     * Creates a new cache with the given capacity and retention for causes of failures.
+     *
+     * @param capacity       the maximum number of test results stored at the same time. Must be positive
+     * @param causeRetention defines how much of a cause for failure is kept. Must not be {@code null}
+     */
+    public BoundedTestResultCache(int capacity, CauseRetention causeRetention) {
+        Preconditions.check(capacity > 0, "capacity must be positive");
+        
+        this.capacity = capacity;
+        this.causeRetention = Preconditions.notNull(causeRetention);
+        
+        slots = new Long2IntOpenHashMap(capacity);
+        slots.defaultReturnValue(NO_SLOT);
+        pinCounts.defaultReturnValue(0);
+        keys = new long[capacity];
+        causes = new Throwable[capacity];
+        failed = new BitSet(capacity);
+        referenced = new BitSet(capacity);
+    }
+    
+    @Override
+    public boolean containsResultFor(IntArrayWrapper testInput) {
+        Preconditions.notNull(testInput);
+        
+        return slots.containsKey(computeKey(testInput.getArray()));
+    }
+    
+    /**
+     * {@inheritDoc}
+     * If the result is not cached, {@code null} is returned. For failed results, the cause for failure is the one
+     * retained according to the {@link CauseRetention} of this cache, and therefore not necessarily the original one.
+     */
+    @Override
+    public TestResult getResultFor(IntArrayWrapper testInput) {
+        Preconditions.notNull(testInput);
+        
+        final int slot = slots.get(computeKey(testInput.getArray()));
+        if (slot == NO_SLOT) {
+            return null;
+        }
+        
+        referenced.set(slot);
+        
+        return failed.get(slot) ? TestResult.failure(causes[slot]) : TestResult.success();
+    }
+    
+    /**
+     * {@inheritDoc}
+     * If the cache is full, the result of another, non-pinned test input is evicted. If all cached test inputs are
+     * pinned, the result is not cached.
+     */
+    @Override
+    public void addResultFor(IntArrayWrapper testInput, TestResult result) {
+        Preconditions.notNull(testInput);
+        Preconditions.notNull(result);
+        
+        final long key = computeKey(testInput.getArray());
+        int slot = slots.get(key);
+        if (slot == NO_SLOT) {
+            slot = findFreeSlot();
+            if (slot == NO_SLOT) {
+                return;
+            }
+            
+            keys[slot] = key;
+            slots.put(key, slot);
+        }
+        
+        store(slot, result);
+    }
+    
+    private int findFreeSlot() {
+        if (size < capacity) {
+            return size++;
+        }
+        
+        for (int step = 0; step < 2 * capacity; step++) {
+            final int candidate = clockHand;
+            clockHand = (clockHand + 1) % capacity;
+            
+            if (pinCounts.get(keys[candidate]) > 0) {
+                continue;
+            }
+            if (referenced.get(candidate)) {
+                referenced.clear(candidate);
+            } else {
+                slots.remove(keys[candidate]);
+                causes[candidate] = null;
+                
+                return candidate;
+            }
+        }
+        
+        return NO_SLOT;
+    }
+    
+    private void store(int slot, TestResult result) {
+        referenced.set(slot);
+        
+        if (result.isSuccessful()) {
+            failed.clear(slot);
+            causes[slot] = null;
+        } else {
+            failed.set(slot);
+            causes[slot] = causeRetention.retain(result.getCauseForFailure().orElseThrow());
+        }
+    }
+    
+    /**
+     * Prevents the result of the given test input from being evicted until {@link #unpin(IntArrayWrapper)} has been
+     * called the same number of times. A test input can also be pinned before its result is added to the cache.
+     *
+     * @param testInput the test input whose result should stay cached. Must not be {@code null}
+     */
+    @Override
+    public void pin(IntArrayWrapper testInput) {
+        Preconditions.notNull(testInput);
+        
+        final long key = computeKey(testInput.getArray());
+        pinCounts.put(key, pinCounts.get(key) + 1);
+    }
+    
+    /**
+     * Reverts one previous call to {@link #pin(IntArrayWrapper)} for the given test input. If the test input is not
+     * pinned, nothing happens.
+     *
+     * @param testInput the test input whose result may be evicted again. Must not be {@code null}
+     */
+    @Override
+    public void unpin(IntArrayWrapper testInput) {
+        Preconditions.notNull(testInput);
+        
+        final long key = computeKey(testInput.getArray());
+        final int pinCount = pinCounts.get(key);
+        if (pinCount <= 1) {
+            pinCounts.remove(key);
+        } else {
+            pinCounts.put(key, pinCount - 1);
+        }
+    }
+    
+    /**
+     * @return the number of currently cached test results
+     */
+    public int size() {
+        return slots.size();
+    }
+    
+    /**
+     * @return the maximum number of test results which can be cached at the same time
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    /**
+     * Computes the 64-bit key of a test input using FNV-1a over all values followed by a final avalanche step.
+     *
+     * @param testInput the test input to hash. Must not be {@code null}
+     * @return the key of the test input
+     */
+    static long computeKey(int[] testInput) {
+        long hash = FNV_OFFSET_BASIS ^ testInput.length;
+        
+        for (int value : testInput) {
+            hash = (hash ^ (value & 0xffffffffL)) * FNV_PRIME;
+        }
+        
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        
+        return hash;
+    }
+    
+    /**
+     * Defines how much of the cause for failure of a failed test result is kept in a {@link BoundedTestResultCache}.
+     */
+    public enum CauseRetention {
+        
+        /**
+         * The original {@link Throwable} is kept including its stack trace and causes.
+         */
+        FULL {
+            @Override
+            Throwable retain(Throwable causeForFailure) {
+                return causeForFailure;
+            }
+        },
+        
+        /**
+         * Only the class name and message of the original {@link Throwable} are kept. Stack traces and causes are
+         * dropped, so no large exception graphs are retained.
+         */
+        TRIMMED {
+            @Override
+            Throwable retain(Throwable causeForFailure) {
+                return new CachedCauseForFailure(causeForFailure.toString());
+            }
+        },
+        
+        /**
+         * Only the information that a test input failed is kept. All failed results share the same cause.
+         */
+        NONE {
+            @Override
+            Throwable retain(Throwable causeForFailure) {
+                return UNRETAINED_CAUSE;
+            }
+        };
+        
+        abstract Throwable retain(Throwable causeForFailure);
+        
+    }
+    
+    /**
+     * A lightweight replacement for an original cause for failure which does not have a stack trace.
+     */
+    public static final class CachedCauseForFailure extends RuntimeException {
+        
+        private CachedCauseForFailure(String message) {
+            super(message, null, false, false);
+        }
+        
+    }
+    
+}
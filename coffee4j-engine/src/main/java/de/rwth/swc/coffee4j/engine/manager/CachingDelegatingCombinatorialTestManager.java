@@ -7,6 +7,7 @@ import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -74,4 +75,18 @@ public class CachingDelegatingCombinatorialTestManager implements CombinatorialT
         
         return computeTestInputsWithUnknownResults(generator.generateAdditionalTestInputsWithResult(testInput, testResult));
     }
+    
+    @Override
+    public synchronized List<int[]> awaitAdditionalTestInputs() {
+        List<int[]> awaitedTestInputs = generator.awaitAdditionalTestInputs();
+        while (!awaitedTestInputs.isEmpty()) {
+            final List<int[]> testInputsWithUnknownResults = computeTestInputsWithUnknownResults(awaitedTestInputs);
+            if (!testInputsWithUnknownResults.isEmpty()) {
+                return testInputsWithUnknownResults;
+            }
+            awaitedTestInputs = generator.awaitAdditionalTestInputs();
+        }
+        
+        return Collections.emptyList();
+    }
 }
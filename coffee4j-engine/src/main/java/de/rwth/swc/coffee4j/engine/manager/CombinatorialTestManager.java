@@ -4,6 +4,7 @@ import de.rwth.swc.coffee4j.engine.TestResult;
 import de.rwth.swc.coffee4j.engine.conflict.DiagnosisHittingSet;
 import de.rwth.swc.coffee4j.engine.conflict.MissingInvalidTuple;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -35,4 +36,16 @@ public interface CombinatorialTestManager {
      * necessarily have to return any test inputs for each call
      */
     List<int[]> generateAdditionalTestInputsWithResult(int[] testInput, TestResult testResult);
+    
+    /**
+     * Waits for test inputs which are generated asynchronously, e.g. by fault characterization running on another
+     * thread, and which have not yet been returned by {@link #generateAdditionalTestInputsWithResult(int[], TestResult)}.
+     * Front-ends should call this method once they have no more test inputs to execute.
+     *
+     * @return the asynchronously generated test inputs. Only empty if no more such test inputs will be generated
+     * without new test results. By default, an empty list is returned as all test inputs are generated synchronously
+     */
+    default List<int[]> awaitAdditionalTestInputs() {
+        return Collections.emptyList();
+    }
 }
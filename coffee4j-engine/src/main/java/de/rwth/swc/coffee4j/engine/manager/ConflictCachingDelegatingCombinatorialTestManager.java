@@ -0,0 +1,109 @@
+package de.rwth.swc.coffee4j.engine.manager;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionConfiguration;
+import de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionFingerprint;
+import de.rwth.swc.coffee4j.engine.conflict.DiagnosisHittingSet;
+import de.rwth.swc.coffee4j.engine.conflict.MissingInvalidTuple;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link CombinatorialTestManager} which delegates everything to another manager, but caches the results of
+ * conflict detection in a {@link ConflictDetectionResultCache}. If the test model and the configuration of the
+ * conflict detection have the same fingerprint as in an earlier run, the missing invalid tuples and diagnosis hitting
+ * sets of that run are returned instead of detecting them again.
+ * Diagnosis hitting sets are only taken from the cache if they were computed for exactly the cached missing invalid
+ * tuples. Results of searches which were stopped by their budget are not cached, so the budget does not need to be part
+ * of the fingerprint.
+ */
+public class ConflictCachingDelegatingCombinatorialTestManager implements CombinatorialTestManager {
+    
+    private final ConflictDetectionResultCache cache;
+    
+    private final ConflictDetectionConfiguration configuration;
+    
+    private final TestModel testModel;
+    
+    private final CombinatorialTestManager generator;
+    
+    private String fingerprint;
+    
+    /**
+     * @param cache         the cache for the results of conflict detection. Must not be {@code null}
+     * @param configuration the configuration with which the generator detects conflicts. Must not be {@code null}
+     * @param testModel     the model in which the generator detects conflicts. Must not be {@code null}
+     * @param generator     the manager to which everything is delegated. Must not be {@code null}
+     */
+    public ConflictCachingDelegatingCombinatorialTestManager(ConflictDetectionResultCache cache,
+                                                             ConflictDetectionConfiguration configuration,
+                                                             TestModel testModel,
+                                                             CombinatorialTestManager generator) {
+        this.cache = Preconditions.notNull(cache);
+        this.configuration = Preconditions.notNull(configuration);
+        this.testModel = Preconditions.notNull(testModel);
+        this.generator = Preconditions.notNull(generator);
+    }
+    
+    @Override
+    public synchronized List<MissingInvalidTuple> checkConstraintsForConflicts() {
+        final Optional<List<MissingInvalidTuple>> cachedMissingInvalidTuples = cache.getMissingInvalidTuplesFor(getFingerprint());
+        if (cachedMissingInvalidTuples.isPresent()) {
+            return cachedMissingInvalidTuples.get();
+        }
+        
+        final List<MissingInvalidTuple> missingInvalidTuples = generator.checkConstraintsForConflicts();
+        if (missingInvalidTuples.stream().allMatch(missingInvalidTuple -> missingInvalidTuple.getExplanation().isComplete())) {
+            cache.addMissingInvalidTuplesFor(getFingerprint(), missingInvalidTuples);
+        }
+        
+        return missingInvalidTuples;
+    }
+    
+    @Override
+    public synchronized List<DiagnosisHittingSet> computeMinimalDiagnosisHittingSets(List<MissingInvalidTuple> missingInvalidTuples) {
+        final boolean cacheable = cache.getMissingInvalidTuplesFor(getFingerprint())
+                .map(missingInvalidTuples::equals)
+                .orElse(false);
+        
+        if (cacheable) {
+            final Optional<List<DiagnosisHittingSet>> cachedHittingSets = cache.getMinimalDiagnosisHittingSetsFor(getFingerprint());
+            if (cachedHittingSets.isPresent()) {
+                return cachedHittingSets.get();
+            }
+        }
+        
+        final List<DiagnosisHittingSet> hittingSets = generator.computeMinimalDiagnosisHittingSets(missingInvalidTuples);
+        if (cacheable) {
+            cache.addMinimalDiagnosisHittingSetsFor(getFingerprint(), hittingSets);
+        }
+        
+        return hittingSets;
+    }
+    
+    private String getFingerprint() {
+        if (fingerprint == null) {
+            fingerprint = ConflictDetectionFingerprint.compute(testModel, configuration);
+        }
+        
+        return fingerprint;
+    }
+    
+    @Override
+    public List<int[]> generateInitialTests() {
+        return generator.generateInitialTests();
+    }
+    
+    @Override
+    public List<int[]> generateAdditionalTestInputsWithResult(int[] testInput, TestResult testResult) {
+        return generator.generateAdditionalTestInputsWithResult(testInput, testResult);
+    }
+    
+    @Override
+    public List<int[]> awaitAdditionalTestInputs() {
+        return generator.awaitAdditionalTestInputs();
+    }
+}
@@ -0,0 +1,48 @@
+package de.rwth.swc.coffee4j.engine.manager;
+
+import de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionFingerprint;
+import de.rwth.swc.coffee4j.engine.conflict.DiagnosisHittingSet;
+import de.rwth.swc.coffee4j.engine.conflict.MissingInvalidTuple;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A cache for the results of conflict detection to skip the detection if the constraints did not change since it
+ * was last executed. Results are identified by a fingerprint computed by {@link ConflictDetectionFingerprint}.
+ */
+public interface ConflictDetectionResultCache {
+    
+    /**
+     * @param fingerprint the fingerprint of the test model and the configuration. Must not be {@code null}
+     * @return the missing invalid tuples detected for the fingerprint, or an empty {@link Optional} if they are not
+     * in the cache
+     */
+    Optional<List<MissingInvalidTuple>> getMissingInvalidTuplesFor(String fingerprint);
+    
+    /**
+     * Adds the missing invalid tuples detected for a fingerprint, so they may later be retrieved via
+     * {@link #getMissingInvalidTuplesFor(String)}.
+     *
+     * @param fingerprint          the fingerprint of the test model and the configuration. Must not be {@code null}
+     * @param missingInvalidTuples the detected missing invalid tuples. Must not be {@code null}
+     */
+    void addMissingInvalidTuplesFor(String fingerprint, List<MissingInvalidTuple> missingInvalidTuples);
+    
+    /**
+     * @param fingerprint the fingerprint of the test model and the configuration. Must not be {@code null}
+     * @return the minimal diagnosis hitting sets computed for the missing invalid tuples of the fingerprint, or an
+     * empty {@link Optional} if they are not in the cache
+     */
+    Optional<List<DiagnosisHittingSet>> getMinimalDiagnosisHittingSetsFor(String fingerprint);
+    
+    /**
+     * Adds the minimal diagnosis hitting sets computed for the missing invalid tuples of a fingerprint, so they may
+     * later be retrieved via {@link #getMinimalDiagnosisHittingSetsFor(String)}.
+     *
+     * @param fingerprint the fingerprint of the test model and the configuration. Must not be {@code null}
+     * @param hittingSets the computed minimal diagnosis hitting sets. Must not be {@code null}
+     */
+    void addMinimalDiagnosisHittingSetsFor(String fingerprint, List<DiagnosisHittingSet> hittingSets);
+    
+}
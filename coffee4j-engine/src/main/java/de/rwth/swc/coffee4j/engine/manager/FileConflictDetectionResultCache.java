@@ -0,0 +1,136 @@
+package de.rwth.swc.coffee4j.engine.manager;
+
+import de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionResultFile;
+import de.rwth.swc.coffee4j.engine.conflict.DiagnosisHittingSet;
+import de.rwth.swc.coffee4j.engine.conflict.MissingInvalidTuple;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores the results of conflict detection in a directory, so they can be reused by later runs. Each fingerprint has
+ * one file for its missing invalid tuples and one for its diagnosis hitting sets, both in the format of
+ * {@link ConflictDetectionResultFile}. Files are first written to a temporary file and then moved, so that concurrent
+ * runs never read a partially written file. A file which cannot be read is deleted and treated as a miss.
+ */
+public class FileConflictDetectionResultCache implements ConflictDetectionResultCache {
+    
+    private static final String MISSING_INVALID_TUPLES_SUFFIX = ".missing-invalid-tuples";
+    private static final String HITTING_SETS_SUFFIX = ".diagnosis-hitting-sets";
+    
+    private final Path directory;
+    
+    /**
+     * @param directory the directory containing the files. It is created when the first result is added. Must not be
+     *                  {@code null}
+     */
+    public FileConflictDetectionResultCache(Path directory) {
+        this.directory = Preconditions.notNull(directory);
+    }
+    
+    @Override
+    public Optional<List<MissingInvalidTuple>> getMissingInvalidTuplesFor(String fingerprint) {
+        return read(resolve(fingerprint, MISSING_INVALID_TUPLES_SUFFIX), ConflictDetectionResultFile::readMissingInvalidTuples);
+    }
+    
+    @Override
+    public void addMissingInvalidTuplesFor(String fingerprint, List<MissingInvalidTuple> missingInvalidTuples) {
+        Preconditions.notNull(missingInvalidTuples);
+        
+        final Path file = resolve(fingerprint, MISSING_INVALID_TUPLES_SUFFIX);
+        try {
+            write(file, temporaryFile -> ConflictDetectionResultFile.writeMissingInvalidTuples(temporaryFile, missingInvalidTuples));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write cached missing invalid tuples to " + file, e);
+        }
+    }
+    
+    @Override
+    public Optional<List<DiagnosisHittingSet>> getMinimalDiagnosisHittingSetsFor(String fingerprint) {
+        return read(resolve(fingerprint, HITTING_SETS_SUFFIX), ConflictDetectionResultFile::readDiagnosisHittingSets);
+    }
+    
+    @Override
+    public void addMinimalDiagnosisHittingSetsFor(String fingerprint, List<DiagnosisHittingSet> hittingSets) {
+        Preconditions.notNull(hittingSets);
+        
+        final Path file = resolve(fingerprint, HITTING_SETS_SUFFIX);
+        try {
+            write(file, temporaryFile -> ConflictDetectionResultFile.writeDiagnosisHittingSets(temporaryFile, hittingSets));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write cached diagnosis hitting sets to " + file, e);
+        }
+    }
+    
+    /* a file which cannot be read, for example because it is truncated or has an old format, is treated as a miss and
+       deleted, so that the result is computed and written again */
+    private static <T> Optional<T> read(Path file, ResultReader<T> reader) {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        
+        try {
+            return Optional.of(reader.read(file));
+        } catch (IOException e) {
+            deleteIfPossible(file);
+            return Optional.empty();
+        }
+    }
+    
+    private void write(Path file, ResultWriter writer) throws IOException {
+        final Path temporaryFile = createTemporaryFile();
+        boolean moved = false;
+        
+        try {
+            writer.write(temporaryFile);
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        } finally {
+            if (!moved) {
+                deleteIfPossible(temporaryFile);
+            }
+        }
+    }
+    
+    private static void deleteIfPossible(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            /* the cache stays usable, since the file is replaced by the next write */
+        }
+    }
+    
+    private Path resolve(String fingerprint, String suffix) {
+        Preconditions.notNull(fingerprint);
+        Preconditions.check(fingerprint.matches("[0-9a-zA-Z]+"), "fingerprint must be alphanumeric");
+        
+        return directory.resolve(fingerprint + suffix);
+    }
+    
+    private Path createTemporaryFile() throws IOException {
+        Files.createDirectories(directory);
+        
+        return Files.createTempFile(directory, "conflicts", ".tmp");
+    }
+    
+    @FunctionalInterface
+    private interface ResultReader<T> {
+        
+        T read(Path file) throws IOException;
+        
+    }
+    
+    @FunctionalInterface
+    private interface ResultWriter {
+        
+        void write(Path file) throws IOException;
+        
+    }
+    
+}
@@ -0,0 +1,50 @@
+package de.rwth.swc.coffee4j.engine.manager;
+
+import de.rwth.swc.coffee4j.engine.conflict.DiagnosisHittingSet;
+import de.rwth.swc.coffee4j.engine.conflict.MissingInvalidTuple;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores the results of conflict detection in hash maps. The cache can be used by multiple threads, so one instance
+ * can be shared by all combinatorial tests running in the same JVM.
+ */
+public class HashMapConflictDetectionResultCache implements ConflictDetectionResultCache {
+    
+    private final Map<String, List<MissingInvalidTuple>> missingInvalidTuples = new ConcurrentHashMap<>();
+    
+    private final Map<String, List<DiagnosisHittingSet>> hittingSets = new ConcurrentHashMap<>();
+    
+    @Override
+    public Optional<List<MissingInvalidTuple>> getMissingInvalidTuplesFor(String fingerprint) {
+        return Optional.ofNullable(missingInvalidTuples.get(Preconditions.notNull(fingerprint)));
+    }
+    
+    @Override
+    public void addMissingInvalidTuplesFor(String fingerprint, List<MissingInvalidTuple> missingInvalidTuples) {
+        Preconditions.notNull(fingerprint);
+        Preconditions.notNull(missingInvalidTuples);
+        
+        this.missingInvalidTuples.put(fingerprint, Collections.unmodifiableList(new ArrayList<>(missingInvalidTuples)));
+    }
+    
+    @Override
+    public Optional<List<DiagnosisHittingSet>> getMinimalDiagnosisHittingSetsFor(String fingerprint) {
+        return Optional.ofNullable(hittingSets.get(Preconditions.notNull(fingerprint)));
+    }
+    
+    @Override
+    public void addMinimalDiagnosisHittingSetsFor(String fingerprint, List<DiagnosisHittingSet> hittingSets) {
+        Preconditions.notNull(fingerprint);
+        Preconditions.notNull(hittingSets);
+        
+        this.hittingSets.put(fingerprint, Collections.unmodifiableList(new ArrayList<>(hittingSets)));
+    }
+    
+}
@@ -0,0 +1,87 @@
+package de.rwth.swc.coffee4j.engine.manager;
+
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.conflict.DiagnosisHittingSet;
+import de.rwth.swc.coffee4j.engine.conflict.MissingInvalidTuple;
+import de.rwth.swc.coffee4j.engine.sharding.Shard;
+import de.rwth.swc.coffee4j.engine.sharding.ShardResultFile;
+import de.rwth.swc.coffee4j.engine.sharding.ShardingConfiguration;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A {@link CombinatorialTestManager} which delegates the generation to another manager but only returns the initial
+ * test inputs belonging to the configured {@link Shard}. All test results are appended to the result file of the
+ * {@link ShardingConfiguration} if one is given.
+ * <p>
+ * Since the results of the other shards are not known, test input groups of the delegate never receive all
+ * of their results, so fault characterization does not start. Instead, the result files of all shards can be merged
+ * via {@link ShardResultFile#read(java.util.Collection)} and given to a fault characterization algorithm. This
+ * requires the delegate to generate the same initial test inputs in every shard, so generators using random numbers
+ * have to be created with the same seeded {@link de.rwth.swc.coffee4j.engine.util.RandomSource} in every shard.
+ */
+public class ShardingDelegatingCombinatorialTestManager implements CombinatorialTestManager {
+    
+    private final ShardingConfiguration configuration;
+    
+    private final CombinatorialTestManager generator;
+    
+    public ShardingDelegatingCombinatorialTestManager(ShardingConfiguration configuration, CombinatorialTestManager generator) {
+        this.configuration = Preconditions.notNull(configuration);
+        this.generator = Preconditions.notNull(generator);
+    }
+    
+    @Override
+    public List<MissingInvalidTuple> checkConstraintsForConflicts() {
+        return generator.checkConstraintsForConflicts();
+    }
+    
+    @Override
+    public List<DiagnosisHittingSet> computeMinimalDiagnosisHittingSets(List<MissingInvalidTuple> missingInvalidTuples) {
+        return generator.computeMinimalDiagnosisHittingSets(missingInvalidTuples);
+    }
+    
+    @Override
+    public synchronized List<int[]> generateInitialTests() {
+        if (configuration.getResultFile().isPresent()) {
+            createResultFile(configuration.getResultFile().get());
+        }
+        
+        return configuration.getShard().select(generator.generateInitialTests(), configuration.getCostEstimator());
+    }
+    
+    @Override
+    public synchronized List<int[]> generateAdditionalTestInputsWithResult(int[] testInput, TestResult testResult) {
+        if (configuration.getResultFile().isPresent()) {
+            writeResult(configuration.getResultFile().get(), testInput, testResult);
+        }
+        
+        return generator.generateAdditionalTestInputsWithResult(testInput, testResult);
+    }
+    
+    @Override
+    public synchronized List<int[]> awaitAdditionalTestInputs() {
+        return generator.awaitAdditionalTestInputs();
+    }
+    
+    private static void createResultFile(Path resultFile) {
+        try {
+            ShardResultFile.create(resultFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create " + resultFile, e);
+        }
+    }
+    
+    private static void writeResult(Path resultFile, int[] testInput, TestResult testResult) {
+        try {
+            ShardResultFile.append(resultFile, testInput, testResult);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write result to " + resultFile, e);
+        }
+    }
+    
+}
@@ -35,4 +35,25 @@ public interface TestResultCache {
      */
     void addResultFor(IntArrayWrapper testInput, TestResult result);
     
+    /**
+     * Marks the result of the given test input as still needed, for example because a fault characterization
+     * algorithm which requested it is still active. A cache which evicts results should keep it until
+     * {@link #unpin(IntArrayWrapper)} has been called the same number of times. By default, nothing happens since
+     * a cache without eviction never loses results.
+     *
+     * @param testInput the test input whose result is still needed. Must not be {@code null}
+     */
+    default void pin(IntArrayWrapper testInput) {
+        //nothing to do for caches which never evict results
+    }
+    
+    /**
+     * Reverts one previous call to {@link #pin(IntArrayWrapper)} for the given test input.
+     *
+     * @param testInput the test input whose result is not needed anymore. Must not be {@code null}
+     */
+    default void unpin(IntArrayWrapper testInput) {
+        //nothing to do for caches which never evict results
+    }
+    
 }
@@ -0,0 +1,216 @@
+package de.rwth.swc.coffee4j.engine.prioritization;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.util.Combinator;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+
+/**
+ * Orders test inputs greedily by the number of t-value-combinations they cover which are not already covered by
+ * previously ordered test inputs (the coverage gain). Test inputs covering many new combinations are more likely
+ * to trigger a failure early, so the time until the first failure is reduced.
+ * <p>
+ * Optionally, a {@link FailureHistory} can be supplied. Then the failure likelihood of each test input, multiplied
+ * by a weight, is added to its normalized coverage gain. All results received via
+ * {@link #testResultReceived(int[], TestResult)} are recorded in the history.
+ * <p>
+ * Since the coverage gain of a test input can only decrease while other test inputs are selected, the greedy
+ * selection is done lazily: the gain of a test input is only recomputed when it reaches the top of the queue.
+ */
+public class CoverageGainDensityPrioritizer implements TestInputPrioritizer {
+    
+    private final FailureHistory failureHistory;
+    private final double failureHistoryWeight;
+    
+    /**
+     * Creates a new prioritizer which only considers the coverage gain.
+     */
+    public CoverageGainDensityPrioritizer() {
+        this(null, 0);
+    }
+    
+    /**
+     * Creates a new prioritizer which considers the coverage gain and the failure likelihood according to the given
+     * history.
+     *
+     * @param failureHistory       the history of previous executions. Can be {@code null} to only consider the
+     *                             coverage gain
+     * @param failureHistoryWeight how much the failure likelihood is weighted compared to the normalized coverage
+     *                             gain (which is between zero and one). Must not be negative
+     */
+    public CoverageGainDensityPrioritizer(FailureHistory failureHistory, double failureHistoryWeight) {
+        Preconditions.check(failureHistoryWeight >= 0);
+        
+        this.failureHistory = failureHistory;
+        this.failureHistoryWeight = failureHistoryWeight;
+    }
+    
+    @Override
+    public List<int[]> prioritize(List<int[]> testInputs, TestModel model) {
+        Preconditions.notNull(testInputs);
+        Preconditions.notNull(model);
+        
+        if (testInputs.size() <= 1) {
+            return new ArrayList<>(testInputs);
+        }
+        
+        final CombinationEncoder encoder = new CombinationEncoder(model);
+        final long[][] combinations = testInputs.stream().map(encoder::encode).toArray(long[][]::new);
+        final double[] failureLikelihoods = computeFailureLikelihoods(testInputs);
+        final int maximalGain = Math.max(1, encoder.getNumberOfParameterCombinations());
+        
+        final PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator
+                .comparingDouble((Candidate candidate) -> -candidate.score)
+                .thenComparingInt(candidate -> candidate.index));
+        for (int i = 0; i < testInputs.size(); i++) {
+            queue.add(new Candidate(i, (double) combinations[i].length / maximalGain + failureLikelihoods[i]));
+        }
+        
+        final LongSet coveredCombinations = new LongOpenHashSet();
+        final List<int[]> prioritizedTestInputs = new ArrayList<>(testInputs.size());
+        while (!queue.isEmpty()) {
+            final Candidate candidate = queue.poll();
+            final double score = (double) computeGain(combinations[candidate.index], coveredCombinations) / maximalGain
+                    + failureLikelihoods[candidate.index];
+            
+            if (queue.isEmpty() || score >= queue.peek().score) {
+                for (long combination : combinations[candidate.index]) {
+                    coveredCombinations.add(combination);
+                }
+                prioritizedTestInputs.add(testInputs.get(candidate.index));
+            } else {
+                queue.add(new Candidate(candidate.index, score));
+            }
+        }
+        
+        return prioritizedTestInputs;
+    }
+    
+    private double[] computeFailureLikelihoods(List<int[]> testInputs) {
+        final double[] failureLikelihoods = new double[testInputs.size()];
+        
+        if (failureHistory != null && failureHistoryWeight > 0) {
+            for (int i = 0; i < testInputs.size(); i++) {
+                failureLikelihoods[i] = failureHistoryWeight * failureHistory.computeFailureLikelihood(testInputs.get(i));
+            }
+        }
+        
+        return failureLikelihoods;
+    }
+    
+    private static int computeGain(long[] combinations, LongSet coveredCombinations) {
+        int gain = 0;
+        
+        for (long combination : combinations) {
+            if (!coveredCombinations.contains(combination)) {
+                gain++;
+            }
+        }
+        
+        return gain;
+    }
+    
+    @Override
+    public void testResultReceived(int[] testInput, TestResult testResult) {
+        if (failureHistory != null) {
+            failureHistory.record(testInput, testResult);
+        }
+    }
+    
+    private static final class Candidate {
+        
+        private final int index;
+        private final double score;
+        
+        private Candidate(int index, double score) {
+            this.index = index;
+            this.score = score;
+        }
+        
+    }
+    
+    /**
+     * Encodes every t-value-combination of a model into a unique long using a mixed-radix number per parameter
+     * combination and an offset for each parameter combination.
+     */
+    private static final class CombinationEncoder {
+        
+        private final int[][] parameterCombinations;
+        private final long[][] radices;
+        private final long[] offsets;
+        
+        private CombinationEncoder(TestModel model) {
+            final int[] parameters = IntStream.range(0, model.getNumberOfParameters()).toArray();
+            final List<IntSet> combinations = Combinator.computeParameterCombinations(parameters, model.getStrength());
+            
+            parameterCombinations = new int[combinations.size()][];
+            radices = new long[combinations.size()][];
+            offsets = new long[combinations.size()];
+            
+            long offset = 0;
+            for (int i = 0; i < combinations.size(); i++) {
+                parameterCombinations[i] = combinations.get(i).toIntArray();
+                radices[i] = new long[parameterCombinations[i].length];
+                offsets[i] = offset;
+                
+                long radix = 1;
+                for (int j = 0; j < parameterCombinations[i].length; j++) {
+                    radices[i][j] = radix;
+                    radix *= model.getSizeOfParameter(parameterCombinations[i][j]);
+                }
+                offset += radix;
+            }
+        }
+        
+        private int getNumberOfParameterCombinations() {
+            return parameterCombinations.length;
+        }
+        
+        private long[] encode(int[] testInput) {
+            final LongList encodedCombinations = new LongArrayList(parameterCombinations.length);
+            
+            for (int i = 0; i < parameterCombinations.length; i++) {
+                if (containsAllParameters(testInput, parameterCombinations[i])) {
+                    encodedCombinations.add(encode(testInput, i));
+                }
+            }
+            
+            return encodedCombinations.toLongArray();
+        }
+        
+        private long encode(int[] testInput, int parameterCombination) {
+            long encodedCombination = offsets[parameterCombination];
+            
+            for (int j = 0; j < parameterCombinations[parameterCombination].length; j++) {
+                encodedCombination += testInput[parameterCombinations[parameterCombination][j]] * radices[parameterCombination][j];
+            }
+            
+            return encodedCombination;
+        }
+        
+        private static boolean containsAllParameters(int[] testInput, int[] parameters) {
+            for (int parameter : parameters) {
+                if (testInput[parameter] == NO_VALUE) {
+                    return false;
+                }
+            }
+            
+            return true;
+        }
+        
+    }
+    
+}
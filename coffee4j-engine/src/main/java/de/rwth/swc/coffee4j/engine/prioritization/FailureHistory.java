@@ -0,0 +1,157 @@
+package de.rwth.swc.coffee4j.engine.prioritization;
+
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+
+/**
+ * Counts how often each (parameter, value) pair was executed and how often it was part of a failed test input. From
+ * these counts, a failure rate per value and a failure likelihood per test input can be derived. Since a failure
+ * cannot be attributed to a single value, every value of a failed test input is counted as failed.
+ * <p>
+ * The history can be written to and read from a file so that it survives multiple runs of the same combinatorial
+ * test. All methods are thread-safe.
+ */
+public class FailureHistory {
+    
+    private final Long2IntMap executions = new Long2IntOpenHashMap();
+    private final Long2IntMap failures = new Long2IntOpenHashMap();
+    
+    /**
+     * Records the result of one executed test input.
+     *
+     * @param testInput  the executed test input. Must not be {@code null}
+     * @param testResult the result of the test input. Must not be {@code null}
+     */
+    public synchronized void record(int[] testInput, TestResult testResult) {
+        Preconditions.notNull(testInput);
+        Preconditions.notNull(testResult);
+        
+        for (int parameter = 0; parameter < testInput.length; parameter++) {
+            if (testInput[parameter] != NO_VALUE) {
+                record(parameter, testInput[parameter], 1, testResult.isUnsuccessful() ? 1 : 0);
+            }
+        }
+    }
+    
+    private void record(int parameter, int value, int numberOfExecutions, int numberOfFailures) {
+        final long key = key(parameter, value);
+        
+        executions.put(key, executions.get(key) + numberOfExecutions);
+        failures.put(key, failures.get(key) + numberOfFailures);
+    }
+    
+    private static long key(int parameter, int value) {
+        return ((long) parameter << 32) | (value & 0xffffffffL);
+    }
+    
+    /**
+     * @param parameter the index of a parameter
+     * @param value     the index of a value of the parameter
+     * @return the fraction of executed test inputs containing the value which failed, or zero if no such test input
+     * was executed
+     */
+    public synchronized double getFailureRate(int parameter, int value) {
+        final long key = key(parameter, value);
+        final int numberOfExecutions = executions.get(key);
+        
+        return numberOfExecutions == 0 ? 0 : (double) failures.get(key) / numberOfExecutions;
+    }
+    
+    /**
+     * Estimates how likely the given test input fails assuming that the values fail independently of each other.
+     *
+     * @param testInput the test input for which the likelihood is computed. Must not be {@code null}
+     * @return a value between zero and one (inclusive). Zero if none of the values ever appeared in a failed test input
+     */
+    public synchronized double computeFailureLikelihood(int[] testInput) {
+        Preconditions.notNull(testInput);
+        
+        double successLikelihood = 1;
+        for (int parameter = 0; parameter < testInput.length; parameter++) {
+            if (testInput[parameter] != NO_VALUE) {
+                successLikelihood *= 1 - getFailureRate(parameter, testInput[parameter]);
+            }
+        }
+        
+        return 1 - successLikelihood;
+    }
+    
+    /**
+     * @return whether any result has been recorded
+     */
+    public synchronized boolean isEmpty() {
+        return executions.isEmpty();
+    }
+    
+    /**
+     * Writes the history to the given file. Each line contains the parameter, value, number of executions and number
+     * of failures separated by a space.
+     *
+     * @param file the file to which the history is written. Existing content is replaced. Must not be {@code null}
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void writeTo(Path file) throws IOException {
+        Preconditions.notNull(file);
+        
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Long2IntMap.Entry entry : executions.long2IntEntrySet()) {
+                final long key = entry.getLongKey();
+                writer.write((int) (key >>> 32) + " " + (int) key + " " + entry.getIntValue() + " " + failures.get(key));
+                writer.newLine();
+            }
+        }
+    }
+    
+    /**
+     * Reads a history previously written via {@link #writeTo(Path)}. If the file does not exist, an empty history
+     * is returned.
+     *
+     * @param file the file from which the history is read. Must not be {@code null}
+     * @return the history contained in the file
+     * @throws IOException if the file exists but cannot be read or is malformed
+     */
+    public static FailureHistory readFrom(Path file) throws IOException {
+        Preconditions.notNull(file);
+        
+        final FailureHistory history = new FailureHistory();
+        if (!Files.exists(file)) {
+            return history;
+        }
+        
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    history.readLine(line);
+                }
+            }
+        }
+        
+        return history;
+    }
+    
+    private void readLine(String line) throws IOException {
+        final String[] parts = line.trim().split(" ");
+        if (parts.length != 4) {
+            throw new IOException("Malformed failure history line: " + line);
+        }
+        
+        try {
+            record(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed failure history line: " + line, e);
+        }
+    }
+    
+}
@@ -0,0 +1,35 @@
+package de.rwth.swc.coffee4j.engine.prioritization;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TestResult;
+
+import java.util.List;
+
+/**
+ * Defines a stage between the generation and the execution of initial test inputs which reorders them. Since the
+ * execution order does not change which test inputs are executed, a good order can reduce the time until the first
+ * failure is found and fault characterization can start.
+ */
+public interface TestInputPrioritizer {
+    
+    /**
+     * Reorders the given test inputs. No test input may be added or removed.
+     *
+     * @param testInputs the test inputs in the order in which they were generated. Must not be {@code null}
+     * @param model      the model for which the test inputs were generated. Must not be {@code null}
+     * @return the same test inputs in the order in which they should be executed
+     */
+    List<int[]> prioritize(List<int[]> testInputs, TestModel model);
+    
+    /**
+     * Called whenever a result for any test input is known. This allows prioritizers to learn from previous
+     * executions. The default implementation does nothing.
+     *
+     * @param testInput  the executed test input
+     * @param testResult the result of the test input
+     */
+    default void testResultReceived(int[] testInput, TestResult testResult) {
+        //empty by default as most prioritizers do not learn from results
+    }
+    
+}
@@ -0,0 +1,116 @@
+package de.rwth.swc.coffee4j.engine.sharding;
+
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Estimates the cost of a test input as a base cost plus an additional cost for each of its values. This models
+ * parameter values which make a test slower, for example a browser which takes longer to start or a large input file.
+ * Values without an explicit cost do not add anything, so without any costs all test inputs are equally expensive.
+ * <p>
+ * The costs can be given as text via {@link #parse(String)}. The text consists of entries separated by semicolons,
+ * each of which contains a parameter index, a colon and the costs of the values of this parameter in their order,
+ * separated by commas. For example, {@code "0:5,1;2:0,0,3"} assigns the costs 5 and 1 to the first two values of
+ * parameter 0 and the cost 3 to the third value of parameter 2.
+ */
+public final class ParameterValueCostEstimator implements TestInputCostEstimator {
+    
+    private static final double[] NO_COSTS = new double[0];
+    
+    private final double baseCost;
+    private final double[][] valueCosts;
+    
+    /**
+     * @param baseCost   the cost of every test input regardless of its values. Must not be negative
+     * @param valueCosts the additional costs indexed by parameter and value. Rows can be shorter than the number of
+     *                   values of a parameter or {@code null}, in which case the missing values do not add any cost.
+     *                   Must not be {@code null} nor contain negative costs
+     */
+    public ParameterValueCostEstimator(double baseCost, double[][] valueCosts) {
+        Preconditions.check(baseCost >= 0, "base cost must not be negative");
+        Preconditions.notNull(valueCosts);
+        
+        this.baseCost = baseCost;
+        this.valueCosts = new double[valueCosts.length][];
+        
+        for (int parameter = 0; parameter < valueCosts.length; parameter++) {
+            final double[] costs = valueCosts[parameter] == null ? NO_COSTS : valueCosts[parameter].clone();
+            Preconditions.check(Arrays.stream(costs).allMatch(cost -> cost >= 0), "costs must not be negative");
+            
+            this.valueCosts[parameter] = costs;
+        }
+    }
+    
+    /**
+     * Creates an estimator with a base cost of one and the value costs given in the textual format described in the
+     * class documentation.
+     *
+     * @param text the costs of all values. Must not be {@code null}
+     * @return an estimator using the given costs
+     * @throws IllegalArgumentException if the text is malformed
+     */
+    public static ParameterValueCostEstimator parse(String text) {
+        Preconditions.notNull(text);
+        
+        double[][] valueCosts = new double[0][];
+        for (String entry : text.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            
+            final String[] parts = entry.split(":", -1);
+            Preconditions.check(parts.length == 2, "malformed cost entry " + entry);
+            
+            final int parameter = Integer.parseInt(parts[0].trim());
+            Preconditions.check(parameter >= 0, "parameter index must not be negative in " + entry);
+            
+            if (parameter >= valueCosts.length) {
+                valueCosts = Arrays.copyOf(valueCosts, parameter + 1);
+            }
+            valueCosts[parameter] = Arrays.stream(parts[1].split(",")).mapToDouble(cost -> Double.parseDouble(cost.trim())).toArray();
+        }
+        
+        return new ParameterValueCostEstimator(1, valueCosts);
+    }
+    
+    @Override
+    public double estimateCost(int[] testInput) {
+        double cost = baseCost;
+        
+        for (int parameter = 0; parameter < testInput.length && parameter < valueCosts.length; parameter++) {
+            final int value = testInput[parameter];
+            
+            if (value >= 0 && value < valueCosts[parameter].length) {
+                cost += valueCosts[parameter][value];
+            }
+        }
+        
+        return cost;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        
+        final ParameterValueCostEstimator other = (ParameterValueCostEstimator) o;
+        return Double.compare(baseCost, other.baseCost) == 0 && Arrays.deepEquals(valueCosts, other.valueCosts);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(baseCost, Arrays.deepHashCode(valueCosts));
+    }
+    
+    @Override
+    public String toString() {
+        return "ParameterValueCostEstimator{" + "baseCost=" + baseCost + ", valueCosts=" + Arrays.deepToString(valueCosts) + '}';
+    }
+    
+}
@@ -0,0 +1,121 @@
+package de.rwth.swc.coffee4j.engine.sharding;
+
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * One of multiple disjoint slices of a combinatorial test suite. If all workers generate the same test suite, each
+ * worker can execute only the test inputs of its own shard, and together all shards execute every test input
+ * exactly once.
+ * <p>
+ * Test inputs are assigned to shards via the longest-processing-time-first rule: they are sorted by decreasing
+ * estimated cost and each one is assigned to the shard with the currently lowest total cost. Ties are broken by
+ * the original position of the test input and the shard index, so the assignment only depends on the test suite and
+ * the cost estimates.
+ */
+public final class Shard {
+    
+    private final int index;
+    private final int count;
+    
+    /**
+     * @param index the index of this shard. Must be at least zero and less than the count
+     * @param count the total number of shards. Must be positive
+     */
+    public Shard(int index, int count) {
+        Preconditions.check(count > 0, "count must be positive");
+        Preconditions.check(index >= 0 && index < count, "index must be between zero (inclusive) and count (exclusive)");
+        
+        this.index = index;
+        this.count = count;
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    /**
+     * Selects all test inputs which belong to this shard.
+     *
+     * @param testInputs    the complete test suite. Must be the same for all shards. Must not be {@code null}
+     * @param costEstimator estimates the cost of each test input. Must return the same estimate in all shards. Must not
+     *                      be {@code null}
+     * @return all test inputs assigned to this shard in their original order
+     */
+    public List<int[]> select(List<int[]> testInputs, TestInputCostEstimator costEstimator) {
+        Preconditions.notNull(testInputs);
+        Preconditions.notNull(costEstimator);
+        
+        if (count == 1) {
+            return new ArrayList<>(testInputs);
+        }
+        
+        final double[] costs = testInputs.stream().mapToDouble(costEstimator::estimateCost).toArray();
+        final List<Integer> order = IntStream.range(0, testInputs.size()).boxed()
+                .sorted(Comparator.comparingDouble((Integer testInput) -> -costs[testInput]).thenComparingInt(testInput -> testInput))
+                .collect(Collectors.toList());
+        
+        final double[] loads = new double[count];
+        final boolean[] selected = new boolean[testInputs.size()];
+        for (int testInput : order) {
+            final int shard = findLeastLoadedShard(loads);
+            loads[shard] += costs[testInput];
+            selected[testInput] = shard == index;
+        }
+        
+        final List<int[]> selectedTestInputs = new ArrayList<>();
+        for (int i = 0; i < testInputs.size(); i++) {
+            if (selected[i]) {
+                selectedTestInputs.add(testInputs.get(i));
+            }
+        }
+        
+        return selectedTestInputs;
+    }
+    
+    private static int findLeastLoadedShard(double[] loads) {
+        int leastLoadedShard = 0;
+        
+        for (int shard = 1; shard < loads.length; shard++) {
+            if (loads[shard] < loads[leastLoadedShard]) {
+                leastLoadedShard = shard;
+            }
+        }
+        
+        return leastLoadedShard;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        
+        final Shard other = (Shard) o;
+        return index == other.index && count == other.count;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, count);
+    }
+    
+    @Override
+    public String toString() {
+        return "Shard{" + "index=" + index + ", count=" + count + '}';
+    }
+    
+}
@@ -0,0 +1,156 @@
+package de.rwth.swc.coffee4j.engine.sharding;
+
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads and writes the test results of one {@link Shard}. Each line of a file contains one test input (its values
+ * separated by commas), followed by a tab and either {@code SUCCESS} or {@code FAILURE}. For failures, another tab and
+ * the escaped string representation of the cause for failure follow.
+ * <p>
+ * After all shards have finished, their files can be merged via {@link #read(Collection)} and the combined results
+ * can be given to a {@link FaultCharacterizationAlgorithm}.
+ */
+public final class ShardResultFile {
+    
+    private static final String SEPARATOR = "\t";
+    private static final String SUCCESS = "SUCCESS";
+    private static final String FAILURE = "FAILURE";
+    
+    private ShardResultFile() {
+    }
+    
+    /**
+     * Creates an empty result file. If the file already exists, for example from an earlier run, its content is
+     * removed, so that old results cannot be mistaken for results of the current run.
+     *
+     * @param file the result file of a shard. Must not be {@code null}
+     * @throws IOException if the file cannot be written
+     */
+    public static void create(Path file) throws IOException {
+        Preconditions.notNull(file);
+        
+        Files.write(file, Collections.emptyList(), StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Appends one test result to the given file. The file is created if it does not exist yet.
+     *
+     * @param file       the result file of a shard. Must not be {@code null}
+     * @param testInput  the executed test input. Must not be {@code null}
+     * @param testResult the result of the test input. Must not be {@code null}
+     * @throws IOException if the file cannot be written
+     */
+    public static void append(Path file, int[] testInput, TestResult testResult) throws IOException {
+        Preconditions.notNull(file);
+        Preconditions.notNull(testInput);
+        Preconditions.notNull(testResult);
+        
+        Files.write(file, Collections.singletonList(toLine(testInput, testResult)), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    
+    private static String toLine(int[] testInput, TestResult testResult) {
+        final String values = Arrays.stream(testInput).mapToObj(Integer::toString).collect(Collectors.joining(","));
+        
+        return testResult.getCauseForFailure()
+                .map(cause -> values + SEPARATOR + FAILURE + SEPARATOR + escape(cause.toString()))
+                .orElse(values + SEPARATOR + SUCCESS);
+    }
+    
+    /**
+     * Reads and merges the results of all given files. If the same test input appears multiple times, the last
+     * result is used, since it is the most recent one. Causes for failure are represented by {@link RecordedCauseForFailure} instances.
+     *
+     * @param files the result files of all shards. Must not be, nor contain {@code null}
+     * @return all test results in the order in which the test inputs first appear in the files
+     * @throws IOException if any file cannot be read or is malformed
+     */
+    public static Map<int[], TestResult> read(Collection<Path> files) throws IOException {
+        Preconditions.notNull(files);
+        Preconditions.doesNotContainNull(files);
+        
+        final Map<IntArrayWrapper, TestResult> testResults = new LinkedHashMap<>();
+        for (Path file : files) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        readLine(line, testResults);
+                    }
+                }
+            }
+        }
+        
+        final Map<int[], TestResult> unwrappedTestResults = new LinkedHashMap<>();
+        testResults.forEach((testInput, testResult) -> unwrappedTestResults.put(testInput.getArray(), testResult));
+        
+        return unwrappedTestResults;
+    }
+    
+    private static void readLine(String line, Map<IntArrayWrapper, TestResult> testResults) throws IOException {
+        final String[] parts = line.split(SEPARATOR, 3);
+        
+        try {
+            final int[] testInput = parts[0].isEmpty() ? new int[0] : Arrays.stream(parts[0].split(",")).mapToInt(Integer::parseInt).toArray();
+            
+            if (parts.length == 2 && SUCCESS.equals(parts[1])) {
+                testResults.put(IntArrayWrapper.wrap(testInput), TestResult.success());
+            } else if (parts.length == 3 && FAILURE.equals(parts[1])) {
+                testResults.put(IntArrayWrapper.wrap(testInput), TestResult.failure(new RecordedCauseForFailure(unescape(parts[2]))));
+            } else {
+                throw new IOException("Malformed shard result line: " + line);
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed shard result line: " + line, e);
+        }
+    }
+    
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\t", "\\t").replace("\r", "\\r").replace("\n", "\\n");
+    }
+    
+    private static String unescape(String text) {
+        final StringBuilder builder = new StringBuilder(text.length());
+        
+        for (int i = 0; i < text.length(); i++) {
+            final char character = text.charAt(i);
+            if (character == '\\' && i + 1 < text.length()) {
+                final char escaped = text.charAt(++i);
+                builder.append(escaped == 't' ? '\t' : escaped == 'r' ? '\r' : escaped == 'n' ? '\n' : escaped);
+            } else {
+                builder.append(character);
+            }
+        }
+        
+        return builder.toString();
+    }
+    
+    /**
+     * The cause for failure of a test result read from a shard result file. Its message is the string representation
+     * of the original cause. It does not have a stack trace.
+     */
+    public static final class RecordedCauseForFailure extends RuntimeException {
+        
+        private RecordedCauseForFailure(String message) {
+            super(message, null, false, false);
+        }
+        
+    }
+    
+}
@@ -0,0 +1,78 @@
+package de.rwth.swc.coffee4j.engine.sharding;
+
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * All configuration needed to execute only one {@link Shard} of a combinatorial test suite.
+ */
+public final class ShardingConfiguration {
+    
+    private final Shard shard;
+    private final TestInputCostEstimator costEstimator;
+    private final Path resultFile;
+    
+    /**
+     * Creates a new configuration which considers all test inputs equally expensive and does not write results.
+     *
+     * @param shard the shard which should be executed. Must not be {@code null}
+     */
+    public ShardingConfiguration(Shard shard) {
+        this(shard, TestInputCostEstimator.UNIFORM, null);
+    }
+    
+    /**
+     * @param shard         the shard which should be executed. Must not be {@code null}
+     * @param costEstimator used to balance the shards. Must not be {@code null}
+     * @param resultFile    the file to which all test results of the shard are appended using
+     *                      {@link ShardResultFile}. Can be {@code null} if results should not be written
+     */
+    public ShardingConfiguration(Shard shard, TestInputCostEstimator costEstimator, Path resultFile) {
+        this.shard = Preconditions.notNull(shard);
+        this.costEstimator = Preconditions.notNull(costEstimator);
+        this.resultFile = resultFile;
+    }
+    
+    public Shard getShard() {
+        return shard;
+    }
+    
+    public TestInputCostEstimator getCostEstimator() {
+        return costEstimator;
+    }
+    
+    /**
+     * @return an {@link Optional} containing the result file if one was given in the constructor, or an empty one
+     * otherwise
+     */
+    public Optional<Path> getResultFile() {
+        return Optional.ofNullable(resultFile);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        
+        final ShardingConfiguration other = (ShardingConfiguration) o;
+        return shard.equals(other.shard) && costEstimator.equals(other.costEstimator) && Objects.equals(resultFile, other.resultFile);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(shard, costEstimator, resultFile);
+    }
+    
+    @Override
+    public String toString() {
+        return "ShardingConfiguration{" + "shard=" + shard + ", costEstimator=" + costEstimator + ", resultFile=" + resultFile + '}';
+    }
+    
+}
@@ -0,0 +1,23 @@
+package de.rwth.swc.coffee4j.engine.sharding;
+
+/**
+ * Estimates how expensive the execution of a test input is, e.g. in terms of its expected duration. The estimates are
+ * only compared to each other, so any unit can be used as long as it is used consistently.
+ * <p>
+ * Besides the {@link #UNIFORM} estimator, a {@link ParameterValueCostEstimator} assigns costs to parameter values.
+ */
+@FunctionalInterface
+public interface TestInputCostEstimator {
+    
+    /**
+     * An estimator which considers all test inputs to be equally expensive.
+     */
+    TestInputCostEstimator UNIFORM = testInput -> 1;
+    
+    /**
+     * @param testInput the test input for which the cost is estimated. Must not be {@code null}
+     * @return the estimated cost of executing the test input. Must not be negative
+     */
+    double estimateCost(int[] testInput);
+    
+}
@@ -8,7 +8,7 @@ import it.unimi.dsi.fastutil.ints.IntSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.IntStream;
@@ -238,7 +238,7 @@ public final class Combinator {
         Preconditions.check(size >= 0);
         
         final List<IntSet> parameterCombinations = computeParameterCombinationsRecursively(IntStream.range(0, parameters.length).toArray(), size);
-        final Set<int[]> combinations = new HashSet<>();
+        final Set<int[]> combinations = new LinkedHashSet<>();
         for (IntSet parameterCombination : parameterCombinations) {
             final Int2IntMap parameterSizes = new Int2IntOpenHashMap(parameterCombination.size());
             for (int parameter : parameterCombination) {
@@ -0,0 +1,101 @@
+package de.rwth.swc.coffee4j.engine.util;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * A seedable source of pseudo-random numbers for generation and fault characterization algorithms. Two sources
+ * created with the same seed produce the same numbers, so runs using them are reproducible.
+ * <p>
+ * The source is based on a {@link SplittableRandom}. Components which run independently of each other, for example on
+ * different threads, should each get their own source via {@link #split()}. As long as the sources are split in the
+ * same order, every component sees the same random stream independent of how the components are scheduled. Drawing
+ * numbers from one source is not thread-safe, while splitting is.
+ */
+public final class RandomSource {
+    
+    private final SplittableRandom random;
+    
+    private RandomSource(SplittableRandom random) {
+        this.random = random;
+    }
+    
+    /**
+     * @param seed the initial seed
+     * @return a source which always produces the same numbers for the same seed
+     */
+    public static RandomSource withSeed(long seed) {
+        return new RandomSource(new SplittableRandom(seed));
+    }
+    
+    /**
+     * @return a source with a seed which is likely different in each call
+     */
+    public static RandomSource withRandomSeed() {
+        return new RandomSource(new SplittableRandom());
+    }
+    
+    /**
+     * Creates a new source which is statistically independent of this one. The numbers of the new source only depend
+     * on the state of this source at the time of splitting.
+     *
+     * @return a new source for use by a different component or thread
+     */
+    public synchronized RandomSource split() {
+        return new RandomSource(random.split());
+    }
+    
+    /**
+     * @param bound the exclusive upper bound. Must be positive
+     * @return a uniformly distributed number between zero (inclusive) and the bound (exclusive)
+     */
+    public int nextInt(int bound) {
+        Preconditions.check(bound > 0);
+        
+        return random.nextInt(bound);
+    }
+    
+    /**
+     * @param origin the inclusive lower bound
+     * @param bound  the exclusive upper bound. Must be greater than the origin
+     * @return a uniformly distributed number between the origin (inclusive) and the bound (exclusive)
+     */
+    public int nextInt(int origin, int bound) {
+        Preconditions.check(origin < bound);
+        
+        return random.nextInt(origin, bound);
+    }
+    
+    /**
+     * Creates a view of this source as a {@link Random} for methods like
+     * {@link java.util.Collections#shuffle(java.util.List, Random)}. All numbers of the view are drawn from this source.
+     *
+     * @return a {@link Random} backed by this source
+     */
+    public Random asRandom() {
+        return new RandomView(this);
+    }
+    
+    private static final class RandomView extends Random {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final transient RandomSource source;
+        
+        private RandomView(RandomSource source) {
+            this.source = source;
+        }
+        
+        @Override
+        protected int next(int bits) {
+            return (int) (source.random.nextLong() >>> (Long.SIZE - bits));
+        }
+        
+        @Override
+        public synchronized void setSeed(long seed) {
+            // the seed is determined by the backing source
+        }
+        
+    }
+    
+}
@@ -0,0 +1,97 @@
+package de.rwth.swc.coffee4j.engine.characterization;
+
+import de.rwth.swc.coffee4j.engine.TestResult;
+import org.junit.jupiter.api.Test;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedTestResultStoreTest {
+    
+    @Test
+    void preconditions() {
+        final SharedTestResultStore store = new SharedTestResultStore(new int[]{2, 3});
+        
+        assertThrows(NullPointerException.class, () -> new SharedTestResultStore(null));
+        assertThrows(NullPointerException.class, () -> store.addResult(null, TestResult.success()));
+        assertThrows(NullPointerException.class, () -> store.addResult(new int[]{0, 0}, null));
+        assertThrows(IllegalArgumentException.class, () -> store.addResult(new int[]{0}, TestResult.success()));
+        assertThrows(IllegalArgumentException.class, () -> store.addResult(new int[]{2, 0}, TestResult.success()));
+        assertThrows(IllegalArgumentException.class, () -> store.containsSuccessfulTestInputWith(new int[]{0, 3}));
+        assertThrows(IllegalArgumentException.class, () -> store.getSuccessfulTestInputsSince(-1));
+    }
+    
+    @Test
+    void findsResultsOfExactTestInputs() {
+        final SharedTestResultStore store = new SharedTestResultStore(new int[]{2, 3});
+        final TestResult failure = TestResult.failure(new IllegalArgumentException());
+        
+        store.addResult(new int[]{0, 1}, TestResult.success());
+        store.addResult(new int[]{1, 2}, failure);
+        
+        assertEquals(2, store.size());
+        assertEquals(TestResult.success(), store.getResult(new int[]{0, 1}).orElseThrow());
+        assertEquals(failure, store.getResult(new int[]{1, 2}).orElseThrow());
+        assertFalse(store.getResult(new int[]{0, 2}).isPresent());
+        assertTrue(store.isSuccessful(new int[]{0, 1}));
+        assertFalse(store.isSuccessful(new int[]{1, 2}));
+        assertFalse(store.isSuccessful(new int[]{0, 2}));
+    }
+    
+    @Test
+    void findsSuccessfulTestInputsContainingCombination() {
+        final SharedTestResultStore store = new SharedTestResultStore(new int[]{2, 3, 2});
+        
+        assertFalse(store.containsSuccessfulTestInputWith(new int[]{NO_VALUE, NO_VALUE, NO_VALUE}));
+        
+        store.addResult(new int[]{0, 1, 1}, TestResult.success());
+        store.addResult(new int[]{1, 2, 0}, TestResult.failure(new IllegalArgumentException()));
+        store.addResult(new int[]{1, 1, 0}, TestResult.success());
+        
+        assertTrue(store.containsSuccessfulTestInputWith(new int[]{NO_VALUE, NO_VALUE, NO_VALUE}));
+        assertTrue(store.containsSuccessfulTestInputWith(new int[]{0, NO_VALUE, 1}));
+        assertTrue(store.containsSuccessfulTestInputWith(new int[]{NO_VALUE, 1, NO_VALUE}));
+        assertTrue(store.containsSuccessfulTestInputWith(new int[]{1, 1, 0}));
+        assertFalse(store.containsSuccessfulTestInputWith(new int[]{0, NO_VALUE, 0}));
+        assertFalse(store.containsSuccessfulTestInputWith(new int[]{1, 2, NO_VALUE}));
+        assertFalse(store.containsSuccessfulTestInputWith(new int[]{NO_VALUE, 0, NO_VALUE}));
+    }
+    
+    @Test
+    void replacesResultOfSameTestInput() {
+        final SharedTestResultStore store = new SharedTestResultStore(new int[]{2, 2});
+        
+        store.addResult(new int[]{0, 1}, TestResult.success());
+        store.addResult(new int[]{0, 1}, TestResult.failure(new IllegalArgumentException()));
+        
+        assertEquals(1, store.size());
+        assertFalse(store.isSuccessful(new int[]{0, 1}));
+        assertFalse(store.containsSuccessfulTestInputWith(new int[]{0, NO_VALUE}));
+    }
+    
+    @Test
+    void returnsSuccessfulTestInputsAddedSinceRevision() {
+        final SharedTestResultStore store = new SharedTestResultStore(new int[]{2, 2});
+        
+        assertEquals(0, store.getRevision());
+        
+        store.addResult(new int[]{0, 0}, TestResult.success());
+        store.addResult(new int[]{0, 1}, TestResult.failure(new IllegalArgumentException()));
+        final int revision = store.getRevision();
+        store.addResult(new int[]{1, 0}, TestResult.success());
+        store.addResult(new int[]{1, 1}, TestResult.success());
+        store.addResult(new int[]{1, 1}, TestResult.failure(new IllegalArgumentException()));
+        
+        assertEquals(1, revision);
+        assertEquals(3, store.getRevision());
+        assertEquals(1, store.getSuccessfulTestInputsSince(revision).size());
+        assertArrayEquals(new int[]{1, 0}, store.getSuccessfulTestInputsSince(revision).get(0));
+        assertEquals(2, store.getSuccessfulTestInputsSince(0).size());
+        assertTrue(store.getSuccessfulTestInputsSince(store.getRevision()).isEmpty());
+    }
+    
+}
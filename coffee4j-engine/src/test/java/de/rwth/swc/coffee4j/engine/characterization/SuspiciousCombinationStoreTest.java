@@ -0,0 +1,105 @@
+package de.rwth.swc.coffee4j.engine.characterization;
+
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuspiciousCombinationStoreTest {
+    
+    @Test
+    void preconditions() {
+        assertThrows(NullPointerException.class, () -> new SuspiciousCombinationStore(null));
+        
+        final SuspiciousCombinationStore store = new SuspiciousCombinationStore(new int[]{2, 2});
+        assertThrows(NullPointerException.class, () -> store.add(null));
+        assertThrows(IllegalArgumentException.class, () -> store.add(wrap(0)));
+        assertThrows(IllegalArgumentException.class, () -> store.add(wrap(0, 2)));
+        assertThrows(NullPointerException.class, () -> store.removeSubCombinationsOf(null));
+    }
+    
+    @Test
+    void behavesLikeSet() {
+        final SuspiciousCombinationStore store = new SuspiciousCombinationStore(new int[]{2, 3, 4});
+        
+        assertTrue(store.add(wrap(0, 1, NO_VALUE)));
+        assertTrue(store.add(wrap(1, NO_VALUE, 3)));
+        assertTrue(store.add(wrap(NO_VALUE, 2, NO_VALUE)));
+        assertFalse(store.add(wrap(0, 1, NO_VALUE)));
+        
+        assertEquals(3, store.size());
+        assertTrue(store.contains(wrap(0, 1, NO_VALUE)));
+        assertFalse(store.contains(wrap(0, 2, NO_VALUE)));
+        assertFalse(store.contains(wrap(0, 1)));
+        assertFalse(store.contains("string"));
+        assertEquals(new HashSet<>(Arrays.asList(wrap(0, 1, NO_VALUE), wrap(1, NO_VALUE, 3), wrap(NO_VALUE, 2, NO_VALUE))), store);
+        
+        assertTrue(store.remove(wrap(1, NO_VALUE, 3)));
+        assertFalse(store.remove(wrap(1, NO_VALUE, 3)));
+        assertEquals(2, store.size());
+        
+        final Iterator<IntArrayWrapper> iterator = store.iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals(1, store.size());
+    }
+    
+    @Test
+    void removesAllSubCombinationsOfTestInputs() {
+        final SuspiciousCombinationStore store = new SuspiciousCombinationStore(new int[]{2, 2, 2});
+        store.add(wrap(0, 0, NO_VALUE));
+        store.add(wrap(0, 1, NO_VALUE));
+        store.add(wrap(0, NO_VALUE, 1));
+        store.add(wrap(1, NO_VALUE, 1));
+        store.add(wrap(NO_VALUE, 1, 1));
+        
+        store.removeSubCombinationsOf(Arrays.asList(new int[]{0, 1, 1}, new int[]{1, 0, 0}));
+        
+        assertEquals(new HashSet<>(Arrays.asList(wrap(0, 0, NO_VALUE), wrap(1, NO_VALUE, 1))), store);
+        assertEquals(2, store.size());
+    }
+    
+    @Test
+    void handlesGroupsWithManyPossibleCombinations() {
+        final int[] parameterSizes = new int[8];
+        Arrays.fill(parameterSizes, 10);
+        final SuspiciousCombinationStore store = new SuspiciousCombinationStore(parameterSizes);
+        store.add(wrap(1, 2, 3, 4, 5, 6, 7, 8));
+        store.add(wrap(1, 2, 3, 4, 5, 6, 7, 9));
+        
+        store.removeSubCombinationsOf(Collections.singletonList(new int[]{1, 2, 3, 4, 5, 6, 7, 9}));
+        
+        assertEquals(Collections.singleton(wrap(1, 2, 3, 4, 5, 6, 7, 8)), store);
+    }
+    
+    @Test
+    void snapshotIsIndependentOfOriginal() {
+        final SuspiciousCombinationStore store = new SuspiciousCombinationStore(new int[]{2, 2});
+        store.add(wrap(0, NO_VALUE));
+        store.add(wrap(1, NO_VALUE));
+        store.add(wrap(NO_VALUE, 0));
+        
+        final SuspiciousCombinationStore snapshot = store.snapshot();
+        store.removeSubCombinationsOf(Collections.singletonList(new int[]{0, 0}));
+        snapshot.add(wrap(NO_VALUE, 1));
+        
+        final Set<IntArrayWrapper> expectedStore = Collections.singleton(wrap(1, NO_VALUE));
+        final Set<IntArrayWrapper> expectedSnapshot = new HashSet<>(Arrays.asList(wrap(0, NO_VALUE), wrap(1, NO_VALUE), wrap(NO_VALUE, 0), wrap(NO_VALUE, 1)));
+        assertEquals(expectedStore, store);
+        assertEquals(1, store.size());
+        assertEquals(expectedSnapshot, snapshot);
+        assertEquals(4, snapshot.size());
+    }
+    
+}
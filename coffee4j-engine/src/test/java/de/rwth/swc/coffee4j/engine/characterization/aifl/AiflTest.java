@@ -1,8 +1,33 @@
 package de.rwth.swc.coffee4j.engine.characterization.aifl;
 
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TestResult;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmTest;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.characterization.SharedTestResultStore;
+import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
+import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import de.rwth.swc.coffee4j.engine.util.CombinationUtil;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AiflTest implements FaultCharacterizationAlgorithmTest {
     
@@ -11,4 +36,103 @@ class AiflTest implements FaultCharacterizationAlgorithmTest {
         return new Aifl(configuration);
     }
     
+    @Test
+    void suspiciousCombinationsAreAllSubCombinationsOfFailedTestInputsNotContainedInSuccessfulOnes() {
+        final Random random = new Random(34);
+        
+        for (int round = 0; round < 30; round++) {
+            final int[] parameterSizes = new int[5 + random.nextInt(3)];
+            Arrays.setAll(parameterSizes, parameter -> 2 + random.nextInt(2));
+            final TestModel model = new TestModel(2, parameterSizes, Collections.emptyList(), Collections.emptyList());
+            
+            final Map<int[], TestResult> testResults = new LinkedHashMap<>();
+            for (int i = 0; i < 12; i++) {
+                final int[] testInput = new int[parameterSizes.length];
+                Arrays.setAll(testInput, parameter -> random.nextInt(parameterSizes[parameter]));
+                testResults.put(testInput, i < 2 ? TestResult.failure(new IllegalArgumentException()) : TestResult.success());
+            }
+            
+            for (int maximumOrder : new int[]{2, Integer.MAX_VALUE}) {
+                final Aifl aifl = new Aifl(new FaultCharacterizationConfiguration(model, new NoConstraintChecker(), new StandardOutputReporter()), maximumOrder);
+                aifl.computeNextTestInputs(testResults);
+                
+                assertEquals(computeSuspiciousCombinations(testResults, maximumOrder), IntArrayWrapper.wrapToSet(aifl.computeFailureInducingCombinations()));
+            }
+        }
+    }
+    
+    /* all sub-combinations of failed test inputs up to the maximum order minus those of successful test inputs */
+    private static Set<IntArrayWrapper> computeSuspiciousCombinations(Map<int[], TestResult> testResults, int maximumOrder) {
+        final Set<IntArrayWrapper> suspiciousCombinations = new HashSet<>();
+        final List<int[]> successfulTestInputs = new ArrayList<>();
+        
+        for (Map.Entry<int[], TestResult> entry : testResults.entrySet()) {
+            if (entry.getValue().isSuccessful()) {
+                successfulTestInputs.add(entry.getKey());
+                continue;
+            }
+            
+            final int[] failedTestInput = entry.getKey();
+            for (int subset = 1; subset < 1 << failedTestInput.length; subset++) {
+                if (Integer.bitCount(subset) <= maximumOrder) {
+                    final int[] subCombination = new int[failedTestInput.length];
+                    for (int parameter = 0; parameter < failedTestInput.length; parameter++) {
+                        subCombination[parameter] = (subset & 1 << parameter) != 0 ? failedTestInput[parameter] : NO_VALUE;
+                    }
+                    suspiciousCombinations.add(wrap(subCombination));
+                }
+            }
+        }
+        
+        suspiciousCombinations.removeIf(combination -> successfulTestInputs.stream()
+                .anyMatch(testInput -> CombinationUtil.contains(testInput, combination.getArray())));
+        
+        return suspiciousCombinations;
+    }
+    
+    @Test
+    void removesCombinationsContainedInSharedSuccessfulTestInputs() {
+        final TestModel model = new TestModel(2, new int[]{2, 2, 2}, Collections.emptyList(), Collections.emptyList());
+        final SharedTestResultStore sharedTestResults = new SharedTestResultStore(model.getParameterSizes());
+        sharedTestResults.addResult(new int[]{0, 0, 1}, TestResult.success());
+        final Aifl aifl = new Aifl(new FaultCharacterizationConfiguration(model, new NoConstraintChecker(), new StandardOutputReporter())
+                .withSharedTestResults(sharedTestResults));
+        
+        final Map<int[], TestResult> testResults = new HashMap<>();
+        testResults.put(new int[]{0, 0, 0}, TestResult.failure(new IllegalArgumentException()));
+        testResults.put(new int[]{1, 1, 1}, TestResult.success());
+        aifl.computeNextTestInputs(testResults);
+        
+        final Set<IntArrayWrapper> suspiciousCombinations = IntArrayWrapper.wrapToSet(aifl.computeFailureInducingCombinations());
+        assertFalse(suspiciousCombinations.contains(wrap(0, 0, NO_VALUE)));
+        assertFalse(suspiciousCombinations.contains(wrap(0, NO_VALUE, NO_VALUE)));
+        assertTrue(suspiciousCombinations.contains(wrap(0, NO_VALUE, 0)));
+        assertTrue(suspiciousCombinations.contains(wrap(0, 0, 0)));
+    }
+    
+    @Test
+    void removesCombinationsContainedInSharedSuccessfulTestInputsAddedBetweenIterations() {
+        final TestModel model = new TestModel(2, new int[]{2, 2, 2}, Collections.emptyList(), Collections.emptyList());
+        final SharedTestResultStore sharedTestResults = new SharedTestResultStore(model.getParameterSizes());
+        final Aifl aifl = new Aifl(new FaultCharacterizationConfiguration(model, new NoConstraintChecker(), new StandardOutputReporter())
+                .withSharedTestResults(sharedTestResults));
+        
+        final Map<int[], TestResult> testResults = new HashMap<>();
+        testResults.put(new int[]{0, 0, 0}, TestResult.failure(new IllegalArgumentException()));
+        testResults.put(new int[]{1, 1, 1}, TestResult.success());
+        final List<int[]> nextTestInputs = aifl.computeNextTestInputs(testResults);
+        assertTrue(IntArrayWrapper.wrapToSet(aifl.computeFailureInducingCombinations()).contains(wrap(0, 0, NO_VALUE)));
+        
+        sharedTestResults.addResult(new int[]{0, 0, 1}, TestResult.success());
+        final Map<int[], TestResult> nextTestResults = new HashMap<>();
+        for (int[] testInput : nextTestInputs) {
+            nextTestResults.put(testInput, TestResult.failure(new IllegalArgumentException()));
+        }
+        aifl.computeNextTestInputs(nextTestResults);
+        
+        final Set<IntArrayWrapper> suspiciousCombinations = IntArrayWrapper.wrapToSet(aifl.computeFailureInducingCombinations());
+        assertFalse(suspiciousCombinations.contains(wrap(0, 0, NO_VALUE)));
+        assertTrue(suspiciousCombinations.contains(wrap(0, 0, 0)));
+    }
+    
 }
@@ -0,0 +1,107 @@
+package de.rwth.swc.coffee4j.engine.characterization.aifl;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmTest;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
+import de.rwth.swc.coffee4j.engine.generator.ipog.IpogAlgorithm;
+import de.rwth.swc.coffee4j.engine.generator.ipog.IpogConfiguration;
+import de.rwth.swc.coffee4j.engine.generator.ipog.TWiseParameterCombinationFactory;
+import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import de.rwth.swc.coffee4j.engine.util.CombinationUtil;
+import de.rwth.swc.coffee4j.engine.util.Combinator;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedOrderAiflTest implements FaultCharacterizationAlgorithmTest {
+    
+    @Override
+    public FaultCharacterizationAlgorithm provideAlgorithm(FaultCharacterizationConfiguration configuration) {
+        return new Aifl(configuration, 2);
+    }
+    
+    @Test
+    void maximumOrderMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new Aifl(configuration(new int[]{2, 2}), 0));
+        assertThrows(IllegalArgumentException.class, () -> new IterationBasedIterAifl(configuration(new int[]{2, 2}), 1, -1));
+    }
+    
+    @Test
+    void maximumOrderIsLimitedByNumberOfParameters() {
+        assertEquals(2, new Aifl(configuration(new int[]{2, 2})).getMaximumOrder());
+        assertEquals(1, new Aifl(configuration(new int[]{2, 2}), 1).getMaximumOrder());
+    }
+    
+    @Test
+    void onlyConsidersSubCombinationsUpToMaximumOrder() {
+        final int[] testInput = new int[]{0, 1, 2, 3};
+        final Set<IntArrayWrapper> allSubCombinations = Combinator.computeSubCombinations(testInput).stream().map(IntArrayWrapper::new).collect(Collectors.toSet());
+        
+        assertEquals(allSubCombinations, new Aifl(configuration(new int[]{4, 4, 4, 4})).getRelevantSubCombinations(testInput));
+        assertEquals(allSubCombinations.stream().filter(combination -> CombinationUtil.numberOfSetParameters(combination.getArray()) <= 2).collect(Collectors.toSet()),
+                new Aifl(configuration(new int[]{4, 4, 4, 4}), 2).getRelevantSubCombinations(testInput));
+    }
+    
+    @Test
+    void findsSameCombinationsAsUnboundedAiflUpToMaximumOrder() {
+        final int[] parameterSizes = new int[]{3, 3, 3, 3, 3, 3, 3};
+        final List<int[]> faults = Arrays.asList(
+                new int[]{NO_VALUE, 1, NO_VALUE, NO_VALUE, 2, NO_VALUE, NO_VALUE},
+                new int[]{0, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE, 1});
+        
+        final Set<IntArrayWrapper> unbounded = characterize(new Aifl(configuration(parameterSizes)), parameterSizes, faults);
+        final Set<IntArrayWrapper> bounded = characterize(new Aifl(configuration(parameterSizes), 2), parameterSizes, faults);
+        
+        assertEquals(unbounded.stream().filter(combination -> CombinationUtil.numberOfSetParameters(combination.getArray()) <= 2).collect(Collectors.toSet()), bounded);
+    }
+    
+    @Test
+    void handlesManyParametersWithLowMaximumOrder() {
+        final int[] parameterSizes = new int[40];
+        Arrays.fill(parameterSizes, 2);
+        final int[] fault = new int[40];
+        Arrays.fill(fault, NO_VALUE);
+        fault[3] = 1;
+        fault[17] = 0;
+        
+        final Set<IntArrayWrapper> found = characterize(new IterationBasedIterAifl(configuration(parameterSizes), 1, 2), parameterSizes, Collections.singletonList(fault));
+        
+        assertTrue(found.contains(IntArrayWrapper.wrap(fault)));
+        assertTrue(found.stream().allMatch(combination -> CombinationUtil.numberOfSetParameters(combination.getArray()) <= 2));
+    }
+    
+    private static Set<IntArrayWrapper> characterize(FaultCharacterizationAlgorithm algorithm, int[] parameterSizes, List<int[]> faults) {
+        List<int[]> testInputs = new IpogAlgorithm(IpogConfiguration.ipogConfiguration()
+                .testModel(model(parameterSizes))
+                .checker(new NoConstraintChecker())
+                .factory(new TWiseParameterCombinationFactory())
+                .build()).generate();
+        
+        while (!testInputs.isEmpty()) {
+            testInputs = algorithm.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(testInputs, faults));
+        }
+        
+        return algorithm.computeFailureInducingCombinations().stream().map(IntArrayWrapper::wrap).collect(Collectors.toSet());
+    }
+    
+    private static TestModel model(int[] parameterSizes) {
+        return new TestModel(2, parameterSizes, Collections.emptyList(), Collections.emptyList());
+    }
+    
+    private static FaultCharacterizationConfiguration configuration(int[] parameterSizes) {
+        return new FaultCharacterizationConfiguration(model(parameterSizes), new NoConstraintChecker(), new StandardOutputReporter());
+    }
+    
+}
@@ -1,8 +1,28 @@
 package de.rwth.swc.coffee4j.engine.characterization.ben;
 
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TestResult;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmTest;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
+import de.rwth.swc.coffee4j.engine.generator.ipog.IpogAlgorithm;
+import de.rwth.swc.coffee4j.engine.generator.ipog.IpogConfiguration;
+import de.rwth.swc.coffee4j.engine.generator.ipog.TWiseParameterCombinationFactory;
+import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class BenTest implements FaultCharacterizationAlgorithmTest {
     
@@ -11,4 +31,109 @@ class BenTest implements FaultCharacterizationAlgorithmTest {
         return new Ben(configuration, 10, 50);
     }
     
+    @Test
+    void sameSeedRequestsSameTestInputs() {
+        final TestModel model = new TestModel(2, new int[]{3, 3, 3, 3, 3, 3}, Collections.emptyList(), Collections.emptyList());
+        final List<int[]> faults = Collections.singletonList(new int[]{NO_VALUE, 1, NO_VALUE, 2, NO_VALUE, NO_VALUE});
+        
+        final List<int[]> first = characterize(model, faults, 42);
+        final List<int[]> second = characterize(model, faults, 42);
+        
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertArrayEquals(first.get(i), second.get(i));
+        }
+    }
+    
+    @Test
+    void replacedTestResultIsCountedOnlyWithItsNewResult() {
+        final TestModel model = new TestModel(2, new int[]{2, 2, 2, 2}, Collections.emptyList(), Collections.emptyList());
+        final int[] replacedTestInput = new int[]{1, 0, 1, 0};
+        
+        final Ben replacingBen = new Ben(configuration(model, 42), 10, 50);
+        replacingBen.computeNextTestInputs(results(
+                new int[][]{replacedTestInput, {0, 0, 0, 1}},
+                new int[][]{}));
+        replacingBen.computeNextTestInputs(results(
+                new int[][]{},
+                new int[][]{replacedTestInput.clone(), {0, 1, 1, 1}}));
+        
+        final Ben directBen = new Ben(configuration(model, 42), 10, 50);
+        directBen.computeNextTestInputs(results(
+                new int[][]{{0, 0, 0, 1}},
+                new int[][]{replacedTestInput.clone()}));
+        directBen.computeNextTestInputs(results(
+                new int[][]{},
+                new int[][]{{0, 1, 1, 1}}));
+        
+        assertCombinationsEqual(directBen.computeFailureInducingCombinations(), replacingBen.computeFailureInducingCombinations());
+    }
+    
+    @Test
+    void tiedCombinationsAreRankedInAFixedOrder() {
+        final TestModel model = new TestModel(2, new int[]{2, 2, 2, 2}, Collections.emptyList(), Collections.emptyList());
+        final Ben ben = new Ben(configuration(model, 42), 10, 50);
+        
+        /* swapping both values of each parameter maps the results onto themselves, so combinations and their swapped
+           counterparts are equally suspicious */
+        final List<int[]> nextTestInputs = ben.computeNextTestInputs(results(
+                new int[][]{{0, 0, 0, 0}, {1, 1, 1, 1}},
+                new int[][]{{0, 1, 0, 1}, {1, 0, 1, 0}, {0, 0, 1, 1}, {1, 1, 0, 0}}));
+        
+        assertCombinationsEqual(Arrays.asList(
+                new int[]{0, 0, 0, 1},
+                new int[]{0, 1, 1, 0},
+                new int[]{0, 0, 1, 0},
+                new int[]{1, 0, 0, 1}), nextTestInputs);
+        assertCombinationsEqual(Arrays.asList(
+                new int[]{NO_VALUE, 0, 0, NO_VALUE},
+                new int[]{NO_VALUE, 1, 1, NO_VALUE},
+                new int[]{0, NO_VALUE, NO_VALUE, 0},
+                new int[]{1, NO_VALUE, NO_VALUE, 1}), ben.computeFailureInducingCombinations());
+    }
+    
+    private static FaultCharacterizationConfiguration configuration(TestModel model, long seed) {
+        return new FaultCharacterizationConfiguration(model, new NoConstraintChecker(), new StandardOutputReporter())
+                .withRandomSource(RandomSource.withSeed(seed));
+    }
+    
+    private static Map<int[], TestResult> results(int[][] failedTestInputs, int[][] successfulTestInputs) {
+        final Map<int[], TestResult> results = new LinkedHashMap<>();
+        for (int[] testInput : failedTestInputs) {
+            results.put(testInput, TestResult.failure(new IllegalStateException()));
+        }
+        for (int[] testInput : successfulTestInputs) {
+            results.put(testInput, TestResult.success());
+        }
+        
+        return results;
+    }
+    
+    private static void assertCombinationsEqual(List<int[]> expected, List<int[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+    
+    private static List<int[]> characterize(TestModel model, List<int[]> faults, long seed) {
+        final FaultCharacterizationConfiguration configuration = new FaultCharacterizationConfiguration(model, new NoConstraintChecker(), new StandardOutputReporter())
+                .withRandomSource(RandomSource.withSeed(seed));
+        final Ben ben = new Ben(configuration, 10, 50);
+        final List<int[]> requestedTestInputs = new ArrayList<>();
+        
+        List<int[]> testInputs = new IpogAlgorithm(IpogConfiguration.ipogConfiguration()
+                .testModel(model)
+                .checker(new NoConstraintChecker())
+                .factory(new TWiseParameterCombinationFactory())
+                .build()).generate();
+        while (!testInputs.isEmpty()) {
+            testInputs = ben.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(testInputs, faults));
+            requestedTestInputs.addAll(testInputs);
+        }
+        requestedTestInputs.addAll(ben.computeFailureInducingCombinations());
+        
+        return requestedTestInputs;
+    }
+    
 }
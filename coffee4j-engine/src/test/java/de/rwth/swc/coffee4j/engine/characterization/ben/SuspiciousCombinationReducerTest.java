@@ -3,6 +3,7 @@ package de.rwth.swc.coffee4j.engine.characterization.ben;
 import de.rwth.swc.coffee4j.engine.util.CombinationUtil;
 import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -14,6 +15,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class SuspiciousCombinationReducerTest {
@@ -30,6 +32,28 @@ class SuspiciousCombinationReducerTest {
         return Stream.of(Arguments.of(new int[]{1}, Collections.emptyList(), Collections.emptyList()), Arguments.of(new int[]{3, 3}, Arrays.asList(new int[]{0, 0}, new int[]{0, 1}), Collections.emptyList()), Arguments.of(new int[]{2, 2}, Arrays.asList(new int[]{0, 0}, new int[]{0, 1}), Collections.singletonList(new int[]{0, CombinationUtil.NO_VALUE})), Arguments.of(new int[]{2, 2}, Arrays.asList(new int[]{0}, new int[]{1}), Collections.emptyList()), Arguments.of(new int[]{3, 3, 3}, Arrays.asList(new int[]{0, 0, 0}, new int[]{0, 0, 1}, new int[]{0, 0, 2}, new int[]{0, 1, 0}, new int[]{0, 1, 1}, new int[]{0, 1, 2}, new int[]{0, 2, 0}, new int[]{0, 2, 1}, new int[]{0, 2, 2}, new int[]{1, 0, 0}, new int[]{1, 0, 1}, new int[]{1, 0, 2}, new int[]{1, 1, 0}, new int[]{1, 1, 1}, new int[]{1, 1, 2}, new int[]{1, 2, 0}, new int[]{1, 2, 1}, new int[]{1, 2, 2}, new int[]{2, 0, 0}, new int[]{2, 0, 1}, new int[]{2, 0, 2}, new int[]{2, 1, 0}, new int[]{2, 1, 1}, new int[]{2, 1, 2}, new int[]{2, 2, 0}, new int[]{2, 2, 1}, new int[]{2, 2, 2}), Arrays.asList(new int[]{0, 0, CombinationUtil.NO_VALUE}, new int[]{0, 1, CombinationUtil.NO_VALUE}, new int[]{0, 2, CombinationUtil.NO_VALUE}, new int[]{1, 0, CombinationUtil.NO_VALUE}, new int[]{1, 1, CombinationUtil.NO_VALUE}, new int[]{1, 2, CombinationUtil.NO_VALUE}, new int[]{2, 0, CombinationUtil.NO_VALUE}, new int[]{2, 1, CombinationUtil.NO_VALUE}, new int[]{2, 2, CombinationUtil.NO_VALUE}, new int[]{0, CombinationUtil.NO_VALUE, 0}, new int[]{0, CombinationUtil.NO_VALUE, 1}, new int[]{0, CombinationUtil.NO_VALUE, 2}, new int[]{1, CombinationUtil.NO_VALUE, 0}, new int[]{1, CombinationUtil.NO_VALUE, 1}, new int[]{1, CombinationUtil.NO_VALUE, 2}, new int[]{2, CombinationUtil.NO_VALUE, 0}, new int[]{2, CombinationUtil.NO_VALUE, 1}, new int[]{2, CombinationUtil.NO_VALUE, 2}, new int[]{CombinationUtil.NO_VALUE, 0, 0}, new int[]{CombinationUtil.NO_VALUE, 0, 1}, new int[]{CombinationUtil.NO_VALUE, 0, 2}, new int[]{CombinationUtil.NO_VALUE, 1, 0}, new int[]{CombinationUtil.NO_VALUE, 1, 1}, new int[]{CombinationUtil.NO_VALUE, 1, 2}, new int[]{CombinationUtil.NO_VALUE, 2, 0}, new int[]{CombinationUtil.NO_VALUE, 2, 1}, new int[]{CombinationUtil.NO_VALUE, 2, 2})), Arguments.of(new int[]{3, 3}, Arrays.asList(new int[]{0, 0}, new int[]{0, 1}, new int[]{0, 2}, new int[]{1, 0}, new int[]{1, 1}, new int[]{2, 0}), Arrays.asList(new int[]{0, CombinationUtil.NO_VALUE}, new int[]{CombinationUtil.NO_VALUE, 0})), Arguments.of(new int[]{2, 2, 2}, Arrays.asList(new int[]{0, 0, CombinationUtil.NO_VALUE}, new int[]{0, 1, CombinationUtil.NO_VALUE}, new int[]{0, CombinationUtil.NO_VALUE, 0}, new int[]{0, CombinationUtil.NO_VALUE, 1}), Collections.singletonList(new int[]{0, CombinationUtil.NO_VALUE, CombinationUtil.NO_VALUE})));
     }
 
+    @Test
+    void doesNotReduceCombinationsOfSizeOne() {
+        final int[] parameterSizes = new int[]{2, 2};
+        final List<int[]> allValues = Arrays.asList(new int[]{0, NO_VALUE}, new int[]{1, NO_VALUE}, new int[]{NO_VALUE, 0}, new int[]{NO_VALUE, 1});
+
+        assertEquals(Collections.emptySet(), SuspiciousCombinationReducer.reduce(parameterSizes, wrapAll(allValues)));
+    }
+
+    @Test
+    void reducesCombinationsOfSizeThree() {
+        final int[] parameterSizes = new int[]{2, 2, 2, 2};
+        final List<int[]> suspiciousCombinations = Arrays.asList(
+                new int[]{0, 0, 0, NO_VALUE}, new int[]{0, 0, 1, NO_VALUE}, new int[]{0, 0, NO_VALUE, 0}, new int[]{0, 0, NO_VALUE, 1},
+                new int[]{1, 1, 1, NO_VALUE}, new int[]{1, NO_VALUE, 1, 0});
+
+        assertEquals(wrapAll(Collections.singletonList(new int[]{0, 0, NO_VALUE, NO_VALUE})), SuspiciousCombinationReducer.reduce(parameterSizes, wrapAll(suspiciousCombinations)));
+    }
+
+    private static Set<IntArrayWrapper> wrapAll(List<int[]> combinations) {
+        return combinations.stream().map(IntArrayWrapper::new).collect(Collectors.toSet());
+    }
+
     @ParameterizedTest
     @MethodSource("failingReductions")
     void doesNotReduceIncorrectConfigurations(int[] parameterSizes, List<int[]> suspiciousCombinations, Class<? extends Exception> expectedException) {
@@ -0,0 +1,97 @@
+package de.rwth.swc.coffee4j.engine.characterization.csp;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmTest;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
+import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CspTest {
+    
+    private static final int[] PARAMETER_SIZES = new int[]{2, 2, 2, 2};
+    
+    @Test
+    void preconditions() {
+        assertThrows(NullPointerException.class, () -> new Csp(null));
+        assertThrows(IllegalArgumentException.class, () -> new Csp(configuration(), 0, Duration.ofSeconds(1), 1));
+        assertThrows(NullPointerException.class, () -> new Csp(configuration(), 1, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Csp(configuration(), 1, Duration.ZERO, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Csp(configuration(), 1, Duration.ofSeconds(1), 0));
+    }
+    
+    @Test
+    void returnsNoCombinationsWithoutFailedTestInputs() {
+        final FaultCharacterizationAlgorithm csp = new Csp(configuration());
+        
+        csp.computeNextTestInputs(exhaustiveResults(Collections.emptyList()));
+        
+        assertTrue(csp.computeFailureInducingCombinations().isEmpty());
+    }
+    
+    @Test
+    void findsSingleFailureInducingCombination() {
+        final int[] fault = new int[]{NO_VALUE, 1, 0, NO_VALUE};
+        
+        assertEquals(Collections.singleton(wrap(fault)), characterize(new Csp(configuration()), Collections.singletonList(fault)));
+    }
+    
+    @Test
+    void usesSmallestNumberOfFailureInducingCombinations() {
+        final List<int[]> faults = Arrays.asList(
+                new int[]{0, NO_VALUE, NO_VALUE, NO_VALUE},
+                new int[]{NO_VALUE, NO_VALUE, 1, 1});
+        final Set<IntArrayWrapper> expected = IntArrayWrapper.wrapToSet(faults);
+        
+        assertEquals(expected, characterize(new Csp(configuration(), 5, Duration.ofMinutes(1), 1), faults));
+        assertEquals(expected, characterize(new Csp(configuration(), 5, Duration.ofMinutes(1), 5), faults));
+    }
+    
+    @Test
+    void returnsNoCombinationsIfMaximumIsTooSmall() {
+        final List<int[]> faults = Arrays.asList(
+                new int[]{0, NO_VALUE, NO_VALUE, NO_VALUE},
+                new int[]{NO_VALUE, NO_VALUE, 1, 1});
+        
+        assertTrue(characterize(new Csp(configuration(), 1, Duration.ofMinutes(1), 1), faults).isEmpty());
+    }
+    
+    private static Set<IntArrayWrapper> characterize(FaultCharacterizationAlgorithm algorithm, List<int[]> faults) {
+        algorithm.computeNextTestInputs(exhaustiveResults(faults));
+        
+        return algorithm.computeFailureInducingCombinations().stream().map(IntArrayWrapper::wrap).collect(Collectors.toSet());
+    }
+    
+    private static Map<int[], TestResult> exhaustiveResults(List<int[]> faults) {
+        final List<int[]> testInputs = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            testInputs.add(new int[]{i & 1, (i >> 1) & 1, (i >> 2) & 1, (i >> 3) & 1});
+        }
+        
+        return FaultCharacterizationAlgorithmTest.mapToResults(testInputs, faults);
+    }
+    
+    private static FaultCharacterizationConfiguration configuration() {
+        return new FaultCharacterizationConfiguration(new TestModel(2, PARAMETER_SIZES, Collections.emptyList(), Collections.emptyList()),
+                new NoConstraintChecker(), new StandardOutputReporter());
+    }
+    
+}
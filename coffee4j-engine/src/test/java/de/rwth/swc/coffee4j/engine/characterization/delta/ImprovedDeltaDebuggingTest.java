@@ -1,14 +1,72 @@
 package de.rwth.swc.coffee4j.engine.characterization.delta;
 
+import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmTest;
+import de.rwth.swc.coffee4j.engine.characterization.SharedTestResultStore;
+import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
+import de.rwth.swc.coffee4j.engine.generator.ipog.IpogAlgorithm;
+import de.rwth.swc.coffee4j.engine.generator.ipog.IpogConfiguration;
+import de.rwth.swc.coffee4j.engine.generator.ipog.TWiseParameterCombinationFactory;
+import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 class ImprovedDeltaDebuggingTest implements FaultCharacterizationAlgorithmTest {
     
+    private static final TestModel MODEL = new TestModel(2, new int[]{3, 3, 3, 3, 3, 3}, Collections.emptyList(), Collections.emptyList());
+    
     @Override
     public FaultCharacterizationAlgorithm provideAlgorithm(FaultCharacterizationConfiguration configuration) {
         return new ImprovedDeltaDebugging(configuration);
     }
     
+    @Test
+    void doesNotRequestSharedSuccessfulTestInputs() {
+        final List<int[]> faults = Collections.singletonList(new int[]{NO_VALUE, 1, NO_VALUE, NO_VALUE, 2, NO_VALUE});
+        final FaultCharacterizationConfiguration configuration = new FaultCharacterizationConfiguration(MODEL, new NoConstraintChecker(), new StandardOutputReporter());
+        
+        final ImprovedDeltaDebugging withoutSharedResults = new ImprovedDeltaDebugging(configuration);
+        final List<int[]> requestedTestInputs = characterize(withoutSharedResults, faults);
+        final SharedTestResultStore sharedTestResults = new SharedTestResultStore(MODEL.getParameterSizes());
+        for (Map.Entry<int[], TestResult> entry : FaultCharacterizationAlgorithmTest.mapToResults(requestedTestInputs, faults).entrySet()) {
+            sharedTestResults.addResult(entry.getKey(), entry.getValue());
+        }
+        
+        final ImprovedDeltaDebugging withSharedResults = new ImprovedDeltaDebugging(configuration.withSharedTestResults(sharedTestResults));
+        for (int[] testInput : characterize(withSharedResults, faults)) {
+            assertFalse(sharedTestResults.isSuccessful(testInput));
+        }
+        assertEquals(IntArrayWrapper.wrapToSet(withoutSharedResults.computeFailureInducingCombinations()),
+                IntArrayWrapper.wrapToSet(withSharedResults.computeFailureInducingCombinations()));
+    }
+    
+    private static List<int[]> characterize(FaultCharacterizationAlgorithm algorithm, List<int[]> faults) {
+        final List<int[]> requestedTestInputs = new ArrayList<>();
+        List<int[]> testInputs = new IpogAlgorithm(IpogConfiguration.ipogConfiguration()
+                .testModel(MODEL)
+                .checker(new NoConstraintChecker())
+                .factory(new TWiseParameterCombinationFactory())
+                .build()).generate();
+        
+        testInputs = algorithm.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(testInputs, faults));
+        while (!testInputs.isEmpty()) {
+            requestedTestInputs.addAll(testInputs);
+            testInputs = algorithm.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(testInputs, faults));
+        }
+        
+        return requestedTestInputs;
+    }
+    
 }
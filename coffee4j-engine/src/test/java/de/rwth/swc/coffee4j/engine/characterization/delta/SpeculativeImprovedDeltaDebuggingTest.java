@@ -0,0 +1,80 @@
+package de.rwth.swc.coffee4j.engine.characterization.delta;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmTest;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
+import de.rwth.swc.coffee4j.engine.generator.ipog.IpogAlgorithm;
+import de.rwth.swc.coffee4j.engine.generator.ipog.IpogConfiguration;
+import de.rwth.swc.coffee4j.engine.generator.ipog.TWiseParameterCombinationFactory;
+import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpeculativeImprovedDeltaDebuggingTest implements FaultCharacterizationAlgorithmTest {
+    
+    private static final TestModel MODEL = new TestModel(2, new int[]{4, 4, 4, 4, 4, 4, 4, 4}, Collections.emptyList(), Collections.emptyList());
+    
+    @Override
+    public FaultCharacterizationAlgorithm provideAlgorithm(FaultCharacterizationConfiguration configuration) {
+        return new ImprovedDeltaDebugging(configuration, 2);
+    }
+    
+    @Test
+    void speculationDepthMustNotBeNegative() {
+        assertThrows(IllegalArgumentException.class, () -> new ImprovedDeltaDebugging(configuration(), -1));
+        assertThrows(IllegalArgumentException.class, () -> ImprovedDeltaDebugging.improvedDeltaDebugging(-1));
+    }
+    
+    @Test
+    void findsSameCombinationsInFewerIterations() {
+        final List<int[]> faults = Arrays.asList(
+                new int[]{NO_VALUE, 1, NO_VALUE, NO_VALUE, NO_VALUE, 2, NO_VALUE, NO_VALUE},
+                new int[]{3, NO_VALUE, NO_VALUE, 0, NO_VALUE, NO_VALUE, NO_VALUE, 1});
+        
+        final ImprovedDeltaDebugging sequential = new ImprovedDeltaDebugging(configuration());
+        final int sequentialIterations = characterize(sequential, faults);
+        
+        for (int speculationDepth = 1; speculationDepth <= 3; speculationDepth++) {
+            final ImprovedDeltaDebugging speculative = new ImprovedDeltaDebugging(configuration(), speculationDepth);
+            final int speculativeIterations = characterize(speculative, faults);
+            
+            assertTrue(speculativeIterations < sequentialIterations);
+            assertEquals(sequential.computeFailureInducingCombinations().size(), speculative.computeFailureInducingCombinations().size());
+            for (int i = 0; i < sequential.computeFailureInducingCombinations().size(); i++) {
+                assertArrayEquals(sequential.computeFailureInducingCombinations().get(i), speculative.computeFailureInducingCombinations().get(i));
+            }
+        }
+    }
+    
+    private static int characterize(FaultCharacterizationAlgorithm algorithm, List<int[]> faults) {
+        List<int[]> testInputs = new IpogAlgorithm(IpogConfiguration.ipogConfiguration()
+                .testModel(MODEL)
+                .checker(new NoConstraintChecker())
+                .factory(new TWiseParameterCombinationFactory())
+                .build()).generate();
+        
+        int iterations = 0;
+        while (!testInputs.isEmpty()) {
+            testInputs = algorithm.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(testInputs, faults));
+            iterations++;
+        }
+        
+        return iterations;
+    }
+    
+    private static FaultCharacterizationConfiguration configuration() {
+        return new FaultCharacterizationConfiguration(MODEL, new NoConstraintChecker(), new StandardOutputReporter());
+    }
+    
+}
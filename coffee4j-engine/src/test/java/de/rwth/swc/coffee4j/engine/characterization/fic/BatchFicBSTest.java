@@ -0,0 +1,58 @@
+package de.rwth.swc.coffee4j.engine.characterization.fic;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmTest;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
+import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchFicBSTest implements FaultCharacterizationAlgorithmTest {
+
+    private static final TestModel MODEL = new TestModel(2, new int[]{3, 3, 3, 3, 3, 3, 3, 3}, Collections.emptyList(), Collections.emptyList());
+
+    @Override
+    public FaultCharacterizationAlgorithm provideAlgorithm(FaultCharacterizationConfiguration configuration) {
+        return FicBS.batchFicBS().create(configuration);
+    }
+
+    @Test
+    void findsSameCombinationsAsSequentialModeInFewerIterations() {
+        final List<int[]> faults = Arrays.asList(
+                new int[]{NO_VALUE, 1, NO_VALUE, NO_VALUE, NO_VALUE, 2, NO_VALUE, NO_VALUE},
+                new int[]{NO_VALUE, NO_VALUE, NO_VALUE, 0, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE});
+        final List<int[]> failedTestInputs = Arrays.asList(new int[]{0, 1, 0, 1, 0, 2, 0, 1}, new int[]{2, 2, 2, 0, 2, 2, 2, 2});
+        final FaultCharacterizationConfiguration configuration = new FaultCharacterizationConfiguration(MODEL, new NoConstraintChecker(), new StandardOutputReporter());
+
+        final FicBS sequentialFicBS = new FicBS(configuration);
+        final int sequentialIterations = characterize(sequentialFicBS, failedTestInputs, faults);
+        final FicBS batchFicBS = new FicBS(configuration, true);
+        final int batchIterations = characterize(batchFicBS, failedTestInputs, faults);
+
+        assertEquals(IntArrayWrapper.wrapToSet(sequentialFicBS.computeFailureInducingCombinations()),
+                IntArrayWrapper.wrapToSet(batchFicBS.computeFailureInducingCombinations()));
+        FaultCharacterizationAlgorithmTest.assertContainsAllFailureInducingCombinations(batchFicBS.computeFailureInducingCombinations(), faults);
+        assertTrue(batchIterations < sequentialIterations);
+    }
+
+    private static int characterize(FaultCharacterizationAlgorithm algorithm, List<int[]> failedTestInputs, List<int[]> faults) {
+        int iterations = 0;
+        List<int[]> testInputs = algorithm.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(failedTestInputs, faults));
+        while (!testInputs.isEmpty()) {
+            iterations++;
+            testInputs = algorithm.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(testInputs, faults));
+        }
+
+        return iterations;
+    }
+}
@@ -0,0 +1,144 @@
+package de.rwth.swc.coffee4j.engine.characterization.fic;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmTest;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.characterization.SharedTestResultStore;
+import de.rwth.swc.coffee4j.engine.constraint.ConstraintChecker;
+import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
+import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchFicTest implements FaultCharacterizationAlgorithmTest {
+
+    private static final TestModel MODEL = new TestModel(2, new int[]{3, 3, 3, 3, 3, 3, 3, 3}, Collections.emptyList(), Collections.emptyList());
+
+    @Override
+    public FaultCharacterizationAlgorithm provideAlgorithm(FaultCharacterizationConfiguration configuration) {
+        return Fic.batchFic().create(configuration);
+    }
+
+    @Test
+    void findsSameCombinationsAsSequentialModeInFewerIterations() {
+        final List<int[]> faults = Arrays.asList(
+                new int[]{NO_VALUE, 1, NO_VALUE, NO_VALUE, NO_VALUE, 2, NO_VALUE, NO_VALUE},
+                new int[]{NO_VALUE, NO_VALUE, NO_VALUE, 0, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE});
+        final List<int[]> failedTestInputs = Arrays.asList(new int[]{0, 1, 0, 1, 0, 2, 0, 1}, new int[]{2, 2, 2, 0, 2, 2, 2, 2});
+        final FaultCharacterizationConfiguration configuration = new FaultCharacterizationConfiguration(MODEL, new NoConstraintChecker(), new StandardOutputReporter());
+
+        final Fic sequentialFic = new Fic(configuration);
+        final int sequentialIterations = characterize(sequentialFic, failedTestInputs, faults, new ArrayList<>());
+        final Fic batchFic = new Fic(configuration, true);
+        final int batchIterations = characterize(batchFic, failedTestInputs, faults, new ArrayList<>());
+
+        assertEquals(IntArrayWrapper.wrapToSet(sequentialFic.computeFailureInducingCombinations()),
+                IntArrayWrapper.wrapToSet(batchFic.computeFailureInducingCombinations()));
+        FaultCharacterizationAlgorithmTest.assertContainsAllFailureInducingCombinations(batchFic.computeFailureInducingCombinations(), faults);
+        assertTrue(batchIterations < sequentialIterations);
+    }
+
+    @Test
+    void onlyRequestsTestInputsSatisfyingConstraints() {
+        final ConstraintChecker checker = new ForbiddenValueChecker(0, 1);
+        final List<int[]> faults = Collections.singletonList(new int[]{0, NO_VALUE, NO_VALUE, NO_VALUE, 1, NO_VALUE, NO_VALUE, NO_VALUE});
+        final Fic fic = new Fic(new FaultCharacterizationConfiguration(MODEL, checker, new StandardOutputReporter()), true);
+        final List<int[]> requestedTestInputs = new ArrayList<>();
+
+        characterize(fic, Collections.singletonList(new int[]{0, 0, 0, 0, 1, 0, 0, 0}), faults, requestedTestInputs);
+
+        assertTrue(requestedTestInputs.stream().allMatch(checker::isValid));
+        assertTrue(requestedTestInputs.stream().anyMatch(testInput -> testInput[0] == 2));
+        FaultCharacterizationAlgorithmTest.assertContainsAllFailureInducingCombinations(fic.computeFailureInducingCombinations(), faults);
+    }
+
+    @Test
+    void keepsParametersWhichCannotBeModifiedInCombination() {
+        final TestModel model = new TestModel(1, new int[]{2, 2, 2}, Collections.emptyList(), Collections.emptyList());
+        final ConstraintChecker checker = new ForbiddenValueChecker(0, 1);
+        final List<int[]> faults = Collections.singletonList(new int[]{NO_VALUE, NO_VALUE, 0});
+        final Fic fic = new Fic(new FaultCharacterizationConfiguration(model, checker, new StandardOutputReporter()), true);
+        final List<int[]> requestedTestInputs = new ArrayList<>();
+
+        characterize(fic, Collections.singletonList(new int[]{0, 0, 0}), faults, requestedTestInputs);
+
+        assertTrue(requestedTestInputs.stream().allMatch(checker::isValid));
+        assertEquals(Collections.singleton(IntArrayWrapper.wrap(0, NO_VALUE, 0)), IntArrayWrapper.wrapToSet(fic.computeFailureInducingCombinations()));
+    }
+
+    @Test
+    void doesNotRequestTestInputsWhichAlreadyPassedInAnyGroup() {
+        final List<int[]> faults = Collections.singletonList(new int[]{NO_VALUE, 1, NO_VALUE, NO_VALUE, NO_VALUE, 2, NO_VALUE, NO_VALUE});
+        final List<int[]> failedTestInputs = Collections.singletonList(new int[]{0, 1, 0, 1, 0, 2, 0, 1});
+        final FaultCharacterizationConfiguration configuration = new FaultCharacterizationConfiguration(MODEL, new NoConstraintChecker(), new StandardOutputReporter());
+        final Fic fic = new Fic(configuration, true);
+        final List<int[]> requestedTestInputs = new ArrayList<>();
+        characterize(fic, failedTestInputs, faults, requestedTestInputs);
+
+        final SharedTestResultStore sharedTestResults = new SharedTestResultStore(MODEL.getParameterSizes());
+        for (Map.Entry<int[], TestResult> entry : FaultCharacterizationAlgorithmTest.mapToResults(requestedTestInputs, faults).entrySet()) {
+            if (entry.getValue().isSuccessful()) {
+                sharedTestResults.addResult(entry.getKey(), entry.getValue());
+            }
+        }
+        final Fic sharedFic = new Fic(configuration.withSharedTestResults(sharedTestResults), true);
+        final List<int[]> sharedRequestedTestInputs = new ArrayList<>();
+        characterize(sharedFic, failedTestInputs, faults, sharedRequestedTestInputs);
+
+        assertTrue(sharedTestResults.size() > 0);
+        assertTrue(sharedRequestedTestInputs.stream().noneMatch(sharedTestResults::isSuccessful));
+        assertTrue(sharedRequestedTestInputs.size() < requestedTestInputs.size());
+        assertEquals(IntArrayWrapper.wrapToSet(fic.computeFailureInducingCombinations()),
+                IntArrayWrapper.wrapToSet(sharedFic.computeFailureInducingCombinations()));
+    }
+
+    private static int characterize(FaultCharacterizationAlgorithm algorithm, List<int[]> failedTestInputs, List<int[]> faults, List<int[]> requestedTestInputs) {
+        int iterations = 0;
+        List<int[]> testInputs = algorithm.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(failedTestInputs, faults));
+        while (!testInputs.isEmpty()) {
+            iterations++;
+            requestedTestInputs.addAll(testInputs);
+            testInputs = algorithm.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(testInputs, faults));
+        }
+
+        return iterations;
+    }
+
+    private static final class ForbiddenValueChecker implements ConstraintChecker {
+
+        private final int parameter;
+        private final int value;
+
+        private ForbiddenValueChecker(int parameter, int value) {
+            this.parameter = parameter;
+            this.value = value;
+        }
+
+        @Override
+        public boolean isValid(int[] combination) {
+            return combination[parameter] != value;
+        }
+
+        @Override
+        public boolean isExtensionValid(int[] combination, int... parameterValues) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isDualValid(int[] parameters, int[] values) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
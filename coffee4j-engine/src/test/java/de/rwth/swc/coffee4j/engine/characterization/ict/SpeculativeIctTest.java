@@ -0,0 +1,141 @@
+package de.rwth.swc.coffee4j.engine.characterization.ict;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmTest;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
+import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrapToList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpeculativeIctTest implements FaultCharacterizationAlgorithmTest {
+    
+    /* more values than feedback test cases per fault, so feedback checking never falls back to random values */
+    private static final TestModel MODEL = new TestModel(2, new int[]{5, 5, 5, 5, 5, 5}, Collections.emptyList(), Collections.emptyList());
+    
+    private static final int NUMBER_OF_FEEDBACK_CHECKS = 2;
+    
+    @Override
+    public FaultCharacterizationAlgorithm provideAlgorithm(FaultCharacterizationConfiguration configuration) {
+        return new Ict(configuration, 5, 2);
+    }
+    
+    @Test
+    void speculationDepthMustNotBeNegative() {
+        assertThrows(IllegalArgumentException.class, () -> new Ict(configuration(0), NUMBER_OF_FEEDBACK_CHECKS, -1));
+    }
+    
+    /*
+     * All feedback test inputs of the faults fail, so speculation generates the same test inputs as sequential Ict,
+     * but emits the feedback test inputs of each fault in fewer rounds
+     */
+    @Test
+    void findsSameCombinationsAsSequentialIctInFewerRounds() {
+        final List<int[]> faults = Arrays.asList(
+                new int[]{NO_VALUE, 1, NO_VALUE, NO_VALUE, 2, NO_VALUE},
+                new int[]{NO_VALUE, NO_VALUE, 3, NO_VALUE, NO_VALUE, 4});
+        
+        final Ict sequential = new Ict(configuration(42), NUMBER_OF_FEEDBACK_CHECKS);
+        final List<List<int[]>> sequentialRounds = characterize(sequential, faults);
+        final List<int[]> sequentialTestInputs = flatten(sequentialRounds);
+        
+        for (int speculationDepth = 1; speculationDepth <= NUMBER_OF_FEEDBACK_CHECKS; speculationDepth++) {
+            final Ict speculative = new Ict(configuration(42), NUMBER_OF_FEEDBACK_CHECKS, speculationDepth);
+            final List<List<int[]>> speculativeRounds = characterize(speculative, faults);
+            
+            assertEquals(wrapToList(sequential.computeFailureInducingCombinations()), wrapToList(speculative.computeFailureInducingCombinations()));
+            assertEquals(wrapToList(sequentialTestInputs), wrapToList(flatten(speculativeRounds)));
+            
+            final int feedbackTestInputs = NUMBER_OF_FEEDBACK_CHECKS + 1;
+            final int feedbackRounds = (feedbackTestInputs + speculationDepth) / (speculationDepth + 1);
+            assertEquals(sequentialRounds.size() - faults.size() * (feedbackTestInputs - feedbackRounds), speculativeRounds.size());
+            
+            final int maximumRoundSize = Math.max(MODEL.getNumberOfParameters(), speculationDepth + 1);
+            assertTrue(speculativeRounds.stream().allMatch(round -> round.size() <= maximumRoundSize));
+        }
+        
+        assertEquals(wrapToList(faults), wrapToList(sequential.computeFailureInducingCombinations()));
+    }
+    
+    /*
+     * With only three values per parameter, the third feedback test input of a fault has random values. In the first
+     * feedback round of the first fault, the second feedback test input succeeds and the random third one is discarded,
+     * which must not change the test inputs generated afterwards
+     */
+    @Test
+    void findsSameCombinationsAsSequentialIctIfFeedbackCheckInBatchSucceeds() {
+        final TestModel model = new TestModel(2, new int[]{3, 3, 3, 3, 3, 3}, Collections.emptyList(), Collections.emptyList());
+        final List<int[]> faults = Arrays.asList(
+                new int[]{NO_VALUE, 0, NO_VALUE, NO_VALUE, 0, NO_VALUE},
+                new int[]{NO_VALUE, 1, NO_VALUE, NO_VALUE, NO_VALUE, NO_VALUE});
+        
+        final Ict sequential = new Ict(configuration(model, 34), NUMBER_OF_FEEDBACK_CHECKS);
+        final List<int[]> sequentialTestInputs = flatten(characterize(sequential, faults));
+        
+        final Ict speculative = new Ict(configuration(model, 34), NUMBER_OF_FEEDBACK_CHECKS, NUMBER_OF_FEEDBACK_CHECKS);
+        final List<List<int[]>> speculativeRounds = characterize(speculative, faults);
+        final List<int[]> speculativeTestInputs = flatten(speculativeRounds);
+        
+        assertEquals(wrapToList(sequential.computeFailureInducingCombinations()), wrapToList(speculative.computeFailureInducingCombinations()));
+        assertTrue(speculativeTestInputs.size() > sequentialTestInputs.size());
+        assertTrue(isSubsequence(sequentialTestInputs, speculativeTestInputs));
+        
+        final List<int[]> firstFeedbackRound = speculativeRounds.get(2);
+        assertEquals(Arrays.asList(true, false, false), firstFeedbackRound.stream()
+                .map(testInput -> FaultCharacterizationAlgorithmTest.containsAny(testInput, faults))
+                .collect(Collectors.toList()));
+    }
+    
+    private static List<List<int[]>> characterize(FaultCharacterizationAlgorithm algorithm, List<int[]> faults) {
+        final List<List<int[]>> rounds = new ArrayList<>();
+        
+        List<int[]> testInputs = algorithm.computeNextTestInputs(Collections.emptyMap());
+        while (!testInputs.isEmpty()) {
+            rounds.add(testInputs);
+            testInputs = algorithm.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(testInputs, faults));
+        }
+        
+        return rounds;
+    }
+    
+    private static List<int[]> flatten(List<List<int[]>> rounds) {
+        final List<int[]> testInputs = new ArrayList<>();
+        rounds.forEach(testInputs::addAll);
+        
+        return testInputs;
+    }
+    
+    private static boolean isSubsequence(List<int[]> subsequence, List<int[]> sequence) {
+        int index = 0;
+        for (int[] testInput : sequence) {
+            if (index < subsequence.size() && Arrays.equals(subsequence.get(index), testInput)) {
+                index++;
+            }
+        }
+        
+        return index == subsequence.size();
+    }
+    
+    private static FaultCharacterizationConfiguration configuration(long seed) {
+        return configuration(MODEL, seed);
+    }
+    
+    private static FaultCharacterizationConfiguration configuration(TestModel model, long seed) {
+        return new FaultCharacterizationConfiguration(model, new NoConstraintChecker(), new StandardOutputReporter())
+                .withRandomSource(RandomSource.withSeed(seed));
+    }
+    
+}
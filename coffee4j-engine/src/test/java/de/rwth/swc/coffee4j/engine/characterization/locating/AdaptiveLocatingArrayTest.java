@@ -0,0 +1,58 @@
+package de.rwth.swc.coffee4j.engine.characterization.locating;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmTest;
+import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
+import de.rwth.swc.coffee4j.engine.generator.ipog.IpogAlgorithm;
+import de.rwth.swc.coffee4j.engine.generator.ipog.IpogConfiguration;
+import de.rwth.swc.coffee4j.engine.generator.ipog.TWiseParameterCombinationFactory;
+import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveLocatingArrayTest {
+    
+    @Test
+    void returnsNothingWithoutTestResults() {
+        final TestModel model = new TestModel(2, new int[]{2, 2}, Collections.emptyList(), Collections.emptyList());
+        
+        assertTrue(new AdaptiveLocatingArray(configuration(model)).computeFailureInducingCombinations().isEmpty());
+    }
+    
+    @Test
+    void locatesSinglePairwiseFault() {
+        final TestModel model = new TestModel(2, new int[]{3, 3, 3, 3, 3}, Collections.emptyList(), Collections.emptyList());
+        final List<int[]> faults = Collections.singletonList(new int[]{NO_VALUE, 1, NO_VALUE, 2, NO_VALUE});
+        final FaultCharacterizationAlgorithm algorithm = new AdaptiveLocatingArray(configuration(model));
+        
+        List<int[]> testInputs = new IpogAlgorithm(IpogConfiguration.ipogConfiguration()
+                .testModel(model)
+                .checker(new NoConstraintChecker())
+                .factory(new TWiseParameterCombinationFactory())
+                .build()).generate();
+        int iterations = 0;
+        while (!testInputs.isEmpty() && iterations < 100) {
+            testInputs = algorithm.computeNextTestInputs(FaultCharacterizationAlgorithmTest.mapToResults(testInputs, faults));
+            iterations++;
+        }
+        
+        assertTrue(testInputs.isEmpty());
+        final List<int[]> failureInducingCombinations = algorithm.computeFailureInducingCombinations();
+        assertEquals(1, failureInducingCombinations.size());
+        assertArrayEquals(faults.get(0), failureInducingCombinations.get(0));
+    }
+    
+    private static FaultCharacterizationConfiguration configuration(TestModel model) {
+        return new FaultCharacterizationConfiguration(model, new NoConstraintChecker(), new StandardOutputReporter());
+    }
+    
+}
@@ -0,0 +1,100 @@
+package de.rwth.swc.coffee4j.engine.characterization.locating;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InteractionPartitionTest {
+    
+    private static final int[] PARAMETER_SIZES = new int[]{2, 2, 2};
+    
+    private static final List<int[]> INTERACTIONS = Arrays.asList(
+            new int[]{0, 0, NO_VALUE},
+            new int[]{0, NO_VALUE, 0},
+            new int[]{NO_VALUE, 0, 0},
+            new int[]{1, NO_VALUE, 1});
+    
+    @Test
+    void preconditions() {
+        assertThrows(NullPointerException.class, () -> new InteractionPartition(null, INTERACTIONS));
+        assertThrows(NullPointerException.class, () -> new InteractionPartition(PARAMETER_SIZES, null));
+        assertThrows(IllegalArgumentException.class, () -> new InteractionPartition(PARAMETER_SIZES,
+                Collections.singletonList(new int[]{NO_VALUE, NO_VALUE, NO_VALUE})));
+    }
+    
+    @Test
+    void startsWithOneClass() {
+        final InteractionPartition partition = new InteractionPartition(PARAMETER_SIZES, INTERACTIONS);
+        
+        assertEquals(1, partition.getNumberOfClasses());
+        assertEquals(4, partition.getClassSize(0));
+        assertFalse(partition.isDiscrete());
+    }
+    
+    @Test
+    void findsContainedInteractions() {
+        final InteractionPartition partition = new InteractionPartition(PARAMETER_SIZES, INTERACTIONS);
+        
+        assertEquals(new IntOpenHashSet(new int[]{0, 1, 2}), new IntOpenHashSet(partition.getContainedInteractions(new int[]{0, 0, 0})));
+        assertEquals(new IntOpenHashSet(new int[]{0}), new IntOpenHashSet(partition.getContainedInteractions(new int[]{0, 0, 1})));
+        assertEquals(new IntOpenHashSet(new int[]{3}), new IntOpenHashSet(partition.getContainedInteractions(new int[]{1, 1, 1})));
+        assertTrue(partition.getContainedInteractions(new int[]{1, 1, 0}).isEmpty());
+    }
+    
+    @Test
+    void splitsClassesByContainedInteractions() {
+        final InteractionPartition partition = new InteractionPartition(PARAMETER_SIZES, INTERACTIONS);
+        
+        partition.refine(new int[]{0, 0, 0});
+        assertEquals(2, partition.getNumberOfClasses());
+        assertEquals(partition.getClassOf(0), partition.getClassOf(1));
+        assertEquals(partition.getClassOf(1), partition.getClassOf(2));
+        assertNotEquals(partition.getClassOf(0), partition.getClassOf(3));
+        assertEquals(3, partition.getClassSize(partition.getClassOf(0)));
+        assertEquals(1, partition.getClassSize(partition.getClassOf(3)));
+        
+        partition.refine(new int[]{0, 0, 1});
+        assertEquals(3, partition.getNumberOfClasses());
+        assertNotEquals(partition.getClassOf(0), partition.getClassOf(1));
+        assertEquals(partition.getClassOf(1), partition.getClassOf(2));
+        
+        partition.refine(new int[]{1, 0, 0});
+        assertTrue(partition.isDiscrete());
+        assertEquals(4, partition.getNumberOfClasses());
+    }
+    
+    @Test
+    void doesNotSplitIfAllOrNoInteractionsAreContained() {
+        final InteractionPartition partition = new InteractionPartition(PARAMETER_SIZES, INTERACTIONS.subList(0, 3));
+        
+        partition.refine(new int[]{0, 0, 0});
+        partition.refine(new int[]{1, 1, 1});
+        
+        assertEquals(1, partition.getNumberOfClasses());
+        assertEquals(3, partition.getClassSize(0));
+    }
+    
+    @Test
+    void classesContainTheirInteractions() {
+        final InteractionPartition partition = new InteractionPartition(PARAMETER_SIZES, INTERACTIONS);
+        
+        partition.refine(new int[]{0, 1, 0});
+        
+        for (int clazz = 0; clazz < partition.getNumberOfClasses(); clazz++) {
+            for (int i = 0; i < partition.getClassSize(clazz); i++) {
+                assertEquals(clazz, partition.getClassOf(partition.getInteractionId(clazz, i)));
+            }
+        }
+    }
+    
+}
@@ -1,9 +1,11 @@
 package de.rwth.swc.coffee4j.engine.conflict;
 
 import de.rwth.swc.coffee4j.engine.conflict.diagnosis.ExhaustiveConflictDiagnostician;
+import de.rwth.swc.coffee4j.engine.conflict.diagnosis.FastConflictDiagnostician;
 import de.rwth.swc.coffee4j.engine.conflict.explanation.QuickConflictExplainer;
 import org.junit.jupiter.api.Test;
 
+import static de.rwth.swc.coffee4j.engine.AssertUtils.assertInstanceOf;
 import static org.testng.Assert.assertThrows;
 
 class ConflictDetectionConfigurationTest {
@@ -68,4 +70,53 @@ class ConflictDetectionConfigurationTest {
                         null)
         );
     }
+
+    @Test
+    void testMaximumHittingSetSizeMustBePositive() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ConflictDetectionConfiguration(
+                        true,
+                        false,
+                        true,
+                        QuickConflictExplainer.class,
+                        true,
+                        ExhaustiveConflictDiagnostician.class,
+                        ConflictSearchBudget.unlimited(),
+                        0)
+        );
+    }
+
+    @Test
+    void testMaximumDiagnosisSizeMustBePositive() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ConflictDetectionConfiguration(
+                        true,
+                        false,
+                        true,
+                        QuickConflictExplainer.class,
+                        true,
+                        ExhaustiveConflictDiagnostician.class,
+                        ConflictSearchBudget.unlimited(),
+                        Integer.MAX_VALUE,
+                        0)
+        );
+    }
+
+    @Test
+    void testCreatedDiagnosticianWithMaximumDiagnosisSize() {
+        final ConflictDetectionConfiguration configuration = new ConflictDetectionConfiguration(
+                true,
+                false,
+                true,
+                QuickConflictExplainer.class,
+                true,
+                FastConflictDiagnostician.class,
+                ConflictSearchBudget.unlimited(),
+                Integer.MAX_VALUE,
+                2);
+
+        assertInstanceOf(FastConflictDiagnostician.class, configuration.createConflictDiagnostician());
+    }
 }
@@ -0,0 +1,65 @@
+package de.rwth.swc.coffee4j.engine.conflict;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TupleList;
+import de.rwth.swc.coffee4j.engine.conflict.diagnosis.ExhaustiveConflictDiagnostician;
+import de.rwth.swc.coffee4j.engine.conflict.diagnosis.FastConflictDiagnostician;
+import de.rwth.swc.coffee4j.engine.conflict.explanation.QuickConflictExplainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictDetectionFingerprintTest {
+
+    private static final ConflictDetectionConfiguration CONFIGURATION = new ConflictDetectionConfiguration(
+            true, false, true, QuickConflictExplainer.class, true, ExhaustiveConflictDiagnostician.class);
+
+    private static TestModel createTestModel(int[] lastTuple) {
+        final TupleList forbiddenTuples = new TupleList(1, new int[]{0, 1}, Collections.singletonList(new int[]{0, 1}));
+        final TupleList errorTuples = new TupleList(2, new int[]{1, 2}, asList(new int[]{1, 1}, lastTuple));
+
+        return new TestModel(2, new int[]{2, 2, 2}, Collections.singletonList(forbiddenTuples), Collections.singletonList(errorTuples));
+    }
+
+    @Test
+    void testFingerprintIsStable() {
+        final String fingerprint = ConflictDetectionFingerprint.compute(createTestModel(new int[]{0, 0}), CONFIGURATION);
+
+        assertEquals(64, fingerprint.length());
+        assertTrue(fingerprint.matches("[0-9a-f]+"));
+        assertEquals(fingerprint, ConflictDetectionFingerprint.compute(createTestModel(new int[]{0, 0}), CONFIGURATION));
+    }
+
+    @Test
+    void testFingerprintChangesWithTuples() {
+        assertNotEquals(
+                ConflictDetectionFingerprint.compute(createTestModel(new int[]{0, 0}), CONFIGURATION),
+                ConflictDetectionFingerprint.compute(createTestModel(new int[]{0, 1}), CONFIGURATION));
+    }
+
+    @Test
+    void testFingerprintChangesWithAlgorithms() {
+        final TestModel testModel = createTestModel(new int[]{0, 0});
+        final ConflictDetectionConfiguration otherConfiguration = new ConflictDetectionConfiguration(
+                true, false, true, QuickConflictExplainer.class, true, FastConflictDiagnostician.class);
+
+        assertNotEquals(
+                ConflictDetectionFingerprint.compute(testModel, CONFIGURATION),
+                ConflictDetectionFingerprint.compute(testModel, otherConfiguration));
+    }
+
+    @Test
+    void testFingerprintIgnoresStrengthAndAbortion() {
+        final TestModel testModel = createTestModel(new int[]{0, 0});
+        final TestModel otherTestModel = new TestModel(3, testModel.getParameterSizes(), testModel.getForbiddenTupleLists(), testModel.getErrorTupleLists());
+        final ConflictDetectionConfiguration otherConfiguration = new ConflictDetectionConfiguration(
+                true, true, true, QuickConflictExplainer.class, true, ExhaustiveConflictDiagnostician.class);
+
+        assertEquals(
+                ConflictDetectionFingerprint.compute(testModel, CONFIGURATION),
+                ConflictDetectionFingerprint.compute(otherTestModel, otherConfiguration));
+    }
+}
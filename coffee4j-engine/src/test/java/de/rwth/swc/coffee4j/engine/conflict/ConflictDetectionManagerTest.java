@@ -9,7 +9,11 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static de.rwth.swc.coffee4j.engine.AssertUtils.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,6 +42,8 @@ class ConflictDetectionManagerTest {
         final List<MissingInvalidTuple> mits = manager.detectMissingInvalidTuples();
 
         assertEquals(4, mits.size());
+        assertTrue(manager.getNumberOfMemorizedConsistencyChecks() > 0);
+        assertTrue(manager.getNumberOfMemorizedConsistencyChecks() < manager.getNumberOfConsistencyChecks());
 
         assertTrue(mits.stream().anyMatch(mit -> mit.getNegatedErrorConstraintId() == 1
                 && Arrays.equals(new int[]{0, 1}, mit.getInvolvedParameters())
@@ -80,6 +86,49 @@ class ConflictDetectionManagerTest {
         ));
     }
 
+    @Test
+    void testOnlyTuplesOfInvolvedTupleListsAreExplained() {
+        final ConflictDetectionConfiguration configuration = new ConflictDetectionConfiguration(
+                true,
+                false,
+                true,
+                QuickConflictExplainer.class,
+                false,
+                ExhaustiveConflictDiagnostician.class);
+
+        final List<int[]> forbiddenTuples = new ArrayList<>();
+        for(int value = 0; value < 10; value++) {
+            forbiddenTuples.add(new int[] {value, value});
+        }
+
+        final List<TupleList> errorTupleLists = new ArrayList<>();
+        errorTupleLists.add(new TupleList(2, new int[]{0, 1}, Arrays.asList(new int[]{3, 3}, new int[]{4, 5})));
+        errorTupleLists.add(new TupleList(3, new int[]{0, 1}, Collections.singletonList(new int[]{7, 7})));
+
+        final TestModel model = new TestModel(2, new int[]{10, 10},
+                Collections.singletonList(new TupleList(1, new int[]{0, 1}, forbiddenTuples)),
+                errorTupleLists);
+
+        final ConflictDetectionManager manager = new ConflictDetectionManager(configuration, model);
+        final List<MissingInvalidTuple> mits = manager.detectMissingInvalidTuples();
+
+        assertEquals(2, mits.size());
+
+        for(MissingInvalidTuple mit : mits) {
+            assertInstanceOf(ConflictSet.class, mit.getExplanation());
+
+            final List<ConflictElement> elements = ((ConflictSet) mit.getExplanation()).getConflictElements();
+            assertEquals(1, elements.size());
+            assertEquals(1, elements.get(0).getConflictingConstraintId());
+            assertArrayEquals(mit.getMissingValues(), elements.get(0).getConflictingValues());
+        }
+
+        assertEquals(2, mits.get(0).getNegatedErrorConstraintId());
+        assertArrayEquals(new int[]{3, 3}, mits.get(0).getMissingValues());
+        assertEquals(3, mits.get(1).getNegatedErrorConstraintId());
+        assertArrayEquals(new int[]{7, 7}, mits.get(1).getMissingValues());
+    }
+
     @Test
     void testNoConflictExplanation() {
         final ConflictDetectionConfiguration configuration = new ConflictDetectionConfiguration(
@@ -354,6 +403,229 @@ class ConflictDetectionManagerTest {
                         && Arrays.equals(new int[] { 2 }, element.getConflictingValues())));
     }
 
+    @Test
+    void testExplanationsExceedingTheBudgetAreNotComplete() {
+        final List<TupleList> errorTupleLists = new ArrayList<>();
+        errorTupleLists.add(new TupleList(1, new int[]{0}, Collections.singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(2, new int[]{1}, Collections.singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(3, new int[]{2}, Collections.singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(4, new int[]{0, 1}, Arrays.asList(new int[]{0, 1}, new int[]{0, 2})));
+        errorTupleLists.add(new TupleList(5, new int[]{0, 1}, Arrays.asList(new int[]{1, 0}, new int[]{1, 2})));
+
+        final TestModel model = new TestModel(2, new int[]{3, 3, 3}, Collections.emptyList(), errorTupleLists);
+
+        final List<MissingInvalidTuple> limitedMits = new ConflictDetectionManager(
+                new ConflictDetectionConfiguration(true, false, true, QuickConflictExplainer.class, true, ExhaustiveConflictDiagnostician.class,
+                        new ConflictSearchBudget(Long.MAX_VALUE, 1)),
+                model).detectMissingInvalidTuples();
+
+        assertEquals(3, limitedMits.size());
+        for(MissingInvalidTuple mit : limitedMits) {
+            assertInstanceOf(ConflictSet.class, mit.getExplanation());
+            assertFalse(mit.getExplanation().isComplete());
+        }
+
+        final List<MissingInvalidTuple> sufficientMits = new ConflictDetectionManager(
+                new ConflictDetectionConfiguration(true, false, true, QuickConflictExplainer.class, true, ExhaustiveConflictDiagnostician.class,
+                        new ConflictSearchBudget(Long.MAX_VALUE, 1000)),
+                model).detectMissingInvalidTuples();
+
+        assertEquals(3, sufficientMits.size());
+        for(MissingInvalidTuple mit : sufficientMits) {
+            assertInstanceOf(DiagnosisSets.class, mit.getExplanation());
+            assertTrue(mit.getExplanation().isComplete());
+        }
+    }
+
+    @Test
+    void testTotalBudgetBoundsAllExplanationsOfOneDetection() {
+        /* constraint k forbids the value k of the first parameter, and constraint 20 + k forbids it with every value of
+           the second parameter, so each tuple of both constraints is a missing invalid tuple */
+        final List<TupleList> errorTupleLists = new ArrayList<>();
+        for(int k = 0; k < 20; k++) {
+            errorTupleLists.add(new TupleList(k + 1, new int[]{0}, Collections.singletonList(new int[]{k})));
+        }
+        for(int k = 0; k < 20; k++) {
+            errorTupleLists.add(new TupleList(k + 21, new int[]{0, 1}, Arrays.asList(new int[]{k, 0}, new int[]{k, 1})));
+        }
+
+        final TestModel model = new TestModel(2, new int[]{20, 2}, Collections.emptyList(), errorTupleLists);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<MissingInvalidTuple> unlimitedMits = new ConflictDetectionManager(
+                    new ConflictDetectionConfiguration(true, false, true, QuickConflictExplainer.class, false, null,
+                            ConflictSearchBudget.unlimited()),
+                    model, executor).detectMissingInvalidTuples();
+
+            assertEquals(60, unlimitedMits.size());
+            assertTrue(unlimitedMits.stream().allMatch(mit -> mit.getExplanation().isComplete()));
+
+            final List<MissingInvalidTuple> limitedMits = new ConflictDetectionManager(
+                    new ConflictDetectionConfiguration(true, false, true, QuickConflictExplainer.class, false, null,
+                            new ConflictSearchBudget(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, 10)),
+                    model, executor).detectMissingInvalidTuples();
+
+            /* each complete explanation consumes at least one node of the shared pool */
+            assertEquals(60, limitedMits.size());
+            assertTrue(limitedMits.stream().filter(mit -> mit.getExplanation().isComplete()).count() <= 10);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDiagnosesLargerThanTheMaximumDiagnosisSizeAreNotSearched() {
+        final List<TupleList> errorTupleLists = new ArrayList<>();
+        errorTupleLists.add(new TupleList(1, new int[]{0}, Collections.singletonList(new int[]{0})));
+        errorTupleLists.add(new TupleList(2, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{0, 1}, new int[]{0, 2})));
+        errorTupleLists.add(new TupleList(3, new int[]{0}, Collections.singletonList(new int[]{0})));
+
+        final TestModel model = new TestModel(2, new int[]{3, 3}, Collections.emptyList(), errorTupleLists);
+
+        final List<MissingInvalidTuple> unlimitedMits = new ConflictDetectionManager(
+                new ConflictDetectionConfiguration(true, false, true, QuickConflictExplainer.class, true, ExhaustiveConflictDiagnostician.class,
+                        ConflictSearchBudget.unlimited(), Integer.MAX_VALUE, Integer.MAX_VALUE),
+                model).detectMissingInvalidTuples();
+
+        assertEquals(Collections.singleton(2), new HashSet<>(diagnosisSizes(unlimitedMits)));
+
+        final List<MissingInvalidTuple> limitedMits = new ConflictDetectionManager(
+                new ConflictDetectionConfiguration(true, false, true, QuickConflictExplainer.class, true, ExhaustiveConflictDiagnostician.class,
+                        ConflictSearchBudget.unlimited(), Integer.MAX_VALUE, 1),
+                model).detectMissingInvalidTuples();
+
+        /* every diagnosis relaxes two constraints, so none is found and the conflicts are reported instead */
+        assertEquals(unlimitedMits.size(), limitedMits.size());
+        for(MissingInvalidTuple mit : limitedMits) {
+            assertInstanceOf(ConflictSet.class, mit.getExplanation());
+        }
+    }
+
+    private static List<Integer> diagnosisSizes(List<MissingInvalidTuple> mits) {
+        final List<Integer> sizes = new ArrayList<>();
+
+        for(MissingInvalidTuple mit : mits) {
+            assertInstanceOf(DiagnosisSets.class, mit.getExplanation());
+
+            for(DiagnosisSet diagnosisSet : ((DiagnosisSets) mit.getExplanation()).getDiagnosisSets()) {
+                sizes.add(diagnosisSet.getDiagnosisElements().size());
+            }
+        }
+
+        return sizes;
+    }
+
+    @Test
+    void testLazyExpansionEqualsFullExpansion() {
+        final List<TupleList> forbiddenTupleLists = new ArrayList<>();
+        forbiddenTupleLists.add(new TupleList(1, new int[]{1, 2}, Arrays.asList(new int[]{2, 0}, new int[]{2, 2})));
+
+        final List<TupleList> errorTupleLists = new ArrayList<>();
+        errorTupleLists.add(new TupleList(2, new int[]{0}, Collections.singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(3, new int[]{0, 1}, Arrays.asList(new int[]{0, 1}, new int[]{0, 2}, new int[]{1, 1})));
+        errorTupleLists.add(new TupleList(4, new int[]{0, 1}, Arrays.asList(new int[]{1, 0}, new int[]{1, 2}, new int[]{2, 1})));
+        errorTupleLists.add(new TupleList(5, new int[]{1, 2}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}, new int[]{0, 2})));
+        errorTupleLists.add(new TupleList(6, new int[]{0, 2}, Arrays.asList(new int[]{0, 0}, new int[]{2, 2})));
+
+        final TestModel model = new TestModel(2, new int[]{3, 3, 3}, forbiddenTupleLists, errorTupleLists);
+        final TestModelExpander expander = new TestModelExpander(model);
+        final TestModel expandedModel = TestModelExpanderTest.createExpandedTestModel(expander);
+
+        for(boolean diagnose : new boolean[]{false, true}) {
+            final ConflictDetectionConfiguration configuration = new ConflictDetectionConfiguration(
+                    true,
+                    false,
+                    true,
+                    QuickConflictExplainer.class,
+                    diagnose,
+                    ExhaustiveConflictDiagnostician.class);
+
+            final List<MissingInvalidTuple> lazyMits = new ConflictDetectionManager(configuration, model).detectMissingInvalidTuples();
+            final List<MissingInvalidTuple> expandedMits = new ConflictDetectionManager(configuration, expandedModel).detectMissingInvalidTuples().stream()
+                    .map(mit -> toOriginalIds(expander, mit))
+                    .collect(Collectors.toList());
+
+            assertFalse(lazyMits.isEmpty());
+            assertEquals(expandedMits, lazyMits);
+            assertEquals(diagnose, lazyMits.stream().anyMatch(mit -> mit.getExplanation() instanceof DiagnosisSets));
+        }
+    }
+
+    /* the expanded model uses the expanded ids of the tuples as ids of its tuple lists */
+    private static MissingInvalidTuple toOriginalIds(TestModelExpander expander, MissingInvalidTuple mit) {
+        final ConflictExplanation explanation = mit.getExplanation();
+        final ConflictExplanation converted;
+
+        if(explanation instanceof ConflictSet) {
+            converted = toOriginalIds(expander, (ConflictSet) explanation);
+        } else if(explanation instanceof DiagnosisSets) {
+            final DiagnosisSets diagnosisSets = (DiagnosisSets) explanation;
+            final List<DiagnosisSet> diagnoses = diagnosisSets.getDiagnosisSets().stream()
+                    .map(diagnosis -> new DiagnosisSet(diagnosis.getDiagnosisElements().stream()
+                            .map(element -> new DiagnosisElement(
+                                    expander.computeOriginalId(element.getDiagnosedConstraintId()),
+                                    element.getInvolvedParameters(),
+                                    element.getConflictingValues()))
+                            .collect(Collectors.toList())))
+                    .collect(Collectors.toList());
+
+            converted = new DiagnosisSets(toOriginalIds(expander, diagnosisSets.getRootConflictSet()), diagnoses, diagnosisSets.isComplete());
+        } else {
+            converted = explanation;
+        }
+
+        return new MissingInvalidTuple(
+                expander.computeOriginalId(mit.getNegatedErrorConstraintId()),
+                mit.getInvolvedParameters(),
+                mit.getMissingValues(),
+                converted);
+    }
+
+    private static ConflictSet toOriginalIds(TestModelExpander expander, ConflictSet conflictSet) {
+        final List<ConflictElement> elements = conflictSet.getConflictElements().stream()
+                .map(element -> new ConflictElement(
+                        expander.computeOriginalId(element.getConflictingConstraintId()),
+                        element.getInvolvedParameters(),
+                        element.getConflictingValues()))
+                .collect(Collectors.toList());
+
+        return new ConflictSet(elements, conflictSet.isComplete());
+    }
+
+    @Test
+    void testParallelDetectionEqualsSequentialDetection() {
+        final ConflictDetectionConfiguration configuration = new ConflictDetectionConfiguration(
+                true,
+                false,
+                true,
+                QuickConflictExplainer.class,
+                true,
+                ExhaustiveConflictDiagnostician.class);
+
+        final List<TupleList> errorTupleLists = new ArrayList<>();
+        errorTupleLists.add(new TupleList(1, new int[]{0}, Collections.singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(2, new int[]{1}, Collections.singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(3, new int[]{2}, Collections.singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(4, new int[]{0, 1}, Arrays.asList(new int[]{0, 1}, new int[]{0, 2})));
+        errorTupleLists.add(new TupleList(5, new int[]{0, 1}, Arrays.asList(new int[]{1, 0}, new int[]{1, 2})));
+        errorTupleLists.add(new TupleList(6, new int[]{1, 2}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1})));
+
+        final TestModel model = new TestModel(2, new int[]{3, 3, 3}, Collections.emptyList(), errorTupleLists);
+
+        final List<MissingInvalidTuple> sequentialMits = new ConflictDetectionManager(configuration, model).detectMissingInvalidTuples();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final ConflictDetectionManager manager = new ConflictDetectionManager(configuration, model, executor);
+
+            assertEquals(sequentialMits, manager.detectMissingInvalidTuples());
+            assertEquals(sequentialMits, manager.detectMissingInvalidTuples());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void testCTA2019ExampleWithDetectionExplanationButNoDiagnosis() {
         final ConflictDetectionConfiguration configuration = new ConflictDetectionConfiguration(
@@ -16,12 +16,12 @@ class ConflictDetectionResultConverterTest {
 
     @Test
     void testConvertConflictSet() {
-        final TestModel expandedTestModel = mock(TestModel.class);
-        when(expandedTestModel.getForbiddenTupleLists()).thenReturn(Collections.emptyList());
-        when(expandedTestModel.getErrorTupleLists()).thenReturn(Arrays.asList(
-            new TupleList(10, new int[] {0}, Collections.singletonList(new int[] {2})),
-            new TupleList(41, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
-            new TupleList(51, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
+        final TestModel testModel = mock(TestModel.class);
+        when(testModel.getForbiddenTupleLists()).thenReturn(Collections.emptyList());
+        when(testModel.getErrorTupleLists()).thenReturn(Arrays.asList(
+            new TupleList(1, new int[] {0}, Collections.singletonList(new int[] {2})),
+            new TupleList(4, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
+            new TupleList(5, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
 
         final InternalConflictSet internalConflict = mock(InternalConflictSet.class);
         when(internalConflict.getConflictSet()).thenReturn(new int[] {10, 41, 51});
@@ -31,7 +31,7 @@ class ConflictDetectionResultConverterTest {
         when(expander.computeOriginalId(41)).thenReturn(4);
         when(expander.computeOriginalId(51)).thenReturn(5);
 
-        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(expandedTestModel, expander);
+        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(testModel, expander);
         final ConflictSet conflictSet = converter.convertConflictSet(internalConflict);
 
         assertEquals(3, conflictSet.getConflictElements().size());
@@ -57,12 +57,12 @@ class ConflictDetectionResultConverterTest {
 
     @Test
     void testConvertConflictElement() {
-        final TestModel expandedTestModel = mock(TestModel.class);
-        when(expandedTestModel.getForbiddenTupleLists()).thenReturn(Collections.emptyList());
-        when(expandedTestModel.getErrorTupleLists()).thenReturn(Arrays.asList(
-                new TupleList(10, new int[] {0}, Collections.singletonList(new int[] {2})),
-                new TupleList(41, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
-                new TupleList(51, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
+        final TestModel testModel = mock(TestModel.class);
+        when(testModel.getForbiddenTupleLists()).thenReturn(Collections.emptyList());
+        when(testModel.getErrorTupleLists()).thenReturn(Arrays.asList(
+                new TupleList(1, new int[] {0}, Collections.singletonList(new int[] {2})),
+                new TupleList(4, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
+                new TupleList(5, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
 
         final InternalConflictSet internalConflict = mock(InternalConflictSet.class);
         when(internalConflict.getConflictSet()).thenReturn(new int[] {10, 41, 51});
@@ -72,7 +72,7 @@ class ConflictDetectionResultConverterTest {
         when(expander.computeOriginalId(41)).thenReturn(4);
         when(expander.computeOriginalId(51)).thenReturn(5);
 
-        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(expandedTestModel, expander);
+        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(testModel, expander);
 
         ConflictElement conflict;
 
@@ -96,9 +96,9 @@ class ConflictDetectionResultConverterTest {
     void testConvertInconsistentBackground() {
         final TestModel testModel = mock(TestModel.class);
         when(testModel.getErrorTupleLists()).thenReturn(Arrays.asList(
-                new TupleList(10, new int[] {0}, Collections.singletonList(new int[] {2})),
-                new TupleList(41, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
-                new TupleList(51, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
+                new TupleList(1, new int[] {0}, Collections.singletonList(new int[] {2})),
+                new TupleList(4, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
+                new TupleList(5, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
 
         final InternalInconsistentBackground background = mock(InternalInconsistentBackground.class);
         when(background.getBackground()).thenReturn(new int[]{10, 41, 51});
@@ -135,19 +135,19 @@ class ConflictDetectionResultConverterTest {
 
     @Test
     void testConvertDiagnosisElement() {
-        final TestModel expandedTestModel = mock(TestModel.class);
-        when(expandedTestModel.getForbiddenTupleLists()).thenReturn(Collections.emptyList());
-        when(expandedTestModel.getErrorTupleLists()).thenReturn(Arrays.asList(
-                new TupleList(10, new int[] {0}, Collections.singletonList(new int[] {2})),
-                new TupleList(41, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
-                new TupleList(51, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
+        final TestModel testModel = mock(TestModel.class);
+        when(testModel.getForbiddenTupleLists()).thenReturn(Collections.emptyList());
+        when(testModel.getErrorTupleLists()).thenReturn(Arrays.asList(
+                new TupleList(1, new int[] {0}, Collections.singletonList(new int[] {2})),
+                new TupleList(4, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
+                new TupleList(5, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
 
         final TestModelExpander expander = mock(TestModelExpander.class);
         when(expander.computeOriginalId(10)).thenReturn(1);
         when(expander.computeOriginalId(41)).thenReturn(4);
         when(expander.computeOriginalId(51)).thenReturn(5);
 
-        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(expandedTestModel, expander);
+        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(testModel, expander);
         final DiagnosisElement diagnosisElement = converter.convertDiagnosisElement(10);
 
         assertTrue(diagnosisElement.getDiagnosedConstraintId() == 1
@@ -157,19 +157,19 @@ class ConflictDetectionResultConverterTest {
 
     @Test
     void testConvertDiagnosis() {
-        final TestModel expandedTestModel = mock(TestModel.class);
-        when(expandedTestModel.getForbiddenTupleLists()).thenReturn(Collections.emptyList());
-        when(expandedTestModel.getErrorTupleLists()).thenReturn(Arrays.asList(
-                new TupleList(10, new int[] {0}, Collections.singletonList(new int[] {2})),
-                new TupleList(41, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
-                new TupleList(51, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
+        final TestModel testModel = mock(TestModel.class);
+        when(testModel.getForbiddenTupleLists()).thenReturn(Collections.emptyList());
+        when(testModel.getErrorTupleLists()).thenReturn(Arrays.asList(
+                new TupleList(1, new int[] {0}, Collections.singletonList(new int[] {2})),
+                new TupleList(4, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
+                new TupleList(5, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
 
         final TestModelExpander expander = mock(TestModelExpander.class);
         when(expander.computeOriginalId(10)).thenReturn(1);
         when(expander.computeOriginalId(41)).thenReturn(4);
         when(expander.computeOriginalId(51)).thenReturn(5);
 
-        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(expandedTestModel, expander);
+        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(testModel, expander);
 
         final ConflictSet conflictSet = mock(ConflictSet.class);
 
@@ -197,19 +197,19 @@ class ConflictDetectionResultConverterTest {
 
     @Test
     void testConvertDiagnosisSet() {
-        final TestModel expandedTestModel = mock(TestModel.class);
-        when(expandedTestModel.getForbiddenTupleLists()).thenReturn(Collections.emptyList());
-        when(expandedTestModel.getErrorTupleLists()).thenReturn(Arrays.asList(
-                new TupleList(10, new int[] {0}, Collections.singletonList(new int[] {2})),
-                new TupleList(41, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
-                new TupleList(51, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
+        final TestModel testModel = mock(TestModel.class);
+        when(testModel.getForbiddenTupleLists()).thenReturn(Collections.emptyList());
+        when(testModel.getErrorTupleLists()).thenReturn(Arrays.asList(
+                new TupleList(1, new int[] {0}, Collections.singletonList(new int[] {2})),
+                new TupleList(4, new int[] {0, 1}, Collections.singletonList(new int[] {0, 2})),
+                new TupleList(5, new int[] {0, 1}, Collections.singletonList(new int[] {1, 2}))));
 
         final TestModelExpander expander = mock(TestModelExpander.class);
         when(expander.computeOriginalId(10)).thenReturn(1);
         when(expander.computeOriginalId(41)).thenReturn(4);
         when(expander.computeOriginalId(51)).thenReturn(5);
 
-        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(expandedTestModel, expander);
+        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(testModel, expander);
 
         final InternalConflictSet internalConflict = mock(InternalConflictSet.class);
         when(internalConflict.getConflictSet()).thenReturn(new int[] {10, 41, 51});
@@ -234,4 +234,22 @@ class ConflictDetectionResultConverterTest {
                         && Arrays.equals(new int[]{0, 1}, element.getInvolvedParameters())
                         && Arrays.equals(new int[]{1, 2}, element.getConflictingValues()))));
     }
+
+    @Test
+    void testConvertConflictElementOfLaterTuple() {
+        final TestModel testModel = mock(TestModel.class);
+        when(testModel.getForbiddenTupleLists()).thenReturn(Collections.singletonList(
+                new TupleList(1, new int[] {0, 1}, Arrays.asList(new int[] {0, 1}, new int[] {0, 2}, new int[] {1, 2}))));
+
+        final TestModelExpander expander = mock(TestModelExpander.class);
+        when(expander.computeOriginalId(3)).thenReturn(1);
+        when(expander.computeOriginalIndexInTupleList(3)).thenReturn(2);
+
+        final ConflictDetectionResultConverter converter = new ConflictDetectionResultConverter(testModel, expander);
+        final ConflictElement conflict = converter.convertConflictElement(3);
+
+        assertEquals(1, conflict.getConflictingConstraintId());
+        assertTrue(Arrays.equals(new int[] {0, 1}, conflict.getInvolvedParameters()));
+        assertTrue(Arrays.equals(new int[] {1, 2}, conflict.getConflictingValues()));
+    }
 }
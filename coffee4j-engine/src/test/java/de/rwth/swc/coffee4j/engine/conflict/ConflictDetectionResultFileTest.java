@@ -0,0 +1,66 @@
+package de.rwth.swc.coffee4j.engine.conflict;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictDetectionResultFileTest {
+
+    @Test
+    void testMissingInvalidTuplesAreRestored() throws IOException {
+        final ConflictSet conflictSet = new ConflictSet(asList(
+                new ConflictElement(1, new int[]{0}, new int[]{2}),
+                new ConflictElement(4, new int[]{0, 1}, new int[]{0, 1})));
+        final DiagnosisSets diagnosisSets = new DiagnosisSets(conflictSet, asList(
+                new DiagnosisSet(Collections.singletonList(new DiagnosisElement(1, new int[]{0}, new int[]{2}))),
+                new DiagnosisSet(Collections.singletonList(new DiagnosisElement(4, new int[]{0, 1}, new int[]{0, 1})))));
+        final List<MissingInvalidTuple> missingInvalidTuples = asList(
+                new MissingInvalidTuple(2, new int[]{1}, new int[]{2}, new UnknownConflictExplanation()),
+                new MissingInvalidTuple(2, new int[]{1}, new int[]{2}, conflictSet),
+                new MissingInvalidTuple(2, new int[]{1}, new int[]{2}, new ConflictSet(conflictSet.getConflictElements(), false)),
+                new MissingInvalidTuple(3, new int[]{2}, new int[]{2}, new InconsistentBackground(conflictSet.getConflictElements())),
+                new MissingInvalidTuple(5, new int[]{0, 1}, new int[]{1, 0}, diagnosisSets),
+                new MissingInvalidTuple(5, new int[]{0, 1}, new int[]{1, 0}, new DiagnosisSets(conflictSet, diagnosisSets.getDiagnosisSets(), false)));
+
+        final Path file = createTemporaryFile();
+        ConflictDetectionResultFile.writeMissingInvalidTuples(file, missingInvalidTuples);
+
+        assertEquals(missingInvalidTuples, ConflictDetectionResultFile.readMissingInvalidTuples(file));
+    }
+
+    @Test
+    void testDiagnosisHittingSetsAreRestored() throws IOException {
+        final List<DiagnosisHittingSet> hittingSets = asList(
+                new DiagnosisHittingSet(Collections.singletonList(new DiagnosisElement(1, new int[]{0}, new int[]{2}))),
+                new DiagnosisHittingSet(asList(
+                        new DiagnosisElement(4, new int[]{0, 1}, new int[]{0, 1}),
+                        new DiagnosisElement(5, new int[]{0, 1}, new int[]{1, 2}))));
+
+        final Path file = createTemporaryFile();
+        ConflictDetectionResultFile.writeDiagnosisHittingSets(file, hittingSets);
+
+        assertEquals(hittingSets, ConflictDetectionResultFile.readDiagnosisHittingSets(file));
+    }
+
+    @Test
+    void testMalformedFileIsRejected() throws IOException {
+        final Path file = createTemporaryFile();
+        Files.write(file, Collections.singletonList("2\t1\t2\tCONFLICT"));
+
+        assertThrows(IOException.class, () -> ConflictDetectionResultFile.readMissingInvalidTuples(file));
+    }
+
+    private static Path createTemporaryFile() throws IOException {
+        final Path file = Files.createTempFile("conflicts", ".results");
+        file.toFile().deleteOnExit();
+
+        return file;
+    }
+}
@@ -0,0 +1,101 @@
+package de.rwth.swc.coffee4j.engine.conflict;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictSearchBudgetTest {
+
+    @Test
+    void testPreconditions() {
+        assertThrows(IllegalArgumentException.class, () -> new ConflictSearchBudget(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ConflictSearchBudget(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ConflictSearchBudget(1, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ConflictSearchBudget(1, 1, 1, 0));
+    }
+
+    @Test
+    void testNodeLimit() {
+        final ConflictSearchBudget.Tracker tracker = new ConflictSearchBudget(Long.MAX_VALUE, 2).start();
+
+        assertTrue(tracker.tryConsume());
+        assertTrue(tracker.tryConsume());
+        assertFalse(tracker.isExhausted());
+
+        assertFalse(tracker.tryConsume());
+        assertTrue(tracker.isExhausted());
+        assertEquals(2, tracker.getNumberOfNodes());
+    }
+
+    @Test
+    void testTimeLimit() throws InterruptedException {
+        final ConflictSearchBudget.Tracker tracker = new ConflictSearchBudget(1, Long.MAX_VALUE).start();
+
+        Thread.sleep(5);
+
+        assertFalse(tracker.tryConsume());
+        assertTrue(tracker.isExhausted());
+    }
+
+    @Test
+    void testUnlimitedBudget() {
+        final ConflictSearchBudget budget = ConflictSearchBudget.unlimited();
+        final ConflictSearchBudget.Tracker tracker = budget.start();
+
+        assertTrue(budget.isUnlimited());
+        for(int i = 0; i < 1000; i++) {
+            assertTrue(tracker.tryConsume());
+        }
+        assertFalse(tracker.isExhausted());
+    }
+
+    @Test
+    void testEachTrackerHasItsOwnNodes() {
+        final ConflictSearchBudget budget = new ConflictSearchBudget(Long.MAX_VALUE, 1);
+        final ConflictSearchBudget.Tracker first = budget.start();
+
+        assertTrue(first.tryConsume());
+        assertFalse(first.tryConsume());
+        assertTrue(budget.start().tryConsume());
+    }
+
+    @Test
+    void testTrackersOfAPoolShareTheTotalNodeLimit() {
+        final ConflictSearchBudget budget = new ConflictSearchBudget(Long.MAX_VALUE, 2, Long.MAX_VALUE, 3);
+        final ConflictSearchBudget.Pool pool = budget.startPool();
+        final ConflictSearchBudget.Tracker first = pool.start();
+        final ConflictSearchBudget.Tracker second = pool.start();
+
+        assertTrue(first.tryConsume());
+        assertTrue(first.tryConsume());
+        assertTrue(second.tryConsume());
+        assertFalse(pool.isExhausted());
+
+        assertFalse(second.tryConsume());
+        assertTrue(second.isExhausted());
+        assertTrue(pool.isExhausted());
+        assertFalse(pool.start().tryConsume());
+        assertEquals(3, pool.getNumberOfNodes());
+    }
+
+    @Test
+    void testTotalTimeLimit() throws InterruptedException {
+        final ConflictSearchBudget.Pool pool = new ConflictSearchBudget(Long.MAX_VALUE, Long.MAX_VALUE, 1, Long.MAX_VALUE).startPool();
+
+        Thread.sleep(5);
+
+        final ConflictSearchBudget.Tracker tracker = pool.start();
+        assertFalse(tracker.tryConsume());
+        assertTrue(tracker.isExhausted());
+        assertTrue(pool.isExhausted());
+    }
+
+    @Test
+    void testTrackersWithoutPoolIgnoreTheTotalLimits() {
+        final ConflictSearchBudget budget = new ConflictSearchBudget(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, 1);
+
+        assertFalse(budget.isUnlimited());
+        assertTrue(budget.start().tryConsume());
+        assertTrue(budget.start().tryConsume());
+    }
+}
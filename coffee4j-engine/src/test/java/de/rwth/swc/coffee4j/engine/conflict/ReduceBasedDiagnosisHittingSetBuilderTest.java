@@ -4,6 +4,9 @@ import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.TupleList;
 import de.rwth.swc.coffee4j.engine.conflict.diagnosis.ExhaustiveConflictDiagnostician;
 import de.rwth.swc.coffee4j.engine.conflict.explanation.QuickConflictExplainer;
+import de.rwth.swc.coffee4j.engine.manager.BasicCombinatorialTestManager;
+import de.rwth.swc.coffee4j.engine.manager.CombinatorialTestConfiguration;
+import de.rwth.swc.coffee4j.engine.report.GenerationReporter;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 import org.junit.jupiter.api.Test;
 
@@ -28,15 +31,6 @@ class ReduceBasedDiagnosisHittingSetBuilderTest {
                 set.containsAll(hittingSet.getDiagnosisElements()));
     }
 
-    private boolean contains(Set<Set<DiagnosisElement>> hittingSets, int[] ... elements) {
-        Preconditions.check(elements.length % 3 == 0);
-
-        final Set<DiagnosisElement> set = buildDiagnosisHittingSet(elements);
-
-        return hittingSets.stream().anyMatch(hittingSet ->
-                hittingSet.containsAll(set) && set.containsAll(hittingSet));
-    }
-
     private Set<DiagnosisElement> buildDiagnosisHittingSet(int[] ... elements) {
         final Set<DiagnosisElement> diagnosisElements = new LinkedHashSet<>();
 
@@ -96,76 +90,69 @@ class ReduceBasedDiagnosisHittingSetBuilderTest {
     }
 
     @Test
-    void testIsMinimalDiagnosisHittingSetForCTA2019Example() {
+    void testFilterMinimalSelectionsForCTA2019Example() {
         final TestModel model = mock(TestModel.class);
-        
-        final List<Set<DiagnosisElement>> hittingSets = Arrays.asList(
-                buildDiagnosisHittingSet(                       // c1, c2
-                        new int[] {1}, new int[] {0}, new int[] {2},
-                        new int[] {2}, new int[] {1}, new int[] {2}),
-                buildDiagnosisHittingSet(                        // c1, c2, c5
-                        new int[] {1}, new int[] {0}, new int[] {2},
-                        new int[] {2}, new int[] {1}, new int[] {2},
-                        new int[] {5}, new int[] {0, 1}, new int[] {1, 2}),
-                buildDiagnosisHittingSet(                        // c1, c2, c4
-                        new int[] {1}, new int[] {0}, new int[] {2},
-                        new int[] {2}, new int[] {1}, new int[] {2},
-                        new int[] {4}, new int[] {0, 1}, new int[] {0, 2}),
-                buildDiagnosisHittingSet(                        // c1, c4, c5
-                        new int[] {1}, new int[] {0}, new int[] {2},
-                        new int[] {4}, new int[] {0, 1}, new int[] {0, 2},
-                        new int[] {5}, new int[] {0, 1}, new int[] {1, 2}),
-                buildDiagnosisHittingSet(             // c2, c4
-                        new int[] {2}, new int[] {1}, new int[] {2},
-                        new int[] {4}, new int[] {0, 1}, new int[] {0, 2}),
-                buildDiagnosisHittingSet(             // c2, c4, c5
-                        new int[] {2}, new int[] {1}, new int[] {2},
-                        new int[] {4}, new int[] {0, 1}, new int[] {0, 2},
-                        new int[] {5}, new int[] {0, 1}, new int[] {1, 2}),
-                buildDiagnosisHittingSet(              // c4, c5
-                        new int[] {4}, new int[] {0, 1}, new int[] {0, 2},
-                        new int[] {5}, new int[] {0, 1}, new int[] {1, 2}),
-                buildDiagnosisHittingSet(             // c2, c5
-                        new int[] {2}, new int[] {1}, new int[] {2},
-                        new int[] {5}, new int[] {0, 1}, new int[] {1, 2}),
-                buildDiagnosisHittingSet(                        // c2
-                        new int[] {2}, new int[] {1}, new int[] {2}));
+
+        /* the bits 0, 1, 2 and 3 stand for the constraints c1, c2, c4 and c5 */
+        final List<BitSet> selections = asList(
+                bits(0, 1),
+                bits(0, 1, 3),
+                bits(0, 1, 2),
+                bits(0, 2, 3),
+                bits(1, 2),
+                bits(1, 2, 3),
+                bits(2, 3),
+                bits(1, 3),
+                bits(1));
 
         final ReduceBasedDiagnosisHittingSetBuilder builder = new ReduceBasedDiagnosisHittingSetBuilder(model);
+        final List<BitSet> minimalSelections = builder.filterMinimalSelections(selections);
 
-        assertFalse(builder.isMinimalDiagnosisHittingSet(hittingSets.get(0), new HashSet<>(hittingSets)));
-        assertFalse(builder.isMinimalDiagnosisHittingSet(hittingSets.get(2), new HashSet<>(hittingSets)));
-        assertTrue(builder.isMinimalDiagnosisHittingSet(hittingSets.get(6), new HashSet<>(hittingSets)));
-        assertTrue(builder.isMinimalDiagnosisHittingSet(hittingSets.get(8), new HashSet<>(hittingSets)));
+        assertFalse(minimalSelections.contains(selections.get(0)));
+        assertFalse(minimalSelections.contains(selections.get(2)));
+        assertTrue(minimalSelections.contains(selections.get(6)));
+        assertTrue(minimalSelections.contains(selections.get(8)));
     }
 
     @Test
-    void testFilterMinimalDiagnosisHittingSets() {
+    void testFilterMinimalSelections() {
         final TestModel model = mock(TestModel.class);
 
-        final Set<Set<DiagnosisElement>> hittingSets = new HashSet<>(asList(
-                new HashSet<>(asList(
-                        new DiagnosisElement(1, new int[] {0}, new int[]{2}),
-                        new DiagnosisElement(4, new int[] {0, 1}, new int[]{0, 2}),
-                        new DiagnosisElement(5, new int[] {0, 1}, new int[]{1, 2}))),
-                new HashSet<>(asList(
-                        new DiagnosisElement(4, new int[] {0, 1}, new int[]{0, 2}),
-                        new DiagnosisElement(5, new int[] {0, 1}, new int[]{1, 2}))),
-                new HashSet<>(asList(
-                        new DiagnosisElement(4, new int[] {0, 1}, new int[]{0, 2}),
-                        new DiagnosisElement(2, new int[] {1}, new int[]{2}))),
-                new HashSet<>(singletonList(
-                        new DiagnosisElement(2, new int[]{1}, new int[]{2})))
-        ));
+        /* the bits 0, 1, 2 and 3 stand for the constraints c1, c2, c4 and c5 */
+        final List<BitSet> selections = asList(
+                bits(0, 2, 3),
+                bits(2, 3),
+                bits(1, 2),
+                bits(1));
 
         final ReduceBasedDiagnosisHittingSetBuilder builder = new ReduceBasedDiagnosisHittingSetBuilder(model);
-        final Set<Set<DiagnosisElement>> minimalHittingSets = builder.filterMinimalDiagnosisHittingSets(hittingSets);
+        final List<BitSet> minimalSelections = builder.filterMinimalSelections(selections);
 
-        assertEquals(2, minimalHittingSets.size());
-        assertTrue(contains(minimalHittingSets, new int[] {2}, new int[] {1}, new int[] {2}));
-        assertTrue(contains(minimalHittingSets,
-                new int[] {4}, new int[] {0, 1}, new int[] {0, 2},
-                new int[] {5}, new int[] {0, 1}, new int[] {1, 2}));
+        assertEquals(asList(bits(1), bits(2, 3)), minimalSelections);
+    }
+
+    @Test
+    void testFilterMinimalSelectionsWithMaximumSize() {
+        final TestModel model = mock(TestModel.class);
+
+        final List<BitSet> selections = asList(
+                bits(0, 2, 3),
+                bits(2, 3),
+                bits(1));
+
+        final ReduceBasedDiagnosisHittingSetBuilder builder = new ReduceBasedDiagnosisHittingSetBuilder(model, 1);
+
+        assertEquals(singletonList(bits(1)), builder.filterMinimalSelections(selections));
+    }
+
+    private static BitSet bits(int ... indices) {
+        final BitSet bits = new BitSet();
+
+        for(int index : indices) {
+            bits.set(index);
+        }
+
+        return bits;
     }
 
     @Test
@@ -201,6 +188,68 @@ class ReduceBasedDiagnosisHittingSetBuilderTest {
                 new int[] {2}, new int[] {1}, new int[] {2}));
     }
 
+    @Test
+    void testComputeMinimalDiagnosisHittingSetsWithMaximumSize() {
+        final ConflictDetectionConfiguration configuration = new ConflictDetectionConfiguration(
+                true,
+                false,
+                true,
+                QuickConflictExplainer.class,
+                true,
+                ExhaustiveConflictDiagnostician.class);
+
+        final List<TupleList> errorTupleLists = new ArrayList<>();
+        errorTupleLists.add(new TupleList(1, new int[]{0}, singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(2, new int[]{1}, singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(3, new int[]{2}, singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(4, new int[]{0, 1}, asList(new int[]{0, 1}, new int[]{0, 2})));
+        errorTupleLists.add(new TupleList(5, new int[]{0, 1}, asList(new int[]{1, 0}, new int[]{1, 2})));
+
+        final TestModel model = new TestModel(2, new int[]{3, 3, 3}, Collections.emptyList(), errorTupleLists);
+
+        final ConflictDetectionManager manager = new ConflictDetectionManager(configuration, model);
+        final List<MissingInvalidTuple> mits = manager.detectMissingInvalidTuples();
+
+        final ReduceBasedDiagnosisHittingSetBuilder builder = new ReduceBasedDiagnosisHittingSetBuilder(model, 1);
+        final List<DiagnosisHittingSet> minimalHittingSets = builder.computeMinimalDiagnosisHittingSets(mits);
+
+        assertEquals(1, minimalHittingSets.size());
+        assertTrue(contains(minimalHittingSets, new int[] {2}, new int[] {1}, new int[] {2}));
+
+        assertThrows(IllegalArgumentException.class, () -> new ReduceBasedDiagnosisHittingSetBuilder(model, 0));
+    }
+
+    @Test
+    void testManagerUsesMaximumHittingSetSizeOfConfiguration() {
+        final ConflictDetectionConfiguration configuration = new ConflictDetectionConfiguration(
+                true,
+                false,
+                true,
+                QuickConflictExplainer.class,
+                true,
+                ExhaustiveConflictDiagnostician.class,
+                ConflictSearchBudget.unlimited(),
+                1);
+
+        final List<TupleList> errorTupleLists = new ArrayList<>();
+        errorTupleLists.add(new TupleList(1, new int[]{0}, singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(2, new int[]{1}, singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(3, new int[]{2}, singletonList(new int[]{2})));
+        errorTupleLists.add(new TupleList(4, new int[]{0, 1}, asList(new int[]{0, 1}, new int[]{0, 2})));
+        errorTupleLists.add(new TupleList(5, new int[]{0, 1}, asList(new int[]{1, 0}, new int[]{1, 2})));
+
+        final TestModel model = new TestModel(2, new int[]{3, 3, 3}, Collections.emptyList(), errorTupleLists);
+
+        final BasicCombinatorialTestManager manager = new BasicCombinatorialTestManager(
+                new CombinatorialTestConfiguration(null, configuration, emptyList(), mock(GenerationReporter.class)),
+                model);
+        final List<DiagnosisHittingSet> minimalHittingSets = manager.computeMinimalDiagnosisHittingSets(
+                manager.checkConstraintsForConflicts());
+
+        assertEquals(1, minimalHittingSets.size());
+        assertTrue(contains(minimalHittingSets, new int[] {2}, new int[] {1}, new int[] {2}));
+    }
+
     @Test
     void testComputeMinimalDiagnosisHittingSetsForCTA2019ExampleWithCorrectConstraint() {
         final ConflictDetectionConfiguration configuration = new ConflictDetectionConfiguration(
@@ -8,14 +8,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TestModelExpanderTest {
 
     @Test
-    void testComputeFactorForEmptyTestModel() {
+    void testNumberOfTuplesForEmptyTestModel() {
         final TestModel testModel = new TestModel(
                 1,
                 new int[] { 2, 2 },
@@ -24,83 +28,79 @@ class TestModelExpanderTest {
 
         final TestModelExpander expander = new TestModelExpander(testModel);
 
-        assertEquals(10, expander.getFactor());
+        assertEquals(0, expander.getNumberOfTuples());
+        assertFalse(expander.isUnexpandedId(1));
     }
 
     @Test
-    void testComputeFactorForTestModelWith2Tuples() {
+    void testCreateUnexpandedTestModel() {
         final TestModel testModel = new TestModel(
                 1,
                 new int[] {2, 2},
-                Collections.emptyList(),
                 Collections.singletonList(
-                        new TupleList(2, new int[]{0, 1}, Collections.singletonList(new int[]{1, 1}))));
+                        new TupleList(7, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}))),
+                Collections.singletonList(
+                        new TupleList(9, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}, new int[]{0, 1}), true)));
 
         final TestModelExpander expander = new TestModelExpander(testModel);
-
-        assertEquals(10, expander.getFactor());
+        final TestModel unexpanded = expander.createUnexpandedTestModel();
+
+        assertEquals(5, expander.getNumberOfTuples());
+        assertEquals(6, unexpanded.getForbiddenTupleLists().get(0).getId());
+        assertEquals(2, unexpanded.getForbiddenTupleLists().get(0).getTuples().size());
+        assertEquals(7, unexpanded.getErrorTupleLists().get(0).getId());
+        assertEquals(3, unexpanded.getErrorTupleLists().get(0).getTuples().size());
+        assertTrue(unexpanded.getErrorTupleLists().get(0).isMarkedAsCorrect());
+
+        assertFalse(expander.isUnexpandedId(5));
+        assertTrue(expander.isUnexpandedId(6));
+        assertTrue(expander.isUnexpandedId(7));
+        assertFalse(expander.isUnexpandedId(8));
+
+        assertEquals(7, expander.computeOriginalId(6));
+        assertEquals(9, expander.computeOriginalId(7));
+        assertThrows(IllegalArgumentException.class, () -> expander.computeOriginalIndexInTupleList(7));
+        assertThrows(IllegalArgumentException.class, () -> expander.computeOriginalId(8));
     }
 
     @Test
-    void testComputeFactorForTestModelWith4Tuples() {
+    void testExpandTupleList() {
         final TestModel testModel = new TestModel(
                 1,
                 new int[] {2, 2},
                 Collections.singletonList(
-                        new TupleList(1, new int[]{0, 1}, Collections.singletonList(new int[]{0, 0}))),
+                        new TupleList(7, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}))),
                 Collections.singletonList(
-                        new TupleList(2, new int[]{0, 1}, Collections.singletonList(new int[]{1, 1}))));
-
-        final TestModelExpander expander = new TestModelExpander(testModel);
-
-        assertEquals(10, expander.getFactor());
-    }
-
-    @Test
-    void testComputeFactorForTestModelWith9Tuples() {
-        final List<TupleList> errorTupleLists = new ArrayList<>();
-        errorTupleLists.add(new TupleList(1, new int[]{0, 1}, Arrays.asList(new int[]{1, 0}, new int[]{2, 0}, new int[]{0, 1}, new int[]{0, 2})));
-        errorTupleLists.add(new TupleList(2, new int[]{0, 1}, Arrays.asList(new int[]{0, 1}, new int[]{2, 1}, new int[]{1, 0}, new int[]{1, 2})));
-        errorTupleLists.add(new TupleList(3, new int[]{2}, Collections.singletonList(new int[]{2})));
-
-        final TestModel testModel = new TestModel(
-                2,
-                new int[]{3, 3, 3},
-                Collections.emptyList(),
-                errorTupleLists);
+                        new TupleList(9, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}, new int[]{0, 1}))));
 
         final TestModelExpander expander = new TestModelExpander(testModel);
-
-        assertEquals(10, expander.getFactor());
+        final List<TupleList> expanded = expander.expandTupleList(7);
+
+        assertEquals(3, expanded.size());
+        assertEquals(3, expanded.get(0).getId());
+        assertEquals(5, expanded.get(2).getId());
+        assertArrayEquals(new int[] {0, 1}, expanded.get(2).getTuples().get(0));
+        assertEquals(9, expander.computeOriginalId(expanded.get(2)));
+        assertEquals(2, expander.computeOriginalIndexInTupleList(expanded.get(2)));
+        assertThrows(IllegalArgumentException.class, () -> expander.expandTupleList(3));
     }
 
     @Test
-    void testComputeFactorForTestModelWithLargeTupleList() {
-        final List<TupleList> errorTupleLists = new ArrayList<>();
-        errorTupleLists.add(new TupleList(1, new int[]{0, 1}, Arrays.asList(new int[]{1, 0}, new int[]{2, 0}, new int[]{0, 1}, new int[]{0, 2})));
-        errorTupleLists.add(new TupleList(2, new int[]{0, 1}, Arrays.asList(
-                new int[]{0, 1},
-                new int[]{1, 1},
-                new int[]{2, 1},
-                new int[]{3, 1},
-                new int[]{5, 1},
-                new int[]{1, 0},
-                new int[]{1, 1},
-                new int[]{1, 2},
-                new int[]{1, 3},
-                new int[]{1, 4},
-                new int[]{2, 0})));
-        errorTupleLists.add(new TupleList(3, new int[]{2}, Collections.singletonList(new int[]{2})));
-
+    void testComputePosition() {
         final TestModel testModel = new TestModel(
-                2,
-                new int[]{5, 5, 3},
-                Collections.emptyList(),
-                errorTupleLists);
+                1,
+                new int[] {2, 2},
+                Collections.singletonList(
+                        new TupleList(7, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}))),
+                Collections.singletonList(
+                        new TupleList(9, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}, new int[]{0, 1}))));
 
         final TestModelExpander expander = new TestModelExpander(testModel);
 
-        assertEquals(100, expander.getFactor());
+        assertEquals(1, expander.computePosition(6));
+        assertEquals(2, expander.computePosition(2));
+        assertEquals(3, expander.computePosition(7));
+        assertEquals(5, expander.computePosition(5));
     }
 
     @Test
@@ -113,7 +113,7 @@ class TestModelExpanderTest {
 
 
         final TestModelExpander expander = new TestModelExpander(testModel);
-        final TestModel internal = expander.createExpandedTestModel();
+        final TestModel internal = createExpandedTestModel(expander);
 
         assertEquals(0, internal.getForbiddenTupleLists().size());
         assertEquals(0, internal.getErrorTupleLists().size());
@@ -130,12 +130,12 @@ class TestModelExpanderTest {
                         new TupleList(2, new int[]{0, 1}, Collections.singletonList(new int[]{1, 1}))));
 
         final TestModelExpander expander = new TestModelExpander(testModel);
-        final TestModel internal = expander.createExpandedTestModel();
+        final TestModel internal = createExpandedTestModel(expander);
 
         assertEquals(1, internal.getForbiddenTupleLists().size());
-        assertEquals(10, internal.getForbiddenTupleLists().get(0).getId());
+        assertEquals(1, internal.getForbiddenTupleLists().get(0).getId());
         assertEquals(1, internal.getErrorTupleLists().size());
-        assertEquals(20, internal.getErrorTupleLists().get(0).getId());
+        assertEquals(2, internal.getErrorTupleLists().get(0).getId());
     }
 
     @Test
@@ -149,14 +149,14 @@ class TestModelExpanderTest {
                         new TupleList(2, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}))));
 
         final TestModelExpander expander = new TestModelExpander(testModel);
-        final TestModel internal = expander.createExpandedTestModel();
+        final TestModel internal = createExpandedTestModel(expander);
 
         assertEquals(2, internal.getForbiddenTupleLists().size());
-        assertEquals(10, internal.getForbiddenTupleLists().get(0).getId());
-        assertEquals(11, internal.getForbiddenTupleLists().get(1).getId());
+        assertEquals(1, internal.getForbiddenTupleLists().get(0).getId());
+        assertEquals(2, internal.getForbiddenTupleLists().get(1).getId());
         assertEquals(2, internal.getErrorTupleLists().size());
-        assertEquals(20, internal.getErrorTupleLists().get(0).getId());
-        assertEquals(21, internal.getErrorTupleLists().get(1).getId());
+        assertEquals(3, internal.getErrorTupleLists().get(0).getId());
+        assertEquals(4, internal.getErrorTupleLists().get(1).getId());
     }
 
     @Test
@@ -173,12 +173,12 @@ class TestModelExpanderTest {
                 errorTupleLists);
 
         final TestModelExpander expander = new TestModelExpander(testModel);
-        final TestModel internal = expander.createExpandedTestModel();
+        final TestModel internal = createExpandedTestModel(expander);
 
         assertEquals(0, internal.getForbiddenTupleLists().size());
         assertEquals(9, internal.getErrorTupleLists().size());
-        assertEquals(10, internal.getErrorTupleLists().get(0).getId());
-        assertEquals(11, internal.getErrorTupleLists().get(1).getId());
+        assertEquals(1, internal.getErrorTupleLists().get(0).getId());
+        assertEquals(2, internal.getErrorTupleLists().get(1).getId());
     }
 
     @Test
@@ -192,7 +192,7 @@ class TestModelExpanderTest {
                         new TupleList(2, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}))));
 
         final TestModelExpander expander = new TestModelExpander(testModel);
-        final TestModel expanded = expander.createExpandedTestModel();
+        final TestModel expanded = createExpandedTestModel(expander);
 
         assertEquals(1, expander.computeOriginalId(expanded.getForbiddenTupleLists().get(0)));
         assertEquals(1, expander.computeOriginalId(expanded.getForbiddenTupleLists().get(1)));
@@ -211,7 +211,7 @@ class TestModelExpanderTest {
                         new TupleList(2, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}))));
 
         final TestModelExpander expander = new TestModelExpander(testModel);
-        final TestModel expanded = expander.createExpandedTestModel();
+        final TestModel expanded = createExpandedTestModel(expander);
 
         assertEquals(0, expander.computeOriginalIndexInTupleList(expanded.getForbiddenTupleLists().get(0)));
         assertEquals(1, expander.computeOriginalIndexInTupleList(expanded.getForbiddenTupleLists().get(1)));
@@ -230,11 +230,32 @@ class TestModelExpanderTest {
                         new TupleList(2, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}), true)));
 
         final TestModelExpander expander = new TestModelExpander(testModel);
-        final TestModel internal = expander.createExpandedTestModel();
+        final TestModel internal = createExpandedTestModel(expander);
 
         assertTrue(internal.getForbiddenTupleLists().get(0).isMarkedAsCorrect());
         assertTrue(internal.getForbiddenTupleLists().get(1).isMarkedAsCorrect());
         assertTrue(internal.getErrorTupleLists().get(0).isMarkedAsCorrect());
         assertTrue(internal.getErrorTupleLists().get(1).isMarkedAsCorrect());
     }
+
+    /**
+     * @param expander the expander of a test model
+     * @return the test model in which each tuple list is split into one tuple list per tuple with the expanded ids
+     */
+    static TestModel createExpandedTestModel(TestModelExpander expander) {
+        final TestModel unexpanded = expander.createUnexpandedTestModel();
+
+        return new TestModel(
+                unexpanded.getStrength(),
+                unexpanded.getParameterSizes(),
+                expandAll(expander, unexpanded.getForbiddenTupleLists()),
+                expandAll(expander, unexpanded.getErrorTupleLists()));
+    }
+
+    private static List<TupleList> expandAll(TestModelExpander expander, List<TupleList> unexpandedTupleLists) {
+        return unexpandedTupleLists.stream()
+                .map(tupleList -> expander.expandTupleList(tupleList.getId()))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
 }
@@ -93,6 +93,98 @@ public class ChocoModelTest {
         chocoModel.reset();
     }
 
+    @Test
+    void testExposesTupleListsNegationAndAssignment() {
+        final TupleList first = new TupleList(1, new int[] { 0 }, Collections.singletonList(new int[] { 2 }));
+        final TupleList second = new TupleList(2, new int[] { 0, 1 }, Arrays.asList(new int[] { 0, 1 }, new int[] { 0, 2 }));
+        final ChocoModel chocoModel = new ChocoModel(new int[] { 3, 3 }, new InternalConstraintConverter().convertAll(Arrays.asList(first, second)));
+        final int constraintRevision = chocoModel.getConstraintRevision();
+
+        assertArrayEquals(new int[] { 3, 3 }, chocoModel.getParameterSizes());
+        assertEquals(2, chocoModel.getTupleLists().size());
+        assertTrue(chocoModel.getTupleLists().containsAll(Arrays.asList(first, second)));
+
+        chocoModel.setNegationOfConstraint(2);
+        final int assignmentId = chocoModel.setAssignmentConstraint(new int[] { 1 }, new int[] { 2 });
+
+        assertEquals(2, chocoModel.getNegatedConstraintId());
+        assertEquals(assignmentId, chocoModel.getAssignmentConstraintId());
+        assertArrayEquals(new int[] { 1 }, chocoModel.getAssignedParameters());
+        assertArrayEquals(new int[] { 2 }, chocoModel.getAssignedValues());
+        assertEquals(constraintRevision, chocoModel.getConstraintRevision());
+
+        chocoModel.clearAssignmentConstraint();
+        chocoModel.resetNegationOfConstraint();
+        chocoModel.removeConstraint(1);
+
+        assertNotEquals(constraintRevision, chocoModel.getConstraintRevision());
+
+        assertThrows(IllegalArgumentException.class, chocoModel::getNegatedConstraintId);
+        assertThrows(IllegalArgumentException.class, chocoModel::getAssignmentConstraintId);
+        assertEquals(Collections.singletonList(second), chocoModel.getTupleLists());
+    }
+
+    @Test
+    void testSetEnabledConstraints() {
+        final ChocoModel chocoModel = createTestModel(-1);
+        final int assignmentId = chocoModel.setAssignmentConstraint(new int[] { 0, 1, 2 }, new int[] { 0, 0, 2 });
+
+        chocoModel.setEnabledConstraints(assignmentId);
+        assertFalse(chocoModel.allConstraintsEnabled());
+        assertTrue(chocoModel.isSatisfiable());
+        chocoModel.reset();
+
+        chocoModel.setEnabledConstraints(assignmentId, 3);
+        assertFalse(chocoModel.isSatisfiable());
+        chocoModel.reset();
+
+        chocoModel.setEnabledConstraints(3);
+        assertTrue(chocoModel.isSatisfiable());
+        chocoModel.reset();
+
+        chocoModel.enableAllConstraints();
+        assertTrue(chocoModel.allConstraintsEnabled());
+        assertFalse(chocoModel.isSatisfiable());
+        chocoModel.reset();
+
+        assertThrows(IllegalArgumentException.class, () -> chocoModel.setEnabledConstraints(42));
+    }
+
+    @Test
+    void testAddAndRemoveConstraint() {
+        final ChocoModel chocoModel = createTestModel(-1);
+
+        chocoModel.removeConstraint(3);
+        final int assignmentId = chocoModel.setAssignmentConstraint(new int[] { 0, 1, 2 }, new int[] { 0, 0, 2 });
+        assertTrue(chocoModel.isSatisfiable());
+        chocoModel.reset();
+        assertThrows(IllegalArgumentException.class, () -> chocoModel.removeConstraint(assignmentId));
+        chocoModel.clearAssignmentConstraint();
+
+        chocoModel.addConstraint(new InternalConstraint(6, (Model model)
+                -> model.arithm((IntVar) findVariable(model, 2).get(), "=", 2).getOpposite()));
+        chocoModel.setAssignmentConstraint(new int[] { 0, 1, 2 }, new int[] { 0, 0, 2 });
+        assertFalse(chocoModel.isSatisfiable());
+        chocoModel.reset();
+
+        assertThrows(IllegalArgumentException.class, () -> chocoModel.removeConstraint(3));
+        assertThrows(IllegalArgumentException.class, () -> chocoModel.addConstraint(new InternalConstraint(6, (Model model)
+                -> model.arithm((IntVar) findVariable(model, 2).get(), "=", 1).getOpposite())));
+    }
+
+    @Test
+    void testAssignmentConstraintIdIsReused() {
+        final ChocoModel chocoModel = createTestModel(-1);
+
+        final int firstId = chocoModel.setAssignmentConstraint(new int[] { 0 }, new int[] { 0 });
+        final int secondId = chocoModel.setAssignmentConstraint(new int[] { 0 }, new int[] { 1 });
+        assertEquals(firstId, secondId);
+
+        chocoModel.clearAssignmentConstraint();
+        assertFalse(chocoModel.isAssignmentConstraintSet());
+        assertThrows(IllegalArgumentException.class, () -> chocoModel.disableConstraint(secondId));
+    }
+
     @Test
     void testAssignmentConstraint() {
         final ChocoModel chocoModel = createTestModel(-1);
@@ -0,0 +1,123 @@
+package de.rwth.swc.coffee4j.engine.conflict.choco;
+
+import de.rwth.swc.coffee4j.engine.constraint.InternalConstraint;
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.variables.IntVar;
+import org.junit.jupiter.api.Test;
+
+import static de.rwth.swc.coffee4j.engine.conflict.choco.ChocoModelTest.createTestModel;
+import static de.rwth.swc.coffee4j.engine.constraint.ChocoSolverUtil.findVariable;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistencyOracleTest {
+
+    @Test
+    void testMonotonicityIsUsedForHits() {
+        final ChocoModel chocoModel = createTestModel(-1);
+        final int assignmentId = chocoModel.setAssignmentConstraint(new int[] { 0, 1, 2 }, new int[] { 0, 0, 2 });
+        final ConsistencyOracle oracle = chocoModel.getConsistencyOracle();
+
+        assertFalse(oracle.isConsistent(assignmentId, 3));
+        assertEquals(0, oracle.getNumberOfHits());
+
+        assertFalse(oracle.isConsistent(assignmentId, 1, 3));
+        assertEquals(1, oracle.getNumberOfHits());
+
+        assertTrue(oracle.isConsistent(assignmentId, 1, 2));
+        assertEquals(1, oracle.getNumberOfHits());
+
+        assertTrue(oracle.isConsistent(assignmentId, 2));
+        assertTrue(oracle.isConsistent());
+        assertEquals(3, oracle.getNumberOfHits());
+        assertEquals(5, oracle.getNumberOfQueries());
+        assertEquals(0.6, oracle.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testAnswersAreKeptForEachAssignment() {
+        final ChocoModel chocoModel = createTestModel(-1);
+        final ConsistencyOracle oracle = chocoModel.getConsistencyOracle();
+
+        int assignmentId = chocoModel.setAssignmentConstraint(new int[] { 0, 1, 2 }, new int[] { 0, 0, 2 });
+        assertFalse(oracle.isConsistent(assignmentId, 3));
+
+        assignmentId = chocoModel.setAssignmentConstraint(new int[] { 0, 1, 2 }, new int[] { 0, 0, 0 });
+        assertTrue(oracle.isConsistent(assignmentId, 3));
+        assertEquals(0, oracle.getNumberOfHits());
+
+        assignmentId = chocoModel.setAssignmentConstraint(new int[] { 0, 1, 2 }, new int[] { 0, 0, 2 });
+        assertFalse(oracle.isConsistent(assignmentId, 3));
+        assertEquals(1, oracle.getNumberOfHits());
+    }
+
+    @Test
+    void testAnswersAreKeptForEachNegation() {
+        final ChocoModel chocoModel = createTestModel(-1);
+        final ConsistencyOracle oracle = chocoModel.getConsistencyOracle();
+        final int assignmentId = chocoModel.setAssignmentConstraint(new int[] { 2 }, new int[] { 2 });
+
+        assertFalse(oracle.isConsistent(assignmentId, 3));
+
+        chocoModel.setNegationOfConstraint(3);
+        assertTrue(oracle.isConsistent(assignmentId, 3));
+        assertEquals(0, oracle.getNumberOfHits());
+
+        chocoModel.resetNegationOfConstraint();
+        assertFalse(oracle.isConsistent(assignmentId, 3));
+        assertEquals(1, oracle.getNumberOfHits());
+
+        chocoModel.setNegationOfConstraint(3);
+        assertTrue(oracle.isConsistent(assignmentId, 3));
+        assertEquals(2, oracle.getNumberOfHits());
+    }
+
+    @Test
+    void testAnswersAreReusedAcrossTuplesAndErrorConstraints() {
+        final ChocoModel chocoModel = createTestModel(-1);
+        final ConsistencyOracle oracle = chocoModel.getConsistencyOracle();
+
+        chocoModel.setNegationOfConstraint(4);
+        int assignmentId = chocoModel.setAssignmentConstraint(new int[] { 0, 1 }, new int[] { 0, 1 });
+        assertTrue(oracle.isConsistent(1, 2, 3));
+        assertTrue(oracle.isConsistent(assignmentId, 4, 1, 2, 5));
+        assertEquals(0, oracle.getNumberOfHits());
+
+        chocoModel.setNegationOfConstraint(5);
+        assignmentId = chocoModel.setAssignmentConstraint(new int[] { 0, 1 }, new int[] { 1, 0 });
+        assertTrue(oracle.isConsistent(1, 2, 3));
+        assertTrue(oracle.isConsistent(1, 2));
+        assertEquals(2, oracle.getNumberOfHits());
+
+        /* the same ids mean a different negation and assignment now, so they have to be solved again */
+        assertTrue(oracle.isConsistent(assignmentId, 5, 1, 2));
+        assertEquals(2, oracle.getNumberOfHits());
+    }
+
+    @Test
+    void testRemovedConstraintIsForgotten() {
+        final ChocoModel chocoModel = createTestModel(-1);
+        final ConsistencyOracle oracle = chocoModel.getConsistencyOracle();
+        final int assignmentId = chocoModel.setAssignmentConstraint(new int[] { 2 }, new int[] { 2 });
+
+        assertFalse(oracle.isConsistent(assignmentId, 3));
+        assertTrue(oracle.isConsistent(assignmentId, 1, 2, 4));
+
+        chocoModel.removeConstraint(3);
+        chocoModel.addConstraint(new InternalConstraint(3, (Model model)
+                -> model.arithm((IntVar) findVariable(model, 2).get(), "=", 1).getOpposite()));
+
+        assertTrue(oracle.isConsistent(assignmentId, 3));
+        assertEquals(0, oracle.getNumberOfHits());
+
+        assertTrue(oracle.isConsistent(assignmentId, 1, 2));
+        assertEquals(1, oracle.getNumberOfHits());
+    }
+
+    @Test
+    void testNoQueries() {
+        final ConsistencyOracle oracle = createTestModel(-1).getConsistencyOracle();
+
+        assertEquals(0, oracle.getNumberOfQueries());
+        assertEquals(0, oracle.getHitRate());
+    }
+}
@@ -46,6 +46,25 @@ class ConflictDiagnosticianTest {
                 .anyMatch(diagnosis -> Arrays.equals(diagnosis, new int[]{5})));
     }
 
+    @Test
+    void testGetDiagnosesWithinBudget() {
+        final ChocoModel chocoModel = createTestModel(2);
+        chocoModel.setAssignmentConstraint(new int[] { 1 }, new int[] { 2 });
+
+        final Optional<InternalExplanation> explanation = new QuickConflictExplainer()
+                .getMinimalConflict(chocoModel, new int[] { 2, 6 }, new int[] {1, 3, 4, 5});
+
+        assertTrue(explanation.isPresent());
+
+        final ConflictSearchBudget.Tracker tracker = new ConflictSearchBudget(Long.MAX_VALUE, 1).start();
+        final int[][] diagnoses = new ExhaustiveConflictDiagnostician()
+                .getMinimalDiagnoses((InternalConflictSet) explanation.get(), tracker);
+
+        assertTrue(tracker.isExhausted());
+        assertEquals(1, diagnoses.length);
+        assertArrayEquals(new int[]{1}, diagnoses[0]);
+    }
+
     @Test
     void testGetFirstDiagnosisForImplicitConflict() {
         final ChocoModel chocoModel = createTestModel(2);
@@ -221,6 +240,58 @@ class ConflictDiagnosticianTest {
         }
     }
 
+    @Nested
+    class MultipleConflicts {
+
+        /* relaxable conflicts {1, 2} and {1, 3} lead to the minimal diagnoses {1} and {2, 3} */
+        private InternalConflictSet createConflict() {
+            final List<InternalConstraint> internalConstraints = new ArrayList<>();
+
+            internalConstraints.add(new InternalConstraint(1, (Model model)
+                    -> model.arithm((IntVar) findVariable(model, 1).get(), "=", 1)));
+            internalConstraints.add(new InternalConstraint(2, (Model model)
+                    -> model.arithm((IntVar) findVariable(model, 1).get(), "=", 2)));
+            internalConstraints.add(new InternalConstraint(3, (Model model)
+                    -> model.arithm((IntVar) findVariable(model, 1).get(), "!=", 1)));
+
+            final ChocoModel chocoModel = new ChocoModel(new int[] { 3, 3 }, internalConstraints);
+            final int id = chocoModel.setAssignmentConstraint(new int[] { 0 }, new int[] { 0 });
+
+            final Optional<InternalExplanation> explanation = new QuickConflictExplainer()
+                    .getMinimalConflict(chocoModel, new int[] { id }, new int[] { 1, 2, 3 });
+
+            assertTrue(explanation.isPresent());
+            assertInstanceOf(InternalConflictSet.class, explanation.get());
+
+            return (InternalConflictSet) explanation.get();
+        }
+
+        @Test
+        void testGetAllDiagnoses() {
+            final int[][] diagnoses = new ExhaustiveConflictDiagnostician().getMinimalDiagnoses(createConflict());
+
+            assertEquals(2, diagnoses.length);
+            assertTrue(Arrays.stream(diagnoses)
+                    .anyMatch(diagnosis -> Arrays.equals(diagnosis, new int[]{1})));
+            assertTrue(Arrays.stream(diagnoses)
+                    .map(diagnosis -> Arrays.stream(diagnosis).sorted().toArray())
+                    .anyMatch(diagnosis -> Arrays.equals(diagnosis, new int[]{2, 3})));
+        }
+
+        @Test
+        void testMaximumDiagnosisSize() {
+            final int[][] diagnoses = new ExhaustiveConflictDiagnostician(1).getMinimalDiagnoses(createConflict());
+
+            assertEquals(1, diagnoses.length);
+            assertArrayEquals(new int[]{1}, diagnoses[0]);
+        }
+
+        @Test
+        void testInvalidMaximumDiagnosisSize() {
+            assertThrows(IllegalArgumentException.class, () -> new FastConflictDiagnostician(0));
+        }
+    }
+
     @Nested
     class ExpandPathsTest {
         @Test
@@ -252,48 +323,4 @@ class ConflictDiagnosticianTest {
                     () -> new ExhaustiveConflictDiagnostician().expandPaths(currentPath, nextLabels));
         }
     }
-
-    @Nested
-    class IsCurrentPathAlreadyContainedByRelaxationTest {
-
-        @Test
-        void testCoverage() {
-            final List<int[]> diagnoses = Collections.singletonList(new int[]{ 2 });
-
-            assertFalse(new ExhaustiveConflictDiagnostician().isCurrentPathAlreadyCoveredByDiagnoses(new int[] { 1 }, diagnoses));
-            assertTrue(new ExhaustiveConflictDiagnostician().isCurrentPathAlreadyCoveredByDiagnoses(new int[] { 2 }, diagnoses));
-            assertTrue(new ExhaustiveConflictDiagnostician().isCurrentPathAlreadyCoveredByDiagnoses(new int[] { 1, 2 }, diagnoses));
-            assertFalse(new ExhaustiveConflictDiagnostician().isCurrentPathAlreadyCoveredByDiagnoses(new int[] { 1, 4 }, diagnoses));
-        }
-
-        @Test
-        void testNoRelaxations() {
-            final List<int[]> diagnoses = Collections.emptyList();
-
-            assertFalse(new ExhaustiveConflictDiagnostician().isCurrentPathAlreadyCoveredByDiagnoses(new int[] { 1 }, diagnoses));
-            assertFalse(new ExhaustiveConflictDiagnostician().isCurrentPathAlreadyCoveredByDiagnoses(new int[] { 1, 4 }, diagnoses));
-        }
-
-        @Test
-        void testNoCurrentPath() {
-            final List<int[]> diagnoses = Collections.singletonList(new int[]{ 2 });
-
-            assertThrows(IllegalArgumentException.class,
-                    () -> new ExhaustiveConflictDiagnostician().isCurrentPathAlreadyCoveredByDiagnoses(new int[0], diagnoses));
-        }
-    }
-
-    @Nested
-    class IsSubsetTest {
-
-        @Test
-        void testIsSubset() {
-            assertTrue(new ExhaustiveConflictDiagnostician().isSubset(new int[]{ 1 }, new int[]{ 1 }));
-            assertFalse(new ExhaustiveConflictDiagnostician().isSubset(new int[]{ 1 }, new int[]{ 2 }));
-            assertTrue(new ExhaustiveConflictDiagnostician().isSubset(new int[]{ 1 }, new int[]{ 1, 2 }));
-            assertTrue(new ExhaustiveConflictDiagnostician().isSubset(new int[]{ 1, 2 }, new int[]{ 1, 2 }));
-            assertFalse(new ExhaustiveConflictDiagnostician().isSubset(new int[]{ 1, 2 }, new int[]{ 1 }));
-            assertFalse(new ExhaustiveConflictDiagnostician().isSubset(new int[]{ 1, 2 }, new int[]{ 1, 3 }));
-        }
-    }
 }
@@ -1,11 +1,13 @@
 package de.rwth.swc.coffee4j.engine.conflict.explanation;
 
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSearchBudget;
 import de.rwth.swc.coffee4j.engine.conflict.InternalConflictSet;
 import de.rwth.swc.coffee4j.engine.conflict.InternalExplanation;
 import de.rwth.swc.coffee4j.engine.conflict.InternalInconsistentBackground;
 import de.rwth.swc.coffee4j.engine.conflict.choco.ChocoModel;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 import static de.rwth.swc.coffee4j.engine.conflict.choco.ChocoModelTest.createTestModel;
@@ -81,6 +83,29 @@ class QuickConflictExplainerTest {
         assertTrue(chocoModel.allConstraintsEnabled());
     }
 
+    @Test
+    void testConflictExceedingTheBudget() {
+        final ChocoModel chocoModel = createTestModel(2);
+        chocoModel.setAssignmentConstraint(new int[] { 1 }, new int[] { 2 });
+
+        final int[] background = { 2, 6 };
+        final ConflictSearchBudget.Tracker tracker = new ConflictSearchBudget(Long.MAX_VALUE, 1).start();
+
+        final Optional<InternalExplanation> explanation = new QuickConflictExplainer()
+                .getMinimalConflict(chocoModel, background, new int[] { 1, 3, 4, 5 }, tracker);
+
+        assertTrue(explanation.isPresent());
+        assertTrue(explanation.get() instanceof InternalConflictSet);
+        assertFalse(explanation.get().isComplete());
+        assertTrue(tracker.isExhausted());
+
+        /* the conflict is not minimal, but still contains the minimal one */
+        final int[] conflictSet = ((InternalConflictSet) explanation.get()).getConflictSet();
+        Arrays.sort(conflictSet);
+        assertArrayEquals(new int[]{1, 3, 4, 5}, conflictSet);
+        assertTrue(chocoModel.allConstraintsEnabled());
+    }
+
     @Test
     void testInconsistentBackgroundConflict() {
         final ChocoModel chocoModel = createTestModel(4);
@@ -0,0 +1,341 @@
+package de.rwth.swc.coffee4j.engine.conflict.sat;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TupleList;
+import de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionConfiguration;
+import de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionManager;
+import de.rwth.swc.coffee4j.engine.conflict.ConflictExplanation;
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSearchBudget;
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSet;
+import de.rwth.swc.coffee4j.engine.conflict.DiagnosisSets;
+import de.rwth.swc.coffee4j.engine.conflict.InternalConflictSet;
+import de.rwth.swc.coffee4j.engine.conflict.InternalExplanation;
+import de.rwth.swc.coffee4j.engine.conflict.MissingInvalidTuple;
+import de.rwth.swc.coffee4j.engine.conflict.choco.ChocoModel;
+import de.rwth.swc.coffee4j.engine.conflict.diagnosis.ExhaustiveConflictDiagnostician;
+import de.rwth.swc.coffee4j.engine.conflict.explanation.ConflictExplainer;
+import de.rwth.swc.coffee4j.engine.conflict.explanation.QuickConflictExplainer;
+import de.rwth.swc.coffee4j.engine.constraint.InternalConstraintConverter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SatConflictExplainerTest {
+
+    /* error constraints of the CTA 2019 example */
+    private static List<TupleList> createTupleLists() {
+        return asList(
+                new TupleList(1, new int[]{0}, singletonList(new int[]{2})),
+                new TupleList(2, new int[]{1}, singletonList(new int[]{2})),
+                new TupleList(3, new int[]{2}, singletonList(new int[]{2})),
+                new TupleList(4, new int[]{0, 1}, asList(new int[]{0, 1}, new int[]{0, 2})),
+                new TupleList(5, new int[]{0, 1}, asList(new int[]{1, 0}, new int[]{1, 2})));
+    }
+
+    @Test
+    void testExplicitConflict() {
+        final SatConflictModel model = new SatConflictModel(new int[] {3, 3, 3}, createTupleLists());
+        model.setNegationOfConstraint(2);
+        final int id = model.setAssignmentConstraint(new int[] {1}, new int[] {2});
+
+        final Optional<int[]> conflict = new SatConflictExplainer()
+                .getMinimalConflict(model, new int[] {2, id}, new int[] {1, 3, 4, 5});
+
+        assertTrue(conflict.isPresent());
+        final int[] conflictSet = conflict.get();
+        Arrays.sort(conflictSet);
+        assertArrayEquals(new int[] {1, 4, 5}, conflictSet);
+    }
+
+    @Test
+    void testConflictExceedingTheBudget() {
+        final ChocoModel chocoModel = new ChocoModel(new int[] {3, 3, 3}, new InternalConstraintConverter().convertAll(createTupleLists()));
+        chocoModel.setNegationOfConstraint(2);
+        final int id = chocoModel.setAssignmentConstraint(new int[] {1}, new int[] {2});
+        final ConflictSearchBudget.Tracker tracker = new ConflictSearchBudget(Long.MAX_VALUE, 1).start();
+
+        final Optional<InternalExplanation> explanation = new SatConflictExplainer()
+                .getMinimalConflict(chocoModel, new int[] {2, id}, new int[] {1, 3, 4, 5}, tracker);
+
+        assertTrue(explanation.isPresent());
+        assertTrue(explanation.get() instanceof InternalConflictSet);
+        assertFalse(explanation.get().isComplete());
+        assertTrue(tracker.isExhausted());
+
+        /* the conflict is not necessarily minimal, but still contains the minimal one */
+        final int[] conflictSet = ((InternalConflictSet) explanation.get()).getConflictSet();
+        assertTrue(Arrays.stream(conflictSet).boxed().collect(Collectors.toSet()).containsAll(asList(1, 4, 5)));
+    }
+
+    @Test
+    void testConflictWithinTheBudgetIsComplete() {
+        final ChocoModel chocoModel = new ChocoModel(new int[] {3, 3, 3}, new InternalConstraintConverter().convertAll(createTupleLists()));
+        chocoModel.setNegationOfConstraint(2);
+        final int id = chocoModel.setAssignmentConstraint(new int[] {1}, new int[] {2});
+
+        final Optional<InternalExplanation> explanation = new SatConflictExplainer()
+                .getMinimalConflict(chocoModel, new int[] {2, id}, new int[] {1, 3, 4, 5}, new ConflictSearchBudget(Long.MAX_VALUE, 10).start());
+
+        assertTrue(explanation.isPresent());
+        assertTrue(explanation.get().isComplete());
+        final int[] conflictSet = ((InternalConflictSet) explanation.get()).getConflictSet();
+        Arrays.sort(conflictSet);
+        assertArrayEquals(new int[] {1, 4, 5}, conflictSet);
+    }
+
+    @Test
+    void testNoConflict() {
+        final SatConflictModel model = new SatConflictModel(new int[] {3, 3, 3}, createTupleLists());
+        model.setNegationOfConstraint(1);
+        final int id = model.setAssignmentConstraint(new int[] {0}, new int[] {2});
+
+        assertFalse(new SatConflictExplainer()
+                .getMinimalConflict(model, new int[] {1, id}, new int[] {2, 3, 4, 5})
+                .isPresent());
+    }
+
+    @Test
+    void testInconsistentBackground() {
+        final SatConflictModel model = new SatConflictModel(new int[] {3, 3, 3}, createTupleLists());
+        final int id = model.setAssignmentConstraint(new int[] {0}, new int[] {2});
+
+        final Optional<int[]> conflict = new SatConflictExplainer()
+                .getMinimalConflict(model, new int[] {1, id}, new int[] {2, 3});
+
+        assertTrue(conflict.isPresent());
+        assertEquals(0, conflict.get().length);
+    }
+
+    @Test
+    void testNegationCanBeReset() {
+        final SatConflictModel model = new SatConflictModel(new int[] {3, 3, 3}, createTupleLists());
+        final int id = model.setAssignmentConstraint(new int[] {0}, new int[] {2});
+
+        model.setNegationOfConstraint(1);
+        assertTrue(model.hasNegatedConstraint());
+        assertTrue(model.isConsistent(1, id));
+
+        model.resetNegationOfConstraint();
+        assertFalse(model.hasNegatedConstraint());
+        assertFalse(model.isConsistent(1, id));
+        final int[] inconsistentSubset = model.getLastInconsistentSubset();
+        Arrays.sort(inconsistentSubset);
+        assertArrayEquals(new int[] {1, id}, inconsistentSubset);
+    }
+
+    @Test
+    void testAssignmentConstraintIsReplaced() {
+        final SatConflictModel model = new SatConflictModel(new int[] {3, 3, 3}, createTupleLists());
+
+        final int firstId = model.setAssignmentConstraint(new int[] {0}, new int[] {2});
+        assertFalse(model.isConsistent(1, firstId));
+
+        final int secondId = model.setAssignmentConstraint(new int[] {0}, new int[] {1});
+        assertEquals(firstId, secondId);
+        assertTrue(model.isConsistent(1, secondId));
+
+        model.clearAssignmentConstraint();
+        assertFalse(model.isAssignmentConstraintSet());
+        assertThrows(IllegalArgumentException.class, () -> model.isConsistent(secondId));
+    }
+
+    @Test
+    void testConflictsAgreeWithChocoOnRandomModels() {
+        final Random random = new Random(7);
+
+        for(int round = 0; round < 30; round++) {
+            final int[] parameterSizes = { 2 + random.nextInt(3), 2 + random.nextInt(3), 2 + random.nextInt(3), 2 + random.nextInt(3) };
+            final List<TupleList> tupleLists = createRandomTupleLists(random, parameterSizes);
+            final int[] ids = tupleLists.stream().mapToInt(TupleList::getId).toArray();
+
+            final SatConflictModel satModel = new SatConflictModel(parameterSizes, tupleLists);
+            final ChocoModel chocoModel = new ChocoModel(parameterSizes, new InternalConstraintConverter().convertAll(tupleLists));
+
+            final int[] assignedParameters = { 0, 1 };
+            final int[] assignedValues = { random.nextInt(parameterSizes[0]), random.nextInt(parameterSizes[1]) };
+            final int satId = satModel.setAssignmentConstraint(assignedParameters, assignedValues);
+            final int chocoId = chocoModel.setAssignmentConstraint(assignedParameters, assignedValues);
+            assertEquals(chocoId, satId);
+
+            final Optional<int[]> conflict = new SatConflictExplainer().getMinimalConflict(satModel, new int[] {satId}, ids);
+
+            assertEquals(isConsistent(chocoModel, append(ids, chocoId)), conflict.isEmpty());
+            if(conflict.isPresent()) {
+                final int[] conflictSet = conflict.get();
+                assertFalse(isConsistent(chocoModel, append(conflictSet, chocoId)));
+
+                for(int i = 0; i < conflictSet.length; i++) {
+                    final int[] reduced = new int[conflictSet.length - 1];
+                    System.arraycopy(conflictSet, 0, reduced, 0, i);
+                    System.arraycopy(conflictSet, i + 1, reduced, i, conflictSet.length - i - 1);
+
+                    assertTrue(isConsistent(chocoModel, append(reduced, chocoId)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testManagerFindsSameConflictsAsQuickConflictExplainer() {
+        final TestModel model = new TestModel(2, new int[] {3, 3, 3}, Collections.emptyList(), createTupleLists());
+
+        final List<MissingInvalidTuple> quickMits = detect(model, QuickConflictExplainer.class, false);
+        final List<MissingInvalidTuple> satMits = detect(model, SatConflictExplainer.class, false);
+
+        assertFalse(quickMits.isEmpty());
+        assertEquals(quickMits.size(), satMits.size());
+        for(int i = 0; i < quickMits.size(); i++) {
+            assertSameMissingInvalidTuple(quickMits.get(i), satMits.get(i));
+            assertEquals(conflictElements(quickMits.get(i).getExplanation()), conflictElements(satMits.get(i).getExplanation()));
+        }
+    }
+
+    @Test
+    void testManagerFindsSameDiagnosesAsQuickConflictExplainerOnRandomModels() {
+        final Random random = new Random(11);
+        int numberOfDiagnosedTuples = 0;
+
+        for(int round = 0; round < 10; round++) {
+            final int[] parameterSizes = { 2 + random.nextInt(3), 2 + random.nextInt(3), 2 + random.nextInt(3), 2 + random.nextInt(3) };
+            final List<TupleList> tupleLists = createRandomTupleLists(random, parameterSizes);
+            final TestModel model = new TestModel(2, parameterSizes, tupleLists.subList(0, 2), tupleLists.subList(2, tupleLists.size()));
+
+            final List<MissingInvalidTuple> quickMits = detect(model, QuickConflictExplainer.class, true);
+            final List<MissingInvalidTuple> satMits = detect(model, SatConflictExplainer.class, true);
+
+            assertEquals(quickMits.size(), satMits.size());
+            for(int i = 0; i < quickMits.size(); i++) {
+                assertSameMissingInvalidTuple(quickMits.get(i), satMits.get(i));
+                assertEquals(diagnoses(quickMits.get(i).getExplanation()), diagnoses(satMits.get(i).getExplanation()));
+
+                if(satMits.get(i).getExplanation() instanceof DiagnosisSets) {
+                    numberOfDiagnosedTuples++;
+                }
+            }
+        }
+
+        assertTrue(numberOfDiagnosedTuples > 0);
+    }
+
+    @Test
+    void testManagerFindsSameConflictsAsQuickConflictExplainerOnLargerModel() {
+        final TestModel model = createLargerModel(new Random(2019));
+
+        final List<MissingInvalidTuple> quickMits = detect(model, QuickConflictExplainer.class, false);
+        final List<MissingInvalidTuple> satMits = detect(model, SatConflictExplainer.class, false);
+
+        assertFalse(quickMits.isEmpty());
+        assertEquals(quickMits.size(), satMits.size());
+        for(int i = 0; i < quickMits.size(); i++) {
+            assertSameMissingInvalidTuple(quickMits.get(i), satMits.get(i));
+        }
+    }
+
+    /* 12 parameters and 40 error constraints, each forbidding some value combinations of two parameters */
+    private static TestModel createLargerModel(Random random) {
+        final int[] parameterSizes = new int[12];
+        Arrays.setAll(parameterSizes, parameter -> 2 + random.nextInt(3));
+
+        final List<TupleList> errorTupleLists = new ArrayList<>();
+        for(int id = 1; id <= 40; id++) {
+            final int first = random.nextInt(parameterSizes.length);
+            final int second = (first + 1 + random.nextInt(parameterSizes.length - 1)) % parameterSizes.length;
+            final int[] parameters = first < second ? new int[] {first, second} : new int[] {second, first};
+
+            final List<int[]> tuples = new ArrayList<>();
+            for(int i = 0; i < 1 + random.nextInt(5); i++) {
+                final int[] tuple = { random.nextInt(parameterSizes[parameters[0]]), random.nextInt(parameterSizes[parameters[1]]) };
+
+                if(tuples.stream().noneMatch(existing -> Arrays.equals(existing, tuple))) {
+                    tuples.add(tuple);
+                }
+            }
+
+            errorTupleLists.add(new TupleList(id, parameters, tuples));
+        }
+
+        return new TestModel(2, parameterSizes, Collections.emptyList(), errorTupleLists);
+    }
+
+    private static List<MissingInvalidTuple> detect(TestModel model, Class<? extends ConflictExplainer> explainerClass, boolean diagnose) {
+        final ConflictDetectionConfiguration configuration = new ConflictDetectionConfiguration(
+                true,
+                false,
+                true,
+                explainerClass,
+                diagnose,
+                diagnose ? ExhaustiveConflictDiagnostician.class : null);
+
+        return new ConflictDetectionManager(configuration, model).detectMissingInvalidTuples();
+    }
+
+    private static void assertSameMissingInvalidTuple(MissingInvalidTuple expected, MissingInvalidTuple actual) {
+        assertEquals(expected.getNegatedErrorConstraintId(), actual.getNegatedErrorConstraintId());
+        assertArrayEquals(expected.getInvolvedParameters(), actual.getInvolvedParameters());
+        assertArrayEquals(expected.getMissingValues(), actual.getMissingValues());
+        assertEquals(expected.getExplanation().getClass(), actual.getExplanation().getClass());
+    }
+
+    private static Set<?> conflictElements(ConflictExplanation explanation) {
+        return explanation instanceof ConflictSet
+                ? new HashSet<>(((ConflictSet) explanation).getConflictElements())
+                : Collections.emptySet();
+    }
+
+    /* the root conflicts may differ, but both diagnosticians find all minimal diagnoses */
+    private static Set<?> diagnoses(ConflictExplanation explanation) {
+        return explanation instanceof DiagnosisSets
+                ? ((DiagnosisSets) explanation).getDiagnosisSets().stream()
+                        .map(diagnosis -> new HashSet<>(diagnosis.getDiagnosisElements()))
+                        .collect(Collectors.toSet())
+                : Collections.emptySet();
+    }
+
+    private static List<TupleList> createRandomTupleLists(Random random, int[] parameterSizes) {
+        final List<TupleList> tupleLists = new ArrayList<>();
+
+        for(int id = 1; id <= 6; id++) {
+            final int first = random.nextInt(parameterSizes.length);
+            final int second = (first + 1 + random.nextInt(parameterSizes.length - 1)) % parameterSizes.length;
+            final int[] parameters = { first, second };
+
+            final List<int[]> tuples = new ArrayList<>();
+            for(int i = 0; i < 1 + random.nextInt(3); i++) {
+                tuples.add(new int[] { random.nextInt(parameterSizes[first]), random.nextInt(parameterSizes[second]) });
+            }
+
+            tupleLists.add(new TupleList(id, parameters, tuples));
+        }
+
+        return tupleLists;
+    }
+
+    private static boolean isConsistent(ChocoModel model, int[] ids) {
+        model.reset();
+        model.setEnabledConstraints(ids);
+        final boolean consistent = model.isSatisfiable();
+        model.reset();
+        model.enableAllConstraints();
+
+        return consistent;
+    }
+
+    private static int[] append(int[] ids, int id) {
+        final int[] appended = Arrays.copyOf(ids, ids.length + 1);
+        appended[ids.length] = id;
+
+        return appended;
+    }
+}
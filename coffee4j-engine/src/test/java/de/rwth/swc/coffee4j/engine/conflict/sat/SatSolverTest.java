@@ -0,0 +1,161 @@
+package de.rwth.swc.coffee4j.engine.conflict.sat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SatSolverTest {
+
+    @Test
+    void testSatisfiableAndUnsatisfiableUnderAssumptions() {
+        final SatSolver solver = new SatSolver();
+        final int a = solver.newVariable();
+        final int b = solver.newVariable();
+        final int c = solver.newVariable();
+
+        solver.addClause(-a, b);
+        solver.addClause(-b, c);
+
+        assertTrue(solver.solve());
+        assertTrue(solver.solve(a, c));
+        assertFalse(solver.solve(a, -c));
+
+        final int[] failedAssumptions = solver.getFailedAssumptions();
+        Arrays.sort(failedAssumptions);
+        assertArrayEquals(new int[] {-c, a}, failedAssumptions);
+
+        assertTrue(solver.solve(-a, -c));
+        assertEquals(0, solver.getFailedAssumptions().length);
+    }
+
+    @Test
+    void testFailedAssumptionsOnlyContainInvolvedAssumptions() {
+        final SatSolver solver = new SatSolver();
+        final int a = solver.newVariable();
+        final int b = solver.newVariable();
+        final int c = solver.newVariable();
+        final int d = solver.newVariable();
+
+        solver.addClause(-a, -b);
+
+        assertFalse(solver.solve(c, a, d, b));
+
+        final int[] failedAssumptions = solver.getFailedAssumptions();
+        Arrays.sort(failedAssumptions);
+        assertArrayEquals(new int[] {a, b}, failedAssumptions);
+    }
+
+    @Test
+    void testContradictingAssumptions() {
+        final SatSolver solver = new SatSolver();
+        final int a = solver.newVariable();
+
+        assertFalse(solver.solve(a, -a));
+
+        final int[] failedAssumptions = solver.getFailedAssumptions();
+        Arrays.sort(failedAssumptions);
+        assertArrayEquals(new int[] {-a, a}, failedAssumptions);
+    }
+
+    @Test
+    void testUnsatisfiableClauses() {
+        final SatSolver solver = new SatSolver();
+        final int a = solver.newVariable();
+
+        solver.addClause(a);
+        solver.addClause(-a);
+
+        assertFalse(solver.solve());
+        assertEquals(0, solver.getFailedAssumptions().length);
+    }
+
+    @Test
+    void testPigeonHoleProblemIsUnsatisfiable() {
+        final SatSolver solver = new SatSolver();
+        final int pigeons = 5;
+        final int holes = 4;
+        final int[][] variables = new int[pigeons][holes];
+
+        for(int pigeon = 0; pigeon < pigeons; pigeon++) {
+            for(int hole = 0; hole < holes; hole++) {
+                variables[pigeon][hole] = solver.newVariable();
+            }
+            solver.addClause(variables[pigeon]);
+        }
+        for(int hole = 0; hole < holes; hole++) {
+            for(int first = 0; first < pigeons; first++) {
+                for(int second = first + 1; second < pigeons; second++) {
+                    solver.addClause(-variables[first][hole], -variables[second][hole]);
+                }
+            }
+        }
+
+        assertFalse(solver.solve());
+    }
+
+    @Test
+    void testRandomFormulasAgreeWithBruteForce() {
+        final Random random = new Random(42);
+
+        for(int round = 0; round < 200; round++) {
+            final int numberOfVariables = 3 + random.nextInt(6);
+            final int[][] clauses = new int[2 + random.nextInt(4 * numberOfVariables)][];
+
+            final SatSolver solver = new SatSolver();
+            for(int i = 0; i < numberOfVariables; i++) {
+                solver.newVariable();
+            }
+            for(int i = 0; i < clauses.length; i++) {
+                clauses[i] = new int[1 + random.nextInt(3)];
+
+                for(int j = 0; j < clauses[i].length; j++) {
+                    final int variable = 1 + random.nextInt(numberOfVariables);
+                    clauses[i][j] = random.nextBoolean() ? variable : -variable;
+                }
+            }
+            for(int[] clause : clauses) {
+                solver.addClause(clause);
+            }
+
+            final int[] assumptions = { random.nextBoolean() ? 1 : -1, random.nextBoolean() ? 2 : -2 };
+            final boolean satisfiable = solver.solve(assumptions);
+            assertEquals(isSatisfiable(numberOfVariables, clauses, assumptions), satisfiable);
+
+            if(!satisfiable && solver.getFailedAssumptions().length > 0) {
+                assertFalse(isSatisfiable(numberOfVariables, clauses, solver.getFailedAssumptions()));
+            }
+        }
+    }
+
+    private static boolean isSatisfiable(int numberOfVariables, int[][] clauses, int[] assumptions) {
+        for(int assignment = 0; assignment < 1 << numberOfVariables; assignment++) {
+            if(satisfiesAll(assignment, clauses) && satisfiesAll(assignment, Arrays.stream(assumptions)
+                    .mapToObj(assumption -> new int[] {assumption})
+                    .toArray(int[][]::new))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean satisfiesAll(int assignment, int[][] clauses) {
+        for(int[] clause : clauses) {
+            boolean satisfied = false;
+
+            for(int literal : clause) {
+                final boolean value = (assignment & (1 << (Math.abs(literal) - 1))) != 0;
+                satisfied |= literal > 0 == value;
+            }
+
+            if(!satisfied) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
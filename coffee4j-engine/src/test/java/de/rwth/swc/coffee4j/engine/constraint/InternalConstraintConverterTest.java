@@ -49,4 +49,49 @@ class InternalConstraintConverterTest {
 
         assertTrue(model.getSolver().solve());
     }
+
+    @Test
+    void testTableOfForbiddenTuples() {
+        TupleList tupleList = new TupleList(1, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}));
+        InternalConstraint internalConstraint = new InternalConstraintConverter().convert(tupleList).get(0);
+
+        assertFalse(solve(internalConstraint, 0, 0));
+        assertFalse(solve(internalConstraint, 1, 1));
+        assertTrue(solve(internalConstraint, 0, 1));
+        assertTrue(solve(internalConstraint, 1, 0));
+    }
+
+    @Test
+    void testNegatedTableOfForbiddenTuples() {
+        TupleList tupleList = new TupleList(1, new int[]{0, 1}, Arrays.asList(new int[]{0, 0}, new int[]{1, 1}));
+        InternalConstraint internalConstraint = new NegatingInternalConstraint(new InternalConstraintConverter().convert(tupleList).get(0));
+
+        assertTrue(solve(internalConstraint, 0, 0));
+        assertTrue(solve(internalConstraint, 1, 1));
+        assertFalse(solve(internalConstraint, 0, 1));
+        assertFalse(solve(internalConstraint, 1, 0));
+    }
+
+    @Test
+    void testForbiddenValuesOfSingleParameter() {
+        TupleList tupleList = new TupleList(1, new int[]{1}, Arrays.asList(new int[]{0}, new int[]{2}));
+        InternalConstraint internalConstraint = new InternalConstraintConverter().convert(tupleList).get(0);
+
+        assertFalse(solve(internalConstraint, 0, 0));
+        assertTrue(solve(internalConstraint, 0, 1));
+        assertFalse(solve(internalConstraint, 1, 2));
+    }
+
+    private boolean solve(InternalConstraint internalConstraint, int value0, int value1) {
+        Model model = new Model();
+        IntVar var0 = model.intVar("0", 0, 2);
+        IntVar var1 = model.intVar("1", 0, 2);
+
+        internalConstraint.apply(model).post();
+
+        model.arithm(var0, "=", value0).post();
+        model.arithm(var1, "=", value1).post();
+
+        return model.getSolver().solve();
+    }
 }
@@ -3,6 +3,7 @@ package de.rwth.swc.coffee4j.engine.generator.aetg;
 import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.util.CombinationUtil;
 import de.rwth.swc.coffee4j.engine.util.Combinator;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 import it.unimi.dsi.fastutil.ints.Int2IntMap;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntSet;
@@ -13,6 +14,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -87,4 +89,24 @@ public class AetgSatAlgorithmTest {
         verifyAllCombinationsPresent(testSuite, model.getParameterSizes(), 2);
     }
 
+    @Test
+    void sameSeedGeneratesSameTestSuite() {
+        final TestModel model = new TestModel(2, new int[]{3, 3, 3, 3, 3, 3, 3}, Collections.emptyList(), Collections.emptyList());
+
+        final List<int[]> first = new AetgSatAlgorithm(AetgSatConfiguration.aetgSatConfiguration()
+                .model(model)
+                .randomSource(RandomSource.withSeed(42))
+                .build()).generate();
+        final List<int[]> second = new AetgSatAlgorithm(AetgSatConfiguration.aetgSatConfiguration()
+                .model(model)
+                .randomSource(RandomSource.withSeed(42))
+                .build()).generate();
+
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertArrayEquals(first.get(i), second.get(i));
+        }
+        verifyAllCombinationsPresent(first, model.getParameterSizes(), 2);
+    }
+
 }
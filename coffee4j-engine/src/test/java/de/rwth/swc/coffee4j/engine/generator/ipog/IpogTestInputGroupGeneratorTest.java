@@ -4,6 +4,7 @@ import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.constraint.NoConstraintChecker;
 import de.rwth.swc.coffee4j.engine.report.Reporter;
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroup;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
@@ -29,4 +30,22 @@ class IpogTestInputGroupGeneratorTest {
         assertEquals(NoConstraintChecker.class, generatedGroup.getFaultCharacterizationConfiguration().get().getChecker().getClass());
     }
     
+    @Test
+    void sameSeedGivesSameRandomSourceToFaultCharacterization() {
+        final TestModel model = new TestModel(2, new int[]{2, 2, 2}, Collections.emptyList(), Collections.emptyList());
+        
+        final RandomSource first = generateRandomSource(new Ipog(RandomSource.withSeed(42)), model);
+        final RandomSource second = generateRandomSource(new Ipog(RandomSource.withSeed(42)), model);
+        
+        for (int i = 0; i < 10; i++) {
+            assertEquals(first.nextInt(1000), second.nextInt(1000));
+        }
+    }
+    
+    private static RandomSource generateRandomSource(Ipog generator, TestModel model) {
+        final TestInputGroup group = new ArrayList<>(generator.generate(model, Mockito.mock(Reporter.class))).get(0).get();
+        
+        return group.getFaultCharacterizationConfiguration().get().getRandomSource();
+    }
+    
 }
@@ -7,6 +7,7 @@ import de.rwth.swc.coffee4j.engine.generator.TestInputGroup;
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroupGenerator;
 import de.rwth.swc.coffee4j.engine.util.CombinationUtil;
 import de.rwth.swc.coffee4j.engine.report.StandardOutputReporter;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -114,4 +115,26 @@ class IpogNegTest {
             }
         }
     }
+    
+    @Test
+    void sameSeedGivesSameRandomSourcesToFaultCharacterization() {
+        final List<TupleList> errorTupleLists = new ArrayList<>();
+        errorTupleLists.add(new TupleList(1, new int[]{0, 1}, Arrays.asList(new int[]{0, 0})));
+        errorTupleLists.add(new TupleList(2, new int[]{1, 2}, Arrays.asList(new int[]{1, 1})));
+        
+        final TestModel model = new TestModel(2, new int[]{2, 2, 2, 2}, Collections.emptyList(), errorTupleLists);
+        
+        final List<TestInputGroup> firstGroups = new IpogNeg(RandomSource.withSeed(42)).generate(model, new StandardOutputReporter()).stream().map(Supplier::get).collect(Collectors.toList());
+        final List<TestInputGroup> secondGroups = new IpogNeg(RandomSource.withSeed(42)).generate(model, new StandardOutputReporter()).stream().map(Supplier::get).collect(Collectors.toList());
+        assertEquals(2, firstGroups.size());
+        
+        for (int group = 0; group < firstGroups.size(); group++) {
+            final RandomSource first = firstGroups.get(group).getFaultCharacterizationConfiguration().get().getRandomSource();
+            final RandomSource second = secondGroups.get(group).getFaultCharacterizationConfiguration().get().getRandomSource();
+            
+            for (int i = 0; i < 10; i++) {
+                assertEquals(first.nextInt(1000), second.nextInt(1000));
+            }
+        }
+    }
 }
@@ -2,12 +2,17 @@ package de.rwth.swc.coffee4j.engine.manager;
 
 import de.rwth.swc.coffee4j.engine.TestModel;
 import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.TupleList;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithm;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorithmFactory;
 import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationConfiguration;
+import de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionConfiguration;
+import de.rwth.swc.coffee4j.engine.conflict.diagnosis.ExhaustiveConflictDiagnostician;
+import de.rwth.swc.coffee4j.engine.conflict.explanation.QuickConflictExplainer;
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroup;
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroupGenerator;
 import de.rwth.swc.coffee4j.engine.report.GenerationReporter;
+import de.rwth.swc.coffee4j.engine.report.Report;
 import de.rwth.swc.coffee4j.engine.report.Reporter;
 import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
 import org.junit.jupiter.api.Assertions;
@@ -22,14 +27,20 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import static de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionConfiguration.disable;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -47,6 +58,7 @@ class BasicCombinatorialTestManagerTest {
     void preconditions() {
         assertThrows(NullPointerException.class, () -> new BasicCombinatorialTestManager(null, simpleModel()));
         assertThrows(NullPointerException.class, () -> new BasicCombinatorialTestManager(simpleConfiguration(), null));
+        assertThrows(NullPointerException.class, () -> new BasicCombinatorialTestManager(simpleConfiguration(), simpleModel(), null));
     }
     
     private TestModel simpleModel() {
@@ -57,6 +69,37 @@ class BasicCombinatorialTestManagerTest {
         return new CombinatorialTestConfiguration(null, disable(), Collections.emptyList(), generationReporter);
     }
     
+    @Test
+    @SuppressWarnings("unchecked")
+    void reportsMemorizedConsistencyChecksOfConflictDetection() {
+        final ConflictDetectionConfiguration conflictDetectionConfiguration = new ConflictDetectionConfiguration(
+                true,
+                false,
+                true,
+                QuickConflictExplainer.class,
+                false,
+                ExhaustiveConflictDiagnostician.class);
+        final CombinatorialTestConfiguration configuration = new CombinatorialTestConfiguration(null, conflictDetectionConfiguration, Collections.emptyList(), generationReporter);
+        
+        final List<TupleList> errorTupleLists = Arrays.asList(
+                new TupleList(1, new int[]{0, 1}, Arrays.asList(new int[]{1, 0}, new int[]{0, 1})),
+                new TupleList(2, new int[]{0, 1}, Arrays.asList(new int[]{0, 1}, new int[]{1, 0})));
+        final TestModel model = new TestModel(2, new int[]{2, 2}, Collections.emptyList(), errorTupleLists);
+        
+        new BasicCombinatorialTestManager(configuration, model).checkConstraintsForConflicts();
+        
+        final ArgumentCaptor<Supplier<Report>> reportCaptor = ArgumentCaptor.forClass(Supplier.class);
+        verify(generationReporter, times(1)).reportDebug(reportCaptor.capture());
+        assertTrue(reportCaptor.getValue().get().getResolvedReport().contains("consistency checks"));
+    }
+    
+    @Test
+    void doesNotReportConsistencyChecksIfConflictDetectionIsDisabled() {
+        new BasicCombinatorialTestManager(simpleConfiguration(), simpleModel()).checkConstraintsForConflicts();
+        
+        verify(generationReporter, never()).reportDebug(Mockito.<Supplier<Report>>any());
+    }
+    
     @Test
     void returnsListOfTestInputsFromOneGeneratorInInitialGeneration() {
         final List<int[]> testInputs = Arrays.asList(new int[]{0}, new int[]{1});
@@ -123,4 +166,120 @@ class BasicCombinatorialTestManagerTest {
         Assertions.assertTrue(IntArrayWrapper.wrapToSet(keys).contains(IntArrayWrapper.wrap(testInputs.get(1))));
     }
     
+    @Test
+    void faultCharacterizationOfMultipleGroupsRunsConcurrentlyOnExecutor() throws InterruptedException {
+        final FaultCharacterizationConfiguration characterizationConfiguration = new FaultCharacterizationConfiguration(Mockito.mock(TestModel.class), Mockito.mock(Reporter.class));
+        final TestInputGroup firstGroup = new TestInputGroup("first", Collections.singletonList(new int[]{0}), characterizationConfiguration);
+        final TestInputGroup secondGroup = new TestInputGroup("second", Collections.singletonList(new int[]{1}), characterizationConfiguration);
+        final Set<Supplier<TestInputGroup>> allGroups = Set.of(() -> firstGroup, () -> secondGroup);
+        final TestInputGroupGenerator generator = Mockito.mock(TestInputGroupGenerator.class);
+        when(generator.generate(any(), any())).thenReturn(allGroups);
+        
+        final Thread callingThread = Thread.currentThread();
+        final CountDownLatch bothRoundsStarted = new CountDownLatch(2);
+        final FaultCharacterizationAlgorithmFactory factory = configuration -> {
+            final FaultCharacterizationAlgorithm algorithm = Mockito.mock(FaultCharacterizationAlgorithm.class);
+            when(algorithm.computeNextTestInputs(any())).thenAnswer(invocation -> {
+                assertNotSame(callingThread, Thread.currentThread());
+                bothRoundsStarted.countDown();
+                assertTrue(bothRoundsStarted.await(10, TimeUnit.SECONDS));
+                return Collections.singletonList(new int[]{2});
+            });
+            return algorithm;
+        };
+        
+        final CombinatorialTestConfiguration configuration = new CombinatorialTestConfiguration(factory, disable(), Collections.singleton(generator), generationReporter);
+        final TestModel testModel = new TestModel(1, new int[]{3}, Collections.emptyList(), Collections.emptyList());
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final BasicCombinatorialTestManager manager = new BasicCombinatorialTestManager(configuration, testModel, executor);
+            manager.generateInitialTests();
+            
+            final List<int[]> nextTestInputs = new ArrayList<>();
+            nextTestInputs.addAll(manager.generateAdditionalTestInputsWithResult(new int[]{0}, TestResult.failure(new IllegalArgumentException())));
+            nextTestInputs.addAll(manager.generateAdditionalTestInputsWithResult(new int[]{1}, TestResult.failure(new IllegalArgumentException())));
+            while (nextTestInputs.size() < 2) {
+                final List<int[]> awaitedTestInputs = manager.awaitAdditionalTestInputs();
+                assertTrue(!awaitedTestInputs.isEmpty());
+                nextTestInputs.addAll(awaitedTestInputs);
+            }
+            
+            assertEquals(2, nextTestInputs.size());
+            assertEquals(Collections.emptyList(), manager.awaitAdditionalTestInputs());
+            verify(generationReporter, times(1)).faultCharacterizationTestInputsGenerated(eq(firstGroup), any());
+            verify(generationReporter, times(1)).faultCharacterizationTestInputsGenerated(eq(secondGroup), any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void awaitingFaultCharacterizationThrowsWhenInterrupted() {
+        final FaultCharacterizationConfiguration characterizationConfiguration = new FaultCharacterizationConfiguration(Mockito.mock(TestModel.class), Mockito.mock(Reporter.class));
+        final TestInputGroup group = new TestInputGroup("group", Collections.singletonList(new int[]{0}), characterizationConfiguration);
+        final TestInputGroupGenerator generator = Mockito.mock(TestInputGroupGenerator.class);
+        when(generator.generate(any(), any())).thenReturn(Collections.singleton(() -> group));
+        
+        final CountDownLatch neverReleased = new CountDownLatch(1);
+        final FaultCharacterizationAlgorithmFactory factory = configuration -> {
+            final FaultCharacterizationAlgorithm algorithm = Mockito.mock(FaultCharacterizationAlgorithm.class);
+            when(algorithm.computeNextTestInputs(any())).thenAnswer(invocation -> {
+                neverReleased.await();
+                return Collections.emptyList();
+            });
+            return algorithm;
+        };
+        
+        final CombinatorialTestConfiguration configuration = new CombinatorialTestConfiguration(factory, disable(), Collections.singleton(generator), generationReporter);
+        final TestModel testModel = new TestModel(1, new int[]{3}, Collections.emptyList(), Collections.emptyList());
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final BasicCombinatorialTestManager manager = new BasicCombinatorialTestManager(configuration, testModel, executor);
+            manager.generateInitialTests();
+            manager.generateAdditionalTestInputsWithResult(new int[]{0}, TestResult.failure(new IllegalArgumentException()));
+            
+            Thread.currentThread().interrupt();
+            assertThrows(IllegalStateException.class, manager::awaitAdditionalTestInputs);
+            assertTrue(Thread.interrupted());
+        } finally {
+            Thread.interrupted();
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void testInputsOfGroupArePinnedWhileFaultCharacterizationIsActive() {
+        final List<int[]> testInputs = Arrays.asList(new int[]{0}, new int[]{1});
+        final FaultCharacterizationConfiguration characterizationConfiguration = new FaultCharacterizationConfiguration(Mockito.mock(TestModel.class), Mockito.mock(Reporter.class));
+        final TestInputGroup group = new TestInputGroup("test", testInputs, characterizationConfiguration);
+        final Set<Supplier<TestInputGroup>> allGroups = Collections.singleton(() -> group);
+        final TestInputGroupGenerator generator = Mockito.mock(TestInputGroupGenerator.class);
+        when(generator.generate(any(), any())).thenReturn(allGroups);
+        
+        final FaultCharacterizationAlgorithm algorithm = Mockito.mock(FaultCharacterizationAlgorithm.class);
+        when(algorithm.computeNextTestInputs(any())).thenReturn(Collections.singletonList(new int[]{2}), Collections.emptyList());
+        final FaultCharacterizationAlgorithmFactory factory = configuration -> algorithm;
+        
+        final CombinatorialTestConfiguration configuration = new CombinatorialTestConfiguration(factory, disable(), Collections.singleton(generator), generationReporter);
+        final TestModel testModel = new TestModel(1, new int[]{3}, Collections.emptyList(), Collections.emptyList());
+        final TestResultCache cache = Mockito.mock(TestResultCache.class);
+        final BasicCombinatorialTestManager manager = new BasicCombinatorialTestManager(configuration, testModel, null, cache);
+        
+        manager.generateInitialTests();
+        manager.generateAdditionalTestInputsWithResult(new int[]{0}, TestResult.failure(new IllegalArgumentException()));
+        verify(cache, Mockito.never()).pin(any());
+        
+        manager.generateAdditionalTestInputsWithResult(new int[]{1}, TestResult.success());
+        verify(cache).pin(IntArrayWrapper.wrap(0));
+        verify(cache).pin(IntArrayWrapper.wrap(1));
+        verify(cache).pin(IntArrayWrapper.wrap(2));
+        verify(cache, Mockito.never()).unpin(any());
+        
+        manager.generateAdditionalTestInputsWithResult(new int[]{2}, TestResult.success());
+        verify(cache).unpin(IntArrayWrapper.wrap(0));
+        verify(cache).unpin(IntArrayWrapper.wrap(1));
+        verify(cache).unpin(IntArrayWrapper.wrap(2));
+        verify(generationReporter).testInputGroupFinished(group);
+    }
+    
 }
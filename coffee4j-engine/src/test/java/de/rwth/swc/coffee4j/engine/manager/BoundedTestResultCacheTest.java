@@ -0,0 +1,141 @@
+package de.rwth.swc.coffee4j.engine.manager;
+
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import org.junit.jupiter.api.Test;
+
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedTestResultCacheTest {
+    
+    @Test
+    void preconditions() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedTestResultCache(0));
+        assertThrows(NullPointerException.class, () -> new BoundedTestResultCache(1, null));
+        assertThrows(NullPointerException.class, () -> new BoundedTestResultCache(1).containsResultFor(null));
+    }
+    
+    @Test
+    void doesNotHaveTestResultsForNonCachedTests() {
+        final BoundedTestResultCache cache = new BoundedTestResultCache(4);
+        
+        assertFalse(cache.containsResultFor(wrap(0)));
+        assertNull(cache.getResultFor(wrap(0)));
+    }
+    
+    @Test
+    void containsResultsOfAddedTests() {
+        final BoundedTestResultCache cache = new BoundedTestResultCache(4, BoundedTestResultCache.CauseRetention.FULL);
+        final Exception exception = new IllegalArgumentException();
+        
+        cache.addResultFor(wrap(0, 1), TestResult.success());
+        cache.addResultFor(wrap(1, 0), TestResult.failure(exception));
+        
+        assertTrue(cache.containsResultFor(wrap(0, 1)));
+        assertTrue(cache.containsResultFor(wrap(1, 0)));
+        assertFalse(cache.containsResultFor(wrap(1, 1)));
+        assertEquals(TestResult.success(), cache.getResultFor(wrap(0, 1)));
+        assertEquals(TestResult.failure(exception), cache.getResultFor(wrap(1, 0)));
+        assertEquals(2, cache.size());
+    }
+    
+    @Test
+    void trimsCauseForFailure() {
+        final BoundedTestResultCache cache = new BoundedTestResultCache(4);
+        final Exception exception = new IllegalStateException("failure", new RuntimeException());
+        
+        cache.addResultFor(wrap(0), TestResult.failure(exception));
+        final Throwable retainedCause = cache.getResultFor(wrap(0)).getCauseForFailure().orElseThrow();
+        
+        assertEquals(exception.toString(), retainedCause.getMessage());
+        assertNull(retainedCause.getCause());
+        assertEquals(0, retainedCause.getStackTrace().length);
+    }
+    
+    @Test
+    void sharesCauseForFailureIfNotRetained() {
+        final BoundedTestResultCache cache = new BoundedTestResultCache(4, BoundedTestResultCache.CauseRetention.NONE);
+        
+        cache.addResultFor(wrap(0), TestResult.failure(new IllegalArgumentException()));
+        cache.addResultFor(wrap(1), TestResult.failure(new IllegalStateException()));
+        
+        assertTrue(cache.getResultFor(wrap(0)).isUnsuccessful());
+        assertSame(cache.getResultFor(wrap(0)).getCauseForFailure().orElseThrow(),
+                cache.getResultFor(wrap(1)).getCauseForFailure().orElseThrow());
+    }
+    
+    @Test
+    void overwritesResultOfSameTestInput() {
+        final BoundedTestResultCache cache = new BoundedTestResultCache(2);
+        
+        cache.addResultFor(wrap(0, 0), TestResult.failure(new IllegalArgumentException()));
+        cache.addResultFor(wrap(0, 0), TestResult.success());
+        
+        assertEquals(TestResult.success(), cache.getResultFor(wrap(0, 0)));
+        assertEquals(1, cache.size());
+    }
+    
+    @Test
+    void evictsNotRecentlyUsedResultsWhenFull() {
+        final BoundedTestResultCache cache = new BoundedTestResultCache(2);
+        
+        cache.addResultFor(wrap(0), TestResult.success());
+        cache.addResultFor(wrap(1), TestResult.success());
+        cache.addResultFor(wrap(2), TestResult.success());
+        cache.getResultFor(wrap(2));
+        cache.addResultFor(wrap(3), TestResult.success());
+        
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsResultFor(wrap(2)));
+        assertTrue(cache.containsResultFor(wrap(3)));
+        assertFalse(cache.containsResultFor(wrap(0)));
+        assertFalse(cache.containsResultFor(wrap(1)));
+    }
+    
+    @Test
+    void doesNotEvictPinnedResults() {
+        final BoundedTestResultCache cache = new BoundedTestResultCache(2);
+        final IntArrayWrapper pinned = wrap(0);
+        
+        cache.pin(pinned);
+        cache.addResultFor(pinned, TestResult.success());
+        for (int i = 1; i < 10; i++) {
+            cache.addResultFor(wrap(i), TestResult.success());
+        }
+        
+        assertTrue(cache.containsResultFor(pinned));
+        assertTrue(cache.containsResultFor(wrap(9)));
+        
+        cache.unpin(pinned);
+        cache.addResultFor(wrap(10), TestResult.success());
+        cache.addResultFor(wrap(11), TestResult.success());
+        
+        assertFalse(cache.containsResultFor(pinned));
+    }
+    
+    @Test
+    void doesNotCacheResultIfAllResultsArePinned() {
+        final BoundedTestResultCache cache = new BoundedTestResultCache(1);
+        
+        cache.pin(wrap(0));
+        cache.addResultFor(wrap(0), TestResult.success());
+        cache.addResultFor(wrap(1), TestResult.success());
+        
+        assertTrue(cache.containsResultFor(wrap(0)));
+        assertFalse(cache.containsResultFor(wrap(1)));
+    }
+    
+    @Test
+    void differentTestInputsHaveDifferentKeys() {
+        assertFalse(BoundedTestResultCache.computeKey(new int[]{0, 1}) == BoundedTestResultCache.computeKey(new int[]{1, 0}));
+        assertFalse(BoundedTestResultCache.computeKey(new int[]{0}) == BoundedTestResultCache.computeKey(new int[]{0, 0}));
+        assertFalse(BoundedTestResultCache.computeKey(new int[]{-1, 0}) == BoundedTestResultCache.computeKey(new int[]{0, -1}));
+    }
+    
+}
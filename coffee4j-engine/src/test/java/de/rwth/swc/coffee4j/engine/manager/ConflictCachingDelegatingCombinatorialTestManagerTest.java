@@ -0,0 +1,151 @@
+package de.rwth.swc.coffee4j.engine.manager;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TupleList;
+import de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionConfiguration;
+import de.rwth.swc.coffee4j.engine.conflict.DiagnosisElement;
+import de.rwth.swc.coffee4j.engine.conflict.DiagnosisHittingSet;
+import de.rwth.swc.coffee4j.engine.conflict.MissingInvalidTuple;
+import de.rwth.swc.coffee4j.engine.conflict.UnknownConflictExplanation;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConflictCachingDelegatingCombinatorialTestManagerTest {
+    
+    private static final ConflictDetectionConfiguration CONFIGURATION = new ConflictDetectionConfiguration(
+            true, false, false, null, false, null);
+    
+    private static final TestModel TEST_MODEL = new TestModel(2, new int[]{2, 2},
+            Collections.emptyList(),
+            Collections.singletonList(new TupleList(1, new int[]{0}, Collections.singletonList(new int[]{1}))));
+    
+    private static final List<MissingInvalidTuple> MISSING_INVALID_TUPLES = Collections.singletonList(
+            new MissingInvalidTuple(1, new int[]{0}, new int[]{1}, new UnknownConflictExplanation()));
+    
+    private static final List<DiagnosisHittingSet> HITTING_SETS = Collections.singletonList(
+            new DiagnosisHittingSet(Collections.singletonList(new DiagnosisElement(1, new int[]{0}, new int[]{1}))));
+    
+    @Test
+    void preconditions() {
+        final ConflictDetectionResultCache cache = new HashMapConflictDetectionResultCache();
+        final CombinatorialTestManager generator = Mockito.mock(CombinatorialTestManager.class);
+        
+        assertThrows(NullPointerException.class, () -> new ConflictCachingDelegatingCombinatorialTestManager(null, CONFIGURATION, TEST_MODEL, generator));
+        assertThrows(NullPointerException.class, () -> new ConflictCachingDelegatingCombinatorialTestManager(cache, null, TEST_MODEL, generator));
+        assertThrows(NullPointerException.class, () -> new ConflictCachingDelegatingCombinatorialTestManager(cache, CONFIGURATION, null, generator));
+        assertThrows(NullPointerException.class, () -> new ConflictCachingDelegatingCombinatorialTestManager(cache, CONFIGURATION, TEST_MODEL, null));
+    }
+    
+    @Test
+    void detectsConflictsOnlyOncePerFingerprint() {
+        final ConflictDetectionResultCache cache = new HashMapConflictDetectionResultCache();
+        final CombinatorialTestManager firstGenerator = createGenerator();
+        final CombinatorialTestManager secondGenerator = createGenerator();
+        
+        final CombinatorialTestManager firstManager = new ConflictCachingDelegatingCombinatorialTestManager(cache, CONFIGURATION, TEST_MODEL, firstGenerator);
+        assertEquals(MISSING_INVALID_TUPLES, firstManager.checkConstraintsForConflicts());
+        assertEquals(HITTING_SETS, firstManager.computeMinimalDiagnosisHittingSets(MISSING_INVALID_TUPLES));
+        
+        final CombinatorialTestManager secondManager = new ConflictCachingDelegatingCombinatorialTestManager(cache, CONFIGURATION, TEST_MODEL, secondGenerator);
+        assertEquals(MISSING_INVALID_TUPLES, secondManager.checkConstraintsForConflicts());
+        assertEquals(HITTING_SETS, secondManager.computeMinimalDiagnosisHittingSets(MISSING_INVALID_TUPLES));
+        
+        verify(firstGenerator, times(1)).checkConstraintsForConflicts();
+        verify(firstGenerator, times(1)).computeMinimalDiagnosisHittingSets(MISSING_INVALID_TUPLES);
+        verify(secondGenerator, times(0)).checkConstraintsForConflicts();
+        verify(secondGenerator, times(0)).computeMinimalDiagnosisHittingSets(MISSING_INVALID_TUPLES);
+    }
+    
+    @Test
+    void computesHittingSetsOfOtherMissingInvalidTuples() {
+        final ConflictDetectionResultCache cache = new HashMapConflictDetectionResultCache();
+        final CombinatorialTestManager generator = createGenerator();
+        final CombinatorialTestManager manager = new ConflictCachingDelegatingCombinatorialTestManager(cache, CONFIGURATION, TEST_MODEL, generator);
+        
+        manager.checkConstraintsForConflicts();
+        manager.computeMinimalDiagnosisHittingSets(Collections.emptyList());
+        manager.computeMinimalDiagnosisHittingSets(Collections.emptyList());
+        
+        verify(generator, times(2)).computeMinimalDiagnosisHittingSets(Collections.emptyList());
+    }
+    
+    @Test
+    void reusesResultsStoredInDirectory() throws IOException {
+        final Path directory = Files.createTempDirectory("conflicts");
+        directory.toFile().deleteOnExit();
+        final CombinatorialTestManager firstGenerator = createGenerator();
+        final CombinatorialTestManager secondGenerator = createGenerator();
+        
+        new ConflictCachingDelegatingCombinatorialTestManager(new FileConflictDetectionResultCache(directory), CONFIGURATION, TEST_MODEL, firstGenerator)
+                .checkConstraintsForConflicts();
+        final List<MissingInvalidTuple> missingInvalidTuples = new ConflictCachingDelegatingCombinatorialTestManager(new FileConflictDetectionResultCache(directory), CONFIGURATION, TEST_MODEL, secondGenerator)
+                .checkConstraintsForConflicts();
+        
+        assertEquals(MISSING_INVALID_TUPLES, missingInvalidTuples);
+        verify(secondGenerator, times(0)).checkConstraintsForConflicts();
+    }
+    
+    @Test
+    void recomputesAndRewritesUnreadableResultsStoredInDirectory() throws IOException {
+        final Path directory = Files.createTempDirectory("conflicts");
+        directory.toFile().deleteOnExit();
+        
+        new ConflictCachingDelegatingCombinatorialTestManager(new FileConflictDetectionResultCache(directory), CONFIGURATION, TEST_MODEL, createGenerator())
+                .checkConstraintsForConflicts();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.write(file, Collections.singletonList("truncated"));
+            }
+        }
+        
+        final CombinatorialTestManager secondGenerator = createGenerator();
+        assertEquals(MISSING_INVALID_TUPLES, new ConflictCachingDelegatingCombinatorialTestManager(new FileConflictDetectionResultCache(directory), CONFIGURATION, TEST_MODEL, secondGenerator)
+                .checkConstraintsForConflicts());
+        verify(secondGenerator, times(1)).checkConstraintsForConflicts();
+        
+        final CombinatorialTestManager thirdGenerator = createGenerator();
+        assertEquals(MISSING_INVALID_TUPLES, new ConflictCachingDelegatingCombinatorialTestManager(new FileConflictDetectionResultCache(directory), CONFIGURATION, TEST_MODEL, thirdGenerator)
+                .checkConstraintsForConflicts());
+        verify(thirdGenerator, times(0)).checkConstraintsForConflicts();
+    }
+    
+    @Test
+    void deletesTemporaryFileIfResultsCannotBeStored() throws IOException {
+        final Path directory = Files.createTempDirectory("conflicts");
+        directory.toFile().deleteOnExit();
+        final Path blockingDirectory = Files.createDirectory(directory.resolve("abc.missing-invalid-tuples"));
+        Files.createFile(blockingDirectory.resolve("content"));
+        
+        final FileConflictDetectionResultCache cache = new FileConflictDetectionResultCache(directory);
+        assertThrows(UncheckedIOException.class, () -> cache.addMissingInvalidTuplesFor("abc", MISSING_INVALID_TUPLES));
+        
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(Collections.singletonList(blockingDirectory), files.collect(Collectors.toList()));
+        }
+    }
+    
+    private static CombinatorialTestManager createGenerator() {
+        final CombinatorialTestManager generator = Mockito.mock(CombinatorialTestManager.class);
+        when(generator.checkConstraintsForConflicts()).thenReturn(MISSING_INVALID_TUPLES);
+        when(generator.computeMinimalDiagnosisHittingSets(Mockito.any())).thenReturn(HITTING_SETS);
+        
+        return generator;
+    }
+    
+}
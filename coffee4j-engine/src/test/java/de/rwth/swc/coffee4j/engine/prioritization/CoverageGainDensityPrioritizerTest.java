@@ -0,0 +1,63 @@
+package de.rwth.swc.coffee4j.engine.prioritization;
+
+import de.rwth.swc.coffee4j.engine.TestModel;
+import de.rwth.swc.coffee4j.engine.TestResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrapToList;
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrapToSet;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CoverageGainDensityPrioritizerTest {
+    
+    private static final TestModel MODEL = new TestModel(2, new int[]{2, 2, 2}, Collections.emptyList(), Collections.emptyList());
+    
+    @Test
+    void preconditions() {
+        final CoverageGainDensityPrioritizer prioritizer = new CoverageGainDensityPrioritizer();
+        
+        assertThrows(NullPointerException.class, () -> prioritizer.prioritize(null, MODEL));
+        assertThrows(NullPointerException.class, () -> prioritizer.prioritize(Collections.emptyList(), null));
+        assertThrows(IllegalArgumentException.class, () -> new CoverageGainDensityPrioritizer(new FailureHistory(), -1));
+    }
+    
+    @Test
+    void keepsAllTestInputs() {
+        final List<int[]> testInputs = Arrays.asList(new int[]{0, 0, 0}, new int[]{0, 1, 1}, new int[]{1, 0, 1}, new int[]{1, 1, 0});
+        
+        final List<int[]> prioritizedTestInputs = new CoverageGainDensityPrioritizer().prioritize(testInputs, MODEL);
+        
+        assertEquals(testInputs.size(), prioritizedTestInputs.size());
+        assertEquals(wrapToSet(testInputs), wrapToSet(prioritizedTestInputs));
+    }
+    
+    @Test
+    void prefersTestInputsWithHigherCoverageGain() {
+        final List<int[]> testInputs = Arrays.asList(new int[]{0, 0, 0}, new int[]{0, 0, 1}, new int[]{1, 1, 1});
+        
+        final List<int[]> prioritizedTestInputs = new CoverageGainDensityPrioritizer().prioritize(testInputs, MODEL);
+        
+        assertEquals(wrapToList(Arrays.asList(new int[]{0, 0, 0}, new int[]{1, 1, 1}, new int[]{0, 0, 1})), wrapToList(prioritizedTestInputs));
+    }
+    
+    @Test
+    void prefersTestInputsWhichFailedBefore() {
+        final FailureHistory history = new FailureHistory();
+        final CoverageGainDensityPrioritizer prioritizer = new CoverageGainDensityPrioritizer(history, 10);
+        prioritizer.testResultReceived(new int[]{1, 1, 1}, TestResult.failure(new IllegalArgumentException()));
+        prioritizer.testResultReceived(new int[]{0, 1, 1}, TestResult.success());
+        final List<int[]> testInputs = Arrays.asList(new int[]{0, 0, 0}, new int[]{0, 1, 1}, new int[]{1, 1, 1});
+        
+        final List<int[]> prioritizedTestInputs = prioritizer.prioritize(testInputs, MODEL);
+        
+        assertArrayEquals(new int[]{1, 1, 1}, prioritizedTestInputs.get(0));
+        assertArrayEquals(new int[]{0, 1, 1}, prioritizedTestInputs.get(1));
+    }
+    
+}
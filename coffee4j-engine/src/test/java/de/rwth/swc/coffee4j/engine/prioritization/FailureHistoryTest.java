@@ -0,0 +1,76 @@
+package de.rwth.swc.coffee4j.engine.prioritization;
+
+import de.rwth.swc.coffee4j.engine.TestResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FailureHistoryTest {
+    
+    @Test
+    void computesFailureRatesPerValue() {
+        final FailureHistory history = new FailureHistory();
+        
+        history.record(new int[]{0, 1}, TestResult.failure(new IllegalArgumentException()));
+        history.record(new int[]{0, 0}, TestResult.success());
+        
+        assertEquals(0.5, history.getFailureRate(0, 0));
+        assertEquals(1, history.getFailureRate(1, 1));
+        assertEquals(0, history.getFailureRate(1, 0));
+        assertEquals(0, history.getFailureRate(0, 1));
+        assertEquals(1, history.computeFailureLikelihood(new int[]{1, 1}));
+        assertEquals(0.5, history.computeFailureLikelihood(new int[]{0, 0}));
+        assertEquals(0, history.computeFailureLikelihood(new int[]{1, 0}));
+    }
+    
+    @Test
+    void ignoresUnsetValues() {
+        final FailureHistory history = new FailureHistory();
+        
+        history.record(new int[]{-1, 1}, TestResult.failure(new IllegalArgumentException()));
+        
+        assertEquals(0, history.getFailureRate(0, -1));
+        assertEquals(1, history.computeFailureLikelihood(new int[]{-1, 1}));
+    }
+    
+    @Test
+    void writesAndReadsHistory() throws IOException {
+        final Path file = Files.createTempFile("history", null);
+        file.toFile().deleteOnExit();
+        final FailureHistory history = new FailureHistory();
+        history.record(new int[]{0, 1}, TestResult.failure(new IllegalArgumentException()));
+        history.record(new int[]{0, 0}, TestResult.success());
+        
+        history.writeTo(file);
+        final FailureHistory readHistory = FailureHistory.readFrom(file);
+        
+        assertEquals(0.5, readHistory.getFailureRate(0, 0));
+        assertEquals(1, readHistory.getFailureRate(1, 1));
+        assertEquals(0, readHistory.getFailureRate(1, 0));
+    }
+    
+    @Test
+    void readsEmptyHistoryIfFileDoesNotExist() throws IOException {
+        final Path file = Files.createTempFile("history", null);
+        Files.delete(file);
+        
+        assertTrue(FailureHistory.readFrom(file).isEmpty());
+    }
+    
+    @Test
+    void rejectsMalformedFile() throws IOException {
+        final Path file = Files.createTempFile("history", null);
+        file.toFile().deleteOnExit();
+        Files.write(file, Collections.singletonList("0 1 a"));
+        
+        assertThrows(IOException.class, () -> FailureHistory.readFrom(file));
+    }
+    
+}
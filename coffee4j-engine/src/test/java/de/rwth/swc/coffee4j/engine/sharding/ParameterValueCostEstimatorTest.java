@@ -0,0 +1,53 @@
+package de.rwth.swc.coffee4j.engine.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrapToList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParameterValueCostEstimatorTest {
+    
+    @Test
+    void preconditions() {
+        assertThrows(IllegalArgumentException.class, () -> new ParameterValueCostEstimator(-1, new double[0][]));
+        assertThrows(NullPointerException.class, () -> new ParameterValueCostEstimator(1, null));
+        assertThrows(IllegalArgumentException.class, () -> new ParameterValueCostEstimator(1, new double[][]{{-1}}));
+        assertThrows(NullPointerException.class, () -> ParameterValueCostEstimator.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> ParameterValueCostEstimator.parse("0=1"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterValueCostEstimator.parse("0:a"));
+    }
+    
+    @Test
+    void addsCostsOfAllValuesToBaseCost() {
+        final ParameterValueCostEstimator costEstimator = new ParameterValueCostEstimator(2, new double[][]{{5, 1}, null, {0, 0, 3}});
+        
+        assertEquals(7, costEstimator.estimateCost(new int[]{0, 0, 0}));
+        assertEquals(6, costEstimator.estimateCost(new int[]{1, 4, 2}));
+        assertEquals(2, costEstimator.estimateCost(new int[]{2, 1, 3}));
+    }
+    
+    @Test
+    void parsesCostsOfValues() {
+        assertEquals(new ParameterValueCostEstimator(1, new double[][]{{5, 1}, null, {0, 0, 3}}),
+                ParameterValueCostEstimator.parse("0:5,1; 2:0,0,3"));
+        assertEquals(new ParameterValueCostEstimator(1, new double[0][]), ParameterValueCostEstimator.parse(""));
+    }
+    
+    @Test
+    void balancesShardsByCostsOfValues() {
+        final List<int[]> testInputs = Arrays.asList(new int[]{1, 0}, new int[]{0, 0}, new int[]{0, 1});
+        final TestInputCostEstimator costEstimator = ParameterValueCostEstimator.parse("0:0,9");
+        
+        assertEquals(wrapToList(Arrays.asList(new int[]{1, 0}, new int[]{0, 1})),
+                wrapToList(new Shard(0, 2).select(testInputs, TestInputCostEstimator.UNIFORM)));
+        assertEquals(wrapToList(Arrays.asList(new int[]{1, 0})),
+                wrapToList(new Shard(0, 2).select(testInputs, costEstimator)));
+        assertEquals(wrapToList(Arrays.asList(new int[]{0, 0}, new int[]{0, 1})),
+                wrapToList(new Shard(1, 2).select(testInputs, costEstimator)));
+    }
+    
+}
@@ -0,0 +1,82 @@
+package de.rwth.swc.coffee4j.engine.sharding;
+
+import de.rwth.swc.coffee4j.engine.TestResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardResultFileTest {
+    
+    @Test
+    void mergesResultsOfAllFiles() throws IOException {
+        final Path firstFile = createTemporaryFile();
+        final Path secondFile = createTemporaryFile();
+        ShardResultFile.append(firstFile, new int[]{0, 1}, TestResult.success());
+        ShardResultFile.append(secondFile, new int[]{1, 1}, TestResult.failure(new IllegalStateException("a\tmultiline\nmessage")));
+        ShardResultFile.append(secondFile, new int[]{0, 1}, TestResult.failure(new IllegalStateException()));
+        
+        final Map<int[], TestResult> testResults = ShardResultFile.read(Arrays.asList(firstFile, secondFile));
+        final List<Map.Entry<int[], TestResult>> entries = Arrays.asList(testResults.entrySet().toArray(new Map.Entry[0]));
+        
+        assertEquals(2, testResults.size());
+        assertArrayEquals(new int[]{0, 1}, entries.get(0).getKey());
+        assertTrue(entries.get(0).getValue().isUnsuccessful());
+        assertArrayEquals(new int[]{1, 1}, entries.get(1).getKey());
+        assertEquals(new IllegalStateException("a\tmultiline\nmessage").toString(),
+                entries.get(1).getValue().getCauseForFailure().orElseThrow().getMessage());
+    }
+    
+    @Test
+    void lastResultOfTheSameTestInputIsUsed() throws IOException {
+        final Path file = createTemporaryFile();
+        ShardResultFile.append(file, new int[]{0, 1}, TestResult.failure(new IllegalStateException()));
+        ShardResultFile.append(file, new int[]{0, 1}, TestResult.success());
+        
+        final Map<int[], TestResult> testResults = ShardResultFile.read(Collections.singletonList(file));
+        
+        assertEquals(1, testResults.size());
+        assertTrue(testResults.values().iterator().next().isSuccessful());
+    }
+    
+    @Test
+    void createRemovesResultsOfEarlierRuns() throws IOException {
+        final Path file = createTemporaryFile();
+        ShardResultFile.append(file, new int[]{0, 1}, TestResult.failure(new IllegalStateException()));
+        
+        ShardResultFile.create(file);
+        ShardResultFile.append(file, new int[]{1, 1}, TestResult.success());
+        
+        final Map<int[], TestResult> testResults = ShardResultFile.read(Collections.singletonList(file));
+        
+        assertEquals(1, testResults.size());
+        assertArrayEquals(new int[]{1, 1}, testResults.keySet().iterator().next());
+    }
+    
+    @Test
+    void rejectsMalformedFile() throws IOException {
+        final Path file = createTemporaryFile();
+        Files.write(file, Collections.singletonList("0,1\tUNKNOWN"));
+        
+        assertThrows(IOException.class, () -> ShardResultFile.read(Collections.singletonList(file)));
+    }
+    
+    private static Path createTemporaryFile() throws IOException {
+        final Path file = Files.createTempFile("shard", ".results");
+        file.toFile().deleteOnExit();
+        Files.delete(file);
+        
+        return file;
+    }
+    
+}
@@ -0,0 +1,61 @@
+package de.rwth.swc.coffee4j.engine.sharding;
+
+import de.rwth.swc.coffee4j.engine.util.IntArrayWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static de.rwth.swc.coffee4j.engine.util.IntArrayWrapper.wrapToList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardTest {
+    
+    private static final List<int[]> TEST_INPUTS = Arrays.asList(
+            new int[]{0, 0}, new int[]{0, 1}, new int[]{1, 0}, new int[]{1, 1}, new int[]{2, 0}, new int[]{2, 1});
+    
+    @Test
+    void preconditions() {
+        assertThrows(IllegalArgumentException.class, () -> new Shard(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Shard(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new Shard(2, 2));
+        assertThrows(NullPointerException.class, () -> new Shard(0, 2).select(null, TestInputCostEstimator.UNIFORM));
+        assertThrows(NullPointerException.class, () -> new Shard(0, 2).select(TEST_INPUTS, null));
+    }
+    
+    @Test
+    void shardsArePartitionOfTestSuite() {
+        final List<IntArrayWrapper> allSelectedTestInputs = new ArrayList<>();
+        
+        for (int index = 0; index < 4; index++) {
+            allSelectedTestInputs.addAll(wrapToList(new Shard(index, 4).select(TEST_INPUTS, TestInputCostEstimator.UNIFORM)));
+        }
+        
+        final Set<IntArrayWrapper> distinctSelectedTestInputs = new HashSet<>(allSelectedTestInputs);
+        assertEquals(TEST_INPUTS.size(), allSelectedTestInputs.size());
+        assertEquals(new HashSet<>(wrapToList(TEST_INPUTS)), distinctSelectedTestInputs);
+    }
+    
+    @Test
+    void keepsOriginalOrderInsideShard() {
+        assertEquals(wrapToList(Arrays.asList(new int[]{0, 0}, new int[]{1, 0}, new int[]{2, 0})),
+                wrapToList(new Shard(0, 2).select(TEST_INPUTS, TestInputCostEstimator.UNIFORM)));
+        assertEquals(wrapToList(Arrays.asList(new int[]{0, 1}, new int[]{1, 1}, new int[]{2, 1})),
+                wrapToList(new Shard(1, 2).select(TEST_INPUTS, TestInputCostEstimator.UNIFORM)));
+    }
+    
+    @Test
+    void balancesByEstimatedCost() {
+        final TestInputCostEstimator costEstimator = testInput -> Arrays.equals(testInput, new int[]{2, 0}) ? 10 : 1;
+        
+        assertEquals(wrapToList(Arrays.asList(new int[]{2, 0})),
+                wrapToList(new Shard(0, 2).select(TEST_INPUTS, costEstimator)));
+        assertEquals(wrapToList(Arrays.asList(new int[]{0, 0}, new int[]{0, 1}, new int[]{1, 0}, new int[]{1, 1}, new int[]{2, 1})),
+                wrapToList(new Shard(1, 2).select(TEST_INPUTS, costEstimator)));
+    }
+    
+}
@@ -0,0 +1,78 @@
+package de.rwth.swc.coffee4j.engine.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomSourceTest {
+    
+    @Test
+    void preconditions() {
+        final RandomSource randomSource = RandomSource.withSeed(42);
+        
+        assertThrows(IllegalArgumentException.class, () -> randomSource.nextInt(0));
+        assertThrows(IllegalArgumentException.class, () -> randomSource.nextInt(3, 3));
+    }
+    
+    @Test
+    void sameSeedProducesSameNumbers() {
+        assertEquals(draw(RandomSource.withSeed(42), 100), draw(RandomSource.withSeed(42), 100));
+        assertNotEquals(draw(RandomSource.withSeed(42), 100), draw(RandomSource.withSeed(43), 100));
+    }
+    
+    @Test
+    void numbersAreInRange() {
+        final RandomSource randomSource = RandomSource.withSeed(42);
+        
+        for (int i = 0; i < 1000; i++) {
+            final int number = randomSource.nextInt(2, 5);
+            assertTrue(number >= 2 && number < 5);
+        }
+    }
+    
+    @Test
+    void splitSourcesOnlyDependOnSplitOrder() {
+        final RandomSource first = RandomSource.withSeed(42);
+        final RandomSource firstChild = first.split();
+        final RandomSource secondChild = first.split();
+        
+        final RandomSource second = RandomSource.withSeed(42);
+        final RandomSource otherFirstChild = second.split();
+        final RandomSource otherSecondChild = second.split();
+        
+        final List<Integer> secondChildNumbers = draw(secondChild, 100);
+        assertEquals(draw(otherSecondChild, 100), secondChildNumbers);
+        assertEquals(draw(otherFirstChild, 100), draw(firstChild, 100));
+        assertNotEquals(draw(firstChild, 100), draw(secondChild, 100));
+    }
+    
+    @Test
+    void randomViewIsReproducible() {
+        final List<Integer> first = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+        final List<Integer> second = new ArrayList<>(first);
+        
+        Collections.shuffle(first, RandomSource.withSeed(42).asRandom());
+        Collections.shuffle(second, RandomSource.withSeed(42).asRandom());
+        
+        assertEquals(first, second);
+    }
+    
+    private static List<Integer> draw(RandomSource randomSource, int numberOfDraws) {
+        final List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < numberOfDraws; i++) {
+            numbers.add(randomSource.nextInt(1000));
+        }
+        
+        return numbers;
+    }
+    
+}
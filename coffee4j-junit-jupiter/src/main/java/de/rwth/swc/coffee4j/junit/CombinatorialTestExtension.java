@@ -57,6 +57,7 @@ class CombinatorialTestExtension implements TestTemplateInvocationContextProvide
         final TestInputIterator iterator = new TestInputIterator();
         final InputParameterModel model = new ModelLoader().load(extensionContext);
         final CombinatorialTestConsumerManager manager = new CombinatorialTestConsumerManager(configuration, iterator::add, model);
+        iterator.setAdditionalTestInputSupplier(manager::awaitAdditionalTestInputs);
 
         diagnoseConstraints(configuration, manager);
 
@@ -6,6 +6,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.NoSuchElementException;
 import java.util.Queue;
+import java.util.function.BooleanSupplier;
 
 /**
  * A special {@link Iterator} since streaming a java {@link Queue} directly does not allow concurrent modification
@@ -13,30 +14,36 @@ import java.util.Queue;
  * elements from the queue. Consequently, it is not possible to add fault characterization test inputs.
  * Therefore, this iterator decouples the actual queue from the stream by having and internal queue and only allowing
  * access through well defined public methods.
+ * If the queue is empty, the iterator asks the supplier set via {@link #setAdditionalTestInputSupplier(BooleanSupplier)}
+ * to add test inputs which are generated asynchronously.
  * This iterator is NOT thread-safe and should not be used with parallel test execution in junit-jupiter!
  */
 class TestInputIterator implements Iterator<Combination> {
     
     private final Queue<Combination> testInputQueue = new LinkedList<>();
     
+    private BooleanSupplier additionalTestInputSupplier = () -> false;
+    
     void add(Combination testInput) {
         testInputQueue.add(testInput);
     }
     
+    void setAdditionalTestInputSupplier(BooleanSupplier additionalTestInputSupplier) {
+        this.additionalTestInputSupplier = additionalTestInputSupplier;
+    }
+    
     @Override
     public boolean hasNext() {
-        return !testInputQueue.isEmpty();
+        return !testInputQueue.isEmpty() || (additionalTestInputSupplier.getAsBoolean() && !testInputQueue.isEmpty());
     }
     
     @Override
     public Combination next() {
-        final Combination nextTestInput = testInputQueue.poll();
-        
-        if (nextTestInput == null) {
+        if (!hasNext()) {
             throw new NoSuchElementException("No more elements in iterator");
         }
         
-        return nextTestInput;
+        return testInputQueue.poll();
     }
     
 }
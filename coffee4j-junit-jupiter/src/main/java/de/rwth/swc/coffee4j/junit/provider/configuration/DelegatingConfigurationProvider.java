@@ -4,10 +4,16 @@ import de.rwth.swc.coffee4j.engine.characterization.FaultCharacterizationAlgorit
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroupGenerator;
 import de.rwth.swc.coffee4j.engine.report.ArgumentConverter;
 import de.rwth.swc.coffee4j.junit.CombinatorialTest;
+import de.rwth.swc.coffee4j.junit.provider.configuration.constraint.ModelConverterFactoryLoader;
 import de.rwth.swc.coffee4j.junit.provider.configuration.converter.ConverterLoader;
 import de.rwth.swc.coffee4j.junit.provider.configuration.diagnosis.ConflictDetectionConfigurationLoader;
+import de.rwth.swc.coffee4j.junit.provider.configuration.diagnosis.ConflictDetectionResultCacheLoader;
+import de.rwth.swc.coffee4j.junit.provider.configuration.manager.TestResultCacheCapacityLoader;
+import de.rwth.swc.coffee4j.junit.provider.configuration.prioritization.TestInputPrioritizerLoader;
 import de.rwth.swc.coffee4j.junit.provider.configuration.reporter.ReporterLoader;
+import de.rwth.swc.coffee4j.junit.provider.configuration.sharding.ShardingConfigurationLoader;
 import de.rwth.swc.coffee4j.model.report.ExecutionReporter;
+import de.rwth.swc.coffee4j.junit.provider.configuration.characterization.CharacterizationExecutorLoader;
 import de.rwth.swc.coffee4j.junit.provider.configuration.characterization.FaultCharacterizationAlgorithmLoader;
 import de.rwth.swc.coffee4j.junit.provider.configuration.generator.GeneratorLoader;
 import de.rwth.swc.coffee4j.model.manager.CombinatorialTestConsumerManagerConfiguration;
@@ -22,6 +28,12 @@ import static de.rwth.swc.coffee4j.model.manager.CombinatorialTestConsumerManage
  * {@link FaultCharacterizationAlgorithmLoader} to load a
  * <p>
  * {@link FaultCharacterizationAlgorithmFactory},
+ * {@link TestInputPrioritizerLoader} to reorder the initial test inputs,
+ * {@link ShardingConfigurationLoader} to only execute one shard of the initial test inputs,
+ * {@link ConflictDetectionResultCacheLoader} to reuse the results of conflict detection,
+ * {@link TestResultCacheCapacityLoader} to bound the number of cached test results,
+ * {@link CharacterizationExecutorLoader} to compute fault characterization and conflict detection in parallel,
+ * {@link ModelConverterFactoryLoader} to choose how constraints are converted,
  * {@link ConverterLoader} to add {@link ArgumentConverter} to the default ones,
  * and {@link ReporterLoader} to register custom {@link ExecutionReporter}s which
  * listen during {@link CombinatorialTest} execution and provide valuable feedback.
@@ -31,10 +43,16 @@ public class DelegatingConfigurationProvider implements ConfigurationProvider {
     @Override
     public CombinatorialTestConsumerManagerConfiguration provide(ExtensionContext extensionContext) {
         return consumerManagerConfiguration()
+                .modelConverterFactory(new ModelConverterFactoryLoader().load(extensionContext))
                 .generators(new GeneratorLoader().load(extensionContext))
+                .prioritizer(new TestInputPrioritizerLoader().load(extensionContext))
+                .sharding(new ShardingConfigurationLoader().load(extensionContext))
                 .executionReporters(new ReporterLoader().load(extensionContext))
                 .faultCharacterizationAlgorithmFactory(new FaultCharacterizationAlgorithmLoader().load(extensionContext))
                 .setConflictDetectionConfiguration(new ConflictDetectionConfigurationLoader().load(extensionContext))
+                .conflictDetectionResultCache(new ConflictDetectionResultCacheLoader().load(extensionContext))
+                .testResultCacheCapacity(new TestResultCacheCapacityLoader().load(extensionContext))
+                .characterizationExecutor(new CharacterizationExecutorLoader().load(extensionContext))
                 .argumentConverters(new ConverterLoader().load(extensionContext))
                 .build();
     }
@@ -0,0 +1,60 @@
+package de.rwth.swc.coffee4j.junit.provider.configuration.characterization;
+
+import de.rwth.swc.coffee4j.junit.CombinatorialTest;
+import de.rwth.swc.coffee4j.junit.provider.Loader;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Class for loading the executor on which the fault characterization rounds and conflict checks of a
+ * {@link CombinatorialTest} are computed from the JUnit configuration parameter {@value #PARALLELISM}, which can for
+ * example be given as a system property or in a {@code junit-platform.properties} file. The parameter gives the number
+ * of threads. All combinatorial tests of the same JVM with the same parallelism share one executor, whose threads do
+ * not keep the JVM alive. If the parameter is not given, {@code null} is returned and everything is computed by the
+ * threads executing the test inputs.
+ * <p>
+ * This is used by {@link de.rwth.swc.coffee4j.junit.provider.configuration.DelegatingConfigurationProvider}
+ * to provide a configuration.
+ */
+public class CharacterizationExecutorLoader implements Loader<Executor> {
+    
+    public static final String PARALLELISM = "coffee4j.characterization.parallelism";
+    
+    private static final Map<Integer, Executor> SHARED_EXECUTORS = new ConcurrentHashMap<>();
+    
+    @Override
+    public Executor load(ExtensionContext extensionContext) {
+        return extensionContext.getConfigurationParameter(PARALLELISM)
+                .map(CharacterizationExecutorLoader::parse)
+                .map(parallelism -> SHARED_EXECUTORS.computeIfAbsent(parallelism, CharacterizationExecutorLoader::createExecutor))
+                .orElse(null);
+    }
+    
+    private static int parse(String value) {
+        try {
+            final int parallelism = Integer.parseInt(value.trim());
+            if (parallelism <= 0) {
+                throw new JUnitException("The parameter " + PARALLELISM + " must be positive but was " + value);
+            }
+            
+            return parallelism;
+        } catch (NumberFormatException e) {
+            throw new JUnitException("The parameter " + PARALLELISM + " must be an integer but was " + value, e);
+        }
+    }
+    
+    private static Executor createExecutor(int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            final Thread thread = new Thread(runnable, "coffee4j-characterization");
+            thread.setDaemon(true);
+            
+            return thread;
+        });
+    }
+    
+}
@@ -0,0 +1,52 @@
+package de.rwth.swc.coffee4j.junit.provider.configuration.constraint;
+
+import de.rwth.swc.coffee4j.junit.CombinatorialTest;
+import de.rwth.swc.coffee4j.junit.provider.Loader;
+import de.rwth.swc.coffee4j.model.converter.IndexBasedConstraintConverter;
+import de.rwth.swc.coffee4j.model.converter.IndexBasedModelConverter;
+import de.rwth.swc.coffee4j.model.converter.ModelConverterFactory;
+import de.rwth.swc.coffee4j.model.converter.PruningConstraintConverter;
+import de.rwth.swc.coffee4j.model.converter.SimpleCartesianProductConstraintConverter;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Class for loading the {@link ModelConverterFactory} of a {@link CombinatorialTest}. The constraints of the model are
+ * converted by the {@link IndexBasedConstraintConverter} named by the JUnit configuration parameter
+ * {@value #CONSTRAINT_CONVERTER}, which can for example be given as a system property or in a
+ * {@code junit-platform.properties} file. The value {@value #CARTESIAN_PRODUCT} selects the
+ * {@link SimpleCartesianProductConstraintConverter}, which is also used if the parameter is not given, and the value
+ * {@value #PRUNING} selects the {@link PruningConstraintConverter}.
+ * <p>
+ * This is used by {@link de.rwth.swc.coffee4j.junit.provider.configuration.DelegatingConfigurationProvider}
+ * to provide a configuration.
+ */
+public class ModelConverterFactoryLoader implements Loader<ModelConverterFactory> {
+    
+    public static final String CONSTRAINT_CONVERTER = "coffee4j.constraints.converter";
+    
+    public static final String CARTESIAN_PRODUCT = "cartesian";
+    
+    public static final String PRUNING = "pruning";
+    
+    @Override
+    public ModelConverterFactory load(ExtensionContext extensionContext) {
+        final IndexBasedConstraintConverter constraintConverter = extensionContext.getConfigurationParameter(CONSTRAINT_CONVERTER)
+                .map(ModelConverterFactoryLoader::parse)
+                .orElseGet(SimpleCartesianProductConstraintConverter::new);
+        
+        return model -> new IndexBasedModelConverter(model, constraintConverter);
+    }
+    
+    private static IndexBasedConstraintConverter parse(String value) {
+        switch (value.trim()) {
+            case CARTESIAN_PRODUCT:
+                return new SimpleCartesianProductConstraintConverter();
+            case PRUNING:
+                return new PruningConstraintConverter();
+            default:
+                throw new JUnitException("The parameter " + CONSTRAINT_CONVERTER + " must be " + CARTESIAN_PRODUCT + " or " + PRUNING + " but was " + value);
+        }
+    }
+    
+}
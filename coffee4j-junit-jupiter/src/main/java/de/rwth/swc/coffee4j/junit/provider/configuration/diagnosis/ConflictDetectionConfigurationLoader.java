@@ -2,6 +2,7 @@ package de.rwth.swc.coffee4j.junit.provider.configuration.diagnosis;
 
 import de.rwth.swc.coffee4j.junit.provider.Loader;
 import de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionConfiguration;
+import de.rwth.swc.coffee4j.engine.conflict.ConflictSearchBudget;
 import org.junit.jupiter.api.extension.ExtensionContext;
 
 import java.lang.reflect.Method;
@@ -23,7 +24,11 @@ public class ConflictDetectionConfigurationLoader implements Loader<ConflictDete
                         new ConflictDetectionConfiguration(
                                 true, annotation.shouldAbort(),
                                 annotation.explainConflicts(), annotation.conflictExplanationAlgorithm(),
-                                annotation.diagnoseConflicts(), annotation.conflictDiagnosisAlgorithm()))
+                                annotation.diagnoseConflicts(), annotation.conflictDiagnosisAlgorithm(),
+                                new ConflictSearchBudget(annotation.timeLimitInMillis(), annotation.nodeLimit(),
+                                        annotation.totalTimeLimitInMillis(), annotation.totalNodeLimit()),
+                                annotation.maximumHittingSetSize(),
+                                annotation.maximumDiagnosisSize()))
                 .orElseGet(ConflictDetectionConfiguration::disable);
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package de.rwth.swc.coffee4j.junit.provider.configuration.diagnosis;
+
+import de.rwth.swc.coffee4j.engine.manager.ConflictDetectionResultCache;
+import de.rwth.swc.coffee4j.engine.manager.FileConflictDetectionResultCache;
+import de.rwth.swc.coffee4j.engine.manager.HashMapConflictDetectionResultCache;
+import de.rwth.swc.coffee4j.junit.CombinatorialTest;
+import de.rwth.swc.coffee4j.junit.provider.Loader;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Class for loading the {@link ConflictDetectionResultCache} of a {@link CombinatorialTest} from JUnit configuration
+ * parameters, which can for example be given as system properties or in a {@code junit-platform.properties} file.
+ * With a cache, conflicts are only detected again if the constraints or the conflict detection configuration of a
+ * test changed.
+ * <p>
+ * The following parameters are supported:
+ * -{@value #CACHE_DIRECTORY}: a directory in which the results are stored, so that they are reused across runs
+ * -{@value #CACHE_ENABLED}: if {@code true} and no directory is given, the results are stored in memory and reused by
+ * all combinatorial tests of the same JVM
+ * If neither is given, no cache is used and {@code null} is returned.
+ * <p>
+ * This is used by {@link de.rwth.swc.coffee4j.junit.provider.configuration.DelegatingConfigurationProvider}
+ * to provide a configuration.
+ */
+public class ConflictDetectionResultCacheLoader implements Loader<ConflictDetectionResultCache> {
+    
+    public static final String CACHE_ENABLED = "coffee4j.conflictDetection.cache.enabled";
+    public static final String CACHE_DIRECTORY = "coffee4j.conflictDetection.cache.directory";
+    
+    private static final ConflictDetectionResultCache SHARED_CACHE = new HashMapConflictDetectionResultCache();
+    
+    @Override
+    public ConflictDetectionResultCache load(ExtensionContext extensionContext) {
+        final Optional<String> directory = extensionContext.getConfigurationParameter(CACHE_DIRECTORY);
+        if (directory.isPresent()) {
+            return new FileConflictDetectionResultCache(Paths.get(directory.get()));
+        }
+        
+        final boolean enabled = extensionContext.getConfigurationParameter(CACHE_ENABLED)
+                .map(value -> Boolean.parseBoolean(value.trim()))
+                .orElse(false);
+        
+        return enabled ? SHARED_CACHE : null;
+    }
+    
+}
@@ -23,9 +23,55 @@ public @interface EnableConflictDetection {
 
     boolean explainConflicts() default false;
 
+    /**
+     * The algorithm explaining conflicts. Besides the default, the
+     * {@link de.rwth.swc.coffee4j.engine.conflict.sat.SatConflictExplainer} explains conflicts with a SAT solver
+     * @return the class of the explainer, which needs a public constructor without parameters
+     */
     Class<? extends ConflictExplainer> conflictExplanationAlgorithm() default QuickConflictExplainer.class;
 
     boolean diagnoseConflicts() default false;
 
     Class<? extends ConflictDiagnostician> conflictDiagnosisAlgorithm() default ExhaustiveConflictDiagnostician.class;
+
+    /**
+     * The maximum duration of each conflict explanation and of each diagnosis in milliseconds. If it is exceeded, the
+     * results found until then are reported as not complete
+     * @return the time limit, or {@link Long#MAX_VALUE} for no limit
+     */
+    long timeLimitInMillis() default Long.MAX_VALUE;
+
+    /**
+     * The maximum number of search nodes of each conflict explanation and of each diagnosis. If it is exceeded, the
+     * results found until then are reported as not complete
+     * @return the node limit, or {@link Long#MAX_VALUE} for no limit
+     */
+    long nodeLimit() default Long.MAX_VALUE;
+
+    /**
+     * The maximum duration of all conflict explanations and diagnoses of one conflict detection together in
+     * milliseconds. Once it is exceeded, all further results are reported as not complete
+     * @return the time limit, or {@link Long#MAX_VALUE} for no limit
+     */
+    long totalTimeLimitInMillis() default Long.MAX_VALUE;
+
+    /**
+     * The maximum number of search nodes of all conflict explanations and diagnoses of one conflict detection together.
+     * Once it is exceeded, all further results are reported as not complete
+     * @return the node limit, or {@link Long#MAX_VALUE} for no limit
+     */
+    long totalNodeLimit() default Long.MAX_VALUE;
+
+    /**
+     * The maximum number of diagnosis elements of a minimal diagnosis hitting set. Larger hitting sets are not computed
+     * @return the size limit, or {@link Integer#MAX_VALUE} for no limit
+     */
+    int maximumHittingSetSize() default Integer.MAX_VALUE;
+
+    /**
+     * The maximum number of constraints relaxed by a diagnosis. Larger diagnoses are not searched. If limited, the
+     * {@link #conflictDiagnosisAlgorithm()} needs a constructor accepting the limit as an {@code int}
+     * @return the size limit, or {@link Integer#MAX_VALUE} for no limit
+     */
+    int maximumDiagnosisSize() default Integer.MAX_VALUE;
 }
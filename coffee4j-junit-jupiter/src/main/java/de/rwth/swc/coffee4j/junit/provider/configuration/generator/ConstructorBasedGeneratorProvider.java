@@ -1,10 +1,12 @@
 package de.rwth.swc.coffee4j.junit.provider.configuration.generator;
 
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroupGenerator;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.support.AnnotationConsumer;
 import org.junit.platform.commons.JUnitException;
 
+import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,15 +21,35 @@ class ConstructorBasedGeneratorProvider implements GeneratorProvider, Annotation
     
     @Override
     public List<TestInputGroupGenerator> provide(ExtensionContext extensionContext) {
+        final RandomSource randomSource = new RandomSourceLoader().load(extensionContext);
         final List<TestInputGroupGenerator> generators = new ArrayList<>();
         
         for (Class<? extends TestInputGroupGenerator> generatorClass : generatorClasses) {
-            generators.add(createGeneratorInstance(generatorClass));
+            generators.add(randomSource == null
+                    ? createGeneratorInstance(generatorClass)
+                    : createSeededGeneratorInstance(generatorClass, randomSource.split()));
         }
         
         return generators;
     }
     
+    private TestInputGroupGenerator createSeededGeneratorInstance(Class<? extends TestInputGroupGenerator> generatorClass,
+                                                                  RandomSource randomSource) {
+        final Constructor<? extends TestInputGroupGenerator> constructor;
+        try {
+            constructor = generatorClass.getConstructor(RandomSource.class);
+        } catch (NoSuchMethodException e) {
+            return createGeneratorInstance(generatorClass);
+        }
+        
+        try {
+            return constructor.newInstance(randomSource);
+        } catch (Exception e) {
+            final String message = "Could not create a new instance of " + generatorClass.getSimpleName() + " with a " + RandomSource.class.getSimpleName();
+            throw new JUnitException(message, e);
+        }
+    }
+    
     private TestInputGroupGenerator createGeneratorInstance(Class<? extends TestInputGroupGenerator> generatorClass) {
         try {
             return generatorClass.getConstructor().newInstance();
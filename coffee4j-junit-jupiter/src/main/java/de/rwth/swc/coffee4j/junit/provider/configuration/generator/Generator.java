@@ -12,7 +12,9 @@ import java.lang.annotation.Target;
 
 /**
  * This is a {@link GeneratorSource} using the {@link ConstructorBasedGeneratorProvider} to create new instances of a
- * {@link TestInputGroupGenerator} via a no-args constructor. Since multiple generators are allowed,
+ * {@link TestInputGroupGenerator} via a no-args constructor. If a seed is configured via
+ * {@link RandomSourceLoader#SEED}, a constructor accepting a {@link de.rwth.swc.coffee4j.engine.util.RandomSource} is
+ * used instead if the generator has one. Since multiple generators are allowed,
  * just return multiple classes in the {@link #value()} method to register more generators, or use any other
  * {@link GeneratorSource} since {@link GeneratorSource} is a repeatable annotation.
  */
@@ -23,7 +25,8 @@ public @interface Generator {
     
     /**
      * @return the classes used to generate {@link TestInputGroup}s for a
-     * {@link CombinatorialTest}. Need to have a no-args constructor
+     * {@link CombinatorialTest}. Need to have a no-args constructor, and can have one accepting a
+     * {@link de.rwth.swc.coffee4j.engine.util.RandomSource} to support seeding
      */
     Class<? extends TestInputGroupGenerator>[] value();
 }
@@ -2,6 +2,7 @@ package de.rwth.swc.coffee4j.junit.provider.configuration.generator;
 
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroupGenerator;
 import de.rwth.swc.coffee4j.engine.generator.ipog.Ipog;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
 import de.rwth.swc.coffee4j.junit.provider.Loader;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.support.AnnotationConsumerInitializer;
@@ -21,7 +22,8 @@ import static org.junit.platform.commons.util.AnnotationUtils.findRepeatableAnno
  * discovered using the {@link GeneratorSource} repeatable annotations. As such, multiple {@link TestInputGroupGenerator}
  * provided by each {@link GeneratorSource} are aggregated into one single list in this loader.
  * <p>
- * If no {@link GeneratorSource} is registered, the default of one {@link Ipog} is loaded.
+ * If no {@link GeneratorSource} is registered, the default of one {@link Ipog} is loaded. It uses the seed loaded by
+ * the {@link RandomSourceLoader} if one is configured.
  */
 public class GeneratorLoader implements Loader<List<TestInputGroupGenerator>> {
     
@@ -33,6 +35,12 @@ public class GeneratorLoader implements Loader<List<TestInputGroupGenerator>> {
         
         List<TestInputGroupGenerator> generators = findRepeatableAnnotations(testMethod, GeneratorSource.class).stream().map(GeneratorSource::value).map(ReflectionUtils::newInstance).map(provider -> AnnotationConsumerInitializer.initialize(testMethod, provider)).map(provider -> provider.provide(extensionContext)).filter(Objects::nonNull).flatMap(Collection::stream).filter(Objects::nonNull).collect(Collectors.toList());
         
-        return generators.isEmpty() ? Collections.singletonList(DEFAULT_GENERATOR) : generators;
+        if (!generators.isEmpty()) {
+            return generators;
+        }
+        
+        final RandomSource randomSource = new RandomSourceLoader().load(extensionContext);
+        
+        return Collections.singletonList(randomSource == null ? DEFAULT_GENERATOR : new Ipog(randomSource));
     }
 }
@@ -0,0 +1,51 @@
+package de.rwth.swc.coffee4j.junit.provider.configuration.generator;
+
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
+import de.rwth.swc.coffee4j.junit.CombinatorialTest;
+import de.rwth.swc.coffee4j.junit.provider.Loader;
+import de.rwth.swc.coffee4j.junit.provider.configuration.sharding.ShardingConfigurationLoader;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+
+import java.util.Optional;
+
+/**
+ * Class for loading the seed of the random numbers used by the generators of a {@link CombinatorialTest} from the
+ * JUnit configuration parameter {@value #SEED}, which can for example be given as a system property or in a
+ * {@code junit-platform.properties} file. With a seed, the generators and their fault characterization produce the
+ * same test inputs in each run.
+ * <p>
+ * If the parameter is not given but sharding is configured via {@link ShardingConfigurationLoader#SHARD_COUNT}, the
+ * fixed seed {@value #SHARDING_SEED} is used, since every shard has to generate the same test inputs to select its
+ * slice from them. Otherwise, {@code null} is returned and each generator uses a random seed.
+ * <p>
+ * This is used by the {@link Generator} annotation to create generators with a constructor accepting a
+ * {@link RandomSource}.
+ */
+public class RandomSourceLoader implements Loader<RandomSource> {
+    
+    public static final String SEED = "coffee4j.random.seed";
+    
+    public static final long SHARDING_SEED = 0;
+    
+    @Override
+    public RandomSource load(ExtensionContext extensionContext) {
+        final Optional<Long> seed = extensionContext.getConfigurationParameter(SEED).map(RandomSourceLoader::parse);
+        if (seed.isPresent()) {
+            return RandomSource.withSeed(seed.get());
+        }
+        
+        return extensionContext.getConfigurationParameter(ShardingConfigurationLoader.SHARD_COUNT).isPresent()
+                ? RandomSource.withSeed(SHARDING_SEED)
+                : null;
+    }
+    
+    private static long parse(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new JUnitException("The parameter " + SEED + " must be an integer but was " + value, e);
+        }
+    }
+    
+}
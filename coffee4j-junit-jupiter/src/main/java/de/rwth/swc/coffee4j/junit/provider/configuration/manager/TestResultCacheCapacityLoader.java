@@ -0,0 +1,44 @@
+package de.rwth.swc.coffee4j.junit.provider.configuration.manager;
+
+import de.rwth.swc.coffee4j.junit.CombinatorialTest;
+import de.rwth.swc.coffee4j.junit.provider.Loader;
+import de.rwth.swc.coffee4j.model.manager.CombinatorialTestConsumerManagerConfiguration;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Class for loading the maximum number of test results cached during a {@link CombinatorialTest} from the JUnit
+ * configuration parameter {@value #CAPACITY}, which can for example be given as a system property or in a
+ * {@code junit-platform.properties} file. Once the cache is full, results are evicted unless an active fault
+ * characterization still needs them. If the parameter is not given,
+ * {@link CombinatorialTestConsumerManagerConfiguration#UNBOUNDED_TEST_RESULT_CACHE} is returned and all results are
+ * cached.
+ * <p>
+ * This is used by {@link de.rwth.swc.coffee4j.junit.provider.configuration.DelegatingConfigurationProvider}
+ * to provide a configuration.
+ */
+public class TestResultCacheCapacityLoader implements Loader<Integer> {
+    
+    public static final String CAPACITY = "coffee4j.testResultCache.capacity";
+    
+    @Override
+    public Integer load(ExtensionContext extensionContext) {
+        return extensionContext.getConfigurationParameter(CAPACITY)
+                .map(TestResultCacheCapacityLoader::parse)
+                .orElse(CombinatorialTestConsumerManagerConfiguration.UNBOUNDED_TEST_RESULT_CACHE);
+    }
+    
+    private static int parse(String value) {
+        try {
+            final int capacity = Integer.parseInt(value.trim());
+            if (capacity <= 0) {
+                throw new JUnitException("The parameter " + CAPACITY + " must be positive but was " + value);
+            }
+            
+            return capacity;
+        } catch (NumberFormatException e) {
+            throw new JUnitException("The parameter " + CAPACITY + " must be an integer but was " + value, e);
+        }
+    }
+    
+}
@@ -0,0 +1,32 @@
+package de.rwth.swc.coffee4j.junit.provider.configuration.prioritization;
+
+import de.rwth.swc.coffee4j.engine.prioritization.CoverageGainDensityPrioritizer;
+import de.rwth.swc.coffee4j.engine.prioritization.FailureHistory;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables the prioritization of initial test inputs in a {@link de.rwth.swc.coffee4j.junit.CombinatorialTest} using a
+ * {@link CoverageGainDensityPrioritizer}. Test inputs covering more new combinations are executed first, so failures
+ * are detected and characterized earlier.
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EnableTestInputPrioritization {
+    
+    /**
+     * @return the path of a file containing a {@link FailureHistory} from previous runs. The file is updated with all
+     * results once the combinatorial test is finished. If empty, no failure history is used
+     */
+    String failureHistoryFile() default "";
+    
+    /**
+     * @return how much the failure likelihood according to the failure history is weighted compared to the normalized
+     * coverage gain. Only used if a {@link #failureHistoryFile()} is given
+     */
+    double failureHistoryWeight() default 1.0;
+    
+}
@@ -0,0 +1,80 @@
+package de.rwth.swc.coffee4j.junit.provider.configuration.prioritization;
+
+import de.rwth.swc.coffee4j.engine.prioritization.CoverageGainDensityPrioritizer;
+import de.rwth.swc.coffee4j.engine.prioritization.FailureHistory;
+import de.rwth.swc.coffee4j.engine.prioritization.TestInputPrioritizer;
+import de.rwth.swc.coffee4j.junit.CombinatorialTest;
+import de.rwth.swc.coffee4j.junit.provider.Loader;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+import org.junit.platform.commons.JUnitException;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import static org.junit.platform.commons.util.AnnotationUtils.findAnnotation;
+
+/**
+ * Class for loading the {@link TestInputPrioritizer} of a {@link CombinatorialTest} as defined by an
+ * {@link EnableTestInputPrioritization} annotation. If no annotation is given, {@code null} is returned and the test
+ * inputs are executed in the order in which they were generated.
+ * <p>
+ * If a failure history file is configured, it is read when the prioritizer is loaded and written once the
+ * {@link CombinatorialTest} has finished.
+ * <p>
+ * This is used by {@link de.rwth.swc.coffee4j.junit.provider.configuration.DelegatingConfigurationProvider}
+ * to provide a configuration.
+ */
+public class TestInputPrioritizerLoader implements Loader<TestInputPrioritizer> {
+    
+    @Override
+    public TestInputPrioritizer load(ExtensionContext extensionContext) {
+        final Method testMethod = extensionContext.getRequiredTestMethod();
+        final Optional<EnableTestInputPrioritization> annotation = findAnnotation(testMethod, EnableTestInputPrioritization.class);
+        
+        return annotation.map(prioritization -> createPrioritizer(extensionContext, prioritization)).orElse(null);
+    }
+    
+    private TestInputPrioritizer createPrioritizer(ExtensionContext extensionContext, EnableTestInputPrioritization prioritization) {
+        if (prioritization.failureHistoryFile().isBlank()) {
+            return new CoverageGainDensityPrioritizer();
+        }
+        
+        final Path file = Paths.get(prioritization.failureHistoryFile());
+        final FailureHistory failureHistory = readFailureHistory(file);
+        extensionContext.getStore(Namespace.create(TestInputPrioritizerLoader.class, extensionContext.getRequiredTestMethod()))
+                .put(file.toString(), new FailureHistoryWriter(failureHistory, file));
+        
+        return new CoverageGainDensityPrioritizer(failureHistory, prioritization.failureHistoryWeight());
+    }
+    
+    private static FailureHistory readFailureHistory(Path file) {
+        try {
+            return FailureHistory.readFrom(file);
+        } catch (IOException e) {
+            throw new JUnitException("Could not read failure history from " + file, e);
+        }
+    }
+    
+    private static final class FailureHistoryWriter implements CloseableResource {
+        
+        private final FailureHistory failureHistory;
+        private final Path file;
+        
+        private FailureHistoryWriter(FailureHistory failureHistory, Path file) {
+            this.failureHistory = failureHistory;
+            this.file = file;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            failureHistory.writeTo(file);
+        }
+        
+    }
+    
+}
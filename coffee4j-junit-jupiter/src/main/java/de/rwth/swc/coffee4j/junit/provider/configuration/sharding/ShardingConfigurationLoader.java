@@ -0,0 +1,89 @@
+package de.rwth.swc.coffee4j.junit.provider.configuration.sharding;
+
+import de.rwth.swc.coffee4j.engine.sharding.ParameterValueCostEstimator;
+import de.rwth.swc.coffee4j.engine.sharding.Shard;
+import de.rwth.swc.coffee4j.engine.sharding.ShardingConfiguration;
+import de.rwth.swc.coffee4j.engine.sharding.TestInputCostEstimator;
+import de.rwth.swc.coffee4j.junit.CombinatorialTest;
+import de.rwth.swc.coffee4j.junit.provider.Loader;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.JUnitException;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Class for loading the {@link ShardingConfiguration} of a {@link CombinatorialTest} from JUnit configuration
+ * parameters, which can for example be given as system properties or in a {@code junit-platform.properties} file.
+ * This allows CI workers to execute different slices of the same test suite without changing the test code.
+ * <p>
+ * The following parameters are supported:
+ * -{@value #SHARD_COUNT}: the total number of shards. If not given, sharding is disabled and {@code null} is returned
+ * -{@value #SHARD_INDEX}: the index of the shard executed by this worker, starting with zero
+ * -{@value #RESULT_DIRECTORY}: a directory into which one result file per combinatorial test method and shard is
+ * written. If not given, no results are written
+ * -{@value #VALUE_COSTS}: the additional costs of parameter values in the format of
+ * {@link ParameterValueCostEstimator#parse(String)}, for example {@code 0:5,1;2:0,0,3}. The shards are then balanced
+ * by the estimated costs of their test inputs instead of their number. If not given, all test inputs are equally
+ * expensive
+ * <p>
+ * Every shard selects its slice from the same initial test inputs, so the generators have to produce them
+ * deterministically. If no seed is configured, the
+ * {@link de.rwth.swc.coffee4j.junit.provider.configuration.generator.RandomSourceLoader} therefore uses a fixed seed
+ * while sharding is enabled.
+ * <p>
+ * This is used by {@link de.rwth.swc.coffee4j.junit.provider.configuration.DelegatingConfigurationProvider}
+ * to provide a configuration.
+ */
+public class ShardingConfigurationLoader implements Loader<ShardingConfiguration> {
+    
+    public static final String SHARD_COUNT = "coffee4j.sharding.count";
+    public static final String SHARD_INDEX = "coffee4j.sharding.index";
+    public static final String RESULT_DIRECTORY = "coffee4j.sharding.resultDirectory";
+    public static final String VALUE_COSTS = "coffee4j.sharding.valueCosts";
+    
+    @Override
+    public ShardingConfiguration load(ExtensionContext extensionContext) {
+        final Optional<String> count = extensionContext.getConfigurationParameter(SHARD_COUNT);
+        if (!count.isPresent()) {
+            return null;
+        }
+        
+        final String index = extensionContext.getConfigurationParameter(SHARD_INDEX)
+                .orElseThrow(() -> new JUnitException("The parameter " + SHARD_INDEX + " is required if " + SHARD_COUNT + " is given"));
+        final Shard shard = new Shard(parse(SHARD_INDEX, index), parse(SHARD_COUNT, count.get()));
+        final Path resultFile = extensionContext.getConfigurationParameter(RESULT_DIRECTORY)
+                .map(directory -> Paths.get(directory, createResultFileName(extensionContext.getRequiredTestMethod(), shard)))
+                .orElse(null);
+        
+        final TestInputCostEstimator costEstimator = extensionContext.getConfigurationParameter(VALUE_COSTS)
+                .map(ShardingConfigurationLoader::parseCostEstimator)
+                .orElse(TestInputCostEstimator.UNIFORM);
+        
+        return new ShardingConfiguration(shard, costEstimator, resultFile);
+    }
+    
+    private static TestInputCostEstimator parseCostEstimator(String value) {
+        try {
+            return ParameterValueCostEstimator.parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new JUnitException("The parameter " + VALUE_COSTS + " is malformed: " + value, e);
+        }
+    }
+    
+    private static int parse(String parameter, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new JUnitException("The parameter " + parameter + " must be an integer but was " + value, e);
+        }
+    }
+    
+    private static String createResultFileName(Method testMethod, Shard shard) {
+        return testMethod.getDeclaringClass().getName() + "." + testMethod.getName()
+                + ".shard-" + shard.getIndex() + "-of-" + shard.getCount() + ".results";
+    }
+    
+}
@@ -11,7 +11,8 @@ import static de.rwth.swc.coffee4j.model.constraints.ConstraintStatus.UNKNOWN;
 /**
  * Convenience methods for creating constraints on up to six parameters. For all numbers of parameters this works by
  * the same schema. First, a number of parameters is given, then a {@link BooleanFunction1} (with the corresponding
- * number at the end) is required as a constraint function.
+ * number at the end) is required as a constraint function. Constraints on more than one parameter can optionally be
+ * restricted to combinations satisfying a condition on the value of the first parameter.
  */
 public final class ConstraintBuilder {
     
@@ -26,6 +27,17 @@ public final class ConstraintBuilder {
         return list;
     }
 
+    /*
+     * Only reads the first argument if the condition does not hold, so that the result is decided by it alone.
+     */
+    private static ConstraintFunction conditional(BooleanFunction1<?> condition, ConstraintFunction constraint) {
+        if (condition == null) {
+            return constraint;
+        }
+
+        return arguments -> !condition.check(arguments.subList(0, 1)) || constraint.check(arguments);
+    }
+
     /**
      * Starts the build process for a constraint on one parameter.
      *
@@ -169,6 +181,7 @@ public final class ConstraintBuilder {
         private String name;
         private final List<String> parameterNames;
         private final ConstraintStatus constraintStatus;
+        private BooleanFunction1<?> condition;
 
         private Constraint2Builder(List<String> parameterNames, ConstraintStatus constraintStatus) {
             this.name = ANONYMOUS_CONSTRAINT;
@@ -184,6 +197,22 @@ public final class ConstraintBuilder {
             return this;
         }
 
+        /**
+         * Restricts the constraint to combinations whose value for the first parameter satisfies the given condition.
+         * All other combinations are allowed without reading the values of the further parameters, so converters
+         * like the {@link de.rwth.swc.coffee4j.model.converter.PruningConstraintConverter} do not need to check them.
+         *
+         * @param condition the condition on the value of the first parameter. Must not be {@code null}
+         * @return this
+         */
+        public Constraint2Builder when(BooleanFunction1<?> condition) {
+            Preconditions.notNull(condition);
+
+            this.condition = condition;
+
+            return this;
+        }
+
         /**
          * Specified the {@link ConstraintFunction} as a {@link BooleanFunction2} for the given parameters.
          *
@@ -193,7 +222,7 @@ public final class ConstraintBuilder {
         public Constraint by(BooleanFunction2<?, ?> constraint) {
             Preconditions.notNull(constraint);
 
-            return new Constraint(name, parameterNames, constraint, constraintStatus);
+            return new Constraint(name, parameterNames, conditional(condition, constraint), constraintStatus);
         }
     }
     
@@ -205,6 +234,7 @@ public final class ConstraintBuilder {
         private String name;
         private final List<String> parameterNames;
         private final ConstraintStatus constraintStatus;
+        private BooleanFunction1<?> condition;
 
         private Constraint3Builder(List<String> parameterNames, ConstraintStatus constraintStatus) {
             this.name = ANONYMOUS_CONSTRAINT;
@@ -220,6 +250,22 @@ public final class ConstraintBuilder {
             return this;
         }
 
+        /**
+         * Restricts the constraint to combinations whose value for the first parameter satisfies the given condition.
+         * All other combinations are allowed without reading the values of the further parameters, so converters
+         * like the {@link de.rwth.swc.coffee4j.model.converter.PruningConstraintConverter} do not need to check them.
+         *
+         * @param condition the condition on the value of the first parameter. Must not be {@code null}
+         * @return this
+         */
+        public Constraint3Builder when(BooleanFunction1<?> condition) {
+            Preconditions.notNull(condition);
+
+            this.condition = condition;
+
+            return this;
+        }
+
         /**
          * Specified the {@link ConstraintFunction} as a {@link BooleanFunction3} for the given parameters.
          *
@@ -229,7 +275,7 @@ public final class ConstraintBuilder {
         public Constraint by(BooleanFunction3<?, ?, ?> constraint) {
             Preconditions.notNull(constraint);
 
-            return new Constraint(name, parameterNames, constraint, constraintStatus);
+            return new Constraint(name, parameterNames, conditional(condition, constraint), constraintStatus);
         }
     }
     
@@ -241,6 +287,7 @@ public final class ConstraintBuilder {
         private String name;
         private final List<String> parameterNames;
         private final ConstraintStatus constraintStatus;
+        private BooleanFunction1<?> condition;
 
         private Constraint4Builder(List<String> parameterNames, ConstraintStatus constraintStatus) {
             this.name = ANONYMOUS_CONSTRAINT;
@@ -256,6 +303,22 @@ public final class ConstraintBuilder {
             return this;
         }
         
+        /**
+         * Restricts the constraint to combinations whose value for the first parameter satisfies the given condition.
+         * All other combinations are allowed without reading the values of the further parameters, so converters
+         * like the {@link de.rwth.swc.coffee4j.model.converter.PruningConstraintConverter} do not need to check them.
+         *
+         * @param condition the condition on the value of the first parameter. Must not be {@code null}
+         * @return this
+         */
+        public Constraint4Builder when(BooleanFunction1<?> condition) {
+            Preconditions.notNull(condition);
+
+            this.condition = condition;
+
+            return this;
+        }
+
         /**
          * Specified the {@link ConstraintFunction} as a {@link BooleanFunction4} for the given parameters.
          *
@@ -265,7 +328,7 @@ public final class ConstraintBuilder {
         public Constraint by(BooleanFunction4<?, ?, ?, ?> constraint) {
             Preconditions.notNull(constraint);
 
-            return new Constraint(name, parameterNames, constraint, constraintStatus);
+            return new Constraint(name, parameterNames, conditional(condition, constraint), constraintStatus);
         }
     }
     
@@ -277,6 +340,7 @@ public final class ConstraintBuilder {
         private String name;
         private final List<String> parameterNames;
         private final ConstraintStatus constraintStatus;
+        private BooleanFunction1<?> condition;
 
         private Constraint5Builder(List<String> parameterNames, ConstraintStatus constraintStatus) {
             this.name = ANONYMOUS_CONSTRAINT;
@@ -292,6 +356,22 @@ public final class ConstraintBuilder {
             return this;
         }
 
+        /**
+         * Restricts the constraint to combinations whose value for the first parameter satisfies the given condition.
+         * All other combinations are allowed without reading the values of the further parameters, so converters
+         * like the {@link de.rwth.swc.coffee4j.model.converter.PruningConstraintConverter} do not need to check them.
+         *
+         * @param condition the condition on the value of the first parameter. Must not be {@code null}
+         * @return this
+         */
+        public Constraint5Builder when(BooleanFunction1<?> condition) {
+            Preconditions.notNull(condition);
+
+            this.condition = condition;
+
+            return this;
+        }
+
         /**
          * Specified the {@link ConstraintFunction} as a {@link BooleanFunction5} for the given parameters.
          *
@@ -301,7 +381,7 @@ public final class ConstraintBuilder {
         public Constraint by(BooleanFunction5<?, ?, ?, ?, ?> constraint) {
             Preconditions.notNull(constraint);
 
-            return new Constraint(name, parameterNames, constraint, constraintStatus);
+            return new Constraint(name, parameterNames, conditional(condition, constraint), constraintStatus);
         }
     }
     
@@ -313,6 +393,7 @@ public final class ConstraintBuilder {
         private String name;
         private final List<String> parameterNames;
         private final ConstraintStatus constraintStatus;
+        private BooleanFunction1<?> condition;
 
         private Constraint6Builder(List<String> parameterNames, ConstraintStatus constraintStatus) {
             this.name = ANONYMOUS_CONSTRAINT;
@@ -328,6 +409,22 @@ public final class ConstraintBuilder {
             return this;
         }
 
+        /**
+         * Restricts the constraint to combinations whose value for the first parameter satisfies the given condition.
+         * All other combinations are allowed without reading the values of the further parameters, so converters
+         * like the {@link de.rwth.swc.coffee4j.model.converter.PruningConstraintConverter} do not need to check them.
+         *
+         * @param condition the condition on the value of the first parameter. Must not be {@code null}
+         * @return this
+         */
+        public Constraint6Builder when(BooleanFunction1<?> condition) {
+            Preconditions.notNull(condition);
+
+            this.condition = condition;
+
+            return this;
+        }
+
         /**
          * Specified the {@link ConstraintFunction} as a {@link BooleanFunction6} for the given parameters.
          *
@@ -337,7 +434,7 @@ public final class ConstraintBuilder {
         public Constraint by(BooleanFunction6<?, ?, ?, ?, ?, ?> constraint) {
             Preconditions.notNull(constraint);
 
-            return new Constraint(name, parameterNames, constraint, constraintStatus);
+            return new Constraint(name, parameterNames, conditional(condition, constraint), constraintStatus);
         }
     }
 }
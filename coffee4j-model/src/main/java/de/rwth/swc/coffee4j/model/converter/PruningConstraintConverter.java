@@ -0,0 +1,208 @@
+package de.rwth.swc.coffee4j.model.converter;
+
+import de.rwth.swc.coffee4j.engine.TupleList;
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import de.rwth.swc.coffee4j.model.Parameter;
+import de.rwth.swc.coffee4j.model.constraints.Constraint;
+import de.rwth.swc.coffee4j.model.constraints.ConstraintFunction;
+import de.rwth.swc.coffee4j.model.constraints.ConstraintStatus;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Converts {@link Constraint} objects to their {@link TupleList} representation like the
+ * {@link SimpleCartesianProductConstraintConverter}, but without computing the cartesian product of the parameters
+ * beforehand. Instead, the value combinations are enumerated depth-first, and the subtree of a partial assignment is
+ * pruned as soon as the {@link ConstraintFunction} has decided it.
+ * <p>
+ * The converter observes which arguments a {@link ConstraintFunction} reads. If a function only read the arguments of
+ * the first parameters, its result holds for every combination starting with the same values. All these combinations
+ * are then added to the {@link TupleList} at once if the function returned {@code false}, and skipped otherwise,
+ * without calling the function again. For example, a function {@code arguments -> !"A".equals(arguments.get(0)) ||
+ * "B".equals(arguments.get(1))} is only called once for each value of the first parameter except "A".
+ * Functions defined via the {@link de.rwth.swc.coffee4j.model.constraints.ConstraintBuilder} receive all arguments
+ * at once and are therefore called for every combination, unless a condition on the first parameter is given via
+ * {@code when}. Combinations not satisfying this condition are then decided by the first argument alone, so the
+ * function is not called for them.
+ * <p>
+ * Pruning requires functions which only depend on the arguments they read and do not keep the given argument list,
+ * since it is reused for all calls. The tuples are returned in the same order as by the
+ * {@link SimpleCartesianProductConstraintConverter}.
+ */
+public class PruningConstraintConverter implements IndexBasedConstraintConverter {
+    
+    private static final Comparator<int[]> REVERSED_LEXICOGRAPHIC_ORDER = (first, second) -> {
+        for (int i = first.length - 1; i >= 0; i--) {
+            final int comparison = Integer.compare(first[i], second[i]);
+            
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        
+        return 0;
+    };
+    
+    @Override
+    public List<TupleList> convert(List<Constraint> constraints, List<Parameter> parameters) {
+        Preconditions.notNull(constraints);
+        Preconditions.notNull(parameters);
+        
+        final Object2IntMap<String> parameterNameIdMap = constructParameterNameMap(parameters);
+        
+        for (Constraint constraint : constraints) {
+            Preconditions.check(parameterNameIdMap.keySet().containsAll(constraint.getParameterNames()));
+        }
+        
+        final List<TupleList> convertedConstraints = new ArrayList<>(constraints.size());
+        
+        for (int i = 0; i < constraints.size(); i++) {
+            convertedConstraints.add(convertConstraint(constraints.get(i), parameterNameIdMap, parameters, i + 1));
+        }
+        
+        return convertedConstraints;
+    }
+    
+    private Object2IntMap<String> constructParameterNameMap(List<Parameter> parameters) {
+        final Object2IntMap<String> parameterNameMap = new Object2IntOpenHashMap<>();
+        
+        for (int i = 0; i < parameters.size(); i++) {
+            parameterNameMap.put(parameters.get(i).getName(), i);
+        }
+        
+        return parameterNameMap;
+    }
+    
+    private TupleList convertConstraint(Constraint constraint, Object2IntMap<String> parameterIdMap, List<Parameter> parameters, int id) {
+        final int[] relevantParameters = constraint.getParameterNames().stream().mapToInt(parameterIdMap::getInt).toArray();
+        final Object[][] values = collectValues(relevantParameters, parameters);
+        
+        final List<int[]> tuples = new ArrayList<>();
+        final ObservedArguments arguments = new ObservedArguments(relevantParameters.length);
+        final int[] combination = new int[relevantParameters.length];
+        
+        int decidingPosition;
+        do {
+            for (int i = 0; i < combination.length; i++) {
+                arguments.set(i, values[i][combination[i]]);
+            }
+            arguments.resetObservation();
+            
+            final boolean satisfied = constraint.getConstraintFunction().check(arguments);
+            decidingPosition = arguments.getHighestReadIndex();
+            
+            if (!satisfied) {
+                addAllCompletions(tuples, combination, decidingPosition + 1, values);
+            }
+        } while (tryIncreaseAt(combination, decidingPosition, values));
+        
+        /* depth-first enumeration varies the last parameter fastest, the cartesian product the first one */
+        tuples.sort(REVERSED_LEXICOGRAPHIC_ORDER);
+        
+        return new TupleList(id, relevantParameters, tuples, constraint.getConstraintStatus().equals(ConstraintStatus.CORRECT));
+    }
+    
+    private Object[][] collectValues(int[] relevantParameters, List<Parameter> parameters) {
+        final Object[][] values = new Object[relevantParameters.length][];
+        
+        for (int i = 0; i < relevantParameters.length; i++) {
+            final Parameter parameter = parameters.get(relevantParameters[i]);
+            values[i] = new Object[parameter.size()];
+            
+            for (int valueId = 0; valueId < parameter.size(); valueId++) {
+                values[i][valueId] = parameter.getValues().get(valueId).get();
+            }
+        }
+        
+        return values;
+    }
+    
+    /*
+     * Adds all combinations which have the same values as the given combination before the given position. The
+     * values at and after the position are enumerated, so the combination itself is added if the position is
+     * its length.
+     */
+    private void addAllCompletions(List<int[]> tuples, int[] combination, int position, Object[][] values) {
+        final int[] completion = combination.clone();
+        
+        for (int i = position; i < completion.length; i++) {
+            completion[i] = 0;
+        }
+        
+        do {
+            tuples.add(completion.clone());
+        } while (tryIncreaseAt(completion, completion.length - 1, position, values));
+    }
+    
+    private boolean tryIncreaseAt(int[] combination, int position, Object[][] values) {
+        for (int i = position + 1; i < combination.length; i++) {
+            combination[i] = 0;
+        }
+        
+        return tryIncreaseAt(combination, position, 0, values);
+    }
+    
+    private boolean tryIncreaseAt(int[] combination, int position, int lowestPosition, Object[][] values) {
+        for (int i = position; i >= lowestPosition; i--) {
+            combination[i]++;
+            
+            if (combination[i] < values[i].length) {
+                return true;
+            } else {
+                combination[i] = 0;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * The arguments given to a {@link ConstraintFunction}. Remembers the highest index which was read since the last
+     * reset, so that the converter knows which prefix of the combination decided the result.
+     */
+    private static final class ObservedArguments extends AbstractList<Object> implements RandomAccess {
+    
+        private final Object[] arguments;
+        
+        private int highestReadIndex = -1;
+        
+        private ObservedArguments(int size) {
+            arguments = new Object[size];
+        }
+        
+        @Override
+        public Object get(int index) {
+            final Object argument = arguments[index];
+            highestReadIndex = Math.max(highestReadIndex, index);
+            
+            return argument;
+        }
+        
+        @Override
+        public Object set(int index, Object argument) {
+            final Object previousArgument = arguments[index];
+            arguments[index] = argument;
+            
+            return previousArgument;
+        }
+        
+        @Override
+        public int size() {
+            return arguments.length;
+        }
+        
+        private void resetObservation() {
+            highestReadIndex = -1;
+        }
+        
+        private int getHighestReadIndex() {
+            return highestReadIndex;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import de.rwth.swc.coffee4j.engine.conflict.DiagnosisHittingSet;
 import de.rwth.swc.coffee4j.engine.conflict.MissingInvalidTuple;
 import de.rwth.swc.coffee4j.engine.manager.CombinatorialTestConfiguration;
 import de.rwth.swc.coffee4j.engine.manager.CombinatorialTestManager;
+import de.rwth.swc.coffee4j.engine.prioritization.TestInputPrioritizer;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 import de.rwth.swc.coffee4j.model.Combination;
 import de.rwth.swc.coffee4j.model.InputParameterModel;
@@ -28,6 +29,7 @@ public class CombinatorialTestConsumerManager {
     private final Consumer<Combination> testInputConsumer;
     private final ConflictDetectionReporter conflictDetectionReporter;
     private final CombinatorialTestConfiguration testConfiguration;
+    private final TestInputPrioritizer prioritizer;
 
     /**
      * Creates a new manager with the given configuration, consumer and testModel.
@@ -68,6 +70,7 @@ public class CombinatorialTestConsumerManager {
                         configuration.getGenerators(),
                         reporterManager);
 
+        this.prioritizer = configuration.getPrioritizer().orElse(null);
         this.conflictDetectionReporter = new PrintStreamConflictDetectionReporter(System.out, modelConverter);
 
         generator = configuration
@@ -108,10 +111,15 @@ public class CombinatorialTestConsumerManager {
 
     /**
      * Generates the initial test inputs, converts them and propagates them to the consumer given in the constructor.
+     * If a {@link TestInputPrioritizer} is configured, the test inputs are propagated in the prioritized order.
      */
     public synchronized void generateInitialTests() {
-        generator.generateInitialTests()
-                .stream()
+        List<int[]> testInputs = generator.generateInitialTests();
+        if (prioritizer != null) {
+            testInputs = prioritizer.prioritize(testInputs, modelConverter.getConvertedModel());
+        }
+        
+        testInputs.stream()
                 .map(modelConverter::convertCombination)
                 .forEach(testInputConsumer);
     }
@@ -127,11 +135,30 @@ public class CombinatorialTestConsumerManager {
         Preconditions.notNull(testInput);
         Preconditions.notNull(testResult);
         
-        generator.generateAdditionalTestInputsWithResult(
-                modelConverter.convertCombination(testInput),
-                testResult)
+        final int[] convertedTestInput = modelConverter.convertCombination(testInput);
+        if (prioritizer != null) {
+            prioritizer.testResultReceived(convertedTestInput, testResult);
+        }
+        
+        generator.generateAdditionalTestInputsWithResult(convertedTestInput, testResult)
                 .stream()
                 .map(modelConverter::convertCombination)
                 .forEach(testInputConsumer);
     }
+    
+    /**
+     * Waits for test inputs which the {@link CombinatorialTestManager} generates asynchronously, for example during
+     * fault characterization on another thread. All of them are converted and propagated to the given consumer.
+     *
+     * @return whether any test input was propagated. If not, no more test inputs are generated without new results
+     */
+    public synchronized boolean awaitAdditionalTestInputs() {
+        final List<int[]> testInputs = generator.awaitAdditionalTestInputs();
+        
+        testInputs.stream()
+                .map(modelConverter::convertCombination)
+                .forEach(testInputConsumer);
+        
+        return !testInputs.isEmpty();
+    }
 }
@@ -6,9 +6,16 @@ import de.rwth.swc.coffee4j.engine.generator.TestInputGroup;
 import de.rwth.swc.coffee4j.engine.generator.TestInputGroupGenerator;
 import de.rwth.swc.coffee4j.engine.manager.CombinatorialTestManager;
 import de.rwth.swc.coffee4j.engine.manager.BasicCombinatorialTestManager;
+import de.rwth.swc.coffee4j.engine.manager.BoundedTestResultCache;
 import de.rwth.swc.coffee4j.engine.manager.CachingDelegatingCombinatorialTestManager;
+import de.rwth.swc.coffee4j.engine.manager.ConflictCachingDelegatingCombinatorialTestManager;
+import de.rwth.swc.coffee4j.engine.manager.ConflictDetectionResultCache;
 import de.rwth.swc.coffee4j.engine.manager.HashMapTestResultCache;
+import de.rwth.swc.coffee4j.engine.manager.ShardingDelegatingCombinatorialTestManager;
+import de.rwth.swc.coffee4j.engine.manager.TestResultCache;
+import de.rwth.swc.coffee4j.engine.prioritization.TestInputPrioritizer;
 import de.rwth.swc.coffee4j.engine.report.ArgumentConverter;
+import de.rwth.swc.coffee4j.engine.sharding.ShardingConfiguration;
 import de.rwth.swc.coffee4j.engine.util.Preconditions;
 import de.rwth.swc.coffee4j.model.converter.IndexBasedModelConverter;
 import de.rwth.swc.coffee4j.model.converter.ModelConverter;
@@ -21,6 +28,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 /**
  * The complete reusable part of the configuration for a combinatorial test input. This means that multiple combinatorial
@@ -33,6 +41,11 @@ import java.util.Optional;
  */
 public final class CombinatorialTestConsumerManagerConfiguration {
     
+    /**
+     * The capacity of the test result cache which means that all test results are cached.
+     */
+    public static final int UNBOUNDED_TEST_RESULT_CACHE = 0;
+    
     private final CombinatorialTestManagerFactory managerFactory;
     
     private final ModelConverterFactory modelConverterFactory;
@@ -43,22 +56,72 @@ public final class CombinatorialTestConsumerManagerConfiguration {
     
     private final List<TestInputGroupGenerator> generators;
     
+    private final TestInputPrioritizer prioritizer;
+    
+    private final ShardingConfiguration shardingConfiguration;
+    
+    private final ConflictDetectionResultCache conflictDetectionResultCache;
+    
     private final List<ExecutionReporter> executionReporters;
     
     private final List<ArgumentConverter> argumentConverters;
     
     private CombinatorialTestConsumerManagerConfiguration(Builder builder) {
-        managerFactory = builder.managerFactory;
+        shardingConfiguration = builder.shardingConfiguration;
+        conflictDetectionResultCache = builder.conflictDetectionResultCache;
+        final CombinatorialTestManagerFactory baseManagerFactory = builder.managerFactory == null
+                ? createDefaultManagerFactory(builder.testResultCacheCapacity, builder.characterizationExecutor)
+                : builder.managerFactory;
+        final CombinatorialTestManagerFactory cachingManagerFactory = conflictDetectionResultCache == null
+                ? baseManagerFactory
+                : createConflictCachingManagerFactory(baseManagerFactory, conflictDetectionResultCache);
+        managerFactory = shardingConfiguration == null
+                ? cachingManagerFactory
+                : createShardingManagerFactory(cachingManagerFactory, shardingConfiguration);
         modelConverterFactory = Preconditions.notNull(builder.modelConverterFactory);
         conflictDetectionConfiguration = builder.conflictDetectionConfiguration;
         characterizationAlgorithmFactory = builder.characterizationAlgorithmFactory;
         generators = builder.generators;
+        prioritizer = builder.prioritizer;
         executionReporters = builder.executionReporters;
         argumentConverters = builder.argumentConverters;
     }
     
+    private static CombinatorialTestManagerFactory createDefaultManagerFactory(int testResultCacheCapacity,
+                                                                               Executor characterizationExecutor) {
+        return (configuration, model) -> {
+            final TestResultCache cache = testResultCacheCapacity == UNBOUNDED_TEST_RESULT_CACHE
+                    ? new HashMapTestResultCache()
+                    : new BoundedTestResultCache(testResultCacheCapacity);
+            
+            return new CachingDelegatingCombinatorialTestManager(cache, new BasicCombinatorialTestManager(configuration, model, characterizationExecutor, cache));
+        };
+    }
+    
+    private static CombinatorialTestManagerFactory createShardingManagerFactory(CombinatorialTestManagerFactory managerFactory,
+                                                                                 ShardingConfiguration shardingConfiguration) {
+        Preconditions.notNull(managerFactory);
+        
+        return (configuration, model) -> new ShardingDelegatingCombinatorialTestManager(
+                shardingConfiguration,
+                managerFactory.apply(configuration, model));
+    }
+    
+    private static CombinatorialTestManagerFactory createConflictCachingManagerFactory(CombinatorialTestManagerFactory managerFactory,
+                                                                                        ConflictDetectionResultCache conflictDetectionResultCache) {
+        Preconditions.notNull(managerFactory);
+        
+        return (configuration, model) -> new ConflictCachingDelegatingCombinatorialTestManager(
+                conflictDetectionResultCache,
+                configuration.getConflictDetectionConfiguration(),
+                model,
+                managerFactory.apply(configuration, model));
+    }
+    
     /**
-     * @return the factory used to create a new manager for a combinatorial test
+     * @return the factory used to create a new manager for a combinatorial test. If sharding is configured, the
+     * created managers only return the initial test inputs of the configured shard. If a cache for the results of
+     * conflict detection is configured, the created managers use it
      */
     public CombinatorialTestManagerFactory getManagerFactory() {
         return managerFactory;
@@ -90,6 +153,30 @@ public final class CombinatorialTestConsumerManagerConfiguration {
         return generators;
     }
     
+    /**
+     * @return an optional containing the prioritizer which reorders the initial test inputs before their execution
+     * if one is configured, otherwise an empty {@link Optional} is returned
+     */
+    public Optional<TestInputPrioritizer> getPrioritizer() {
+        return Optional.ofNullable(prioritizer);
+    }
+    
+    /**
+     * @return an optional containing the configuration for executing only one shard of the test suite if one is
+     * configured, otherwise an empty {@link Optional} is returned
+     */
+    public Optional<ShardingConfiguration> getShardingConfiguration() {
+        return Optional.ofNullable(shardingConfiguration);
+    }
+    
+    /**
+     * @return an optional containing the cache in which the results of conflict detection are stored if one is
+     * configured, otherwise an empty {@link Optional} is returned
+     */
+    public Optional<ConflictDetectionResultCache> getConflictDetectionResultCache() {
+        return Optional.ofNullable(conflictDetectionResultCache);
+    }
+    
     /**
      * @return all reporter for listening to interesting events during the generating and execution. May be empty
      */
@@ -114,13 +201,16 @@ public final class CombinatorialTestConsumerManagerConfiguration {
                 Objects.equals(conflictDetectionConfiguration, that.conflictDetectionConfiguration) &&
                 Objects.equals(characterizationAlgorithmFactory, that.characterizationAlgorithmFactory) &&
                 Objects.equals(generators, that.generators) &&
+                Objects.equals(prioritizer, that.prioritizer) &&
+                Objects.equals(shardingConfiguration, that.shardingConfiguration) &&
+                Objects.equals(conflictDetectionResultCache, that.conflictDetectionResultCache) &&
                 Objects.equals(executionReporters, that.executionReporters) &&
                 Objects.equals(argumentConverters, that.argumentConverters);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(managerFactory, modelConverterFactory, conflictDetectionConfiguration, characterizationAlgorithmFactory, generators, executionReporters, argumentConverters);
+        return Objects.hash(managerFactory, modelConverterFactory, conflictDetectionConfiguration, characterizationAlgorithmFactory, generators, prioritizer, shardingConfiguration, conflictDetectionResultCache, executionReporters, argumentConverters);
     }
 
     @Override
@@ -131,6 +221,9 @@ public final class CombinatorialTestConsumerManagerConfiguration {
                 ", conflictDetectionConfiguration=" + conflictDetectionConfiguration +
                 ", characterizationAlgorithmFactory=" + characterizationAlgorithmFactory +
                 ", generators=" + generators +
+                ", prioritizer=" + prioritizer +
+                ", shardingConfiguration=" + shardingConfiguration +
+                ", conflictDetectionResultCache=" + conflictDetectionResultCache +
                 ", executionReporters=" + executionReporters +
                 ", argumentConverters=" + argumentConverters +
                 '}';
@@ -145,7 +238,11 @@ public final class CombinatorialTestConsumerManagerConfiguration {
      */
     public static final class Builder {
         
-        private CombinatorialTestManagerFactory managerFactory = (configuration, generationReporter) -> new CachingDelegatingCombinatorialTestManager(new HashMapTestResultCache(), new BasicCombinatorialTestManager(configuration, generationReporter));
+        private CombinatorialTestManagerFactory managerFactory;
+        
+        private int testResultCacheCapacity = UNBOUNDED_TEST_RESULT_CACHE;
+        
+        private Executor characterizationExecutor;
         
         private ModelConverterFactory modelConverterFactory = IndexBasedModelConverter::new;
         
@@ -155,6 +252,12 @@ public final class CombinatorialTestConsumerManagerConfiguration {
 
         private final List<TestInputGroupGenerator> generators = new ArrayList<>();
         
+        private TestInputPrioritizer prioritizer;
+        
+        private ShardingConfiguration shardingConfiguration;
+        
+        private ConflictDetectionResultCache conflictDetectionResultCache;
+        
         private final List<ExecutionReporter> executionReporters = new ArrayList<>();
         
         private final List<ArgumentConverter> argumentConverters = new ArrayList<>();
@@ -163,10 +266,11 @@ public final class CombinatorialTestConsumerManagerConfiguration {
          * Sets which factory shall be used to create new
          * {@link CombinatorialTestManager} instances. The default creates new ones
          * using a {@link CachingDelegatingCombinatorialTestManager} with a {@link HashMapTestResultCache} wrapped
-         * around a {@link BasicCombinatorialTestManager}.
+         * around a {@link BasicCombinatorialTestManager}, or with a {@link BoundedTestResultCache} if a capacity is set
+         * via {@link #testResultCacheCapacity(int)}. A custom factory ignores that capacity and the
+         * {@link #characterizationExecutor(Executor)}.
          *
-         * @param managerFactory the factory for creating new managers. Must not be {@code null} when
-         *                       {@link #build()} is called
+         * @param managerFactory the factory for creating new managers. Can be {@code null} to use the default
          * @return this
          */
         public Builder managerFactory(CombinatorialTestManagerFactory managerFactory) {
@@ -175,6 +279,40 @@ public final class CombinatorialTestConsumerManagerConfiguration {
             return this;
         }
         
+        /**
+         * Sets how many test results the default manager caches at most. If a capacity is set, a
+         * {@link BoundedTestResultCache} is used, which evicts results once it is full. Results of test inputs
+         * which are still needed by an active fault characterization are pinned and never evicted. The default value
+         * is {@link #UNBOUNDED_TEST_RESULT_CACHE}, which means that all test results are cached.
+         *
+         * @param testResultCacheCapacity the maximum number of cached test results. Must be positive or
+         *                                {@link #UNBOUNDED_TEST_RESULT_CACHE}
+         * @return this
+         */
+        public Builder testResultCacheCapacity(int testResultCacheCapacity) {
+            Preconditions.check(testResultCacheCapacity >= 0, "capacity must not be negative");
+            
+            this.testResultCacheCapacity = testResultCacheCapacity;
+            
+            return this;
+        }
+        
+        /**
+         * Sets the executor on which the default manager computes fault characterization rounds and checks the
+         * constraints for conflicts. Rounds of different test input groups and checks of different error constraints
+         * then run concurrently. The executor is not shut down by the managers. The default value is {@code null},
+         * which means everything is computed by the threads executing the test inputs.
+         *
+         * @param characterizationExecutor the executor for fault characterization and conflict detection. Can be
+         *                                 {@code null} to compute everything in the calling threads
+         * @return this
+         */
+        public Builder characterizationExecutor(Executor characterizationExecutor) {
+            this.characterizationExecutor = characterizationExecutor;
+            
+            return this;
+        }
+        
         /**
          * Sets which factory shall be used to create new {@link ModelConverter}
          * instances. The default is a {@link IndexBasedModelConverter}.
@@ -340,11 +478,58 @@ public final class CombinatorialTestConsumerManagerConfiguration {
             return this;
         }
         
+        /**
+         * Sets which prioritizer shall be used to reorder the initial test inputs before they are executed.
+         * The default value is {@code null}, which means the test inputs are executed in the order in which they
+         * were generated.
+         *
+         * @param prioritizer the prioritizer for the initial test inputs. Can be {@code null} when calling
+         *                    {@link #build()} to indicate that no prioritization is used
+         * @return this
+         */
+        public Builder prioritizer(TestInputPrioritizer prioritizer) {
+            this.prioritizer = prioritizer;
+            
+            return this;
+        }
+        
+        /**
+         * Sets which shard of the initial test inputs shall be executed. Each created manager is wrapped in a
+         * {@link ShardingDelegatingCombinatorialTestManager}. The default value is {@code null}, which means all
+         * initial test inputs are executed. Every shard must generate the same initial test inputs, so generators
+         * using random numbers have to be given the same seed in every shard, for example
+         * {@code new AetgSat(RandomSource.withSeed(42))}.
+         *
+         * @param shardingConfiguration the configuration of the shard. Can be {@code null} when calling
+         *                              {@link #build()} to indicate that no sharding is used
+         * @return this
+         */
+        public Builder sharding(ShardingConfiguration shardingConfiguration) {
+            this.shardingConfiguration = shardingConfiguration;
+            
+            return this;
+        }
+        
+        /**
+         * Sets the cache in which the results of conflict detection are stored, so that they are reused as long as
+         * the constraints and the conflict detection configuration do not change. Each created manager is wrapped in
+         * a {@link ConflictCachingDelegatingCombinatorialTestManager}. The default value is {@code null}, which means
+         * conflicts are detected anew for each combinatorial test.
+         *
+         * @param conflictDetectionResultCache the cache for the results. Can be {@code null} when calling
+         *                                     {@link #build()} to indicate that no cache is used
+         * @return this
+         */
+        public Builder conflictDetectionResultCache(ConflictDetectionResultCache conflictDetectionResultCache) {
+            this.conflictDetectionResultCache = conflictDetectionResultCache;
+            
+            return this;
+        }
+        
         /**
          * Creates a new configuration based on the supplied values.
-         * The {@link #managerFactory(CombinatorialTestManagerFactory)} and
-         * {@link #modelConverterFactory(ModelConverterFactory)} must not be {@code null}. If they are not used,
-         * they will have the non-{@code null} default values defined at the methods.
+         * The {@link #modelConverterFactory(ModelConverterFactory)} must not be {@code null}. If it is not used,
+         * it will have the non-{@code null} default value defined at the method.
          *
          * @return the new configuration
          */
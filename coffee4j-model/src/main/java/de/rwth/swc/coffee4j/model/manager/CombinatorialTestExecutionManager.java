@@ -10,12 +10,22 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * A class using a {@link CombinatorialTestConsumerManager} internally to manage the complete execution
  * of a combinatorial test via a {@link TestInputExecutor}. This means that after the initial {@link #execute()}
  * method is called, no more method calls are needed and all results are propagated through registered
  * {@link ExecutionReporter} instances.
+ * <p>
+ * If a parallelism greater than one is given, up to that many test inputs are executed at the same time and their
+ * results are processed in the order in which they finish. All reporters and the underlying
+ * {@link CombinatorialTestConsumerManager} are still only called from the thread calling {@link #execute()}, so only the
+ * {@link TestInputExecutor} needs to be thread-safe.
  */
 public class CombinatorialTestExecutionManager {
     
@@ -28,6 +38,8 @@ public class CombinatorialTestExecutionManager {
     private final CombinatorialTestConsumerManager generator;
 
     private final CombinatorialTestConsumerManagerConfiguration configuration;
+    
+    private final int parallelism;
 
     /**
      * Creates a new manager with the given configuration, executor and testModel.
@@ -43,13 +55,33 @@ public class CombinatorialTestExecutionManager {
     public CombinatorialTestExecutionManager(CombinatorialTestConsumerManagerConfiguration configuration,
                                              TestInputExecutor executor,
                                              InputParameterModel model) {
+        this(configuration, executor, model, 1);
+    }
+    
+    /**
+     * Creates a new manager with the given configuration, executor and testModel which executes up to
+     * {@code parallelism} test inputs at the same time.
+     *
+     * @param configuration all needed configuration for a combinatorial test. Must not be {@code null}
+     * @param executor      can execute any test inputs possible with the supplied testModel. If the parallelism is
+     *                      greater than one, it must be thread-safe. Must not be {@code null}
+     * @param model         the testModel which defines all parameters and constraints for a combinatorial test.
+     *                      Must not be {@code null}
+     * @param parallelism   the maximum number of test inputs executed at the same time. Must be positive
+     */
+    public CombinatorialTestExecutionManager(CombinatorialTestConsumerManagerConfiguration configuration,
+                                             TestInputExecutor executor,
+                                             InputParameterModel model,
+                                             int parallelism) {
         Preconditions.notNull(configuration);
         Preconditions.notNull(executor);
         Preconditions.notNull(model);
+        Preconditions.check(parallelism > 0, "parallelism must be positive");
         
         executionReporters = new ArrayList<>(configuration.getExecutionReporters());
         this.executor = executor;
         this.configuration = configuration;
+        this.parallelism = parallelism;
 
         generator = new CombinatorialTestConsumerManager(configuration, executionQueue::add, model);
     }
@@ -68,12 +100,53 @@ public class CombinatorialTestExecutionManager {
 
         generator.generateInitialTests();
         
-        Combination testInput;
-        while ((testInput = executionQueue.poll()) != null) {
-            testInputExecutionStarted(testInput);
-            final TestResult result = execute(testInput);
-            testInputExecutionFinished(testInput, result);
-            generator.generateAdditionalTestInputsWithResult(testInput, result);
+        if (parallelism == 1) {
+            executeSequentially();
+        } else {
+            executeInParallel();
+        }
+    }
+    
+    private void executeSequentially() {
+        do {
+            Combination testInput;
+            while ((testInput = executionQueue.poll()) != null) {
+                testInputExecutionStarted(testInput);
+                final TestResult result = execute(testInput);
+                testInputExecutionFinished(testInput, result);
+                generator.generateAdditionalTestInputsWithResult(testInput, result);
+            }
+        } while (generator.awaitAdditionalTestInputs());
+    }
+    
+    private void executeInParallel() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        final CompletionService<ExecutedTestInput> completionService = new ExecutorCompletionService<>(executorService);
+        
+        try {
+            int runningTestInputs = 0;
+            
+            while (!executionQueue.isEmpty() || runningTestInputs > 0 || generator.awaitAdditionalTestInputs()) {
+                Combination testInput;
+                while (runningTestInputs < parallelism && (testInput = executionQueue.poll()) != null) {
+                    testInputExecutionStarted(testInput);
+                    final Combination submittedTestInput = testInput;
+                    completionService.submit(() -> new ExecutedTestInput(submittedTestInput, execute(submittedTestInput)));
+                    runningTestInputs++;
+                }
+                
+                final ExecutedTestInput executedTestInput = completionService.take().get();
+                runningTestInputs--;
+                testInputExecutionFinished(executedTestInput.testInput, executedTestInput.result);
+                generator.generateAdditionalTestInputsWithResult(executedTestInput.testInput, executedTestInput.result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for test input executions", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executorService.shutdownNow();
         }
     }
 
@@ -105,4 +178,17 @@ public class CombinatorialTestExecutionManager {
             return TestResult.failure(e);
         }
     }
+    
+    private static final class ExecutedTestInput {
+        
+        private final Combination testInput;
+        
+        private final TestResult result;
+        
+        private ExecutedTestInput(Combination testInput, TestResult result) {
+            this.testInput = testInput;
+            this.result = result;
+        }
+        
+    }
 }
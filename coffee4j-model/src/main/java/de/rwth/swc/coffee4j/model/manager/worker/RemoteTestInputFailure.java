@@ -0,0 +1,26 @@
+package de.rwth.swc.coffee4j.model.manager.worker;
+
+/**
+ * Represents an exception thrown by a {@link de.rwth.swc.coffee4j.model.manager.TestInputExecutor} inside a
+ * {@link TestInputWorker} process. Since the original exception class may not be loadable (or serializable), only its
+ * class name, message and stack trace are transferred.
+ */
+public final class RemoteTestInputFailure extends RuntimeException {
+    
+    private final String remoteClassName;
+    
+    RemoteTestInputFailure(String remoteClassName, String message, StackTraceElement[] stackTrace) {
+        super(message == null ? remoteClassName : remoteClassName + ": " + message);
+        
+        this.remoteClassName = remoteClassName;
+        setStackTrace(stackTrace);
+    }
+    
+    /**
+     * @return the fully qualified name of the class of the exception thrown in the worker process
+     */
+    public String getRemoteClassName() {
+        return remoteClassName;
+    }
+    
+}
@@ -0,0 +1,99 @@
+package de.rwth.swc.coffee4j.model.manager.worker;
+
+import de.rwth.swc.coffee4j.model.Combination;
+import de.rwth.swc.coffee4j.model.InputParameterModel;
+import de.rwth.swc.coffee4j.model.Parameter;
+import de.rwth.swc.coffee4j.model.manager.TestInputExecutor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+
+/**
+ * The entry point of a worker process started by a {@link WorkerPoolTestInputExecutor}. The only argument is the
+ * fully qualified name of a {@link TestInputWorkerFactory}. Test inputs are read from standard input and results are
+ * written to standard output according to the {@link WorkerProtocol}. Anything the executed tests print to
+ * {@link System#out} is redirected to standard error so that it cannot corrupt the protocol.
+ */
+public final class TestInputWorker {
+    
+    private final List<Parameter> parameters;
+    
+    private final TestInputExecutor executor;
+    
+    private TestInputWorker(TestInputWorkerFactory factory) {
+        final InputParameterModel model = factory.createModel();
+        
+        parameters = model.getParameters();
+        executor = factory.createExecutor();
+    }
+    
+    /**
+     * Starts a worker which executes test inputs until it is shut down or its input stream is closed.
+     *
+     * @param arguments the fully qualified name of the {@link TestInputWorkerFactory} as the only argument
+     * @throws Exception if the factory cannot be instantiated or the communication with the parent process fails
+     */
+    public static void main(String[] arguments) throws Exception {
+        if (arguments.length != 1) {
+            throw new IllegalArgumentException("Expected the name of a TestInputWorkerFactory as the only argument");
+        }
+        
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+        final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(System.err);
+        
+        final TestInputWorkerFactory factory = (TestInputWorkerFactory) Class.forName(arguments[0])
+                .getConstructor()
+                .newInstance();
+        new TestInputWorker(factory).run(input, output);
+    }
+    
+    private void run(DataInputStream input, DataOutputStream output) throws IOException {
+        output.writeByte(WorkerProtocol.READY);
+        output.flush();
+        
+        byte messageType;
+        while ((messageType = input.readByte()) == WorkerProtocol.EXECUTE) {
+            final int[] testInput = WorkerProtocol.readTestInput(input);
+            
+            try {
+                executor.execute(toCombination(testInput));
+                output.writeByte(WorkerProtocol.SUCCESS);
+                output.flush();
+            } catch (Throwable e) {
+                WorkerProtocol.writeFailure(output, e);
+            }
+        }
+        
+        if (messageType != WorkerProtocol.SHUTDOWN) {
+            throw new IOException("Unknown message type " + messageType);
+        }
+    }
+    
+    private Combination toCombination(int[] testInput) {
+        if (testInput.length != parameters.size()) {
+            throw new IllegalStateException("Received test input for " + testInput.length
+                    + " parameters, but the model has " + parameters.size());
+        }
+        
+        final Combination.Builder builder = Combination.combination();
+        for (int i = 0; i < testInput.length; i++) {
+            if (testInput[i] != NO_VALUE) {
+                final Parameter parameter = parameters.get(i);
+                builder.value(parameter, parameter.getValues().get(testInput[i]));
+            }
+        }
+        
+        return builder.build();
+    }
+    
+}
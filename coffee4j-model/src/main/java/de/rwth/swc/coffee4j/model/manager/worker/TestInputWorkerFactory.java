@@ -0,0 +1,30 @@
+package de.rwth.swc.coffee4j.model.manager.worker;
+
+import de.rwth.swc.coffee4j.model.InputParameterModel;
+import de.rwth.swc.coffee4j.model.manager.TestInputExecutor;
+
+/**
+ * Creates everything a {@link TestInputWorker} process needs to execute test inputs. Since the factory is
+ * instantiated inside a separate JVM, implementing classes must be public and have a public constructor without
+ * any arguments.
+ * <p>
+ * The {@link InputParameterModel} returned by {@link #createModel()} must define the same parameters with the same
+ * values in the same order as the model used by the {@link WorkerPoolTestInputExecutor}, since test inputs are
+ * transferred as value indices only.
+ */
+public interface TestInputWorkerFactory {
+    
+    /**
+     * @return the model whose parameters and values are used to reconstruct received test inputs
+     */
+    InputParameterModel createModel();
+    
+    /**
+     * Creates the executor used by one worker process for all test inputs it executes. The executor is created once
+     * per worker process, so it may hold resources which are only released when the worker is recycled.
+     *
+     * @return the executor for the test inputs
+     */
+    TestInputExecutor createExecutor();
+    
+}
@@ -0,0 +1,271 @@
+package de.rwth.swc.coffee4j.model.manager.worker;
+
+import de.rwth.swc.coffee4j.engine.util.Preconditions;
+import de.rwth.swc.coffee4j.model.Combination;
+import de.rwth.swc.coffee4j.model.InputParameterModel;
+import de.rwth.swc.coffee4j.model.Parameter;
+import de.rwth.swc.coffee4j.model.Value;
+import de.rwth.swc.coffee4j.model.manager.CombinatorialTestExecutionManager;
+import de.rwth.swc.coffee4j.model.manager.TestInputExecutor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static de.rwth.swc.coffee4j.engine.util.CombinationUtil.NO_VALUE;
+
+/**
+ * A {@link TestInputExecutor} which executes each test input in one of a pool of long-lived worker JVMs instead of
+ * the current one. This isolates the current JVM from executors which leak native resources or crash, without the
+ * cost of starting a new JVM for each test input.
+ * <p>
+ * Workers are started lazily with the class path of the current JVM and run a {@link TestInputWorker} using the
+ * given {@link TestInputWorkerFactory}. Test inputs and results are exchanged over the standard streams of the worker
+ * processes using a compact binary protocol, in which test inputs are only transferred as value indices.
+ * A worker is replaced after it executed the configured number of test inputs, or if it crashed. In the latter case,
+ * the test input it was executing is reported as failed.
+ * <p>
+ * This class is thread-safe. At most as many test inputs as there are workers are executed at the same time, and
+ * calls to {@link #execute(Combination)} block until a worker is available. To execute multiple test inputs in
+ * parallel, use the constructor of {@link CombinatorialTestExecutionManager} which accepts a parallelism.
+ */
+public class WorkerPoolTestInputExecutor implements TestInputExecutor, AutoCloseable {
+    
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    
+    private final List<String> command;
+    
+    private final List<Parameter> parameters;
+    
+    private final int maximumTestInputsPerWorker;
+    
+    private final Semaphore availableWorkers;
+    
+    private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+    
+    private volatile boolean closed = false;
+    
+    /**
+     * Creates a new pool which starts the workers without any additional JVM arguments.
+     *
+     * @param factoryClass               the factory used inside each worker process. Must not be {@code null}
+     * @param model                      the model of all test inputs which will be executed. Must not be {@code null}
+     * @param poolSize                   the maximum number of worker processes. Must be positive
+     * @param maximumTestInputsPerWorker the number of test inputs after which a worker is replaced. Must be positive
+     */
+    public WorkerPoolTestInputExecutor(Class<? extends TestInputWorkerFactory> factoryClass, InputParameterModel model,
+                                       int poolSize, int maximumTestInputsPerWorker) {
+        this(factoryClass, model, poolSize, maximumTestInputsPerWorker, Collections.emptyList());
+    }
+    
+    /**
+     * Creates a new pool which starts the workers with the given additional JVM arguments.
+     *
+     * @param factoryClass               the factory used inside each worker process. Must not be {@code null}
+     * @param model                      the model of all test inputs which will be executed. Must not be {@code null}
+     * @param poolSize                   the maximum number of worker processes. Must be positive
+     * @param maximumTestInputsPerWorker the number of test inputs after which a worker is replaced. Must be positive
+     * @param jvmArguments               additional arguments for the worker JVMs like {@code -Xmx256m}.
+     *                                   Must not be, nor contain {@code null}
+     */
+    public WorkerPoolTestInputExecutor(Class<? extends TestInputWorkerFactory> factoryClass, InputParameterModel model,
+                                       int poolSize, int maximumTestInputsPerWorker, List<String> jvmArguments) {
+        Preconditions.notNull(factoryClass);
+        Preconditions.notNull(model);
+        Preconditions.check(poolSize > 0, "poolSize must be positive");
+        Preconditions.check(maximumTestInputsPerWorker > 0, "maximumTestInputsPerWorker must be positive");
+        Preconditions.notNull(jvmArguments);
+        Preconditions.check(!jvmArguments.contains(null));
+        
+        command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(TestInputWorker.class.getName());
+        command.add(factoryClass.getName());
+        
+        parameters = model.getParameters();
+        this.maximumTestInputsPerWorker = maximumTestInputsPerWorker;
+        availableWorkers = new Semaphore(poolSize, true);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * Blocks until a worker is available. If the test input fails inside the worker, a {@link RemoteTestInputFailure}
+     * is thrown. If the worker crashes or the pool is already closed, an {@link IllegalStateException} is thrown.
+     */
+    @Override
+    public void execute(Combination testInput) throws Exception {
+        Preconditions.notNull(testInput);
+        if (closed) {
+            throw new IllegalStateException("the worker pool is already closed");
+        }
+        
+        final int[] encodedTestInput = encode(testInput);
+        
+        availableWorkers.acquire();
+        try {
+            final Worker worker = acquireWorker();
+            final RemoteTestInputFailure failure;
+            
+            try {
+                failure = worker.execute(encodedTestInput);
+            } catch (IOException e) {
+                final int exitValue = worker.waitForExitValue();
+                worker.destroy();
+                
+                throw new IllegalStateException("Worker process terminated while executing " + testInput
+                        + " (exit value " + exitValue + ")", e);
+            }
+            
+            releaseWorker(worker);
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            availableWorkers.release();
+        }
+    }
+    
+    private int[] encode(Combination testInput) {
+        final int[] encodedTestInput = new int[parameters.size()];
+        
+        for (int i = 0; i < encodedTestInput.length; i++) {
+            final Parameter parameter = parameters.get(i);
+            final Value value = testInput.getValue(parameter);
+            
+            encodedTestInput[i] = value == null ? NO_VALUE : parameter.getValues().indexOf(value);
+        }
+        
+        return encodedTestInput;
+    }
+    
+    private Worker acquireWorker() {
+        final Worker idleWorker = idleWorkers.poll();
+        if (idleWorker != null) {
+            return idleWorker;
+        }
+        
+        try {
+            return new Worker(new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start worker process", e);
+        }
+    }
+    
+    private void releaseWorker(Worker worker) {
+        if (!closed && worker.executedTestInputs < maximumTestInputsPerWorker) {
+            idleWorkers.add(worker);
+            
+            if (closed && idleWorkers.remove(worker)) {
+                worker.shutdown();
+            }
+        } else {
+            worker.shutdown();
+        }
+    }
+    
+    /**
+     * Shuts down all idle workers. Workers which are currently executing a test input are shut down once they are
+     * finished. Afterwards, no more test inputs can be executed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        
+        Worker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.shutdown();
+        }
+    }
+    
+    private static final class Worker {
+        
+        private final Process process;
+        
+        private final DataOutputStream output;
+        
+        private final DataInputStream input;
+        
+        private boolean ready = false;
+        
+        private int executedTestInputs = 0;
+        
+        private Worker(Process process) {
+            this.process = process;
+            
+            output = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            input = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+        
+        private RemoteTestInputFailure execute(int[] testInput) throws IOException {
+            if (!ready) {
+                expect(WorkerProtocol.READY, input.readByte());
+                ready = true;
+            }
+            
+            executedTestInputs++;
+            WorkerProtocol.writeTestInput(output, testInput);
+            
+            final byte response = input.readByte();
+            if (response == WorkerProtocol.FAILURE) {
+                return WorkerProtocol.readFailure(input);
+            }
+            expect(WorkerProtocol.SUCCESS, response);
+            
+            return null;
+        }
+        
+        private static void expect(byte expected, byte actual) throws IOException {
+            if (expected != actual) {
+                throw new IOException("Expected message type " + expected + " but received " + actual);
+            }
+        }
+        
+        private int waitForExitValue() {
+            try {
+                if (process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    return process.exitValue();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            
+            return -1;
+        }
+        
+        private void shutdown() {
+            try {
+                output.writeByte(WorkerProtocol.SHUTDOWN);
+                output.close();
+            } catch (IOException e) {
+                destroy();
+                return;
+            }
+            
+            process.onExit()
+                    .completeOnTimeout(null, SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .thenRun(this::destroy);
+        }
+        
+        private void destroy() {
+            process.destroyForcibly();
+        }
+        
+    }
+    
+}
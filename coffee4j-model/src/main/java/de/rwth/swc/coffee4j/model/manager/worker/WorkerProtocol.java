@@ -0,0 +1,95 @@
+package de.rwth.swc.coffee4j.model.manager.worker;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The binary protocol spoken between a {@link WorkerPoolTestInputExecutor} and its {@link TestInputWorker} processes.
+ * <p>
+ * After startup, a worker sends {@link #READY}. Afterwards, it answers each {@link #EXECUTE} message (followed by the
+ * number of parameters and the index of the value of each parameter) with either {@link #SUCCESS} or {@link #FAILURE}
+ * (followed by the class name, message and stack trace of the cause). {@link #SHUTDOWN} terminates the worker without
+ * an answer. Strings are sent as their UTF-8 length and bytes, with a length of {@code -1} representing {@code null}.
+ */
+final class WorkerProtocol {
+    
+    static final byte READY = 0;
+    static final byte EXECUTE = 1;
+    static final byte SHUTDOWN = 2;
+    static final byte SUCCESS = 3;
+    static final byte FAILURE = 4;
+    
+    private WorkerProtocol() {
+    }
+    
+    static void writeTestInput(DataOutputStream output, int[] testInput) throws IOException {
+        output.writeByte(EXECUTE);
+        output.writeInt(testInput.length);
+        for (int value : testInput) {
+            output.writeInt(value);
+        }
+        output.flush();
+    }
+    
+    static int[] readTestInput(DataInputStream input) throws IOException {
+        final int[] testInput = new int[input.readInt()];
+        for (int i = 0; i < testInput.length; i++) {
+            testInput[i] = input.readInt();
+        }
+        
+        return testInput;
+    }
+    
+    static void writeFailure(DataOutputStream output, Throwable cause) throws IOException {
+        output.writeByte(FAILURE);
+        writeString(output, cause.getClass().getName());
+        writeString(output, cause.getMessage());
+        
+        final StackTraceElement[] stackTrace = cause.getStackTrace();
+        output.writeInt(stackTrace.length);
+        for (StackTraceElement element : stackTrace) {
+            writeString(output, element.getClassName());
+            writeString(output, element.getMethodName());
+            writeString(output, element.getFileName());
+            output.writeInt(element.getLineNumber());
+        }
+        output.flush();
+    }
+    
+    static RemoteTestInputFailure readFailure(DataInputStream input) throws IOException {
+        final String className = readString(input);
+        final String message = readString(input);
+        
+        final StackTraceElement[] stackTrace = new StackTraceElement[input.readInt()];
+        for (int i = 0; i < stackTrace.length; i++) {
+            stackTrace[i] = new StackTraceElement(readString(input), readString(input), readString(input), input.readInt());
+        }
+        
+        return new RemoteTestInputFailure(className, message, stackTrace);
+    }
+    
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        if (string == null) {
+            output.writeInt(-1);
+        } else {
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+    
+    private static String readString(DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+}
@@ -94,6 +94,14 @@ public class PrintStreamConflictDetectionReporter implements  ConflictDetectionR
         } else {
             throw new IllegalStateException();
         }
+
+        if(!explanation.isComplete()) {
+            reportIncompleteExplanation();
+        }
+    }
+
+    private void reportIncompleteExplanation() {
+        printStream.println("The search was stopped by its budget, so the explanation may not be minimal or complete.");
     }
 
     private void reportUnknownExplanation() {
@@ -8,7 +8,9 @@ import java.util.Collections;
 
 import static de.rwth.swc.coffee4j.model.constraints.ConstraintBuilder.constrain;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ConstraintBuilderTest {
     
@@ -53,4 +55,18 @@ class ConstraintBuilderTest {
         assertEquals(sixthFunction, sixthConstraint.getConstraintFunction());
     }
     
+    @Test
+    void constraintWithConditionOnlyReadsFirstArgumentIfConditionDoesNotHold() {
+        final Constraint constraint = constrain("first", "second", "third")
+                .when((String first) -> first.equals("A"))
+                .by((String first, String second, Integer third) -> second.equals("b") || third > 1);
+        final ConstraintFunction function = constraint.getConstraintFunction();
+        
+        assertTrue(function.check(Arrays.asList("B", null, null)));
+        assertTrue(function.check(Arrays.asList("A", "b", 0)));
+        assertTrue(function.check(Arrays.asList("A", "a", 2)));
+        assertFalse(function.check(Arrays.asList("A", "a", 0)));
+        assertThrows(NullPointerException.class, () -> constrain("first", "second").when(null));
+    }
+    
 }
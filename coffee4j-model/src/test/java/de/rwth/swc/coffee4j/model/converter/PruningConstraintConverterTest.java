@@ -0,0 +1,117 @@
+package de.rwth.swc.coffee4j.model.converter;
+
+import de.rwth.swc.coffee4j.engine.TupleList;
+import de.rwth.swc.coffee4j.model.Parameter;
+import de.rwth.swc.coffee4j.model.constraints.Constraint;
+import de.rwth.swc.coffee4j.model.constraints.ConstraintStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.rwth.swc.coffee4j.model.constraints.ConstraintBuilder.constrain;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PruningConstraintConverterTest {
+    
+    private static final List<Parameter> PARAMETERS = Arrays.asList(
+            Parameter.parameter("param1").values("A", "B", "C").build(),
+            Parameter.parameter("param2").values("a", "b", "c", "d").build(),
+            Parameter.parameter("param3").values(0, 1, 2, 3, 4).build());
+    
+    @Test
+    void convertsLikeCartesianProduct() {
+        final List<Constraint> constraints = Arrays.asList(
+                constrain("param1", "param3").by((String param1, Integer param3) -> !param1.equals("B") || param3 > 1),
+                constrain("param3", "param2", "param1", ConstraintStatus.CORRECT).by((Integer param3, String param2, String param1) -> param3 % 2 == 0 || !param2.equals("c")),
+                constrain("param2").by((String param2) -> !param2.equals("a")),
+                constrain("param1", "param2").by((String param1, String param2) -> !param1.equals("C") || !param2.equals("d")));
+        
+        assertTupleListsEqual(
+                new SimpleCartesianProductConstraintConverter().convert(constraints, PARAMETERS),
+                new PruningConstraintConverter().convert(constraints, PARAMETERS));
+    }
+    
+    @Test
+    void callsFunctionOncePerDecidedPrefix() {
+        final AtomicInteger numberOfCalls = new AtomicInteger();
+        final Constraint constraint = new Constraint("prefix", Arrays.asList("param1", "param2", "param3"), arguments -> {
+            numberOfCalls.incrementAndGet();
+            
+            return !"A".equals(arguments.get(0)) || "b".equals(arguments.get(1));
+        });
+        final List<Constraint> constraints = Collections.singletonList(constraint);
+        
+        final List<TupleList> tupleLists = new PruningConstraintConverter().convert(constraints, PARAMETERS);
+        
+        assertEquals(6, numberOfCalls.get());
+        assertEquals(15, tupleLists.get(0).getTuples().size());
+        assertTupleListsEqual(new SimpleCartesianProductConstraintConverter().convert(constraints, PARAMETERS), tupleLists);
+    }
+    
+    @Test
+    void callsBuilderFunctionOncePerValueNotSatisfyingCondition() {
+        final AtomicInteger numberOfCalls = new AtomicInteger();
+        final Constraint unconditionalConstraint = constrain("param1", "param2", "param3").by((String param1, String param2, Integer param3) -> {
+            numberOfCalls.incrementAndGet();
+            
+            return !param1.equals("A") || param2.equals("b") || param3 > 1;
+        });
+        final Constraint conditionalConstraint = constrain("param1", "param2", "param3").when((String param1) -> param1.equals("A")).by((String param1, String param2, Integer param3) -> {
+            numberOfCalls.incrementAndGet();
+            
+            return param2.equals("b") || param3 > 1;
+        });
+        
+        final List<TupleList> unconditionalTupleLists = new PruningConstraintConverter().convert(Collections.singletonList(unconditionalConstraint), PARAMETERS);
+        assertEquals(60, numberOfCalls.getAndSet(0));
+        
+        final List<TupleList> conditionalTupleLists = new PruningConstraintConverter().convert(Collections.singletonList(conditionalConstraint), PARAMETERS);
+        assertEquals(20, numberOfCalls.get());
+        
+        assertEquals(6, conditionalTupleLists.get(0).getTuples().size());
+        assertTupleListsEqual(unconditionalTupleLists, conditionalTupleLists);
+    }
+    
+    @Test
+    void callsFunctionOnceIfNoArgumentIsRead() {
+        final AtomicInteger numberOfCalls = new AtomicInteger();
+        final Constraint constraint = new Constraint("constant", Arrays.asList("param2", "param3"), arguments -> numberOfCalls.incrementAndGet() < 0);
+        
+        final List<TupleList> tupleLists = new PruningConstraintConverter().convert(Collections.singletonList(constraint), PARAMETERS);
+        
+        assertEquals(1, numberOfCalls.get());
+        assertEquals(20, tupleLists.get(0).getTuples().size());
+        assertArrayEquals(new int[]{0, 0}, tupleLists.get(0).getTuples().get(0));
+        assertArrayEquals(new int[]{3, 4}, tupleLists.get(0).getTuples().get(19));
+    }
+    
+    @Test
+    void preconditions() {
+        final PruningConstraintConverter converter = new PruningConstraintConverter();
+        final List<Constraint> constraints = Collections.singletonList(constrain("param4").by((String param4) -> true));
+        
+        assertThrows(NullPointerException.class, () -> converter.convert(null, PARAMETERS));
+        assertThrows(NullPointerException.class, () -> converter.convert(Collections.emptyList(), null));
+        assertThrows(IllegalArgumentException.class, () -> converter.convert(constraints, PARAMETERS));
+    }
+    
+    private static void assertTupleListsEqual(List<TupleList> expected, List<TupleList> actual) {
+        assertEquals(expected.size(), actual.size());
+        
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertArrayEquals(expected.get(i).getInvolvedParameters(), actual.get(i).getInvolvedParameters());
+            assertEquals(expected.get(i).isMarkedAsCorrect(), actual.get(i).isMarkedAsCorrect());
+            assertEquals(expected.get(i).getTuples().size(), actual.get(i).getTuples().size());
+            
+            for (int j = 0; j < expected.get(i).getTuples().size(); j++) {
+                assertArrayEquals(expected.get(i).getTuples().get(j), actual.get(i).getTuples().get(j));
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package de.rwth.swc.coffee4j.model.manager;
+
+import de.rwth.swc.coffee4j.engine.TestResult;
+import de.rwth.swc.coffee4j.engine.generator.ipog.Ipog;
+import de.rwth.swc.coffee4j.engine.util.RandomSource;
+import de.rwth.swc.coffee4j.model.Combination;
+import de.rwth.swc.coffee4j.model.InputParameterModel;
+import de.rwth.swc.coffee4j.model.Parameter;
+import de.rwth.swc.coffee4j.model.report.ExecutionReporter;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static de.rwth.swc.coffee4j.engine.characterization.ben.Ben.ben;
+import static de.rwth.swc.coffee4j.engine.conflict.ConflictDetectionConfiguration.disable;
+import static de.rwth.swc.coffee4j.model.manager.CombinatorialTestConsumerManagerConfiguration.consumerManagerConfiguration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CombinatorialTestExecutionManagerTest {
+    
+    private static final InputParameterModel MODEL = InputParameterModel.inputParameterModel("model")
+            .strength(2)
+            .parameters(
+                    Parameter.parameter("param1").values(0, 1, 2),
+                    Parameter.parameter("param2").values(0, 1, 2),
+                    Parameter.parameter("param3").values(0, 1, 2),
+                    Parameter.parameter("param4").values(0, 1, 2))
+            .build();
+    
+    @Test
+    void parallelismMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new CombinatorialTestExecutionManager(
+                configuration(new ResultCollector()), this::testFunction, MODEL, 0));
+    }
+    
+    @Test
+    void parallelExecutionReportsSameResultsAsSequentialExecution() {
+        final ResultCollector sequentialResults = new ResultCollector();
+        new CombinatorialTestExecutionManager(configuration(sequentialResults), this::testFunction, MODEL).execute();
+        
+        final ResultCollector parallelResults = new ResultCollector();
+        new CombinatorialTestExecutionManager(configuration(parallelResults), this::testFunction, MODEL, 4).execute();
+        
+        assertFalse(sequentialResults.results.isEmpty());
+        assertEquals(sequentialResults.results.keySet(), parallelResults.results.keySet());
+        assertEquals(0, parallelResults.running);
+    }
+    
+    @Test
+    void interruptedParallelExecutionThrowsAndKeepsTheInterruptFlag() {
+        final Thread caller = Thread.currentThread();
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final CombinatorialTestExecutionManager manager = new CombinatorialTestExecutionManager(
+                configuration(new ResultCollector()), testInput -> {
+                    if (interrupted.compareAndSet(false, true)) {
+                        caller.interrupt();
+                    }
+                }, MODEL, 4);
+        
+        try {
+            assertThrows(IllegalStateException.class, manager::execute);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
+    
+    @Test
+    void characterizationExecutorReportsSameResultsAsSequentialCharacterization() {
+        final ResultCollector sequentialResults = new ResultCollector();
+        new CombinatorialTestExecutionManager(configuration(sequentialResults), this::testFunction, MODEL).execute();
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final ResultCollector parallelResults = new ResultCollector();
+            final CombinatorialTestConsumerManagerConfiguration configuration = configurationBuilder(parallelResults)
+                    .characterizationExecutor(executor)
+                    .build();
+            new CombinatorialTestExecutionManager(configuration, this::testFunction, MODEL).execute();
+            
+            assertEquals(sequentialResults.results, parallelResults.results);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    private static CombinatorialTestConsumerManagerConfiguration configuration(ResultCollector collector) {
+        return configurationBuilder(collector).build();
+    }
+    
+    private static CombinatorialTestConsumerManagerConfiguration.Builder configurationBuilder(ResultCollector collector) {
+        return consumerManagerConfiguration()
+                .executionReporter(collector)
+                .generator(new Ipog(RandomSource.withSeed(42)))
+                .faultCharacterizationAlgorithmFactory(ben())
+                .setConflictDetectionConfiguration(disable());
+    }
+    
+    private void testFunction(Combination testInput) throws InterruptedException {
+        Thread.sleep(1);
+        
+        if (testInput.getRawValue("param1").equals(1) && testInput.getRawValue("param2").equals(2)) {
+            throw new IllegalStateException();
+        }
+    }
+    
+    private static final class ResultCollector implements ExecutionReporter {
+        
+        private final Map<Combination, Boolean> results = new HashMap<>();
+        
+        private int running = 0;
+        
+        @Override
+        public void testInputExecutionStarted(Combination testInput) {
+            running++;
+        }
+        
+        @Override
+        public void testInputExecutionFinished(Combination testInput, TestResult result) {
+            running--;
+            results.put(testInput, result.isSuccessful());
+        }
+        
+    }
+    
+}
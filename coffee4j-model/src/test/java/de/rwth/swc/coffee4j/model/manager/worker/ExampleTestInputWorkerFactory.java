@@ -0,0 +1,50 @@
+package de.rwth.swc.coffee4j.model.manager.worker;
+
+import de.rwth.swc.coffee4j.model.InputParameterModel;
+import de.rwth.swc.coffee4j.model.Parameter;
+import de.rwth.swc.coffee4j.model.manager.TestInputExecutor;
+
+/**
+ * Used by {@link WorkerPoolTestInputExecutorTest}. Must be public as it is instantiated in a worker process.
+ */
+public class ExampleTestInputWorkerFactory implements TestInputWorkerFactory {
+    
+    static final String SUCCESS = "success";
+    static final String FAILURE = "failure";
+    static final String CRASH = "crash";
+    static final String PROCESS_ID = "processId";
+    
+    static InputParameterModel model() {
+        return InputParameterModel.inputParameterModel("worker")
+                .strength(1)
+                .parameters(
+                        Parameter.parameter("behaviour").values(SUCCESS, FAILURE, CRASH, PROCESS_ID),
+                        Parameter.parameter("other").values(0, 1))
+                .build();
+    }
+    
+    @Override
+    public InputParameterModel createModel() {
+        return model();
+    }
+    
+    @Override
+    public TestInputExecutor createExecutor() {
+        return testInput -> {
+            System.out.println("executing " + testInput);
+            
+            switch ((String) testInput.getRawValue("behaviour")) {
+                case FAILURE:
+                    throw new IllegalArgumentException("failed for " + testInput.getRawValue("other"));
+                case CRASH:
+                    Runtime.getRuntime().halt(3);
+                    break;
+                case PROCESS_ID:
+                    throw new IllegalStateException(String.valueOf(ProcessHandle.current().pid()));
+                default:
+                    break;
+            }
+        };
+    }
+    
+}
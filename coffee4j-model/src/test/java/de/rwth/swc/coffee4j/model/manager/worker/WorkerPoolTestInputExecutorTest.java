@@ -0,0 +1,95 @@
+package de.rwth.swc.coffee4j.model.manager.worker;
+
+import de.rwth.swc.coffee4j.model.Combination;
+import de.rwth.swc.coffee4j.model.InputParameterModel;
+import de.rwth.swc.coffee4j.model.Parameter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static de.rwth.swc.coffee4j.model.manager.worker.ExampleTestInputWorkerFactory.CRASH;
+import static de.rwth.swc.coffee4j.model.manager.worker.ExampleTestInputWorkerFactory.FAILURE;
+import static de.rwth.swc.coffee4j.model.manager.worker.ExampleTestInputWorkerFactory.PROCESS_ID;
+import static de.rwth.swc.coffee4j.model.manager.worker.ExampleTestInputWorkerFactory.SUCCESS;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WorkerPoolTestInputExecutorTest {
+    
+    private static final InputParameterModel MODEL = ExampleTestInputWorkerFactory.model();
+    
+    @Test
+    void preconditions() {
+        assertThrows(NullPointerException.class, () -> new WorkerPoolTestInputExecutor(null, MODEL, 1, 1));
+        assertThrows(NullPointerException.class, () -> new WorkerPoolTestInputExecutor(ExampleTestInputWorkerFactory.class, null, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WorkerPoolTestInputExecutor(ExampleTestInputWorkerFactory.class, MODEL, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new WorkerPoolTestInputExecutor(ExampleTestInputWorkerFactory.class, MODEL, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new WorkerPoolTestInputExecutor(ExampleTestInputWorkerFactory.class, MODEL, 1, 1, Collections.singletonList(null)));
+    }
+    
+    @Test
+    void executesTestInputsInWorker() {
+        try (WorkerPoolTestInputExecutor executor = new WorkerPoolTestInputExecutor(ExampleTestInputWorkerFactory.class, MODEL, 1, 10)) {
+            assertDoesNotThrow(() -> executor.execute(testInput(SUCCESS, 0)));
+            assertDoesNotThrow(() -> executor.execute(testInput(SUCCESS, 1)));
+            
+            final RemoteTestInputFailure failure = assertThrows(RemoteTestInputFailure.class, () -> executor.execute(testInput(FAILURE, 1)));
+            assertEquals(IllegalArgumentException.class.getName(), failure.getRemoteClassName());
+            assertEquals(IllegalArgumentException.class.getName() + ": failed for 1", failure.getMessage());
+            assertNotEquals(0, failure.getStackTrace().length);
+            
+            final long processId = processIdOfWorker(executor);
+            assertEquals(processId, processIdOfWorker(executor));
+        }
+    }
+    
+    @Test
+    void replacesWorkerAfterMaximumNumberOfTestInputs() {
+        try (WorkerPoolTestInputExecutor executor = new WorkerPoolTestInputExecutor(ExampleTestInputWorkerFactory.class, MODEL, 1, 2)) {
+            final long firstProcessId = processIdOfWorker(executor);
+            assertEquals(firstProcessId, processIdOfWorker(executor));
+            assertNotEquals(firstProcessId, processIdOfWorker(executor));
+        }
+    }
+    
+    @Test
+    void replacesCrashedWorker() {
+        try (WorkerPoolTestInputExecutor executor = new WorkerPoolTestInputExecutor(ExampleTestInputWorkerFactory.class, MODEL, 1, 10)) {
+            final long firstProcessId = processIdOfWorker(executor);
+            
+            assertThrows(IllegalStateException.class, () -> executor.execute(testInput(CRASH, 0)));
+            assertNotEquals(firstProcessId, processIdOfWorker(executor));
+            assertDoesNotThrow(() -> executor.execute(testInput(SUCCESS, 0)));
+        }
+    }
+    
+    @Test
+    void cannotExecuteAfterClose() {
+        final WorkerPoolTestInputExecutor executor = new WorkerPoolTestInputExecutor(ExampleTestInputWorkerFactory.class, MODEL, 1, 1);
+        executor.close();
+        
+        assertThrows(IllegalStateException.class, () -> executor.execute(testInput(SUCCESS, 0)));
+    }
+    
+    private static long processIdOfWorker(WorkerPoolTestInputExecutor executor) {
+        final RemoteTestInputFailure failure = assertThrows(RemoteTestInputFailure.class, () -> executor.execute(testInput(PROCESS_ID, 0)));
+        
+        return Long.parseLong(failure.getMessage().substring(failure.getMessage().indexOf(": ") + 2));
+    }
+    
+    private static Combination testInput(String behaviour, int other) {
+        final Parameter behaviourParameter = MODEL.getParameters().get(0);
+        final Parameter otherParameter = MODEL.getParameters().get(1);
+        
+        return Combination.combination()
+                .value(behaviourParameter, behaviourParameter.getValues().stream()
+                        .filter(value -> value.get().equals(behaviour))
+                        .findFirst()
+                        .orElseThrow())
+                .value(otherParameter, otherParameter.getValues().get(other))
+                .build();
+    }
+    
+}